@@ -51,6 +51,14 @@ struct LocalOrRemoteBlock
     2: optional LocalBlock local_block
 }
 
+struct CfsBlockLocation
+{
+    1: required i64 offset,
+    2: required i64 length,
+    3: required list<string> hosts,
+    4: required list<string> network_locations
+}
+
 service Brisk extends cassandra.Cassandra
 {
   /**  returns (in order) the endpoints for each key specified. */
@@ -63,11 +71,41 @@ service Brisk extends cassandra.Cassandra
    *
    * A local sub block is the file, offset and length for the calling application to read
    * This is a great optimization because it avoids any actual data transfer.
+   *
+   * With a length > 0 a remote sub block only holds the [offset, offset + length) range of the
+   * uncompressed sub block data, sliced on the server. The offset is then in the uncompressed data.
    * 
    */
-   LocalOrRemoteBlock get_cfs_sblock(1:required string caller_host_name, 2:required binary block_id, 3:required binary sblock_id, 4:i32 offset=0, 5:required StorageType storageType)
+   LocalOrRemoteBlock get_cfs_sblock(1:required string caller_host_name, 2:required binary block_id, 3:required binary sblock_id, 4:i32 offset=0, 5:required StorageType storageType, 6:i32 length=0)
+    throws (1:InvalidRequestException ire, 2:UnavailableException ue, 3:TimedOutException te, 4:NotFoundException nfe),
+
+
+   /** returns a chunk of the data of a sub block, as stored
+    *
+    * At most max_length bytes of the sub block column value are read from position on,
+    * the next chunk starts at position plus the length of this one. A chunk shorter than
+    * max_length is the last one, so large sub blocks move in bounded frames.
+    */
+   binary get_cfs_sblock_chunk(1:required binary block_id, 2:required binary sblock_id, 3:required i64 position, 4:required i32 max_length, 5:required StorageType storageType)
+    throws (1:InvalidRequestException ire, 2:UnavailableException ue, 3:TimedOutException te, 4:NotFoundException nfe),
+
+   /** returns the MD5 of the CRC32s of a block, computed by the node holding it
+    *
+    * The sub blocks are read in order and their uncompressed data is cut in chunks of
+    * bytes_per_crc bytes, the last chunk of the block may be shorter. The CRC32 of each chunk
+    * is added to the digest as a big endian int, no block data leaves the node.
+    */
+   binary get_cfs_block_checksum(1:required binary block_id, 2:required list<binary> sblock_ids, 3:required i32 bytes_per_crc, 4:required StorageType storageType)
     throws (1:InvalidRequestException ire, 2:UnavailableException ue, 3:TimedOutException te, 4:NotFoundException nfe),
 
+   /** copies the sub blocks of a block into the sblocks CF of the target storage
+    *
+    * The sub blocks are read as stored, on the node serving the call, and written under
+    * target_block_id with their ids unchanged, at consistency_level. The data only moves
+    * between nodes. Returns the number of bytes copied.
+    */
+   i64 copy_cfs_block(1:required binary block_id, 2:required list<binary> sblock_ids, 3:required StorageType source, 4:required binary target_block_id, 5:required StorageType target, 6:required cassandra.ConsistencyLevel consistency_level)
+    throws (1:InvalidRequestException ire, 2:UnavailableException ue, 3:TimedOutException te, 4:NotFoundException nfe),
 
    /** returns the hostname:port of the jobtracker control port
     * 
@@ -78,4 +116,19 @@ service Brisk extends cassandra.Cassandra
      * Mode the JobTracker to the node specified in the parameter.
      */
     string move_job_tracker(1:string new_jobtracker) throws (1:NotFoundException nfe)
+
+    /**
+     * returns (in order) the network location of each endpoint specified, as reported
+     * by the endpoint snitch in the form /datacenter/rack.
+     */
+    list<string> describe_network_locations(1:required list<string> endpoints)
+     throws (1:InvalidRequestException ire)
+
+    /**
+     * returns (in order) the location of every block of each cfs path specified, resolving
+     * them all in a single call at consistency_level. Paths that do not exist or are directories
+     * have no blocks.
+     */
+    list<list<CfsBlockLocation>> describe_cfs_locations(1:required list<string> paths, 2:required StorageType storageType, 3:required cassandra.ConsistencyLevel consistency_level)
+     throws (1:InvalidRequestException ire, 2:UnavailableException ue, 3:TimedOutException te)
 }
\ No newline at end of file
@@ -48,7 +48,52 @@ public class Brisk {
      * @param offset
      * @param storageType
      */
-    public LocalOrRemoteBlock get_cfs_sblock(String caller_host_name, ByteBuffer block_id, ByteBuffer sblock_id, int offset, StorageType storageType) throws InvalidRequestException, UnavailableException, TimedOutException, NotFoundException, org.apache.thrift.TException;
+    public LocalOrRemoteBlock get_cfs_sblock(String caller_host_name, ByteBuffer block_id, ByteBuffer sblock_id, int offset, StorageType storageType, int length) throws InvalidRequestException, UnavailableException, TimedOutException, NotFoundException, org.apache.thrift.TException;
+
+    /**
+     * returns a chunk of the data of a sub block, as stored
+     * 
+     * At most max_length bytes of the sub block column value are read from position on,
+     * the next chunk starts at position plus the length of this one. A chunk shorter than
+     * max_length is the last one, so large sub blocks move in bounded frames.
+     * 
+     * @param block_id
+     * @param sblock_id
+     * @param position
+     * @param max_length
+     * @param storageType
+     */
+    public ByteBuffer get_cfs_sblock_chunk(ByteBuffer block_id, ByteBuffer sblock_id, long position, int max_length, StorageType storageType) throws InvalidRequestException, UnavailableException, TimedOutException, NotFoundException, org.apache.thrift.TException;
+
+    /**
+     * returns the MD5 of the CRC32s of a block, computed by the node holding it
+     * 
+     * The sub blocks are read in order and their uncompressed data is cut in chunks of
+     * bytes_per_crc bytes, the last chunk of the block may be shorter. The CRC32 of each chunk
+     * is added to the digest as a big endian int, no block data leaves the node.
+     * 
+     * @param block_id
+     * @param sblock_ids
+     * @param bytes_per_crc
+     * @param storageType
+     */
+    public ByteBuffer get_cfs_block_checksum(ByteBuffer block_id, List<ByteBuffer> sblock_ids, int bytes_per_crc, StorageType storageType) throws InvalidRequestException, UnavailableException, TimedOutException, NotFoundException, org.apache.thrift.TException;
+
+    /**
+     * copies the sub blocks of a block into the sblocks CF of the target storage
+     * 
+     * The sub blocks are read as stored, on the node serving the call, and written under
+     * target_block_id with their ids unchanged, at consistency_level. The data only moves
+     * between nodes. Returns the number of bytes copied.
+     * 
+     * @param block_id
+     * @param sblock_ids
+     * @param source
+     * @param target_block_id
+     * @param target
+     * @param consistency_level
+     */
+    public long copy_cfs_block(ByteBuffer block_id, List<ByteBuffer> sblock_ids, StorageType source, ByteBuffer target_block_id, StorageType target, ConsistencyLevel consistency_level) throws InvalidRequestException, UnavailableException, TimedOutException, NotFoundException, org.apache.thrift.TException;
 
     /**
      * returns the hostname:port of the jobtracker control port
@@ -63,18 +108,47 @@ public class Brisk {
      */
     public String move_job_tracker(String new_jobtracker) throws NotFoundException, org.apache.thrift.TException;
 
+    /**
+     * returns (in order) the network location of each endpoint specified, as reported
+     * by the endpoint snitch in the form /datacenter/rack.
+     * 
+     * @param endpoints
+     */
+    public List<String> describe_network_locations(List<String> endpoints) throws InvalidRequestException, org.apache.thrift.TException;
+
+    /**
+     * returns (in order) the location of every block of each cfs path specified, resolving
+     * them all in a single call at consistency_level. Paths that do not exist or are directories
+     * have no blocks.
+     * 
+     * @param paths
+     * @param storageType
+     * @param consistency_level
+     */
+    public List<List<CfsBlockLocation>> describe_cfs_locations(List<String> paths, StorageType storageType, ConsistencyLevel consistency_level) throws InvalidRequestException, UnavailableException, TimedOutException, org.apache.thrift.TException;
+
   }
 
   public interface AsyncIface extends org.apache.cassandra.thrift.Cassandra .AsyncIface {
 
     public void describe_keys(String keyspace, List<ByteBuffer> keys, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.describe_keys_call> resultHandler) throws org.apache.thrift.TException;
 
-    public void get_cfs_sblock(String caller_host_name, ByteBuffer block_id, ByteBuffer sblock_id, int offset, StorageType storageType, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.get_cfs_sblock_call> resultHandler) throws org.apache.thrift.TException;
+    public void get_cfs_sblock(String caller_host_name, ByteBuffer block_id, ByteBuffer sblock_id, int offset, StorageType storageType, int length, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.get_cfs_sblock_call> resultHandler) throws org.apache.thrift.TException;
+
+    public void get_cfs_sblock_chunk(ByteBuffer block_id, ByteBuffer sblock_id, long position, int max_length, StorageType storageType, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.get_cfs_sblock_chunk_call> resultHandler) throws org.apache.thrift.TException;
+
+    public void get_cfs_block_checksum(ByteBuffer block_id, List<ByteBuffer> sblock_ids, int bytes_per_crc, StorageType storageType, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.get_cfs_block_checksum_call> resultHandler) throws org.apache.thrift.TException;
+
+    public void copy_cfs_block(ByteBuffer block_id, List<ByteBuffer> sblock_ids, StorageType source, ByteBuffer target_block_id, StorageType target, ConsistencyLevel consistency_level, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.copy_cfs_block_call> resultHandler) throws org.apache.thrift.TException;
 
     public void get_jobtracker_address(org.apache.thrift.async.AsyncMethodCallback<AsyncClient.get_jobtracker_address_call> resultHandler) throws org.apache.thrift.TException;
 
     public void move_job_tracker(String new_jobtracker, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.move_job_tracker_call> resultHandler) throws org.apache.thrift.TException;
 
+    public void describe_network_locations(List<String> endpoints, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.describe_network_locations_call> resultHandler) throws org.apache.thrift.TException;
+
+    public void describe_cfs_locations(List<String> paths, StorageType storageType, ConsistencyLevel consistency_level, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.describe_cfs_locations_call> resultHandler) throws org.apache.thrift.TException;
+
   }
 
   public static class Client extends org.apache.cassandra.thrift.Cassandra.Client implements org.apache.thrift.TServiceClient, Iface {
@@ -144,13 +218,13 @@ public class Brisk {
       throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "describe_keys failed: unknown result");
     }
 
-    public LocalOrRemoteBlock get_cfs_sblock(String caller_host_name, ByteBuffer block_id, ByteBuffer sblock_id, int offset, StorageType storageType) throws InvalidRequestException, UnavailableException, TimedOutException, NotFoundException, org.apache.thrift.TException
+    public LocalOrRemoteBlock get_cfs_sblock(String caller_host_name, ByteBuffer block_id, ByteBuffer sblock_id, int offset, StorageType storageType, int length) throws InvalidRequestException, UnavailableException, TimedOutException, NotFoundException, org.apache.thrift.TException
     {
-      send_get_cfs_sblock(caller_host_name, block_id, sblock_id, offset, storageType);
+      send_get_cfs_sblock(caller_host_name, block_id, sblock_id, offset, storageType, length);
       return recv_get_cfs_sblock();
     }
 
-    public void send_get_cfs_sblock(String caller_host_name, ByteBuffer block_id, ByteBuffer sblock_id, int offset, StorageType storageType) throws org.apache.thrift.TException
+    public void send_get_cfs_sblock(String caller_host_name, ByteBuffer block_id, ByteBuffer sblock_id, int offset, StorageType storageType, int length) throws org.apache.thrift.TException
     {
       oprot_.writeMessageBegin(new org.apache.thrift.protocol.TMessage("get_cfs_sblock", org.apache.thrift.protocol.TMessageType.CALL, ++seqid_));
       get_cfs_sblock_args args = new get_cfs_sblock_args();
@@ -159,6 +233,7 @@ public class Brisk {
       args.setSblock_id(sblock_id);
       args.setOffset(offset);
       args.setStorageType(storageType);
+      args.setLength(length);
       args.write(oprot_);
       oprot_.writeMessageEnd();
       oprot_.getTransport().flush();
@@ -196,6 +271,162 @@ public class Brisk {
       throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "get_cfs_sblock failed: unknown result");
     }
 
+    public ByteBuffer get_cfs_sblock_chunk(ByteBuffer block_id, ByteBuffer sblock_id, long position, int max_length, StorageType storageType) throws InvalidRequestException, UnavailableException, TimedOutException, NotFoundException, org.apache.thrift.TException
+    {
+      send_get_cfs_sblock_chunk(block_id, sblock_id, position, max_length, storageType);
+      return recv_get_cfs_sblock_chunk();
+    }
+
+    public void send_get_cfs_sblock_chunk(ByteBuffer block_id, ByteBuffer sblock_id, long position, int max_length, StorageType storageType) throws org.apache.thrift.TException
+    {
+      oprot_.writeMessageBegin(new org.apache.thrift.protocol.TMessage("get_cfs_sblock_chunk", org.apache.thrift.protocol.TMessageType.CALL, ++seqid_));
+      get_cfs_sblock_chunk_args args = new get_cfs_sblock_chunk_args();
+      args.setBlock_id(block_id);
+      args.setSblock_id(sblock_id);
+      args.setPosition(position);
+      args.setMax_length(max_length);
+      args.setStorageType(storageType);
+      args.write(oprot_);
+      oprot_.writeMessageEnd();
+      oprot_.getTransport().flush();
+    }
+
+    public ByteBuffer recv_get_cfs_sblock_chunk() throws InvalidRequestException, UnavailableException, TimedOutException, NotFoundException, org.apache.thrift.TException
+    {
+      org.apache.thrift.protocol.TMessage msg = iprot_.readMessageBegin();
+      if (msg.type == org.apache.thrift.protocol.TMessageType.EXCEPTION) {
+        org.apache.thrift.TApplicationException x = org.apache.thrift.TApplicationException.read(iprot_);
+        iprot_.readMessageEnd();
+        throw x;
+      }
+      if (msg.seqid != seqid_) {
+        throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.BAD_SEQUENCE_ID, "get_cfs_sblock_chunk failed: out of sequence response");
+      }
+      get_cfs_sblock_chunk_result result = new get_cfs_sblock_chunk_result();
+      result.read(iprot_);
+      iprot_.readMessageEnd();
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      if (result.ire != null) {
+        throw result.ire;
+      }
+      if (result.ue != null) {
+        throw result.ue;
+      }
+      if (result.te != null) {
+        throw result.te;
+      }
+      if (result.nfe != null) {
+        throw result.nfe;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "get_cfs_sblock_chunk failed: unknown result");
+    }
+
+    public ByteBuffer get_cfs_block_checksum(ByteBuffer block_id, List<ByteBuffer> sblock_ids, int bytes_per_crc, StorageType storageType) throws InvalidRequestException, UnavailableException, TimedOutException, NotFoundException, org.apache.thrift.TException
+    {
+      send_get_cfs_block_checksum(block_id, sblock_ids, bytes_per_crc, storageType);
+      return recv_get_cfs_block_checksum();
+    }
+
+    public void send_get_cfs_block_checksum(ByteBuffer block_id, List<ByteBuffer> sblock_ids, int bytes_per_crc, StorageType storageType) throws org.apache.thrift.TException
+    {
+      oprot_.writeMessageBegin(new org.apache.thrift.protocol.TMessage("get_cfs_block_checksum", org.apache.thrift.protocol.TMessageType.CALL, ++seqid_));
+      get_cfs_block_checksum_args args = new get_cfs_block_checksum_args();
+      args.setBlock_id(block_id);
+      args.setSblock_ids(sblock_ids);
+      args.setBytes_per_crc(bytes_per_crc);
+      args.setStorageType(storageType);
+      args.write(oprot_);
+      oprot_.writeMessageEnd();
+      oprot_.getTransport().flush();
+    }
+
+    public ByteBuffer recv_get_cfs_block_checksum() throws InvalidRequestException, UnavailableException, TimedOutException, NotFoundException, org.apache.thrift.TException
+    {
+      org.apache.thrift.protocol.TMessage msg = iprot_.readMessageBegin();
+      if (msg.type == org.apache.thrift.protocol.TMessageType.EXCEPTION) {
+        org.apache.thrift.TApplicationException x = org.apache.thrift.TApplicationException.read(iprot_);
+        iprot_.readMessageEnd();
+        throw x;
+      }
+      if (msg.seqid != seqid_) {
+        throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.BAD_SEQUENCE_ID, "get_cfs_block_checksum failed: out of sequence response");
+      }
+      get_cfs_block_checksum_result result = new get_cfs_block_checksum_result();
+      result.read(iprot_);
+      iprot_.readMessageEnd();
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      if (result.ire != null) {
+        throw result.ire;
+      }
+      if (result.ue != null) {
+        throw result.ue;
+      }
+      if (result.te != null) {
+        throw result.te;
+      }
+      if (result.nfe != null) {
+        throw result.nfe;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "get_cfs_block_checksum failed: unknown result");
+    }
+
+    public long copy_cfs_block(ByteBuffer block_id, List<ByteBuffer> sblock_ids, StorageType source, ByteBuffer target_block_id, StorageType target, ConsistencyLevel consistency_level) throws InvalidRequestException, UnavailableException, TimedOutException, NotFoundException, org.apache.thrift.TException
+    {
+      send_copy_cfs_block(block_id, sblock_ids, source, target_block_id, target, consistency_level);
+      return recv_copy_cfs_block();
+    }
+
+    public void send_copy_cfs_block(ByteBuffer block_id, List<ByteBuffer> sblock_ids, StorageType source, ByteBuffer target_block_id, StorageType target, ConsistencyLevel consistency_level) throws org.apache.thrift.TException
+    {
+      oprot_.writeMessageBegin(new org.apache.thrift.protocol.TMessage("copy_cfs_block", org.apache.thrift.protocol.TMessageType.CALL, ++seqid_));
+      copy_cfs_block_args args = new copy_cfs_block_args();
+      args.setBlock_id(block_id);
+      args.setSblock_ids(sblock_ids);
+      args.setSource(source);
+      args.setTarget_block_id(target_block_id);
+      args.setTarget(target);
+      args.setConsistency_level(consistency_level);
+      args.write(oprot_);
+      oprot_.writeMessageEnd();
+      oprot_.getTransport().flush();
+    }
+
+    public long recv_copy_cfs_block() throws InvalidRequestException, UnavailableException, TimedOutException, NotFoundException, org.apache.thrift.TException
+    {
+      org.apache.thrift.protocol.TMessage msg = iprot_.readMessageBegin();
+      if (msg.type == org.apache.thrift.protocol.TMessageType.EXCEPTION) {
+        org.apache.thrift.TApplicationException x = org.apache.thrift.TApplicationException.read(iprot_);
+        iprot_.readMessageEnd();
+        throw x;
+      }
+      if (msg.seqid != seqid_) {
+        throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.BAD_SEQUENCE_ID, "copy_cfs_block failed: out of sequence response");
+      }
+      copy_cfs_block_result result = new copy_cfs_block_result();
+      result.read(iprot_);
+      iprot_.readMessageEnd();
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      if (result.ire != null) {
+        throw result.ire;
+      }
+      if (result.ue != null) {
+        throw result.ue;
+      }
+      if (result.te != null) {
+        throw result.te;
+      }
+      if (result.nfe != null) {
+        throw result.nfe;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "copy_cfs_block failed: unknown result");
+    }
+
     public String get_jobtracker_address() throws NotFoundException, org.apache.thrift.TException
     {
       send_get_jobtracker_address();
@@ -273,6 +504,92 @@ public class Brisk {
       throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "move_job_tracker failed: unknown result");
     }
 
+    public List<String> describe_network_locations(List<String> endpoints) throws InvalidRequestException, org.apache.thrift.TException
+    {
+      send_describe_network_locations(endpoints);
+      return recv_describe_network_locations();
+    }
+
+    public void send_describe_network_locations(List<String> endpoints) throws org.apache.thrift.TException
+    {
+      oprot_.writeMessageBegin(new org.apache.thrift.protocol.TMessage("describe_network_locations", org.apache.thrift.protocol.TMessageType.CALL, ++seqid_));
+      describe_network_locations_args args = new describe_network_locations_args();
+      args.setEndpoints(endpoints);
+      args.write(oprot_);
+      oprot_.writeMessageEnd();
+      oprot_.getTransport().flush();
+    }
+
+    public List<String> recv_describe_network_locations() throws InvalidRequestException, org.apache.thrift.TException
+    {
+      org.apache.thrift.protocol.TMessage msg = iprot_.readMessageBegin();
+      if (msg.type == org.apache.thrift.protocol.TMessageType.EXCEPTION) {
+        org.apache.thrift.TApplicationException x = org.apache.thrift.TApplicationException.read(iprot_);
+        iprot_.readMessageEnd();
+        throw x;
+      }
+      if (msg.seqid != seqid_) {
+        throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.BAD_SEQUENCE_ID, "describe_network_locations failed: out of sequence response");
+      }
+      describe_network_locations_result result = new describe_network_locations_result();
+      result.read(iprot_);
+      iprot_.readMessageEnd();
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      if (result.ire != null) {
+        throw result.ire;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "describe_network_locations failed: unknown result");
+    }
+
+    public List<List<CfsBlockLocation>> describe_cfs_locations(List<String> paths, StorageType storageType, ConsistencyLevel consistency_level) throws InvalidRequestException, UnavailableException, TimedOutException, org.apache.thrift.TException
+    {
+      send_describe_cfs_locations(paths, storageType, consistency_level);
+      return recv_describe_cfs_locations();
+    }
+
+    public void send_describe_cfs_locations(List<String> paths, StorageType storageType, ConsistencyLevel consistency_level) throws org.apache.thrift.TException
+    {
+      oprot_.writeMessageBegin(new org.apache.thrift.protocol.TMessage("describe_cfs_locations", org.apache.thrift.protocol.TMessageType.CALL, ++seqid_));
+      describe_cfs_locations_args args = new describe_cfs_locations_args();
+      args.setPaths(paths);
+      args.setStorageType(storageType);
+      args.setConsistency_level(consistency_level);
+      args.write(oprot_);
+      oprot_.writeMessageEnd();
+      oprot_.getTransport().flush();
+    }
+
+    public List<List<CfsBlockLocation>> recv_describe_cfs_locations() throws InvalidRequestException, UnavailableException, TimedOutException, org.apache.thrift.TException
+    {
+      org.apache.thrift.protocol.TMessage msg = iprot_.readMessageBegin();
+      if (msg.type == org.apache.thrift.protocol.TMessageType.EXCEPTION) {
+        org.apache.thrift.TApplicationException x = org.apache.thrift.TApplicationException.read(iprot_);
+        iprot_.readMessageEnd();
+        throw x;
+      }
+      if (msg.seqid != seqid_) {
+        throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.BAD_SEQUENCE_ID, "describe_cfs_locations failed: out of sequence response");
+      }
+      describe_cfs_locations_result result = new describe_cfs_locations_result();
+      result.read(iprot_);
+      iprot_.readMessageEnd();
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      if (result.ire != null) {
+        throw result.ire;
+      }
+      if (result.ue != null) {
+        throw result.ue;
+      }
+      if (result.te != null) {
+        throw result.te;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "describe_cfs_locations failed: unknown result");
+    }
+
   }
   public static class AsyncClient extends org.apache.cassandra.thrift.Cassandra.AsyncClient implements AsyncIface {
     public static class Factory implements org.apache.thrift.async.TAsyncClientFactory<AsyncClient> {
@@ -326,9 +643,9 @@ public class Brisk {
       }
     }
 
-    public void get_cfs_sblock(String caller_host_name, ByteBuffer block_id, ByteBuffer sblock_id, int offset, StorageType storageType, org.apache.thrift.async.AsyncMethodCallback<get_cfs_sblock_call> resultHandler) throws org.apache.thrift.TException {
+    public void get_cfs_sblock(String caller_host_name, ByteBuffer block_id, ByteBuffer sblock_id, int offset, StorageType storageType, int length, org.apache.thrift.async.AsyncMethodCallback<get_cfs_sblock_call> resultHandler) throws org.apache.thrift.TException {
       checkReady();
-      get_cfs_sblock_call method_call = new get_cfs_sblock_call(caller_host_name, block_id, sblock_id, offset, storageType, resultHandler, this, protocolFactory, transport);
+      get_cfs_sblock_call method_call = new get_cfs_sblock_call(caller_host_name, block_id, sblock_id, offset, storageType, length, resultHandler, this, protocolFactory, transport);
       this.currentMethod = method_call;
       manager.call(method_call);
     }
@@ -339,13 +656,15 @@ public class Brisk {
       private ByteBuffer sblock_id;
       private int offset;
       private StorageType storageType;
-      public get_cfs_sblock_call(String caller_host_name, ByteBuffer block_id, ByteBuffer sblock_id, int offset, StorageType storageType, org.apache.thrift.async.AsyncMethodCallback<get_cfs_sblock_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+      private int length;
+      public get_cfs_sblock_call(String caller_host_name, ByteBuffer block_id, ByteBuffer sblock_id, int offset, StorageType storageType, int length, org.apache.thrift.async.AsyncMethodCallback<get_cfs_sblock_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
         super(client, protocolFactory, transport, resultHandler, false);
         this.caller_host_name = caller_host_name;
         this.block_id = block_id;
         this.sblock_id = sblock_id;
         this.offset = offset;
         this.storageType = storageType;
+        this.length = length;
       }
 
       public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
@@ -356,6 +675,7 @@ public class Brisk {
         args.setSblock_id(sblock_id);
         args.setOffset(offset);
         args.setStorageType(storageType);
+        args.setLength(length);
         args.write(prot);
         prot.writeMessageEnd();
       }
@@ -370,79 +690,286 @@ public class Brisk {
       }
     }
 
-    public void get_jobtracker_address(org.apache.thrift.async.AsyncMethodCallback<get_jobtracker_address_call> resultHandler) throws org.apache.thrift.TException {
+    public void get_cfs_sblock_chunk(ByteBuffer block_id, ByteBuffer sblock_id, long position, int max_length, StorageType storageType, org.apache.thrift.async.AsyncMethodCallback<get_cfs_sblock_chunk_call> resultHandler) throws org.apache.thrift.TException {
       checkReady();
-      get_jobtracker_address_call method_call = new get_jobtracker_address_call(resultHandler, this, protocolFactory, transport);
+      get_cfs_sblock_chunk_call method_call = new get_cfs_sblock_chunk_call(block_id, sblock_id, position, max_length, storageType, resultHandler, this, protocolFactory, transport);
       this.currentMethod = method_call;
       manager.call(method_call);
     }
 
-    public static class get_jobtracker_address_call extends org.apache.thrift.async.TAsyncMethodCall {
-      public get_jobtracker_address_call(org.apache.thrift.async.AsyncMethodCallback<get_jobtracker_address_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+    public static class get_cfs_sblock_chunk_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private ByteBuffer block_id;
+      private ByteBuffer sblock_id;
+      private long position;
+      private int max_length;
+      private StorageType storageType;
+      public get_cfs_sblock_chunk_call(ByteBuffer block_id, ByteBuffer sblock_id, long position, int max_length, StorageType storageType, org.apache.thrift.async.AsyncMethodCallback<get_cfs_sblock_chunk_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
         super(client, protocolFactory, transport, resultHandler, false);
+        this.block_id = block_id;
+        this.sblock_id = sblock_id;
+        this.position = position;
+        this.max_length = max_length;
+        this.storageType = storageType;
       }
 
       public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
-        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("get_jobtracker_address", org.apache.thrift.protocol.TMessageType.CALL, 0));
-        get_jobtracker_address_args args = new get_jobtracker_address_args();
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("get_cfs_sblock_chunk", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        get_cfs_sblock_chunk_args args = new get_cfs_sblock_chunk_args();
+        args.setBlock_id(block_id);
+        args.setSblock_id(sblock_id);
+        args.setPosition(position);
+        args.setMax_length(max_length);
+        args.setStorageType(storageType);
         args.write(prot);
         prot.writeMessageEnd();
       }
 
-      public String getResult() throws NotFoundException, org.apache.thrift.TException {
+      public ByteBuffer getResult() throws InvalidRequestException, UnavailableException, TimedOutException, NotFoundException, org.apache.thrift.TException {
         if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
           throw new IllegalStateException("Method call not finished!");
         }
         org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
         org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
-        return (new Client(prot)).recv_get_jobtracker_address();
+        return (new Client(prot)).recv_get_cfs_sblock_chunk();
       }
     }
 
-    public void move_job_tracker(String new_jobtracker, org.apache.thrift.async.AsyncMethodCallback<move_job_tracker_call> resultHandler) throws org.apache.thrift.TException {
+    public void get_cfs_block_checksum(ByteBuffer block_id, List<ByteBuffer> sblock_ids, int bytes_per_crc, StorageType storageType, org.apache.thrift.async.AsyncMethodCallback<get_cfs_block_checksum_call> resultHandler) throws org.apache.thrift.TException {
       checkReady();
-      move_job_tracker_call method_call = new move_job_tracker_call(new_jobtracker, resultHandler, this, protocolFactory, transport);
+      get_cfs_block_checksum_call method_call = new get_cfs_block_checksum_call(block_id, sblock_ids, bytes_per_crc, storageType, resultHandler, this, protocolFactory, transport);
       this.currentMethod = method_call;
       manager.call(method_call);
     }
 
-    public static class move_job_tracker_call extends org.apache.thrift.async.TAsyncMethodCall {
-      private String new_jobtracker;
-      public move_job_tracker_call(String new_jobtracker, org.apache.thrift.async.AsyncMethodCallback<move_job_tracker_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+    public static class get_cfs_block_checksum_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private ByteBuffer block_id;
+      private List<ByteBuffer> sblock_ids;
+      private int bytes_per_crc;
+      private StorageType storageType;
+      public get_cfs_block_checksum_call(ByteBuffer block_id, List<ByteBuffer> sblock_ids, int bytes_per_crc, StorageType storageType, org.apache.thrift.async.AsyncMethodCallback<get_cfs_block_checksum_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
         super(client, protocolFactory, transport, resultHandler, false);
-        this.new_jobtracker = new_jobtracker;
+        this.block_id = block_id;
+        this.sblock_ids = sblock_ids;
+        this.bytes_per_crc = bytes_per_crc;
+        this.storageType = storageType;
       }
 
       public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
-        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("move_job_tracker", org.apache.thrift.protocol.TMessageType.CALL, 0));
-        move_job_tracker_args args = new move_job_tracker_args();
-        args.setNew_jobtracker(new_jobtracker);
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("get_cfs_block_checksum", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        get_cfs_block_checksum_args args = new get_cfs_block_checksum_args();
+        args.setBlock_id(block_id);
+        args.setSblock_ids(sblock_ids);
+        args.setBytes_per_crc(bytes_per_crc);
+        args.setStorageType(storageType);
         args.write(prot);
         prot.writeMessageEnd();
       }
 
-      public String getResult() throws NotFoundException, org.apache.thrift.TException {
+      public ByteBuffer getResult() throws InvalidRequestException, UnavailableException, TimedOutException, NotFoundException, org.apache.thrift.TException {
         if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
           throw new IllegalStateException("Method call not finished!");
         }
         org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
         org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
-        return (new Client(prot)).recv_move_job_tracker();
+        return (new Client(prot)).recv_get_cfs_block_checksum();
       }
     }
 
-  }
+    public void copy_cfs_block(ByteBuffer block_id, List<ByteBuffer> sblock_ids, StorageType source, ByteBuffer target_block_id, StorageType target, ConsistencyLevel consistency_level, org.apache.thrift.async.AsyncMethodCallback<copy_cfs_block_call> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      copy_cfs_block_call method_call = new copy_cfs_block_call(block_id, sblock_ids, source, target_block_id, target, consistency_level, resultHandler, this, protocolFactory, transport);
+      this.currentMethod = method_call;
+      manager.call(method_call);
+    }
 
-  public static class Processor extends org.apache.cassandra.thrift.Cassandra.Processor implements org.apache.thrift.TProcessor {
-    private static final Logger LOGGER = LoggerFactory.getLogger(Processor.class.getName());
+    public static class copy_cfs_block_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private ByteBuffer block_id;
+      private List<ByteBuffer> sblock_ids;
+      private StorageType source;
+      private ByteBuffer target_block_id;
+      private StorageType target;
+      private ConsistencyLevel consistency_level;
+      public copy_cfs_block_call(ByteBuffer block_id, List<ByteBuffer> sblock_ids, StorageType source, ByteBuffer target_block_id, StorageType target, ConsistencyLevel consistency_level, org.apache.thrift.async.AsyncMethodCallback<copy_cfs_block_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.block_id = block_id;
+        this.sblock_ids = sblock_ids;
+        this.source = source;
+        this.target_block_id = target_block_id;
+        this.target = target;
+        this.consistency_level = consistency_level;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("copy_cfs_block", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        copy_cfs_block_args args = new copy_cfs_block_args();
+        args.setBlock_id(block_id);
+        args.setSblock_ids(sblock_ids);
+        args.setSource(source);
+        args.setTarget_block_id(target_block_id);
+        args.setTarget(target);
+        args.setConsistency_level(consistency_level);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public long getResult() throws InvalidRequestException, UnavailableException, TimedOutException, NotFoundException, org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_copy_cfs_block();
+      }
+    }
+
+    public void get_jobtracker_address(org.apache.thrift.async.AsyncMethodCallback<get_jobtracker_address_call> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      get_jobtracker_address_call method_call = new get_jobtracker_address_call(resultHandler, this, protocolFactory, transport);
+      this.currentMethod = method_call;
+      manager.call(method_call);
+    }
+
+    public static class get_jobtracker_address_call extends org.apache.thrift.async.TAsyncMethodCall {
+      public get_jobtracker_address_call(org.apache.thrift.async.AsyncMethodCallback<get_jobtracker_address_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("get_jobtracker_address", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        get_jobtracker_address_args args = new get_jobtracker_address_args();
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public String getResult() throws NotFoundException, org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_get_jobtracker_address();
+      }
+    }
+
+    public void move_job_tracker(String new_jobtracker, org.apache.thrift.async.AsyncMethodCallback<move_job_tracker_call> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      move_job_tracker_call method_call = new move_job_tracker_call(new_jobtracker, resultHandler, this, protocolFactory, transport);
+      this.currentMethod = method_call;
+      manager.call(method_call);
+    }
+
+    public static class move_job_tracker_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private String new_jobtracker;
+      public move_job_tracker_call(String new_jobtracker, org.apache.thrift.async.AsyncMethodCallback<move_job_tracker_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.new_jobtracker = new_jobtracker;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("move_job_tracker", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        move_job_tracker_args args = new move_job_tracker_args();
+        args.setNew_jobtracker(new_jobtracker);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public String getResult() throws NotFoundException, org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_move_job_tracker();
+      }
+    }
+
+    public void describe_network_locations(List<String> endpoints, org.apache.thrift.async.AsyncMethodCallback<describe_network_locations_call> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      describe_network_locations_call method_call = new describe_network_locations_call(endpoints, resultHandler, this, protocolFactory, transport);
+      this.currentMethod = method_call;
+      manager.call(method_call);
+    }
+
+    public static class describe_network_locations_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private List<String> endpoints;
+      public describe_network_locations_call(List<String> endpoints, org.apache.thrift.async.AsyncMethodCallback<describe_network_locations_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.endpoints = endpoints;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("describe_network_locations", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        describe_network_locations_args args = new describe_network_locations_args();
+        args.setEndpoints(endpoints);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public List<String> getResult() throws InvalidRequestException, org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_describe_network_locations();
+      }
+    }
+
+    public void describe_cfs_locations(List<String> paths, StorageType storageType, ConsistencyLevel consistency_level, org.apache.thrift.async.AsyncMethodCallback<describe_cfs_locations_call> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      describe_cfs_locations_call method_call = new describe_cfs_locations_call(paths, storageType, consistency_level, resultHandler, this, protocolFactory, transport);
+      this.currentMethod = method_call;
+      manager.call(method_call);
+    }
+
+    public static class describe_cfs_locations_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private List<String> paths;
+      private StorageType storageType;
+      private ConsistencyLevel consistency_level;
+      public describe_cfs_locations_call(List<String> paths, StorageType storageType, ConsistencyLevel consistency_level, org.apache.thrift.async.AsyncMethodCallback<describe_cfs_locations_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.paths = paths;
+        this.storageType = storageType;
+        this.consistency_level = consistency_level;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("describe_cfs_locations", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        describe_cfs_locations_args args = new describe_cfs_locations_args();
+        args.setPaths(paths);
+        args.setStorageType(storageType);
+        args.setConsistency_level(consistency_level);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public List<List<CfsBlockLocation>> getResult() throws InvalidRequestException, UnavailableException, TimedOutException, org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_describe_cfs_locations();
+      }
+    }
+
+  }
+
+  public static class Processor extends org.apache.cassandra.thrift.Cassandra.Processor implements org.apache.thrift.TProcessor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Processor.class.getName());
     public Processor(Iface iface)
     {
       super(iface);
       iface_ = iface;
       processMap_.put("describe_keys", new describe_keys());
       processMap_.put("get_cfs_sblock", new get_cfs_sblock());
+      processMap_.put("get_cfs_sblock_chunk", new get_cfs_sblock_chunk());
+      processMap_.put("get_cfs_block_checksum", new get_cfs_block_checksum());
+      processMap_.put("copy_cfs_block", new copy_cfs_block());
       processMap_.put("get_jobtracker_address", new get_jobtracker_address());
       processMap_.put("move_job_tracker", new move_job_tracker());
+      processMap_.put("describe_network_locations", new describe_network_locations());
+      processMap_.put("describe_cfs_locations", new describe_cfs_locations());
     }
 
     private Iface iface_;
@@ -525,7 +1052,7 @@ public class Brisk {
         iprot.readMessageEnd();
         get_cfs_sblock_result result = new get_cfs_sblock_result();
         try {
-          result.success = iface_.get_cfs_sblock(args.caller_host_name, args.block_id, args.sblock_id, args.offset, args.storageType);
+          result.success = iface_.get_cfs_sblock(args.caller_host_name, args.block_id, args.sblock_id, args.offset, args.storageType, args.length);
         } catch (InvalidRequestException ire) {
           result.ire = ire;
         } catch (UnavailableException ue) {
@@ -551,6 +1078,139 @@ public class Brisk {
 
     }
 
+    private class get_cfs_sblock_chunk implements ProcessFunction {
+      public void process(int seqid, org.apache.thrift.protocol.TProtocol iprot, org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException
+      {
+        get_cfs_sblock_chunk_args args = new get_cfs_sblock_chunk_args();
+        try {
+          args.read(iprot);
+        } catch (org.apache.thrift.protocol.TProtocolException e) {
+          iprot.readMessageEnd();
+          org.apache.thrift.TApplicationException x = new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.PROTOCOL_ERROR, e.getMessage());
+          oprot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("get_cfs_sblock_chunk", org.apache.thrift.protocol.TMessageType.EXCEPTION, seqid));
+          x.write(oprot);
+          oprot.writeMessageEnd();
+          oprot.getTransport().flush();
+          return;
+        }
+        iprot.readMessageEnd();
+        get_cfs_sblock_chunk_result result = new get_cfs_sblock_chunk_result();
+        try {
+          result.success = iface_.get_cfs_sblock_chunk(args.block_id, args.sblock_id, args.position, args.max_length, args.storageType);
+        } catch (InvalidRequestException ire) {
+          result.ire = ire;
+        } catch (UnavailableException ue) {
+          result.ue = ue;
+        } catch (TimedOutException te) {
+          result.te = te;
+        } catch (NotFoundException nfe) {
+          result.nfe = nfe;
+        } catch (Throwable th) {
+          LOGGER.error("Internal error processing get_cfs_sblock_chunk", th);
+          org.apache.thrift.TApplicationException x = new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, "Internal error processing get_cfs_sblock_chunk");
+          oprot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("get_cfs_sblock_chunk", org.apache.thrift.protocol.TMessageType.EXCEPTION, seqid));
+          x.write(oprot);
+          oprot.writeMessageEnd();
+          oprot.getTransport().flush();
+          return;
+        }
+        oprot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("get_cfs_sblock_chunk", org.apache.thrift.protocol.TMessageType.REPLY, seqid));
+        result.write(oprot);
+        oprot.writeMessageEnd();
+        oprot.getTransport().flush();
+      }
+
+    }
+
+    private class get_cfs_block_checksum implements ProcessFunction {
+      public void process(int seqid, org.apache.thrift.protocol.TProtocol iprot, org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException
+      {
+        get_cfs_block_checksum_args args = new get_cfs_block_checksum_args();
+        try {
+          args.read(iprot);
+        } catch (org.apache.thrift.protocol.TProtocolException e) {
+          iprot.readMessageEnd();
+          org.apache.thrift.TApplicationException x = new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.PROTOCOL_ERROR, e.getMessage());
+          oprot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("get_cfs_block_checksum", org.apache.thrift.protocol.TMessageType.EXCEPTION, seqid));
+          x.write(oprot);
+          oprot.writeMessageEnd();
+          oprot.getTransport().flush();
+          return;
+        }
+        iprot.readMessageEnd();
+        get_cfs_block_checksum_result result = new get_cfs_block_checksum_result();
+        try {
+          result.success = iface_.get_cfs_block_checksum(args.block_id, args.sblock_ids, args.bytes_per_crc, args.storageType);
+        } catch (InvalidRequestException ire) {
+          result.ire = ire;
+        } catch (UnavailableException ue) {
+          result.ue = ue;
+        } catch (TimedOutException te) {
+          result.te = te;
+        } catch (NotFoundException nfe) {
+          result.nfe = nfe;
+        } catch (Throwable th) {
+          LOGGER.error("Internal error processing get_cfs_block_checksum", th);
+          org.apache.thrift.TApplicationException x = new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, "Internal error processing get_cfs_block_checksum");
+          oprot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("get_cfs_block_checksum", org.apache.thrift.protocol.TMessageType.EXCEPTION, seqid));
+          x.write(oprot);
+          oprot.writeMessageEnd();
+          oprot.getTransport().flush();
+          return;
+        }
+        oprot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("get_cfs_block_checksum", org.apache.thrift.protocol.TMessageType.REPLY, seqid));
+        result.write(oprot);
+        oprot.writeMessageEnd();
+        oprot.getTransport().flush();
+      }
+
+    }
+
+    private class copy_cfs_block implements ProcessFunction {
+      public void process(int seqid, org.apache.thrift.protocol.TProtocol iprot, org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException
+      {
+        copy_cfs_block_args args = new copy_cfs_block_args();
+        try {
+          args.read(iprot);
+        } catch (org.apache.thrift.protocol.TProtocolException e) {
+          iprot.readMessageEnd();
+          org.apache.thrift.TApplicationException x = new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.PROTOCOL_ERROR, e.getMessage());
+          oprot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("copy_cfs_block", org.apache.thrift.protocol.TMessageType.EXCEPTION, seqid));
+          x.write(oprot);
+          oprot.writeMessageEnd();
+          oprot.getTransport().flush();
+          return;
+        }
+        iprot.readMessageEnd();
+        copy_cfs_block_result result = new copy_cfs_block_result();
+        try {
+          result.success = iface_.copy_cfs_block(args.block_id, args.sblock_ids, args.source, args.target_block_id, args.target, args.consistency_level);
+          result.setSuccessIsSet(true);
+        } catch (InvalidRequestException ire) {
+          result.ire = ire;
+        } catch (UnavailableException ue) {
+          result.ue = ue;
+        } catch (TimedOutException te) {
+          result.te = te;
+        } catch (NotFoundException nfe) {
+          result.nfe = nfe;
+        } catch (Throwable th) {
+          LOGGER.error("Internal error processing copy_cfs_block", th);
+          org.apache.thrift.TApplicationException x = new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, "Internal error processing copy_cfs_block");
+          oprot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("copy_cfs_block", org.apache.thrift.protocol.TMessageType.EXCEPTION, seqid));
+          x.write(oprot);
+          oprot.writeMessageEnd();
+          oprot.getTransport().flush();
+          return;
+        }
+        oprot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("copy_cfs_block", org.apache.thrift.protocol.TMessageType.REPLY, seqid));
+        result.write(oprot);
+        oprot.writeMessageEnd();
+        oprot.getTransport().flush();
+      }
+
+    }
+
     private class get_jobtracker_address implements ProcessFunction {
       public void process(int seqid, org.apache.thrift.protocol.TProtocol iprot, org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException
       {
@@ -627,28 +1287,108 @@ public class Brisk {
 
     }
 
-  }
-
-  public static class describe_keys_args implements org.apache.thrift.TBase<describe_keys_args, describe_keys_args._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("describe_keys_args");
-
-    private static final org.apache.thrift.protocol.TField KEYSPACE_FIELD_DESC = new org.apache.thrift.protocol.TField("keyspace", org.apache.thrift.protocol.TType.STRING, (short)1);
-    private static final org.apache.thrift.protocol.TField KEYS_FIELD_DESC = new org.apache.thrift.protocol.TField("keys", org.apache.thrift.protocol.TType.LIST, (short)2);
-
-    public String keyspace;
-    public List<ByteBuffer> keys;
-
-    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
-    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-      KEYSPACE((short)1, "keyspace"),
-      KEYS((short)2, "keys");
-
-      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
-
-      static {
-        for (_Fields field : EnumSet.allOf(_Fields.class)) {
-          byName.put(field.getFieldName(), field);
-        }
+    private class describe_network_locations implements ProcessFunction {
+      public void process(int seqid, org.apache.thrift.protocol.TProtocol iprot, org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException
+      {
+        describe_network_locations_args args = new describe_network_locations_args();
+        try {
+          args.read(iprot);
+        } catch (org.apache.thrift.protocol.TProtocolException e) {
+          iprot.readMessageEnd();
+          org.apache.thrift.TApplicationException x = new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.PROTOCOL_ERROR, e.getMessage());
+          oprot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("describe_network_locations", org.apache.thrift.protocol.TMessageType.EXCEPTION, seqid));
+          x.write(oprot);
+          oprot.writeMessageEnd();
+          oprot.getTransport().flush();
+          return;
+        }
+        iprot.readMessageEnd();
+        describe_network_locations_result result = new describe_network_locations_result();
+        try {
+          result.success = iface_.describe_network_locations(args.endpoints);
+        } catch (InvalidRequestException ire) {
+          result.ire = ire;
+        } catch (Throwable th) {
+          LOGGER.error("Internal error processing describe_network_locations", th);
+          org.apache.thrift.TApplicationException x = new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, "Internal error processing describe_network_locations");
+          oprot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("describe_network_locations", org.apache.thrift.protocol.TMessageType.EXCEPTION, seqid));
+          x.write(oprot);
+          oprot.writeMessageEnd();
+          oprot.getTransport().flush();
+          return;
+        }
+        oprot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("describe_network_locations", org.apache.thrift.protocol.TMessageType.REPLY, seqid));
+        result.write(oprot);
+        oprot.writeMessageEnd();
+        oprot.getTransport().flush();
+      }
+
+    }
+
+    private class describe_cfs_locations implements ProcessFunction {
+      public void process(int seqid, org.apache.thrift.protocol.TProtocol iprot, org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException
+      {
+        describe_cfs_locations_args args = new describe_cfs_locations_args();
+        try {
+          args.read(iprot);
+        } catch (org.apache.thrift.protocol.TProtocolException e) {
+          iprot.readMessageEnd();
+          org.apache.thrift.TApplicationException x = new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.PROTOCOL_ERROR, e.getMessage());
+          oprot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("describe_cfs_locations", org.apache.thrift.protocol.TMessageType.EXCEPTION, seqid));
+          x.write(oprot);
+          oprot.writeMessageEnd();
+          oprot.getTransport().flush();
+          return;
+        }
+        iprot.readMessageEnd();
+        describe_cfs_locations_result result = new describe_cfs_locations_result();
+        try {
+          result.success = iface_.describe_cfs_locations(args.paths, args.storageType, args.consistency_level);
+        } catch (InvalidRequestException ire) {
+          result.ire = ire;
+        } catch (UnavailableException ue) {
+          result.ue = ue;
+        } catch (TimedOutException te) {
+          result.te = te;
+        } catch (Throwable th) {
+          LOGGER.error("Internal error processing describe_cfs_locations", th);
+          org.apache.thrift.TApplicationException x = new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, "Internal error processing describe_cfs_locations");
+          oprot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("describe_cfs_locations", org.apache.thrift.protocol.TMessageType.EXCEPTION, seqid));
+          x.write(oprot);
+          oprot.writeMessageEnd();
+          oprot.getTransport().flush();
+          return;
+        }
+        oprot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("describe_cfs_locations", org.apache.thrift.protocol.TMessageType.REPLY, seqid));
+        result.write(oprot);
+        oprot.writeMessageEnd();
+        oprot.getTransport().flush();
+      }
+
+    }
+
+  }
+
+  public static class describe_keys_args implements org.apache.thrift.TBase<describe_keys_args, describe_keys_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("describe_keys_args");
+
+    private static final org.apache.thrift.protocol.TField KEYSPACE_FIELD_DESC = new org.apache.thrift.protocol.TField("keyspace", org.apache.thrift.protocol.TType.STRING, (short)1);
+    private static final org.apache.thrift.protocol.TField KEYS_FIELD_DESC = new org.apache.thrift.protocol.TField("keys", org.apache.thrift.protocol.TType.LIST, (short)2);
+
+    public String keyspace;
+    public List<ByteBuffer> keys;
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      KEYSPACE((short)1, "keyspace"),
+      KEYS((short)2, "keys");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
       }
 
       /**
@@ -1724,6 +2464,7 @@ public class Brisk {
     private static final org.apache.thrift.protocol.TField SBLOCK_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("sblock_id", org.apache.thrift.protocol.TType.STRING, (short)3);
     private static final org.apache.thrift.protocol.TField OFFSET_FIELD_DESC = new org.apache.thrift.protocol.TField("offset", org.apache.thrift.protocol.TType.I32, (short)4);
     private static final org.apache.thrift.protocol.TField STORAGE_TYPE_FIELD_DESC = new org.apache.thrift.protocol.TField("storageType", org.apache.thrift.protocol.TType.I32, (short)5);
+    private static final org.apache.thrift.protocol.TField LENGTH_FIELD_DESC = new org.apache.thrift.protocol.TField("length", org.apache.thrift.protocol.TType.I32, (short)6);
 
     public String caller_host_name;
     public ByteBuffer block_id;
@@ -1734,6 +2475,7 @@ public class Brisk {
      * @see StorageType
      */
     public StorageType storageType;
+    public int length;
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -1745,7 +2487,8 @@ public class Brisk {
        * 
        * @see StorageType
        */
-      STORAGE_TYPE((short)5, "storageType");
+      STORAGE_TYPE((short)5, "storageType"),
+      LENGTH((short)6, "length");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -1770,6 +2513,8 @@ public class Brisk {
             return OFFSET;
           case 5: // STORAGE_TYPE
             return STORAGE_TYPE;
+          case 6: // LENGTH
+            return LENGTH;
           default:
             return null;
         }
@@ -1811,7 +2556,8 @@ public class Brisk {
 
     // isset id assignments
     private static final int __OFFSET_ISSET_ID = 0;
-    private BitSet __isset_bit_vector = new BitSet(1);
+    private static final int __LENGTH_ISSET_ID = 1;
+    private BitSet __isset_bit_vector = new BitSet(2);
 
     public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
@@ -1826,6 +2572,8 @@ public class Brisk {
           new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
       tmpMap.put(_Fields.STORAGE_TYPE, new org.apache.thrift.meta_data.FieldMetaData("storageType", org.apache.thrift.TFieldRequirementType.REQUIRED, 
           new org.apache.thrift.meta_data.EnumMetaData(org.apache.thrift.protocol.TType.ENUM, StorageType.class)));
+      tmpMap.put(_Fields.LENGTH, new org.apache.thrift.meta_data.FieldMetaData("length", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
       org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(get_cfs_sblock_args.class, metaDataMap);
     }
@@ -1833,6 +2581,8 @@ public class Brisk {
     public get_cfs_sblock_args() {
       this.offset = 0;
 
+      this.length = 0;
+
     }
 
     public get_cfs_sblock_args(
@@ -1840,7 +2590,8 @@ public class Brisk {
       ByteBuffer block_id,
       ByteBuffer sblock_id,
       int offset,
-      StorageType storageType)
+      StorageType storageType,
+      int length)
     {
       this();
       this.caller_host_name = caller_host_name;
@@ -1849,6 +2600,8 @@ public class Brisk {
       this.offset = offset;
       setOffsetIsSet(true);
       this.storageType = storageType;
+      this.length = length;
+      setLengthIsSet(true);
     }
 
     /**
@@ -1872,6 +2625,7 @@ public class Brisk {
       if (other.isSetStorageType()) {
         this.storageType = other.storageType;
       }
+      this.length = other.length;
     }
 
     public get_cfs_sblock_args deepCopy() {
@@ -1886,6 +2640,8 @@ public class Brisk {
       this.offset = 0;
 
       this.storageType = null;
+      this.length = 0;
+
     }
 
     public String getCaller_host_name() {
@@ -2035,6 +2791,29 @@ public class Brisk {
       }
     }
 
+    public int getLength() {
+      return this.length;
+    }
+
+    public get_cfs_sblock_args setLength(int length) {
+      this.length = length;
+      setLengthIsSet(true);
+      return this;
+    }
+
+    public void unsetLength() {
+      __isset_bit_vector.clear(__LENGTH_ISSET_ID);
+    }
+
+    /** Returns true if field length is set (has been assigned a value) and false otherwise */
+    public boolean isSetLength() {
+      return __isset_bit_vector.get(__LENGTH_ISSET_ID);
+    }
+
+    public void setLengthIsSet(boolean value) {
+      __isset_bit_vector.set(__LENGTH_ISSET_ID, value);
+    }
+
     public void setFieldValue(_Fields field, Object value) {
       switch (field) {
       case CALLER_HOST_NAME:
@@ -2077,6 +2856,14 @@ public class Brisk {
         }
         break;
 
+      case LENGTH:
+        if (value == null) {
+          unsetLength();
+        } else {
+          setLength((Integer)value);
+        }
+        break;
+
       }
     }
 
@@ -2097,6 +2884,9 @@ public class Brisk {
       case STORAGE_TYPE:
         return getStorageType();
 
+      case LENGTH:
+        return new Integer(getLength());
+
       }
       throw new IllegalStateException();
     }
@@ -2118,6 +2908,8 @@ public class Brisk {
         return isSetOffset();
       case STORAGE_TYPE:
         return isSetStorageType();
+      case LENGTH:
+        return isSetLength();
       }
       throw new IllegalStateException();
     }
@@ -2180,6 +2972,15 @@ public class Brisk {
           return false;
       }
 
+      boolean this_present_length = true;
+      boolean that_present_length = true;
+      if (this_present_length || that_present_length) {
+        if (!(this_present_length && that_present_length))
+          return false;
+        if (this.length != that.length)
+          return false;
+      }
+
       return true;
     }
 
@@ -2212,6 +3013,11 @@ public class Brisk {
       if (present_storageType)
         builder.append(storageType.getValue());
 
+      boolean present_length = true;
+      builder.append(present_length);
+      if (present_length)
+        builder.append(length);
+
       return builder.toHashCode();
     }
 
@@ -2273,6 +3079,16 @@ public class Brisk {
           return lastComparison;
         }
       }
+      lastComparison = Boolean.valueOf(isSetLength()).compareTo(typedOther.isSetLength());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetLength()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.length, typedOther.length);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
       return 0;
     }
 
@@ -2326,6 +3142,14 @@ public class Brisk {
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
             }
             break;
+          case 6: // LENGTH
+            if (field.type == org.apache.thrift.protocol.TType.I32) {
+              this.length = iprot.readI32();
+              setLengthIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
         }
@@ -2356,12 +3180,6006 @@ public class Brisk {
         oprot.writeBinary(this.sblock_id);
         oprot.writeFieldEnd();
       }
-      oprot.writeFieldBegin(OFFSET_FIELD_DESC);
-      oprot.writeI32(this.offset);
-      oprot.writeFieldEnd();
-      if (this.storageType != null) {
-        oprot.writeFieldBegin(STORAGE_TYPE_FIELD_DESC);
-        oprot.writeI32(this.storageType.getValue());
+      oprot.writeFieldBegin(OFFSET_FIELD_DESC);
+      oprot.writeI32(this.offset);
+      oprot.writeFieldEnd();
+      if (this.storageType != null) {
+        oprot.writeFieldBegin(STORAGE_TYPE_FIELD_DESC);
+        oprot.writeI32(this.storageType.getValue());
+        oprot.writeFieldEnd();
+      }
+      oprot.writeFieldBegin(LENGTH_FIELD_DESC);
+      oprot.writeI32(this.length);
+      oprot.writeFieldEnd();
+      oprot.writeFieldStop();
+      oprot.writeStructEnd();
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("get_cfs_sblock_args(");
+      boolean first = true;
+
+      sb.append("caller_host_name:");
+      if (this.caller_host_name == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.caller_host_name);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("block_id:");
+      if (this.block_id == null) {
+        sb.append("null");
+      } else {
+        org.apache.thrift.TBaseHelper.toString(this.block_id, sb);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("sblock_id:");
+      if (this.sblock_id == null) {
+        sb.append("null");
+      } else {
+        org.apache.thrift.TBaseHelper.toString(this.sblock_id, sb);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("offset:");
+      sb.append(this.offset);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("storageType:");
+      if (this.storageType == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.storageType);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("length:");
+      sb.append(this.length);
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      if (caller_host_name == null) {
+        throw new org.apache.thrift.protocol.TProtocolException("Required field 'caller_host_name' was not present! Struct: " + toString());
+      }
+      if (block_id == null) {
+        throw new org.apache.thrift.protocol.TProtocolException("Required field 'block_id' was not present! Struct: " + toString());
+      }
+      if (sblock_id == null) {
+        throw new org.apache.thrift.protocol.TProtocolException("Required field 'sblock_id' was not present! Struct: " + toString());
+      }
+      if (storageType == null) {
+        throw new org.apache.thrift.protocol.TProtocolException("Required field 'storageType' was not present! Struct: " + toString());
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+  }
+
+  public static class get_cfs_sblock_result implements org.apache.thrift.TBase<get_cfs_sblock_result, get_cfs_sblock_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("get_cfs_sblock_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
+    private static final org.apache.thrift.protocol.TField IRE_FIELD_DESC = new org.apache.thrift.protocol.TField("ire", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+    private static final org.apache.thrift.protocol.TField UE_FIELD_DESC = new org.apache.thrift.protocol.TField("ue", org.apache.thrift.protocol.TType.STRUCT, (short)2);
+    private static final org.apache.thrift.protocol.TField TE_FIELD_DESC = new org.apache.thrift.protocol.TField("te", org.apache.thrift.protocol.TType.STRUCT, (short)3);
+    private static final org.apache.thrift.protocol.TField NFE_FIELD_DESC = new org.apache.thrift.protocol.TField("nfe", org.apache.thrift.protocol.TType.STRUCT, (short)4);
+
+    public LocalOrRemoteBlock success;
+    public InvalidRequestException ire;
+    public UnavailableException ue;
+    public TimedOutException te;
+    public NotFoundException nfe;
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success"),
+      IRE((short)1, "ire"),
+      UE((short)2, "ue"),
+      TE((short)3, "te"),
+      NFE((short)4, "nfe");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          case 1: // IRE
+            return IRE;
+          case 2: // UE
+            return UE;
+          case 3: // TE
+            return TE;
+          case 4: // NFE
+            return NFE;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, LocalOrRemoteBlock.class)));
+      tmpMap.put(_Fields.IRE, new org.apache.thrift.meta_data.FieldMetaData("ire", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+      tmpMap.put(_Fields.UE, new org.apache.thrift.meta_data.FieldMetaData("ue", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+      tmpMap.put(_Fields.TE, new org.apache.thrift.meta_data.FieldMetaData("te", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+      tmpMap.put(_Fields.NFE, new org.apache.thrift.meta_data.FieldMetaData("nfe", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(get_cfs_sblock_result.class, metaDataMap);
+    }
+
+    public get_cfs_sblock_result() {
+    }
+
+    public get_cfs_sblock_result(
+      LocalOrRemoteBlock success,
+      InvalidRequestException ire,
+      UnavailableException ue,
+      TimedOutException te,
+      NotFoundException nfe)
+    {
+      this();
+      this.success = success;
+      this.ire = ire;
+      this.ue = ue;
+      this.te = te;
+      this.nfe = nfe;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public get_cfs_sblock_result(get_cfs_sblock_result other) {
+      if (other.isSetSuccess()) {
+        this.success = new LocalOrRemoteBlock(other.success);
+      }
+      if (other.isSetIre()) {
+        this.ire = new InvalidRequestException(other.ire);
+      }
+      if (other.isSetUe()) {
+        this.ue = new UnavailableException(other.ue);
+      }
+      if (other.isSetTe()) {
+        this.te = new TimedOutException(other.te);
+      }
+      if (other.isSetNfe()) {
+        this.nfe = new NotFoundException(other.nfe);
+      }
+    }
+
+    public get_cfs_sblock_result deepCopy() {
+      return new get_cfs_sblock_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+      this.ire = null;
+      this.ue = null;
+      this.te = null;
+      this.nfe = null;
+    }
+
+    public LocalOrRemoteBlock getSuccess() {
+      return this.success;
+    }
+
+    public get_cfs_sblock_result setSuccess(LocalOrRemoteBlock success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public InvalidRequestException getIre() {
+      return this.ire;
+    }
+
+    public get_cfs_sblock_result setIre(InvalidRequestException ire) {
+      this.ire = ire;
+      return this;
+    }
+
+    public void unsetIre() {
+      this.ire = null;
+    }
+
+    /** Returns true if field ire is set (has been assigned a value) and false otherwise */
+    public boolean isSetIre() {
+      return this.ire != null;
+    }
+
+    public void setIreIsSet(boolean value) {
+      if (!value) {
+        this.ire = null;
+      }
+    }
+
+    public UnavailableException getUe() {
+      return this.ue;
+    }
+
+    public get_cfs_sblock_result setUe(UnavailableException ue) {
+      this.ue = ue;
+      return this;
+    }
+
+    public void unsetUe() {
+      this.ue = null;
+    }
+
+    /** Returns true if field ue is set (has been assigned a value) and false otherwise */
+    public boolean isSetUe() {
+      return this.ue != null;
+    }
+
+    public void setUeIsSet(boolean value) {
+      if (!value) {
+        this.ue = null;
+      }
+    }
+
+    public TimedOutException getTe() {
+      return this.te;
+    }
+
+    public get_cfs_sblock_result setTe(TimedOutException te) {
+      this.te = te;
+      return this;
+    }
+
+    public void unsetTe() {
+      this.te = null;
+    }
+
+    /** Returns true if field te is set (has been assigned a value) and false otherwise */
+    public boolean isSetTe() {
+      return this.te != null;
+    }
+
+    public void setTeIsSet(boolean value) {
+      if (!value) {
+        this.te = null;
+      }
+    }
+
+    public NotFoundException getNfe() {
+      return this.nfe;
+    }
+
+    public get_cfs_sblock_result setNfe(NotFoundException nfe) {
+      this.nfe = nfe;
+      return this;
+    }
+
+    public void unsetNfe() {
+      this.nfe = null;
+    }
+
+    /** Returns true if field nfe is set (has been assigned a value) and false otherwise */
+    public boolean isSetNfe() {
+      return this.nfe != null;
+    }
+
+    public void setNfeIsSet(boolean value) {
+      if (!value) {
+        this.nfe = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((LocalOrRemoteBlock)value);
+        }
+        break;
+
+      case IRE:
+        if (value == null) {
+          unsetIre();
+        } else {
+          setIre((InvalidRequestException)value);
+        }
+        break;
+
+      case UE:
+        if (value == null) {
+          unsetUe();
+        } else {
+          setUe((UnavailableException)value);
+        }
+        break;
+
+      case TE:
+        if (value == null) {
+          unsetTe();
+        } else {
+          setTe((TimedOutException)value);
+        }
+        break;
+
+      case NFE:
+        if (value == null) {
+          unsetNfe();
+        } else {
+          setNfe((NotFoundException)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      case IRE:
+        return getIre();
+
+      case UE:
+        return getUe();
+
+      case TE:
+        return getTe();
+
+      case NFE:
+        return getNfe();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      case IRE:
+        return isSetIre();
+      case UE:
+        return isSetUe();
+      case TE:
+        return isSetTe();
+      case NFE:
+        return isSetNfe();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof get_cfs_sblock_result)
+        return this.equals((get_cfs_sblock_result)that);
+      return false;
+    }
+
+    public boolean equals(get_cfs_sblock_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      boolean this_present_ire = true && this.isSetIre();
+      boolean that_present_ire = true && that.isSetIre();
+      if (this_present_ire || that_present_ire) {
+        if (!(this_present_ire && that_present_ire))
+          return false;
+        if (!this.ire.equals(that.ire))
+          return false;
+      }
+
+      boolean this_present_ue = true && this.isSetUe();
+      boolean that_present_ue = true && that.isSetUe();
+      if (this_present_ue || that_present_ue) {
+        if (!(this_present_ue && that_present_ue))
+          return false;
+        if (!this.ue.equals(that.ue))
+          return false;
+      }
+
+      boolean this_present_te = true && this.isSetTe();
+      boolean that_present_te = true && that.isSetTe();
+      if (this_present_te || that_present_te) {
+        if (!(this_present_te && that_present_te))
+          return false;
+        if (!this.te.equals(that.te))
+          return false;
+      }
+
+      boolean this_present_nfe = true && this.isSetNfe();
+      boolean that_present_nfe = true && that.isSetNfe();
+      if (this_present_nfe || that_present_nfe) {
+        if (!(this_present_nfe && that_present_nfe))
+          return false;
+        if (!this.nfe.equals(that.nfe))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      HashCodeBuilder builder = new HashCodeBuilder();
+
+      boolean present_success = true && (isSetSuccess());
+      builder.append(present_success);
+      if (present_success)
+        builder.append(success);
+
+      boolean present_ire = true && (isSetIre());
+      builder.append(present_ire);
+      if (present_ire)
+        builder.append(ire);
+
+      boolean present_ue = true && (isSetUe());
+      builder.append(present_ue);
+      if (present_ue)
+        builder.append(ue);
+
+      boolean present_te = true && (isSetTe());
+      builder.append(present_te);
+      if (present_te)
+        builder.append(te);
+
+      boolean present_nfe = true && (isSetNfe());
+      builder.append(present_nfe);
+      if (present_nfe)
+        builder.append(nfe);
+
+      return builder.toHashCode();
+    }
+
+    public int compareTo(get_cfs_sblock_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      get_cfs_sblock_result typedOther = (get_cfs_sblock_result)other;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, typedOther.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetIre()).compareTo(typedOther.isSetIre());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetIre()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.ire, typedOther.ire);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetUe()).compareTo(typedOther.isSetUe());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetUe()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.ue, typedOther.ue);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetTe()).compareTo(typedOther.isSetTe());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetTe()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.te, typedOther.te);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetNfe()).compareTo(typedOther.isSetNfe());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetNfe()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.nfe, typedOther.nfe);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      org.apache.thrift.protocol.TField field;
+      iprot.readStructBegin();
+      while (true)
+      {
+        field = iprot.readFieldBegin();
+        if (field.type == org.apache.thrift.protocol.TType.STOP) { 
+          break;
+        }
+        switch (field.id) {
+          case 0: // SUCCESS
+            if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
+              this.success = new LocalOrRemoteBlock();
+              this.success.read(iprot);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 1: // IRE
+            if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
+              this.ire = new InvalidRequestException();
+              this.ire.read(iprot);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 2: // UE
+            if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
+              this.ue = new UnavailableException();
+              this.ue.read(iprot);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 3: // TE
+            if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
+              this.te = new TimedOutException();
+              this.te.read(iprot);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 4: // NFE
+            if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
+              this.nfe = new NotFoundException();
+              this.nfe.read(iprot);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          default:
+            org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+        }
+        iprot.readFieldEnd();
+      }
+      iprot.readStructEnd();
+
+      // check for required fields of primitive type, which can't be checked in the validate method
+      validate();
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      oprot.writeStructBegin(STRUCT_DESC);
+
+      if (this.isSetSuccess()) {
+        oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+        this.success.write(oprot);
+        oprot.writeFieldEnd();
+      } else if (this.isSetIre()) {
+        oprot.writeFieldBegin(IRE_FIELD_DESC);
+        this.ire.write(oprot);
+        oprot.writeFieldEnd();
+      } else if (this.isSetUe()) {
+        oprot.writeFieldBegin(UE_FIELD_DESC);
+        this.ue.write(oprot);
+        oprot.writeFieldEnd();
+      } else if (this.isSetTe()) {
+        oprot.writeFieldBegin(TE_FIELD_DESC);
+        this.te.write(oprot);
+        oprot.writeFieldEnd();
+      } else if (this.isSetNfe()) {
+        oprot.writeFieldBegin(NFE_FIELD_DESC);
+        this.nfe.write(oprot);
+        oprot.writeFieldEnd();
+      }
+      oprot.writeFieldStop();
+      oprot.writeStructEnd();
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("get_cfs_sblock_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("ire:");
+      if (this.ire == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.ire);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("ue:");
+      if (this.ue == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.ue);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("te:");
+      if (this.te == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.te);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("nfe:");
+      if (this.nfe == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.nfe);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+  }
+
+  public static class get_cfs_sblock_chunk_args implements org.apache.thrift.TBase<get_cfs_sblock_chunk_args, get_cfs_sblock_chunk_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("get_cfs_sblock_chunk_args");
+
+    private static final org.apache.thrift.protocol.TField BLOCK_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("block_id", org.apache.thrift.protocol.TType.STRING, (short)1);
+    private static final org.apache.thrift.protocol.TField SBLOCK_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("sblock_id", org.apache.thrift.protocol.TType.STRING, (short)2);
+    private static final org.apache.thrift.protocol.TField POSITION_FIELD_DESC = new org.apache.thrift.protocol.TField("position", org.apache.thrift.protocol.TType.I64, (short)3);
+    private static final org.apache.thrift.protocol.TField MAX_LENGTH_FIELD_DESC = new org.apache.thrift.protocol.TField("max_length", org.apache.thrift.protocol.TType.I32, (short)4);
+    private static final org.apache.thrift.protocol.TField STORAGE_TYPE_FIELD_DESC = new org.apache.thrift.protocol.TField("storageType", org.apache.thrift.protocol.TType.I32, (short)5);
+
+    public ByteBuffer block_id;
+    public ByteBuffer sblock_id;
+    public long position;
+    public int max_length;
+    /**
+     * 
+     * @see StorageType
+     */
+    public StorageType storageType;
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      BLOCK_ID((short)1, "block_id"),
+      SBLOCK_ID((short)2, "sblock_id"),
+      POSITION((short)3, "position"),
+      MAX_LENGTH((short)4, "max_length"),
+      /**
+       * 
+       * @see StorageType
+       */
+      STORAGE_TYPE((short)5, "storageType");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // BLOCK_ID
+            return BLOCK_ID;
+          case 2: // SBLOCK_ID
+            return SBLOCK_ID;
+          case 3: // POSITION
+            return POSITION;
+          case 4: // MAX_LENGTH
+            return MAX_LENGTH;
+          case 5: // STORAGE_TYPE
+            return STORAGE_TYPE;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private static final int __POSITION_ISSET_ID = 0;
+    private static final int __MAX_LENGTH_ISSET_ID = 1;
+    private BitSet __isset_bit_vector = new BitSet(2);
+
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.BLOCK_ID, new org.apache.thrift.meta_data.FieldMetaData("block_id", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING          , true)));
+      tmpMap.put(_Fields.SBLOCK_ID, new org.apache.thrift.meta_data.FieldMetaData("sblock_id", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING          , true)));
+      tmpMap.put(_Fields.POSITION, new org.apache.thrift.meta_data.FieldMetaData("position", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+      tmpMap.put(_Fields.MAX_LENGTH, new org.apache.thrift.meta_data.FieldMetaData("max_length", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+      tmpMap.put(_Fields.STORAGE_TYPE, new org.apache.thrift.meta_data.FieldMetaData("storageType", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+          new org.apache.thrift.meta_data.EnumMetaData(org.apache.thrift.protocol.TType.ENUM, StorageType.class)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(get_cfs_sblock_chunk_args.class, metaDataMap);
+    }
+
+    public get_cfs_sblock_chunk_args() {
+    }
+
+    public get_cfs_sblock_chunk_args(
+      ByteBuffer block_id,
+      ByteBuffer sblock_id,
+      long position,
+      int max_length,
+      StorageType storageType)
+    {
+      this();
+      this.block_id = block_id;
+      this.sblock_id = sblock_id;
+      this.position = position;
+      setPositionIsSet(true);
+      this.max_length = max_length;
+      setMax_lengthIsSet(true);
+      this.storageType = storageType;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public get_cfs_sblock_chunk_args(get_cfs_sblock_chunk_args other) {
+      __isset_bit_vector.clear();
+      __isset_bit_vector.or(other.__isset_bit_vector);
+      if (other.isSetBlock_id()) {
+        this.block_id = org.apache.thrift.TBaseHelper.copyBinary(other.block_id);
+;
+      }
+      if (other.isSetSblock_id()) {
+        this.sblock_id = org.apache.thrift.TBaseHelper.copyBinary(other.sblock_id);
+;
+      }
+      this.position = other.position;
+      this.max_length = other.max_length;
+      if (other.isSetStorageType()) {
+        this.storageType = other.storageType;
+      }
+    }
+
+    public get_cfs_sblock_chunk_args deepCopy() {
+      return new get_cfs_sblock_chunk_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.block_id = null;
+      this.sblock_id = null;
+      setPositionIsSet(false);
+      this.position = 0;
+      setMax_lengthIsSet(false);
+      this.max_length = 0;
+      this.storageType = null;
+    }
+
+    public byte[] getBlock_id() {
+      setBlock_id(org.apache.thrift.TBaseHelper.rightSize(block_id));
+      return block_id == null ? null : block_id.array();
+    }
+
+    public ByteBuffer bufferForBlock_id() {
+      return block_id;
+    }
+
+    public get_cfs_sblock_chunk_args setBlock_id(byte[] block_id) {
+      setBlock_id(block_id == null ? (ByteBuffer)null : ByteBuffer.wrap(block_id));
+      return this;
+    }
+
+    public get_cfs_sblock_chunk_args setBlock_id(ByteBuffer block_id) {
+      this.block_id = block_id;
+      return this;
+    }
+
+    public void unsetBlock_id() {
+      this.block_id = null;
+    }
+
+    /** Returns true if field block_id is set (has been assigned a value) and false otherwise */
+    public boolean isSetBlock_id() {
+      return this.block_id != null;
+    }
+
+    public void setBlock_idIsSet(boolean value) {
+      if (!value) {
+        this.block_id = null;
+      }
+    }
+
+    public byte[] getSblock_id() {
+      setSblock_id(org.apache.thrift.TBaseHelper.rightSize(sblock_id));
+      return sblock_id == null ? null : sblock_id.array();
+    }
+
+    public ByteBuffer bufferForSblock_id() {
+      return sblock_id;
+    }
+
+    public get_cfs_sblock_chunk_args setSblock_id(byte[] sblock_id) {
+      setSblock_id(sblock_id == null ? (ByteBuffer)null : ByteBuffer.wrap(sblock_id));
+      return this;
+    }
+
+    public get_cfs_sblock_chunk_args setSblock_id(ByteBuffer sblock_id) {
+      this.sblock_id = sblock_id;
+      return this;
+    }
+
+    public void unsetSblock_id() {
+      this.sblock_id = null;
+    }
+
+    /** Returns true if field sblock_id is set (has been assigned a value) and false otherwise */
+    public boolean isSetSblock_id() {
+      return this.sblock_id != null;
+    }
+
+    public void setSblock_idIsSet(boolean value) {
+      if (!value) {
+        this.sblock_id = null;
+      }
+    }
+
+    public long getPosition() {
+      return this.position;
+    }
+
+    public get_cfs_sblock_chunk_args setPosition(long position) {
+      this.position = position;
+      setPositionIsSet(true);
+      return this;
+    }
+
+    public void unsetPosition() {
+      __isset_bit_vector.clear(__POSITION_ISSET_ID);
+    }
+
+    /** Returns true if field position is set (has been assigned a value) and false otherwise */
+    public boolean isSetPosition() {
+      return __isset_bit_vector.get(__POSITION_ISSET_ID);
+    }
+
+    public void setPositionIsSet(boolean value) {
+      __isset_bit_vector.set(__POSITION_ISSET_ID, value);
+    }
+
+    public int getMax_length() {
+      return this.max_length;
+    }
+
+    public get_cfs_sblock_chunk_args setMax_length(int max_length) {
+      this.max_length = max_length;
+      setMax_lengthIsSet(true);
+      return this;
+    }
+
+    public void unsetMax_length() {
+      __isset_bit_vector.clear(__MAX_LENGTH_ISSET_ID);
+    }
+
+    /** Returns true if field max_length is set (has been assigned a value) and false otherwise */
+    public boolean isSetMax_length() {
+      return __isset_bit_vector.get(__MAX_LENGTH_ISSET_ID);
+    }
+
+    public void setMax_lengthIsSet(boolean value) {
+      __isset_bit_vector.set(__MAX_LENGTH_ISSET_ID, value);
+    }
+
+    /**
+     * 
+     * @see StorageType
+     */
+    public StorageType getStorageType() {
+      return this.storageType;
+    }
+
+    /**
+     * 
+     * @see StorageType
+     */
+    public get_cfs_sblock_chunk_args setStorageType(StorageType storageType) {
+      this.storageType = storageType;
+      return this;
+    }
+
+    public void unsetStorageType() {
+      this.storageType = null;
+    }
+
+    /** Returns true if field storageType is set (has been assigned a value) and false otherwise */
+    public boolean isSetStorageType() {
+      return this.storageType != null;
+    }
+
+    public void setStorageTypeIsSet(boolean value) {
+      if (!value) {
+        this.storageType = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case BLOCK_ID:
+        if (value == null) {
+          unsetBlock_id();
+        } else {
+          setBlock_id((ByteBuffer)value);
+        }
+        break;
+
+      case SBLOCK_ID:
+        if (value == null) {
+          unsetSblock_id();
+        } else {
+          setSblock_id((ByteBuffer)value);
+        }
+        break;
+
+      case POSITION:
+        if (value == null) {
+          unsetPosition();
+        } else {
+          setPosition((Long)value);
+        }
+        break;
+
+      case MAX_LENGTH:
+        if (value == null) {
+          unsetMax_length();
+        } else {
+          setMax_length((Integer)value);
+        }
+        break;
+
+      case STORAGE_TYPE:
+        if (value == null) {
+          unsetStorageType();
+        } else {
+          setStorageType((StorageType)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case BLOCK_ID:
+        return getBlock_id();
+
+      case SBLOCK_ID:
+        return getSblock_id();
+
+      case POSITION:
+        return new Long(getPosition());
+
+      case MAX_LENGTH:
+        return new Integer(getMax_length());
+
+      case STORAGE_TYPE:
+        return getStorageType();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case BLOCK_ID:
+        return isSetBlock_id();
+      case SBLOCK_ID:
+        return isSetSblock_id();
+      case POSITION:
+        return isSetPosition();
+      case MAX_LENGTH:
+        return isSetMax_length();
+      case STORAGE_TYPE:
+        return isSetStorageType();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof get_cfs_sblock_chunk_args)
+        return this.equals((get_cfs_sblock_chunk_args)that);
+      return false;
+    }
+
+    public boolean equals(get_cfs_sblock_chunk_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_block_id = true && this.isSetBlock_id();
+      boolean that_present_block_id = true && that.isSetBlock_id();
+      if (this_present_block_id || that_present_block_id) {
+        if (!(this_present_block_id && that_present_block_id))
+          return false;
+        if (!this.block_id.equals(that.block_id))
+          return false;
+      }
+
+      boolean this_present_sblock_id = true && this.isSetSblock_id();
+      boolean that_present_sblock_id = true && that.isSetSblock_id();
+      if (this_present_sblock_id || that_present_sblock_id) {
+        if (!(this_present_sblock_id && that_present_sblock_id))
+          return false;
+        if (!this.sblock_id.equals(that.sblock_id))
+          return false;
+      }
+
+      boolean this_present_position = true;
+      boolean that_present_position = true;
+      if (this_present_position || that_present_position) {
+        if (!(this_present_position && that_present_position))
+          return false;
+        if (this.position != that.position)
+          return false;
+      }
+
+      boolean this_present_max_length = true;
+      boolean that_present_max_length = true;
+      if (this_present_max_length || that_present_max_length) {
+        if (!(this_present_max_length && that_present_max_length))
+          return false;
+        if (this.max_length != that.max_length)
+          return false;
+      }
+
+      boolean this_present_storageType = true && this.isSetStorageType();
+      boolean that_present_storageType = true && that.isSetStorageType();
+      if (this_present_storageType || that_present_storageType) {
+        if (!(this_present_storageType && that_present_storageType))
+          return false;
+        if (!this.storageType.equals(that.storageType))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      HashCodeBuilder builder = new HashCodeBuilder();
+
+      boolean present_block_id = true && (isSetBlock_id());
+      builder.append(present_block_id);
+      if (present_block_id)
+        builder.append(block_id);
+
+      boolean present_sblock_id = true && (isSetSblock_id());
+      builder.append(present_sblock_id);
+      if (present_sblock_id)
+        builder.append(sblock_id);
+
+      boolean present_position = true;
+      builder.append(present_position);
+      if (present_position)
+        builder.append(position);
+
+      boolean present_max_length = true;
+      builder.append(present_max_length);
+      if (present_max_length)
+        builder.append(max_length);
+
+      boolean present_storageType = true && (isSetStorageType());
+      builder.append(present_storageType);
+      if (present_storageType)
+        builder.append(storageType.getValue());
+
+      return builder.toHashCode();
+    }
+
+    public int compareTo(get_cfs_sblock_chunk_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      get_cfs_sblock_chunk_args typedOther = (get_cfs_sblock_chunk_args)other;
+
+      lastComparison = Boolean.valueOf(isSetBlock_id()).compareTo(typedOther.isSetBlock_id());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetBlock_id()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.block_id, typedOther.block_id);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetSblock_id()).compareTo(typedOther.isSetSblock_id());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSblock_id()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.sblock_id, typedOther.sblock_id);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetPosition()).compareTo(typedOther.isSetPosition());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetPosition()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.position, typedOther.position);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetMax_length()).compareTo(typedOther.isSetMax_length());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetMax_length()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.max_length, typedOther.max_length);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetStorageType()).compareTo(typedOther.isSetStorageType());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetStorageType()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.storageType, typedOther.storageType);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      org.apache.thrift.protocol.TField field;
+      iprot.readStructBegin();
+      while (true)
+      {
+        field = iprot.readFieldBegin();
+        if (field.type == org.apache.thrift.protocol.TType.STOP) { 
+          break;
+        }
+        switch (field.id) {
+          case 1: // BLOCK_ID
+            if (field.type == org.apache.thrift.protocol.TType.STRING) {
+              this.block_id = iprot.readBinary();
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 2: // SBLOCK_ID
+            if (field.type == org.apache.thrift.protocol.TType.STRING) {
+              this.sblock_id = iprot.readBinary();
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 3: // POSITION
+            if (field.type == org.apache.thrift.protocol.TType.I64) {
+              this.position = iprot.readI64();
+              setPositionIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 4: // MAX_LENGTH
+            if (field.type == org.apache.thrift.protocol.TType.I32) {
+              this.max_length = iprot.readI32();
+              setMax_lengthIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 5: // STORAGE_TYPE
+            if (field.type == org.apache.thrift.protocol.TType.I32) {
+              this.storageType = StorageType.findByValue(iprot.readI32());
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          default:
+            org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+        }
+        iprot.readFieldEnd();
+      }
+      iprot.readStructEnd();
+
+      // check for required fields of primitive type, which can't be checked in the validate method
+      if (!isSetPosition()) {
+        throw new org.apache.thrift.protocol.TProtocolException("Required field 'position' was not found in serialized data! Struct: " + toString());
+      }
+      if (!isSetMax_length()) {
+        throw new org.apache.thrift.protocol.TProtocolException("Required field 'max_length' was not found in serialized data! Struct: " + toString());
+      }
+      validate();
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      validate();
+
+      oprot.writeStructBegin(STRUCT_DESC);
+      if (this.block_id != null) {
+        oprot.writeFieldBegin(BLOCK_ID_FIELD_DESC);
+        oprot.writeBinary(this.block_id);
+        oprot.writeFieldEnd();
+      }
+      if (this.sblock_id != null) {
+        oprot.writeFieldBegin(SBLOCK_ID_FIELD_DESC);
+        oprot.writeBinary(this.sblock_id);
+        oprot.writeFieldEnd();
+      }
+      oprot.writeFieldBegin(POSITION_FIELD_DESC);
+      oprot.writeI64(this.position);
+      oprot.writeFieldEnd();
+      oprot.writeFieldBegin(MAX_LENGTH_FIELD_DESC);
+      oprot.writeI32(this.max_length);
+      oprot.writeFieldEnd();
+      if (this.storageType != null) {
+        oprot.writeFieldBegin(STORAGE_TYPE_FIELD_DESC);
+        oprot.writeI32(this.storageType.getValue());
+        oprot.writeFieldEnd();
+      }
+      oprot.writeFieldStop();
+      oprot.writeStructEnd();
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("get_cfs_sblock_chunk_args(");
+      boolean first = true;
+
+      sb.append("block_id:");
+      if (this.block_id == null) {
+        sb.append("null");
+      } else {
+        org.apache.thrift.TBaseHelper.toString(this.block_id, sb);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("sblock_id:");
+      if (this.sblock_id == null) {
+        sb.append("null");
+      } else {
+        org.apache.thrift.TBaseHelper.toString(this.sblock_id, sb);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("position:");
+      sb.append(this.position);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("max_length:");
+      sb.append(this.max_length);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("storageType:");
+      if (this.storageType == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.storageType);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      if (block_id == null) {
+        throw new org.apache.thrift.protocol.TProtocolException("Required field 'block_id' was not present! Struct: " + toString());
+      }
+      if (sblock_id == null) {
+        throw new org.apache.thrift.protocol.TProtocolException("Required field 'sblock_id' was not present! Struct: " + toString());
+      }
+      // alas, we cannot check 'position' because it's a primitive and you chose the non-beans generator.
+      // alas, we cannot check 'max_length' because it's a primitive and you chose the non-beans generator.
+      if (storageType == null) {
+        throw new org.apache.thrift.protocol.TProtocolException("Required field 'storageType' was not present! Struct: " + toString());
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bit_vector = new BitSet(1);
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+  }
+
+  public static class get_cfs_sblock_chunk_result implements org.apache.thrift.TBase<get_cfs_sblock_chunk_result, get_cfs_sblock_chunk_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("get_cfs_sblock_chunk_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRING, (short)0);
+    private static final org.apache.thrift.protocol.TField IRE_FIELD_DESC = new org.apache.thrift.protocol.TField("ire", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+    private static final org.apache.thrift.protocol.TField UE_FIELD_DESC = new org.apache.thrift.protocol.TField("ue", org.apache.thrift.protocol.TType.STRUCT, (short)2);
+    private static final org.apache.thrift.protocol.TField TE_FIELD_DESC = new org.apache.thrift.protocol.TField("te", org.apache.thrift.protocol.TType.STRUCT, (short)3);
+    private static final org.apache.thrift.protocol.TField NFE_FIELD_DESC = new org.apache.thrift.protocol.TField("nfe", org.apache.thrift.protocol.TType.STRUCT, (short)4);
+
+    public ByteBuffer success;
+    public InvalidRequestException ire;
+    public UnavailableException ue;
+    public TimedOutException te;
+    public NotFoundException nfe;
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success"),
+      IRE((short)1, "ire"),
+      UE((short)2, "ue"),
+      TE((short)3, "te"),
+      NFE((short)4, "nfe");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          case 1: // IRE
+            return IRE;
+          case 2: // UE
+            return UE;
+          case 3: // TE
+            return TE;
+          case 4: // NFE
+            return NFE;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING          , true)));
+      tmpMap.put(_Fields.IRE, new org.apache.thrift.meta_data.FieldMetaData("ire", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+      tmpMap.put(_Fields.UE, new org.apache.thrift.meta_data.FieldMetaData("ue", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+      tmpMap.put(_Fields.TE, new org.apache.thrift.meta_data.FieldMetaData("te", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+      tmpMap.put(_Fields.NFE, new org.apache.thrift.meta_data.FieldMetaData("nfe", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(get_cfs_sblock_chunk_result.class, metaDataMap);
+    }
+
+    public get_cfs_sblock_chunk_result() {
+    }
+
+    public get_cfs_sblock_chunk_result(
+      ByteBuffer success,
+      InvalidRequestException ire,
+      UnavailableException ue,
+      TimedOutException te,
+      NotFoundException nfe)
+    {
+      this();
+      this.success = success;
+      this.ire = ire;
+      this.ue = ue;
+      this.te = te;
+      this.nfe = nfe;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public get_cfs_sblock_chunk_result(get_cfs_sblock_chunk_result other) {
+      if (other.isSetSuccess()) {
+        this.success = org.apache.thrift.TBaseHelper.copyBinary(other.success);
+;
+      }
+      if (other.isSetIre()) {
+        this.ire = new InvalidRequestException(other.ire);
+      }
+      if (other.isSetUe()) {
+        this.ue = new UnavailableException(other.ue);
+      }
+      if (other.isSetTe()) {
+        this.te = new TimedOutException(other.te);
+      }
+      if (other.isSetNfe()) {
+        this.nfe = new NotFoundException(other.nfe);
+      }
+    }
+
+    public get_cfs_sblock_chunk_result deepCopy() {
+      return new get_cfs_sblock_chunk_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+      this.ire = null;
+      this.ue = null;
+      this.te = null;
+      this.nfe = null;
+    }
+
+    public byte[] getSuccess() {
+      setSuccess(org.apache.thrift.TBaseHelper.rightSize(success));
+      return success == null ? null : success.array();
+    }
+
+    public ByteBuffer bufferForSuccess() {
+      return success;
+    }
+
+    public get_cfs_sblock_chunk_result setSuccess(byte[] success) {
+      setSuccess(success == null ? (ByteBuffer)null : ByteBuffer.wrap(success));
+      return this;
+    }
+
+    public get_cfs_sblock_chunk_result setSuccess(ByteBuffer success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public InvalidRequestException getIre() {
+      return this.ire;
+    }
+
+    public get_cfs_sblock_chunk_result setIre(InvalidRequestException ire) {
+      this.ire = ire;
+      return this;
+    }
+
+    public void unsetIre() {
+      this.ire = null;
+    }
+
+    /** Returns true if field ire is set (has been assigned a value) and false otherwise */
+    public boolean isSetIre() {
+      return this.ire != null;
+    }
+
+    public void setIreIsSet(boolean value) {
+      if (!value) {
+        this.ire = null;
+      }
+    }
+
+    public UnavailableException getUe() {
+      return this.ue;
+    }
+
+    public get_cfs_sblock_chunk_result setUe(UnavailableException ue) {
+      this.ue = ue;
+      return this;
+    }
+
+    public void unsetUe() {
+      this.ue = null;
+    }
+
+    /** Returns true if field ue is set (has been assigned a value) and false otherwise */
+    public boolean isSetUe() {
+      return this.ue != null;
+    }
+
+    public void setUeIsSet(boolean value) {
+      if (!value) {
+        this.ue = null;
+      }
+    }
+
+    public TimedOutException getTe() {
+      return this.te;
+    }
+
+    public get_cfs_sblock_chunk_result setTe(TimedOutException te) {
+      this.te = te;
+      return this;
+    }
+
+    public void unsetTe() {
+      this.te = null;
+    }
+
+    /** Returns true if field te is set (has been assigned a value) and false otherwise */
+    public boolean isSetTe() {
+      return this.te != null;
+    }
+
+    public void setTeIsSet(boolean value) {
+      if (!value) {
+        this.te = null;
+      }
+    }
+
+    public NotFoundException getNfe() {
+      return this.nfe;
+    }
+
+    public get_cfs_sblock_chunk_result setNfe(NotFoundException nfe) {
+      this.nfe = nfe;
+      return this;
+    }
+
+    public void unsetNfe() {
+      this.nfe = null;
+    }
+
+    /** Returns true if field nfe is set (has been assigned a value) and false otherwise */
+    public boolean isSetNfe() {
+      return this.nfe != null;
+    }
+
+    public void setNfeIsSet(boolean value) {
+      if (!value) {
+        this.nfe = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((ByteBuffer)value);
+        }
+        break;
+
+      case IRE:
+        if (value == null) {
+          unsetIre();
+        } else {
+          setIre((InvalidRequestException)value);
+        }
+        break;
+
+      case UE:
+        if (value == null) {
+          unsetUe();
+        } else {
+          setUe((UnavailableException)value);
+        }
+        break;
+
+      case TE:
+        if (value == null) {
+          unsetTe();
+        } else {
+          setTe((TimedOutException)value);
+        }
+        break;
+
+      case NFE:
+        if (value == null) {
+          unsetNfe();
+        } else {
+          setNfe((NotFoundException)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      case IRE:
+        return getIre();
+
+      case UE:
+        return getUe();
+
+      case TE:
+        return getTe();
+
+      case NFE:
+        return getNfe();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      case IRE:
+        return isSetIre();
+      case UE:
+        return isSetUe();
+      case TE:
+        return isSetTe();
+      case NFE:
+        return isSetNfe();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof get_cfs_sblock_chunk_result)
+        return this.equals((get_cfs_sblock_chunk_result)that);
+      return false;
+    }
+
+    public boolean equals(get_cfs_sblock_chunk_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      boolean this_present_ire = true && this.isSetIre();
+      boolean that_present_ire = true && that.isSetIre();
+      if (this_present_ire || that_present_ire) {
+        if (!(this_present_ire && that_present_ire))
+          return false;
+        if (!this.ire.equals(that.ire))
+          return false;
+      }
+
+      boolean this_present_ue = true && this.isSetUe();
+      boolean that_present_ue = true && that.isSetUe();
+      if (this_present_ue || that_present_ue) {
+        if (!(this_present_ue && that_present_ue))
+          return false;
+        if (!this.ue.equals(that.ue))
+          return false;
+      }
+
+      boolean this_present_te = true && this.isSetTe();
+      boolean that_present_te = true && that.isSetTe();
+      if (this_present_te || that_present_te) {
+        if (!(this_present_te && that_present_te))
+          return false;
+        if (!this.te.equals(that.te))
+          return false;
+      }
+
+      boolean this_present_nfe = true && this.isSetNfe();
+      boolean that_present_nfe = true && that.isSetNfe();
+      if (this_present_nfe || that_present_nfe) {
+        if (!(this_present_nfe && that_present_nfe))
+          return false;
+        if (!this.nfe.equals(that.nfe))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      HashCodeBuilder builder = new HashCodeBuilder();
+
+      boolean present_success = true && (isSetSuccess());
+      builder.append(present_success);
+      if (present_success)
+        builder.append(success);
+
+      boolean present_ire = true && (isSetIre());
+      builder.append(present_ire);
+      if (present_ire)
+        builder.append(ire);
+
+      boolean present_ue = true && (isSetUe());
+      builder.append(present_ue);
+      if (present_ue)
+        builder.append(ue);
+
+      boolean present_te = true && (isSetTe());
+      builder.append(present_te);
+      if (present_te)
+        builder.append(te);
+
+      boolean present_nfe = true && (isSetNfe());
+      builder.append(present_nfe);
+      if (present_nfe)
+        builder.append(nfe);
+
+      return builder.toHashCode();
+    }
+
+    public int compareTo(get_cfs_sblock_chunk_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      get_cfs_sblock_chunk_result typedOther = (get_cfs_sblock_chunk_result)other;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, typedOther.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetIre()).compareTo(typedOther.isSetIre());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetIre()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.ire, typedOther.ire);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetUe()).compareTo(typedOther.isSetUe());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetUe()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.ue, typedOther.ue);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetTe()).compareTo(typedOther.isSetTe());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetTe()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.te, typedOther.te);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetNfe()).compareTo(typedOther.isSetNfe());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetNfe()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.nfe, typedOther.nfe);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      org.apache.thrift.protocol.TField field;
+      iprot.readStructBegin();
+      while (true)
+      {
+        field = iprot.readFieldBegin();
+        if (field.type == org.apache.thrift.protocol.TType.STOP) { 
+          break;
+        }
+        switch (field.id) {
+          case 0: // SUCCESS
+            if (field.type == org.apache.thrift.protocol.TType.STRING) {
+              this.success = iprot.readBinary();
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 1: // IRE
+            if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
+              this.ire = new InvalidRequestException();
+              this.ire.read(iprot);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 2: // UE
+            if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
+              this.ue = new UnavailableException();
+              this.ue.read(iprot);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 3: // TE
+            if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
+              this.te = new TimedOutException();
+              this.te.read(iprot);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 4: // NFE
+            if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
+              this.nfe = new NotFoundException();
+              this.nfe.read(iprot);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          default:
+            org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+        }
+        iprot.readFieldEnd();
+      }
+      iprot.readStructEnd();
+
+      // check for required fields of primitive type, which can't be checked in the validate method
+      validate();
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      oprot.writeStructBegin(STRUCT_DESC);
+
+      if (this.isSetSuccess()) {
+        oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+        oprot.writeBinary(this.success);
+        oprot.writeFieldEnd();
+      } else if (this.isSetIre()) {
+        oprot.writeFieldBegin(IRE_FIELD_DESC);
+        this.ire.write(oprot);
+        oprot.writeFieldEnd();
+      } else if (this.isSetUe()) {
+        oprot.writeFieldBegin(UE_FIELD_DESC);
+        this.ue.write(oprot);
+        oprot.writeFieldEnd();
+      } else if (this.isSetTe()) {
+        oprot.writeFieldBegin(TE_FIELD_DESC);
+        this.te.write(oprot);
+        oprot.writeFieldEnd();
+      } else if (this.isSetNfe()) {
+        oprot.writeFieldBegin(NFE_FIELD_DESC);
+        this.nfe.write(oprot);
+        oprot.writeFieldEnd();
+      }
+      oprot.writeFieldStop();
+      oprot.writeStructEnd();
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("get_cfs_sblock_chunk_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        org.apache.thrift.TBaseHelper.toString(this.success, sb);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("ire:");
+      if (this.ire == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.ire);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("ue:");
+      if (this.ue == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.ue);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("te:");
+      if (this.te == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.te);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("nfe:");
+      if (this.nfe == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.nfe);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+  }
+
+  public static class get_cfs_block_checksum_args implements org.apache.thrift.TBase<get_cfs_block_checksum_args, get_cfs_block_checksum_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("get_cfs_block_checksum_args");
+
+    private static final org.apache.thrift.protocol.TField BLOCK_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("block_id", org.apache.thrift.protocol.TType.STRING, (short)1);
+    private static final org.apache.thrift.protocol.TField SBLOCK_IDS_FIELD_DESC = new org.apache.thrift.protocol.TField("sblock_ids", org.apache.thrift.protocol.TType.LIST, (short)2);
+    private static final org.apache.thrift.protocol.TField BYTES_PER_CRC_FIELD_DESC = new org.apache.thrift.protocol.TField("bytes_per_crc", org.apache.thrift.protocol.TType.I32, (short)3);
+    private static final org.apache.thrift.protocol.TField STORAGE_TYPE_FIELD_DESC = new org.apache.thrift.protocol.TField("storageType", org.apache.thrift.protocol.TType.I32, (short)4);
+
+    public ByteBuffer block_id;
+    public List<ByteBuffer> sblock_ids;
+    public int bytes_per_crc;
+    /**
+     * 
+     * @see StorageType
+     */
+    public StorageType storageType;
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      BLOCK_ID((short)1, "block_id"),
+      SBLOCK_IDS((short)2, "sblock_ids"),
+      BYTES_PER_CRC((short)3, "bytes_per_crc"),
+      /**
+       * 
+       * @see StorageType
+       */
+      STORAGE_TYPE((short)4, "storageType");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // BLOCK_ID
+            return BLOCK_ID;
+          case 2: // SBLOCK_IDS
+            return SBLOCK_IDS;
+          case 3: // BYTES_PER_CRC
+            return BYTES_PER_CRC;
+          case 4: // STORAGE_TYPE
+            return STORAGE_TYPE;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private static final int __BYTES_PER_CRC_ISSET_ID = 0;
+    private BitSet __isset_bit_vector = new BitSet(1);
+
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.BLOCK_ID, new org.apache.thrift.meta_data.FieldMetaData("block_id", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING          , true)));
+      tmpMap.put(_Fields.SBLOCK_IDS, new org.apache.thrift.meta_data.FieldMetaData("sblock_ids", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING              , true))));
+      tmpMap.put(_Fields.BYTES_PER_CRC, new org.apache.thrift.meta_data.FieldMetaData("bytes_per_crc", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+      tmpMap.put(_Fields.STORAGE_TYPE, new org.apache.thrift.meta_data.FieldMetaData("storageType", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+          new org.apache.thrift.meta_data.EnumMetaData(org.apache.thrift.protocol.TType.ENUM, StorageType.class)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(get_cfs_block_checksum_args.class, metaDataMap);
+    }
+
+    public get_cfs_block_checksum_args() {
+    }
+
+    public get_cfs_block_checksum_args(
+      ByteBuffer block_id,
+      List<ByteBuffer> sblock_ids,
+      int bytes_per_crc,
+      StorageType storageType)
+    {
+      this();
+      this.block_id = block_id;
+      this.sblock_ids = sblock_ids;
+      this.bytes_per_crc = bytes_per_crc;
+      setBytes_per_crcIsSet(true);
+      this.storageType = storageType;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public get_cfs_block_checksum_args(get_cfs_block_checksum_args other) {
+      __isset_bit_vector.clear();
+      __isset_bit_vector.or(other.__isset_bit_vector);
+      if (other.isSetBlock_id()) {
+        this.block_id = org.apache.thrift.TBaseHelper.copyBinary(other.block_id);
+;
+      }
+      if (other.isSetSblock_ids()) {
+        List<ByteBuffer> __this__sblock_ids = new ArrayList<ByteBuffer>();
+        for (ByteBuffer other_element : other.sblock_ids) {
+          ByteBuffer temp_binary_element = org.apache.thrift.TBaseHelper.copyBinary(other_element);
+;
+          __this__sblock_ids.add(temp_binary_element);
+        }
+        this.sblock_ids = __this__sblock_ids;
+      }
+      this.bytes_per_crc = other.bytes_per_crc;
+      if (other.isSetStorageType()) {
+        this.storageType = other.storageType;
+      }
+    }
+
+    public get_cfs_block_checksum_args deepCopy() {
+      return new get_cfs_block_checksum_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.block_id = null;
+      this.sblock_ids = null;
+      setBytes_per_crcIsSet(false);
+      this.bytes_per_crc = 0;
+      this.storageType = null;
+    }
+
+    public byte[] getBlock_id() {
+      setBlock_id(org.apache.thrift.TBaseHelper.rightSize(block_id));
+      return block_id == null ? null : block_id.array();
+    }
+
+    public ByteBuffer bufferForBlock_id() {
+      return block_id;
+    }
+
+    public get_cfs_block_checksum_args setBlock_id(byte[] block_id) {
+      setBlock_id(block_id == null ? (ByteBuffer)null : ByteBuffer.wrap(block_id));
+      return this;
+    }
+
+    public get_cfs_block_checksum_args setBlock_id(ByteBuffer block_id) {
+      this.block_id = block_id;
+      return this;
+    }
+
+    public void unsetBlock_id() {
+      this.block_id = null;
+    }
+
+    /** Returns true if field block_id is set (has been assigned a value) and false otherwise */
+    public boolean isSetBlock_id() {
+      return this.block_id != null;
+    }
+
+    public void setBlock_idIsSet(boolean value) {
+      if (!value) {
+        this.block_id = null;
+      }
+    }
+
+    public int getSblock_idsSize() {
+      return (this.sblock_ids == null) ? 0 : this.sblock_ids.size();
+    }
+
+    public java.util.Iterator<ByteBuffer> getSblock_idsIterator() {
+      return (this.sblock_ids == null) ? null : this.sblock_ids.iterator();
+    }
+
+    public void addToSblock_ids(ByteBuffer elem) {
+      if (this.sblock_ids == null) {
+        this.sblock_ids = new ArrayList<ByteBuffer>();
+      }
+      this.sblock_ids.add(elem);
+    }
+
+    public List<ByteBuffer> getSblock_ids() {
+      return this.sblock_ids;
+    }
+
+    public get_cfs_block_checksum_args setSblock_ids(List<ByteBuffer> sblock_ids) {
+      this.sblock_ids = sblock_ids;
+      return this;
+    }
+
+    public void unsetSblock_ids() {
+      this.sblock_ids = null;
+    }
+
+    /** Returns true if field sblock_ids is set (has been assigned a value) and false otherwise */
+    public boolean isSetSblock_ids() {
+      return this.sblock_ids != null;
+    }
+
+    public void setSblock_idsIsSet(boolean value) {
+      if (!value) {
+        this.sblock_ids = null;
+      }
+    }
+
+    public int getBytes_per_crc() {
+      return this.bytes_per_crc;
+    }
+
+    public get_cfs_block_checksum_args setBytes_per_crc(int bytes_per_crc) {
+      this.bytes_per_crc = bytes_per_crc;
+      setBytes_per_crcIsSet(true);
+      return this;
+    }
+
+    public void unsetBytes_per_crc() {
+      __isset_bit_vector.clear(__BYTES_PER_CRC_ISSET_ID);
+    }
+
+    /** Returns true if field bytes_per_crc is set (has been assigned a value) and false otherwise */
+    public boolean isSetBytes_per_crc() {
+      return __isset_bit_vector.get(__BYTES_PER_CRC_ISSET_ID);
+    }
+
+    public void setBytes_per_crcIsSet(boolean value) {
+      __isset_bit_vector.set(__BYTES_PER_CRC_ISSET_ID, value);
+    }
+
+    /**
+     * 
+     * @see StorageType
+     */
+    public StorageType getStorageType() {
+      return this.storageType;
+    }
+
+    /**
+     * 
+     * @see StorageType
+     */
+    public get_cfs_block_checksum_args setStorageType(StorageType storageType) {
+      this.storageType = storageType;
+      return this;
+    }
+
+    public void unsetStorageType() {
+      this.storageType = null;
+    }
+
+    /** Returns true if field storageType is set (has been assigned a value) and false otherwise */
+    public boolean isSetStorageType() {
+      return this.storageType != null;
+    }
+
+    public void setStorageTypeIsSet(boolean value) {
+      if (!value) {
+        this.storageType = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case BLOCK_ID:
+        if (value == null) {
+          unsetBlock_id();
+        } else {
+          setBlock_id((ByteBuffer)value);
+        }
+        break;
+
+      case SBLOCK_IDS:
+        if (value == null) {
+          unsetSblock_ids();
+        } else {
+          setSblock_ids((List<ByteBuffer>)value);
+        }
+        break;
+
+      case BYTES_PER_CRC:
+        if (value == null) {
+          unsetBytes_per_crc();
+        } else {
+          setBytes_per_crc((Integer)value);
+        }
+        break;
+
+      case STORAGE_TYPE:
+        if (value == null) {
+          unsetStorageType();
+        } else {
+          setStorageType((StorageType)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case BLOCK_ID:
+        return getBlock_id();
+
+      case SBLOCK_IDS:
+        return getSblock_ids();
+
+      case BYTES_PER_CRC:
+        return new Integer(getBytes_per_crc());
+
+      case STORAGE_TYPE:
+        return getStorageType();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case BLOCK_ID:
+        return isSetBlock_id();
+      case SBLOCK_IDS:
+        return isSetSblock_ids();
+      case BYTES_PER_CRC:
+        return isSetBytes_per_crc();
+      case STORAGE_TYPE:
+        return isSetStorageType();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof get_cfs_block_checksum_args)
+        return this.equals((get_cfs_block_checksum_args)that);
+      return false;
+    }
+
+    public boolean equals(get_cfs_block_checksum_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_block_id = true && this.isSetBlock_id();
+      boolean that_present_block_id = true && that.isSetBlock_id();
+      if (this_present_block_id || that_present_block_id) {
+        if (!(this_present_block_id && that_present_block_id))
+          return false;
+        if (!this.block_id.equals(that.block_id))
+          return false;
+      }
+
+      boolean this_present_sblock_ids = true && this.isSetSblock_ids();
+      boolean that_present_sblock_ids = true && that.isSetSblock_ids();
+      if (this_present_sblock_ids || that_present_sblock_ids) {
+        if (!(this_present_sblock_ids && that_present_sblock_ids))
+          return false;
+        if (!this.sblock_ids.equals(that.sblock_ids))
+          return false;
+      }
+
+      boolean this_present_bytes_per_crc = true;
+      boolean that_present_bytes_per_crc = true;
+      if (this_present_bytes_per_crc || that_present_bytes_per_crc) {
+        if (!(this_present_bytes_per_crc && that_present_bytes_per_crc))
+          return false;
+        if (this.bytes_per_crc != that.bytes_per_crc)
+          return false;
+      }
+
+      boolean this_present_storageType = true && this.isSetStorageType();
+      boolean that_present_storageType = true && that.isSetStorageType();
+      if (this_present_storageType || that_present_storageType) {
+        if (!(this_present_storageType && that_present_storageType))
+          return false;
+        if (!this.storageType.equals(that.storageType))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      HashCodeBuilder builder = new HashCodeBuilder();
+
+      boolean present_block_id = true && (isSetBlock_id());
+      builder.append(present_block_id);
+      if (present_block_id)
+        builder.append(block_id);
+
+      boolean present_sblock_ids = true && (isSetSblock_ids());
+      builder.append(present_sblock_ids);
+      if (present_sblock_ids)
+        builder.append(sblock_ids);
+
+      boolean present_bytes_per_crc = true;
+      builder.append(present_bytes_per_crc);
+      if (present_bytes_per_crc)
+        builder.append(bytes_per_crc);
+
+      boolean present_storageType = true && (isSetStorageType());
+      builder.append(present_storageType);
+      if (present_storageType)
+        builder.append(storageType.getValue());
+
+      return builder.toHashCode();
+    }
+
+    public int compareTo(get_cfs_block_checksum_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      get_cfs_block_checksum_args typedOther = (get_cfs_block_checksum_args)other;
+
+      lastComparison = Boolean.valueOf(isSetBlock_id()).compareTo(typedOther.isSetBlock_id());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetBlock_id()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.block_id, typedOther.block_id);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetSblock_ids()).compareTo(typedOther.isSetSblock_ids());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSblock_ids()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.sblock_ids, typedOther.sblock_ids);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetBytes_per_crc()).compareTo(typedOther.isSetBytes_per_crc());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetBytes_per_crc()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.bytes_per_crc, typedOther.bytes_per_crc);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetStorageType()).compareTo(typedOther.isSetStorageType());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetStorageType()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.storageType, typedOther.storageType);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      org.apache.thrift.protocol.TField field;
+      iprot.readStructBegin();
+      while (true)
+      {
+        field = iprot.readFieldBegin();
+        if (field.type == org.apache.thrift.protocol.TType.STOP) { 
+          break;
+        }
+        switch (field.id) {
+          case 1: // BLOCK_ID
+            if (field.type == org.apache.thrift.protocol.TType.STRING) {
+              this.block_id = iprot.readBinary();
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 2: // SBLOCK_IDS
+            if (field.type == org.apache.thrift.protocol.TType.LIST) {
+              {
+                org.apache.thrift.protocol.TList _list32 = iprot.readListBegin();
+                this.sblock_ids = new ArrayList<ByteBuffer>(_list32.size);
+                for (int _i33 = 0; _i33 < _list32.size; ++_i33)
+                {
+                  ByteBuffer _elem34;
+                  _elem34 = iprot.readBinary();
+                  this.sblock_ids.add(_elem34);
+                }
+                iprot.readListEnd();
+              }
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 3: // BYTES_PER_CRC
+            if (field.type == org.apache.thrift.protocol.TType.I32) {
+              this.bytes_per_crc = iprot.readI32();
+              setBytes_per_crcIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 4: // STORAGE_TYPE
+            if (field.type == org.apache.thrift.protocol.TType.I32) {
+              this.storageType = StorageType.findByValue(iprot.readI32());
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          default:
+            org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+        }
+        iprot.readFieldEnd();
+      }
+      iprot.readStructEnd();
+
+      // check for required fields of primitive type, which can't be checked in the validate method
+      if (!isSetBytes_per_crc()) {
+        throw new org.apache.thrift.protocol.TProtocolException("Required field 'bytes_per_crc' was not found in serialized data! Struct: " + toString());
+      }
+      validate();
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      validate();
+
+      oprot.writeStructBegin(STRUCT_DESC);
+      if (this.block_id != null) {
+        oprot.writeFieldBegin(BLOCK_ID_FIELD_DESC);
+        oprot.writeBinary(this.block_id);
+        oprot.writeFieldEnd();
+      }
+      if (this.sblock_ids != null) {
+        oprot.writeFieldBegin(SBLOCK_IDS_FIELD_DESC);
+        {
+          oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRING, this.sblock_ids.size()));
+          for (ByteBuffer _iter35 : this.sblock_ids)
+          {
+            oprot.writeBinary(_iter35);
+          }
+          oprot.writeListEnd();
+        }
+        oprot.writeFieldEnd();
+      }
+      oprot.writeFieldBegin(BYTES_PER_CRC_FIELD_DESC);
+      oprot.writeI32(this.bytes_per_crc);
+      oprot.writeFieldEnd();
+      if (this.storageType != null) {
+        oprot.writeFieldBegin(STORAGE_TYPE_FIELD_DESC);
+        oprot.writeI32(this.storageType.getValue());
+        oprot.writeFieldEnd();
+      }
+      oprot.writeFieldStop();
+      oprot.writeStructEnd();
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("get_cfs_block_checksum_args(");
+      boolean first = true;
+
+      sb.append("block_id:");
+      if (this.block_id == null) {
+        sb.append("null");
+      } else {
+        org.apache.thrift.TBaseHelper.toString(this.block_id, sb);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("sblock_ids:");
+      if (this.sblock_ids == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.sblock_ids);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("bytes_per_crc:");
+      sb.append(this.bytes_per_crc);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("storageType:");
+      if (this.storageType == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.storageType);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      if (block_id == null) {
+        throw new org.apache.thrift.protocol.TProtocolException("Required field 'block_id' was not present! Struct: " + toString());
+      }
+      if (sblock_ids == null) {
+        throw new org.apache.thrift.protocol.TProtocolException("Required field 'sblock_ids' was not present! Struct: " + toString());
+      }
+      // alas, we cannot check 'bytes_per_crc' because it's a primitive and you chose the non-beans generator.
+      if (storageType == null) {
+        throw new org.apache.thrift.protocol.TProtocolException("Required field 'storageType' was not present! Struct: " + toString());
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bit_vector = new BitSet(1);
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+  }
+
+  public static class get_cfs_block_checksum_result implements org.apache.thrift.TBase<get_cfs_block_checksum_result, get_cfs_block_checksum_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("get_cfs_block_checksum_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRING, (short)0);
+    private static final org.apache.thrift.protocol.TField IRE_FIELD_DESC = new org.apache.thrift.protocol.TField("ire", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+    private static final org.apache.thrift.protocol.TField UE_FIELD_DESC = new org.apache.thrift.protocol.TField("ue", org.apache.thrift.protocol.TType.STRUCT, (short)2);
+    private static final org.apache.thrift.protocol.TField TE_FIELD_DESC = new org.apache.thrift.protocol.TField("te", org.apache.thrift.protocol.TType.STRUCT, (short)3);
+    private static final org.apache.thrift.protocol.TField NFE_FIELD_DESC = new org.apache.thrift.protocol.TField("nfe", org.apache.thrift.protocol.TType.STRUCT, (short)4);
+
+    public ByteBuffer success;
+    public InvalidRequestException ire;
+    public UnavailableException ue;
+    public TimedOutException te;
+    public NotFoundException nfe;
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success"),
+      IRE((short)1, "ire"),
+      UE((short)2, "ue"),
+      TE((short)3, "te"),
+      NFE((short)4, "nfe");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          case 1: // IRE
+            return IRE;
+          case 2: // UE
+            return UE;
+          case 3: // TE
+            return TE;
+          case 4: // NFE
+            return NFE;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING          , true)));
+      tmpMap.put(_Fields.IRE, new org.apache.thrift.meta_data.FieldMetaData("ire", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+      tmpMap.put(_Fields.UE, new org.apache.thrift.meta_data.FieldMetaData("ue", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+      tmpMap.put(_Fields.TE, new org.apache.thrift.meta_data.FieldMetaData("te", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+      tmpMap.put(_Fields.NFE, new org.apache.thrift.meta_data.FieldMetaData("nfe", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(get_cfs_block_checksum_result.class, metaDataMap);
+    }
+
+    public get_cfs_block_checksum_result() {
+    }
+
+    public get_cfs_block_checksum_result(
+      ByteBuffer success,
+      InvalidRequestException ire,
+      UnavailableException ue,
+      TimedOutException te,
+      NotFoundException nfe)
+    {
+      this();
+      this.success = success;
+      this.ire = ire;
+      this.ue = ue;
+      this.te = te;
+      this.nfe = nfe;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public get_cfs_block_checksum_result(get_cfs_block_checksum_result other) {
+      if (other.isSetSuccess()) {
+        this.success = org.apache.thrift.TBaseHelper.copyBinary(other.success);
+;
+      }
+      if (other.isSetIre()) {
+        this.ire = new InvalidRequestException(other.ire);
+      }
+      if (other.isSetUe()) {
+        this.ue = new UnavailableException(other.ue);
+      }
+      if (other.isSetTe()) {
+        this.te = new TimedOutException(other.te);
+      }
+      if (other.isSetNfe()) {
+        this.nfe = new NotFoundException(other.nfe);
+      }
+    }
+
+    public get_cfs_block_checksum_result deepCopy() {
+      return new get_cfs_block_checksum_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+      this.ire = null;
+      this.ue = null;
+      this.te = null;
+      this.nfe = null;
+    }
+
+    public byte[] getSuccess() {
+      setSuccess(org.apache.thrift.TBaseHelper.rightSize(success));
+      return success == null ? null : success.array();
+    }
+
+    public ByteBuffer bufferForSuccess() {
+      return success;
+    }
+
+    public get_cfs_block_checksum_result setSuccess(byte[] success) {
+      setSuccess(success == null ? (ByteBuffer)null : ByteBuffer.wrap(success));
+      return this;
+    }
+
+    public get_cfs_block_checksum_result setSuccess(ByteBuffer success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public InvalidRequestException getIre() {
+      return this.ire;
+    }
+
+    public get_cfs_block_checksum_result setIre(InvalidRequestException ire) {
+      this.ire = ire;
+      return this;
+    }
+
+    public void unsetIre() {
+      this.ire = null;
+    }
+
+    /** Returns true if field ire is set (has been assigned a value) and false otherwise */
+    public boolean isSetIre() {
+      return this.ire != null;
+    }
+
+    public void setIreIsSet(boolean value) {
+      if (!value) {
+        this.ire = null;
+      }
+    }
+
+    public UnavailableException getUe() {
+      return this.ue;
+    }
+
+    public get_cfs_block_checksum_result setUe(UnavailableException ue) {
+      this.ue = ue;
+      return this;
+    }
+
+    public void unsetUe() {
+      this.ue = null;
+    }
+
+    /** Returns true if field ue is set (has been assigned a value) and false otherwise */
+    public boolean isSetUe() {
+      return this.ue != null;
+    }
+
+    public void setUeIsSet(boolean value) {
+      if (!value) {
+        this.ue = null;
+      }
+    }
+
+    public TimedOutException getTe() {
+      return this.te;
+    }
+
+    public get_cfs_block_checksum_result setTe(TimedOutException te) {
+      this.te = te;
+      return this;
+    }
+
+    public void unsetTe() {
+      this.te = null;
+    }
+
+    /** Returns true if field te is set (has been assigned a value) and false otherwise */
+    public boolean isSetTe() {
+      return this.te != null;
+    }
+
+    public void setTeIsSet(boolean value) {
+      if (!value) {
+        this.te = null;
+      }
+    }
+
+    public NotFoundException getNfe() {
+      return this.nfe;
+    }
+
+    public get_cfs_block_checksum_result setNfe(NotFoundException nfe) {
+      this.nfe = nfe;
+      return this;
+    }
+
+    public void unsetNfe() {
+      this.nfe = null;
+    }
+
+    /** Returns true if field nfe is set (has been assigned a value) and false otherwise */
+    public boolean isSetNfe() {
+      return this.nfe != null;
+    }
+
+    public void setNfeIsSet(boolean value) {
+      if (!value) {
+        this.nfe = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((ByteBuffer)value);
+        }
+        break;
+
+      case IRE:
+        if (value == null) {
+          unsetIre();
+        } else {
+          setIre((InvalidRequestException)value);
+        }
+        break;
+
+      case UE:
+        if (value == null) {
+          unsetUe();
+        } else {
+          setUe((UnavailableException)value);
+        }
+        break;
+
+      case TE:
+        if (value == null) {
+          unsetTe();
+        } else {
+          setTe((TimedOutException)value);
+        }
+        break;
+
+      case NFE:
+        if (value == null) {
+          unsetNfe();
+        } else {
+          setNfe((NotFoundException)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      case IRE:
+        return getIre();
+
+      case UE:
+        return getUe();
+
+      case TE:
+        return getTe();
+
+      case NFE:
+        return getNfe();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      case IRE:
+        return isSetIre();
+      case UE:
+        return isSetUe();
+      case TE:
+        return isSetTe();
+      case NFE:
+        return isSetNfe();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof get_cfs_block_checksum_result)
+        return this.equals((get_cfs_block_checksum_result)that);
+      return false;
+    }
+
+    public boolean equals(get_cfs_block_checksum_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      boolean this_present_ire = true && this.isSetIre();
+      boolean that_present_ire = true && that.isSetIre();
+      if (this_present_ire || that_present_ire) {
+        if (!(this_present_ire && that_present_ire))
+          return false;
+        if (!this.ire.equals(that.ire))
+          return false;
+      }
+
+      boolean this_present_ue = true && this.isSetUe();
+      boolean that_present_ue = true && that.isSetUe();
+      if (this_present_ue || that_present_ue) {
+        if (!(this_present_ue && that_present_ue))
+          return false;
+        if (!this.ue.equals(that.ue))
+          return false;
+      }
+
+      boolean this_present_te = true && this.isSetTe();
+      boolean that_present_te = true && that.isSetTe();
+      if (this_present_te || that_present_te) {
+        if (!(this_present_te && that_present_te))
+          return false;
+        if (!this.te.equals(that.te))
+          return false;
+      }
+
+      boolean this_present_nfe = true && this.isSetNfe();
+      boolean that_present_nfe = true && that.isSetNfe();
+      if (this_present_nfe || that_present_nfe) {
+        if (!(this_present_nfe && that_present_nfe))
+          return false;
+        if (!this.nfe.equals(that.nfe))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      HashCodeBuilder builder = new HashCodeBuilder();
+
+      boolean present_success = true && (isSetSuccess());
+      builder.append(present_success);
+      if (present_success)
+        builder.append(success);
+
+      boolean present_ire = true && (isSetIre());
+      builder.append(present_ire);
+      if (present_ire)
+        builder.append(ire);
+
+      boolean present_ue = true && (isSetUe());
+      builder.append(present_ue);
+      if (present_ue)
+        builder.append(ue);
+
+      boolean present_te = true && (isSetTe());
+      builder.append(present_te);
+      if (present_te)
+        builder.append(te);
+
+      boolean present_nfe = true && (isSetNfe());
+      builder.append(present_nfe);
+      if (present_nfe)
+        builder.append(nfe);
+
+      return builder.toHashCode();
+    }
+
+    public int compareTo(get_cfs_block_checksum_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      get_cfs_block_checksum_result typedOther = (get_cfs_block_checksum_result)other;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, typedOther.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetIre()).compareTo(typedOther.isSetIre());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetIre()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.ire, typedOther.ire);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetUe()).compareTo(typedOther.isSetUe());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetUe()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.ue, typedOther.ue);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetTe()).compareTo(typedOther.isSetTe());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetTe()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.te, typedOther.te);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetNfe()).compareTo(typedOther.isSetNfe());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetNfe()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.nfe, typedOther.nfe);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      org.apache.thrift.protocol.TField field;
+      iprot.readStructBegin();
+      while (true)
+      {
+        field = iprot.readFieldBegin();
+        if (field.type == org.apache.thrift.protocol.TType.STOP) { 
+          break;
+        }
+        switch (field.id) {
+          case 0: // SUCCESS
+            if (field.type == org.apache.thrift.protocol.TType.STRING) {
+              this.success = iprot.readBinary();
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 1: // IRE
+            if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
+              this.ire = new InvalidRequestException();
+              this.ire.read(iprot);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 2: // UE
+            if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
+              this.ue = new UnavailableException();
+              this.ue.read(iprot);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 3: // TE
+            if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
+              this.te = new TimedOutException();
+              this.te.read(iprot);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 4: // NFE
+            if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
+              this.nfe = new NotFoundException();
+              this.nfe.read(iprot);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          default:
+            org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+        }
+        iprot.readFieldEnd();
+      }
+      iprot.readStructEnd();
+
+      // check for required fields of primitive type, which can't be checked in the validate method
+      validate();
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      oprot.writeStructBegin(STRUCT_DESC);
+
+      if (this.isSetSuccess()) {
+        oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+        oprot.writeBinary(this.success);
+        oprot.writeFieldEnd();
+      } else if (this.isSetIre()) {
+        oprot.writeFieldBegin(IRE_FIELD_DESC);
+        this.ire.write(oprot);
+        oprot.writeFieldEnd();
+      } else if (this.isSetUe()) {
+        oprot.writeFieldBegin(UE_FIELD_DESC);
+        this.ue.write(oprot);
+        oprot.writeFieldEnd();
+      } else if (this.isSetTe()) {
+        oprot.writeFieldBegin(TE_FIELD_DESC);
+        this.te.write(oprot);
+        oprot.writeFieldEnd();
+      } else if (this.isSetNfe()) {
+        oprot.writeFieldBegin(NFE_FIELD_DESC);
+        this.nfe.write(oprot);
+        oprot.writeFieldEnd();
+      }
+      oprot.writeFieldStop();
+      oprot.writeStructEnd();
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("get_cfs_block_checksum_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        org.apache.thrift.TBaseHelper.toString(this.success, sb);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("ire:");
+      if (this.ire == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.ire);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("ue:");
+      if (this.ue == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.ue);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("te:");
+      if (this.te == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.te);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("nfe:");
+      if (this.nfe == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.nfe);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+  }
+
+  public static class copy_cfs_block_args implements org.apache.thrift.TBase<copy_cfs_block_args, copy_cfs_block_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("copy_cfs_block_args");
+
+    private static final org.apache.thrift.protocol.TField BLOCK_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("block_id", org.apache.thrift.protocol.TType.STRING, (short)1);
+    private static final org.apache.thrift.protocol.TField SBLOCK_IDS_FIELD_DESC = new org.apache.thrift.protocol.TField("sblock_ids", org.apache.thrift.protocol.TType.LIST, (short)2);
+    private static final org.apache.thrift.protocol.TField SOURCE_FIELD_DESC = new org.apache.thrift.protocol.TField("source", org.apache.thrift.protocol.TType.I32, (short)3);
+    private static final org.apache.thrift.protocol.TField TARGET_BLOCK_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("target_block_id", org.apache.thrift.protocol.TType.STRING, (short)4);
+    private static final org.apache.thrift.protocol.TField TARGET_FIELD_DESC = new org.apache.thrift.protocol.TField("target", org.apache.thrift.protocol.TType.I32, (short)5);
+    private static final org.apache.thrift.protocol.TField CONSISTENCY_LEVEL_FIELD_DESC = new org.apache.thrift.protocol.TField("consistency_level", org.apache.thrift.protocol.TType.I32, (short)6);
+
+    public ByteBuffer block_id;
+    public List<ByteBuffer> sblock_ids;
+    /**
+     * 
+     * @see StorageType
+     */
+    public StorageType source;
+    public ByteBuffer target_block_id;
+    /**
+     * 
+     * @see StorageType
+     */
+    public StorageType target;
+    /**
+     * 
+     * @see ConsistencyLevel
+     */
+    public ConsistencyLevel consistency_level;
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      BLOCK_ID((short)1, "block_id"),
+      SBLOCK_IDS((short)2, "sblock_ids"),
+      /**
+       * 
+       * @see StorageType
+       */
+      SOURCE((short)3, "source"),
+      TARGET_BLOCK_ID((short)4, "target_block_id"),
+      /**
+       * 
+       * @see StorageType
+       */
+      TARGET((short)5, "target"),
+      /**
+       * 
+       * @see ConsistencyLevel
+       */
+      CONSISTENCY_LEVEL((short)6, "consistency_level");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // BLOCK_ID
+            return BLOCK_ID;
+          case 2: // SBLOCK_IDS
+            return SBLOCK_IDS;
+          case 3: // SOURCE
+            return SOURCE;
+          case 4: // TARGET_BLOCK_ID
+            return TARGET_BLOCK_ID;
+          case 5: // TARGET
+            return TARGET;
+          case 6: // CONSISTENCY_LEVEL
+            return CONSISTENCY_LEVEL;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private BitSet __isset_bit_vector = new BitSet(0);
+
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.BLOCK_ID, new org.apache.thrift.meta_data.FieldMetaData("block_id", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING          , true)));
+      tmpMap.put(_Fields.SBLOCK_IDS, new org.apache.thrift.meta_data.FieldMetaData("sblock_ids", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING              , true))));
+      tmpMap.put(_Fields.SOURCE, new org.apache.thrift.meta_data.FieldMetaData("source", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+          new org.apache.thrift.meta_data.EnumMetaData(org.apache.thrift.protocol.TType.ENUM, StorageType.class)));
+      tmpMap.put(_Fields.TARGET_BLOCK_ID, new org.apache.thrift.meta_data.FieldMetaData("target_block_id", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING          , true)));
+      tmpMap.put(_Fields.TARGET, new org.apache.thrift.meta_data.FieldMetaData("target", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+          new org.apache.thrift.meta_data.EnumMetaData(org.apache.thrift.protocol.TType.ENUM, StorageType.class)));
+      tmpMap.put(_Fields.CONSISTENCY_LEVEL, new org.apache.thrift.meta_data.FieldMetaData("consistency_level", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+          new org.apache.thrift.meta_data.EnumMetaData(org.apache.thrift.protocol.TType.ENUM, ConsistencyLevel.class)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(copy_cfs_block_args.class, metaDataMap);
+    }
+
+    public copy_cfs_block_args() {
+    }
+
+    public copy_cfs_block_args(
+      ByteBuffer block_id,
+      List<ByteBuffer> sblock_ids,
+      StorageType source,
+      ByteBuffer target_block_id,
+      StorageType target,
+      ConsistencyLevel consistency_level)
+    {
+      this();
+      this.block_id = block_id;
+      this.sblock_ids = sblock_ids;
+      this.source = source;
+      this.target_block_id = target_block_id;
+      this.target = target;
+      this.consistency_level = consistency_level;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public copy_cfs_block_args(copy_cfs_block_args other) {
+      __isset_bit_vector.clear();
+      __isset_bit_vector.or(other.__isset_bit_vector);
+      if (other.isSetBlock_id()) {
+        this.block_id = org.apache.thrift.TBaseHelper.copyBinary(other.block_id);
+;
+      }
+      if (other.isSetSblock_ids()) {
+        List<ByteBuffer> __this__sblock_ids = new ArrayList<ByteBuffer>();
+        for (ByteBuffer other_element : other.sblock_ids) {
+          ByteBuffer temp_binary_element = org.apache.thrift.TBaseHelper.copyBinary(other_element);
+;
+          __this__sblock_ids.add(temp_binary_element);
+        }
+        this.sblock_ids = __this__sblock_ids;
+      }
+      if (other.isSetSource()) {
+        this.source = other.source;
+      }
+      if (other.isSetTarget_block_id()) {
+        this.target_block_id = org.apache.thrift.TBaseHelper.copyBinary(other.target_block_id);
+;
+      }
+      if (other.isSetTarget()) {
+        this.target = other.target;
+      }
+      if (other.isSetConsistency_level()) {
+        this.consistency_level = other.consistency_level;
+      }
+    }
+
+    public copy_cfs_block_args deepCopy() {
+      return new copy_cfs_block_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.block_id = null;
+      this.sblock_ids = null;
+      this.source = null;
+      this.target_block_id = null;
+      this.target = null;
+      this.consistency_level = null;
+    }
+
+    public byte[] getBlock_id() {
+      setBlock_id(org.apache.thrift.TBaseHelper.rightSize(block_id));
+      return block_id == null ? null : block_id.array();
+    }
+
+    public ByteBuffer bufferForBlock_id() {
+      return block_id;
+    }
+
+    public copy_cfs_block_args setBlock_id(byte[] block_id) {
+      setBlock_id(block_id == null ? (ByteBuffer)null : ByteBuffer.wrap(block_id));
+      return this;
+    }
+
+    public copy_cfs_block_args setBlock_id(ByteBuffer block_id) {
+      this.block_id = block_id;
+      return this;
+    }
+
+    public void unsetBlock_id() {
+      this.block_id = null;
+    }
+
+    /** Returns true if field block_id is set (has been assigned a value) and false otherwise */
+    public boolean isSetBlock_id() {
+      return this.block_id != null;
+    }
+
+    public void setBlock_idIsSet(boolean value) {
+      if (!value) {
+        this.block_id = null;
+      }
+    }
+
+    public int getSblock_idsSize() {
+      return (this.sblock_ids == null) ? 0 : this.sblock_ids.size();
+    }
+
+    public java.util.Iterator<ByteBuffer> getSblock_idsIterator() {
+      return (this.sblock_ids == null) ? null : this.sblock_ids.iterator();
+    }
+
+    public void addToSblock_ids(ByteBuffer elem) {
+      if (this.sblock_ids == null) {
+        this.sblock_ids = new ArrayList<ByteBuffer>();
+      }
+      this.sblock_ids.add(elem);
+    }
+
+    public List<ByteBuffer> getSblock_ids() {
+      return this.sblock_ids;
+    }
+
+    public copy_cfs_block_args setSblock_ids(List<ByteBuffer> sblock_ids) {
+      this.sblock_ids = sblock_ids;
+      return this;
+    }
+
+    public void unsetSblock_ids() {
+      this.sblock_ids = null;
+    }
+
+    /** Returns true if field sblock_ids is set (has been assigned a value) and false otherwise */
+    public boolean isSetSblock_ids() {
+      return this.sblock_ids != null;
+    }
+
+    public void setSblock_idsIsSet(boolean value) {
+      if (!value) {
+        this.sblock_ids = null;
+      }
+    }
+
+    /**
+     * 
+     * @see StorageType
+     */
+    public StorageType getSource() {
+      return this.source;
+    }
+
+    /**
+     * 
+     * @see StorageType
+     */
+    public copy_cfs_block_args setSource(StorageType source) {
+      this.source = source;
+      return this;
+    }
+
+    public void unsetSource() {
+      this.source = null;
+    }
+
+    /** Returns true if field source is set (has been assigned a value) and false otherwise */
+    public boolean isSetSource() {
+      return this.source != null;
+    }
+
+    public void setSourceIsSet(boolean value) {
+      if (!value) {
+        this.source = null;
+      }
+    }
+
+    public byte[] getTarget_block_id() {
+      setTarget_block_id(org.apache.thrift.TBaseHelper.rightSize(target_block_id));
+      return target_block_id == null ? null : target_block_id.array();
+    }
+
+    public ByteBuffer bufferForTarget_block_id() {
+      return target_block_id;
+    }
+
+    public copy_cfs_block_args setTarget_block_id(byte[] target_block_id) {
+      setTarget_block_id(target_block_id == null ? (ByteBuffer)null : ByteBuffer.wrap(target_block_id));
+      return this;
+    }
+
+    public copy_cfs_block_args setTarget_block_id(ByteBuffer target_block_id) {
+      this.target_block_id = target_block_id;
+      return this;
+    }
+
+    public void unsetTarget_block_id() {
+      this.target_block_id = null;
+    }
+
+    /** Returns true if field target_block_id is set (has been assigned a value) and false otherwise */
+    public boolean isSetTarget_block_id() {
+      return this.target_block_id != null;
+    }
+
+    public void setTarget_block_idIsSet(boolean value) {
+      if (!value) {
+        this.target_block_id = null;
+      }
+    }
+
+    /**
+     * 
+     * @see StorageType
+     */
+    public StorageType getTarget() {
+      return this.target;
+    }
+
+    /**
+     * 
+     * @see StorageType
+     */
+    public copy_cfs_block_args setTarget(StorageType target) {
+      this.target = target;
+      return this;
+    }
+
+    public void unsetTarget() {
+      this.target = null;
+    }
+
+    /** Returns true if field target is set (has been assigned a value) and false otherwise */
+    public boolean isSetTarget() {
+      return this.target != null;
+    }
+
+    public void setTargetIsSet(boolean value) {
+      if (!value) {
+        this.target = null;
+      }
+    }
+
+    /**
+     * 
+     * @see ConsistencyLevel
+     */
+    public ConsistencyLevel getConsistency_level() {
+      return this.consistency_level;
+    }
+
+    /**
+     * 
+     * @see ConsistencyLevel
+     */
+    public copy_cfs_block_args setConsistency_level(ConsistencyLevel consistency_level) {
+      this.consistency_level = consistency_level;
+      return this;
+    }
+
+    public void unsetConsistency_level() {
+      this.consistency_level = null;
+    }
+
+    /** Returns true if field consistency_level is set (has been assigned a value) and false otherwise */
+    public boolean isSetConsistency_level() {
+      return this.consistency_level != null;
+    }
+
+    public void setConsistency_levelIsSet(boolean value) {
+      if (!value) {
+        this.consistency_level = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case BLOCK_ID:
+        if (value == null) {
+          unsetBlock_id();
+        } else {
+          setBlock_id((ByteBuffer)value);
+        }
+        break;
+
+      case SBLOCK_IDS:
+        if (value == null) {
+          unsetSblock_ids();
+        } else {
+          setSblock_ids((List<ByteBuffer>)value);
+        }
+        break;
+
+      case SOURCE:
+        if (value == null) {
+          unsetSource();
+        } else {
+          setSource((StorageType)value);
+        }
+        break;
+
+      case TARGET_BLOCK_ID:
+        if (value == null) {
+          unsetTarget_block_id();
+        } else {
+          setTarget_block_id((ByteBuffer)value);
+        }
+        break;
+
+      case TARGET:
+        if (value == null) {
+          unsetTarget();
+        } else {
+          setTarget((StorageType)value);
+        }
+        break;
+
+      case CONSISTENCY_LEVEL:
+        if (value == null) {
+          unsetConsistency_level();
+        } else {
+          setConsistency_level((ConsistencyLevel)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case BLOCK_ID:
+        return getBlock_id();
+
+      case SBLOCK_IDS:
+        return getSblock_ids();
+
+      case SOURCE:
+        return getSource();
+
+      case TARGET_BLOCK_ID:
+        return getTarget_block_id();
+
+      case TARGET:
+        return getTarget();
+
+      case CONSISTENCY_LEVEL:
+        return getConsistency_level();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case BLOCK_ID:
+        return isSetBlock_id();
+      case SBLOCK_IDS:
+        return isSetSblock_ids();
+      case SOURCE:
+        return isSetSource();
+      case TARGET_BLOCK_ID:
+        return isSetTarget_block_id();
+      case TARGET:
+        return isSetTarget();
+      case CONSISTENCY_LEVEL:
+        return isSetConsistency_level();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof copy_cfs_block_args)
+        return this.equals((copy_cfs_block_args)that);
+      return false;
+    }
+
+    public boolean equals(copy_cfs_block_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_block_id = true && this.isSetBlock_id();
+      boolean that_present_block_id = true && that.isSetBlock_id();
+      if (this_present_block_id || that_present_block_id) {
+        if (!(this_present_block_id && that_present_block_id))
+          return false;
+        if (!this.block_id.equals(that.block_id))
+          return false;
+      }
+
+      boolean this_present_sblock_ids = true && this.isSetSblock_ids();
+      boolean that_present_sblock_ids = true && that.isSetSblock_ids();
+      if (this_present_sblock_ids || that_present_sblock_ids) {
+        if (!(this_present_sblock_ids && that_present_sblock_ids))
+          return false;
+        if (!this.sblock_ids.equals(that.sblock_ids))
+          return false;
+      }
+
+      boolean this_present_source = true && this.isSetSource();
+      boolean that_present_source = true && that.isSetSource();
+      if (this_present_source || that_present_source) {
+        if (!(this_present_source && that_present_source))
+          return false;
+        if (!this.source.equals(that.source))
+          return false;
+      }
+
+      boolean this_present_target_block_id = true && this.isSetTarget_block_id();
+      boolean that_present_target_block_id = true && that.isSetTarget_block_id();
+      if (this_present_target_block_id || that_present_target_block_id) {
+        if (!(this_present_target_block_id && that_present_target_block_id))
+          return false;
+        if (!this.target_block_id.equals(that.target_block_id))
+          return false;
+      }
+
+      boolean this_present_target = true && this.isSetTarget();
+      boolean that_present_target = true && that.isSetTarget();
+      if (this_present_target || that_present_target) {
+        if (!(this_present_target && that_present_target))
+          return false;
+        if (!this.target.equals(that.target))
+          return false;
+      }
+
+      boolean this_present_consistency_level = true && this.isSetConsistency_level();
+      boolean that_present_consistency_level = true && that.isSetConsistency_level();
+      if (this_present_consistency_level || that_present_consistency_level) {
+        if (!(this_present_consistency_level && that_present_consistency_level))
+          return false;
+        if (!this.consistency_level.equals(that.consistency_level))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      HashCodeBuilder builder = new HashCodeBuilder();
+
+      boolean present_block_id = true && (isSetBlock_id());
+      builder.append(present_block_id);
+      if (present_block_id)
+        builder.append(block_id);
+
+      boolean present_sblock_ids = true && (isSetSblock_ids());
+      builder.append(present_sblock_ids);
+      if (present_sblock_ids)
+        builder.append(sblock_ids);
+
+      boolean present_source = true && (isSetSource());
+      builder.append(present_source);
+      if (present_source)
+        builder.append(source.getValue());
+
+      boolean present_target_block_id = true && (isSetTarget_block_id());
+      builder.append(present_target_block_id);
+      if (present_target_block_id)
+        builder.append(target_block_id);
+
+      boolean present_target = true && (isSetTarget());
+      builder.append(present_target);
+      if (present_target)
+        builder.append(target.getValue());
+
+      boolean present_consistency_level = true && (isSetConsistency_level());
+      builder.append(present_consistency_level);
+      if (present_consistency_level)
+        builder.append(consistency_level.getValue());
+
+      return builder.toHashCode();
+    }
+
+    public int compareTo(copy_cfs_block_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      copy_cfs_block_args typedOther = (copy_cfs_block_args)other;
+
+      lastComparison = Boolean.valueOf(isSetBlock_id()).compareTo(typedOther.isSetBlock_id());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetBlock_id()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.block_id, typedOther.block_id);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetSblock_ids()).compareTo(typedOther.isSetSblock_ids());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSblock_ids()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.sblock_ids, typedOther.sblock_ids);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetSource()).compareTo(typedOther.isSetSource());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSource()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.source, typedOther.source);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetTarget_block_id()).compareTo(typedOther.isSetTarget_block_id());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetTarget_block_id()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.target_block_id, typedOther.target_block_id);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetTarget()).compareTo(typedOther.isSetTarget());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetTarget()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.target, typedOther.target);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetConsistency_level()).compareTo(typedOther.isSetConsistency_level());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetConsistency_level()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.consistency_level, typedOther.consistency_level);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      org.apache.thrift.protocol.TField field;
+      iprot.readStructBegin();
+      while (true)
+      {
+        field = iprot.readFieldBegin();
+        if (field.type == org.apache.thrift.protocol.TType.STOP) { 
+          break;
+        }
+        switch (field.id) {
+          case 1: // BLOCK_ID
+            if (field.type == org.apache.thrift.protocol.TType.STRING) {
+              this.block_id = iprot.readBinary();
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 2: // SBLOCK_IDS
+            if (field.type == org.apache.thrift.protocol.TType.LIST) {
+              {
+                org.apache.thrift.protocol.TList _list32 = iprot.readListBegin();
+                this.sblock_ids = new ArrayList<ByteBuffer>(_list32.size);
+                for (int _i33 = 0; _i33 < _list32.size; ++_i33)
+                {
+                  ByteBuffer _elem34;
+                  _elem34 = iprot.readBinary();
+                  this.sblock_ids.add(_elem34);
+                }
+                iprot.readListEnd();
+              }
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 3: // SOURCE
+            if (field.type == org.apache.thrift.protocol.TType.I32) {
+              this.source = StorageType.findByValue(iprot.readI32());
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 4: // TARGET_BLOCK_ID
+            if (field.type == org.apache.thrift.protocol.TType.STRING) {
+              this.target_block_id = iprot.readBinary();
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 5: // TARGET
+            if (field.type == org.apache.thrift.protocol.TType.I32) {
+              this.target = StorageType.findByValue(iprot.readI32());
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 6: // CONSISTENCY_LEVEL
+            if (field.type == org.apache.thrift.protocol.TType.I32) {
+              this.consistency_level = ConsistencyLevel.findByValue(iprot.readI32());
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          default:
+            org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+        }
+        iprot.readFieldEnd();
+      }
+      iprot.readStructEnd();
+
+      // check for required fields of primitive type, which can't be checked in the validate method
+      validate();
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      validate();
+
+      oprot.writeStructBegin(STRUCT_DESC);
+      if (this.block_id != null) {
+        oprot.writeFieldBegin(BLOCK_ID_FIELD_DESC);
+        oprot.writeBinary(this.block_id);
+        oprot.writeFieldEnd();
+      }
+      if (this.sblock_ids != null) {
+        oprot.writeFieldBegin(SBLOCK_IDS_FIELD_DESC);
+        {
+          oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRING, this.sblock_ids.size()));
+          for (ByteBuffer _iter35 : this.sblock_ids)
+          {
+            oprot.writeBinary(_iter35);
+          }
+          oprot.writeListEnd();
+        }
+        oprot.writeFieldEnd();
+      }
+      if (this.source != null) {
+        oprot.writeFieldBegin(SOURCE_FIELD_DESC);
+        oprot.writeI32(this.source.getValue());
+        oprot.writeFieldEnd();
+      }
+      if (this.target_block_id != null) {
+        oprot.writeFieldBegin(TARGET_BLOCK_ID_FIELD_DESC);
+        oprot.writeBinary(this.target_block_id);
+        oprot.writeFieldEnd();
+      }
+      if (this.target != null) {
+        oprot.writeFieldBegin(TARGET_FIELD_DESC);
+        oprot.writeI32(this.target.getValue());
+        oprot.writeFieldEnd();
+      }
+      if (this.consistency_level != null) {
+        oprot.writeFieldBegin(CONSISTENCY_LEVEL_FIELD_DESC);
+        oprot.writeI32(this.consistency_level.getValue());
+        oprot.writeFieldEnd();
+      }
+      oprot.writeFieldStop();
+      oprot.writeStructEnd();
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("copy_cfs_block_args(");
+      boolean first = true;
+
+      sb.append("block_id:");
+      if (this.block_id == null) {
+        sb.append("null");
+      } else {
+        org.apache.thrift.TBaseHelper.toString(this.block_id, sb);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("sblock_ids:");
+      if (this.sblock_ids == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.sblock_ids);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("source:");
+      if (this.source == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.source);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("target_block_id:");
+      if (this.target_block_id == null) {
+        sb.append("null");
+      } else {
+        org.apache.thrift.TBaseHelper.toString(this.target_block_id, sb);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("target:");
+      if (this.target == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.target);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("consistency_level:");
+      if (this.consistency_level == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.consistency_level);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      if (block_id == null) {
+        throw new org.apache.thrift.protocol.TProtocolException("Required field 'block_id' was not present! Struct: " + toString());
+      }
+      if (sblock_ids == null) {
+        throw new org.apache.thrift.protocol.TProtocolException("Required field 'sblock_ids' was not present! Struct: " + toString());
+      }
+      if (source == null) {
+        throw new org.apache.thrift.protocol.TProtocolException("Required field 'source' was not present! Struct: " + toString());
+      }
+      if (target_block_id == null) {
+        throw new org.apache.thrift.protocol.TProtocolException("Required field 'target_block_id' was not present! Struct: " + toString());
+      }
+      if (target == null) {
+        throw new org.apache.thrift.protocol.TProtocolException("Required field 'target' was not present! Struct: " + toString());
+      }
+      if (consistency_level == null) {
+        throw new org.apache.thrift.protocol.TProtocolException("Required field 'consistency_level' was not present! Struct: " + toString());
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bit_vector = new BitSet(1);
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+  }
+
+  public static class copy_cfs_block_result implements org.apache.thrift.TBase<copy_cfs_block_result, copy_cfs_block_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("copy_cfs_block_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.I64, (short)0);
+    private static final org.apache.thrift.protocol.TField IRE_FIELD_DESC = new org.apache.thrift.protocol.TField("ire", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+    private static final org.apache.thrift.protocol.TField UE_FIELD_DESC = new org.apache.thrift.protocol.TField("ue", org.apache.thrift.protocol.TType.STRUCT, (short)2);
+    private static final org.apache.thrift.protocol.TField TE_FIELD_DESC = new org.apache.thrift.protocol.TField("te", org.apache.thrift.protocol.TType.STRUCT, (short)3);
+    private static final org.apache.thrift.protocol.TField NFE_FIELD_DESC = new org.apache.thrift.protocol.TField("nfe", org.apache.thrift.protocol.TType.STRUCT, (short)4);
+
+    public long success;
+    public InvalidRequestException ire;
+    public UnavailableException ue;
+    public TimedOutException te;
+    public NotFoundException nfe;
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success"),
+      IRE((short)1, "ire"),
+      UE((short)2, "ue"),
+      TE((short)3, "te"),
+      NFE((short)4, "nfe");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          case 1: // IRE
+            return IRE;
+          case 2: // UE
+            return UE;
+          case 3: // TE
+            return TE;
+          case 4: // NFE
+            return NFE;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private static final int __SUCCESS_ISSET_ID = 0;
+    private BitSet __isset_bit_vector = new BitSet(1);
+
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+      tmpMap.put(_Fields.IRE, new org.apache.thrift.meta_data.FieldMetaData("ire", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+      tmpMap.put(_Fields.UE, new org.apache.thrift.meta_data.FieldMetaData("ue", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+      tmpMap.put(_Fields.TE, new org.apache.thrift.meta_data.FieldMetaData("te", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+      tmpMap.put(_Fields.NFE, new org.apache.thrift.meta_data.FieldMetaData("nfe", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(copy_cfs_block_result.class, metaDataMap);
+    }
+
+    public copy_cfs_block_result() {
+    }
+
+    public copy_cfs_block_result(
+      long success,
+      InvalidRequestException ire,
+      UnavailableException ue,
+      TimedOutException te,
+      NotFoundException nfe)
+    {
+      this();
+      this.success = success;
+      setSuccessIsSet(true);
+      this.ire = ire;
+      this.ue = ue;
+      this.te = te;
+      this.nfe = nfe;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public copy_cfs_block_result(copy_cfs_block_result other) {
+      __isset_bit_vector.clear();
+      __isset_bit_vector.or(other.__isset_bit_vector);
+      this.success = other.success;
+      if (other.isSetIre()) {
+        this.ire = new InvalidRequestException(other.ire);
+      }
+      if (other.isSetUe()) {
+        this.ue = new UnavailableException(other.ue);
+      }
+      if (other.isSetTe()) {
+        this.te = new TimedOutException(other.te);
+      }
+      if (other.isSetNfe()) {
+        this.nfe = new NotFoundException(other.nfe);
+      }
+    }
+
+    public copy_cfs_block_result deepCopy() {
+      return new copy_cfs_block_result(this);
+    }
+
+    @Override
+    public void clear() {
+      setSuccessIsSet(false);
+      this.success = 0;
+      this.ire = null;
+      this.ue = null;
+      this.te = null;
+      this.nfe = null;
+    }
+
+    public long getSuccess() {
+      return this.success;
+    }
+
+    public copy_cfs_block_result setSuccess(long success) {
+      this.success = success;
+      setSuccessIsSet(true);
+      return this;
+    }
+
+    public void unsetSuccess() {
+      __isset_bit_vector.clear(__SUCCESS_ISSET_ID);
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return __isset_bit_vector.get(__SUCCESS_ISSET_ID);
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      __isset_bit_vector.set(__SUCCESS_ISSET_ID, value);
+    }
+
+    public InvalidRequestException getIre() {
+      return this.ire;
+    }
+
+    public copy_cfs_block_result setIre(InvalidRequestException ire) {
+      this.ire = ire;
+      return this;
+    }
+
+    public void unsetIre() {
+      this.ire = null;
+    }
+
+    /** Returns true if field ire is set (has been assigned a value) and false otherwise */
+    public boolean isSetIre() {
+      return this.ire != null;
+    }
+
+    public void setIreIsSet(boolean value) {
+      if (!value) {
+        this.ire = null;
+      }
+    }
+
+    public UnavailableException getUe() {
+      return this.ue;
+    }
+
+    public copy_cfs_block_result setUe(UnavailableException ue) {
+      this.ue = ue;
+      return this;
+    }
+
+    public void unsetUe() {
+      this.ue = null;
+    }
+
+    /** Returns true if field ue is set (has been assigned a value) and false otherwise */
+    public boolean isSetUe() {
+      return this.ue != null;
+    }
+
+    public void setUeIsSet(boolean value) {
+      if (!value) {
+        this.ue = null;
+      }
+    }
+
+    public TimedOutException getTe() {
+      return this.te;
+    }
+
+    public copy_cfs_block_result setTe(TimedOutException te) {
+      this.te = te;
+      return this;
+    }
+
+    public void unsetTe() {
+      this.te = null;
+    }
+
+    /** Returns true if field te is set (has been assigned a value) and false otherwise */
+    public boolean isSetTe() {
+      return this.te != null;
+    }
+
+    public void setTeIsSet(boolean value) {
+      if (!value) {
+        this.te = null;
+      }
+    }
+
+    public NotFoundException getNfe() {
+      return this.nfe;
+    }
+
+    public copy_cfs_block_result setNfe(NotFoundException nfe) {
+      this.nfe = nfe;
+      return this;
+    }
+
+    public void unsetNfe() {
+      this.nfe = null;
+    }
+
+    /** Returns true if field nfe is set (has been assigned a value) and false otherwise */
+    public boolean isSetNfe() {
+      return this.nfe != null;
+    }
+
+    public void setNfeIsSet(boolean value) {
+      if (!value) {
+        this.nfe = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((Long)value);
+        }
+        break;
+
+      case IRE:
+        if (value == null) {
+          unsetIre();
+        } else {
+          setIre((InvalidRequestException)value);
+        }
+        break;
+
+      case UE:
+        if (value == null) {
+          unsetUe();
+        } else {
+          setUe((UnavailableException)value);
+        }
+        break;
+
+      case TE:
+        if (value == null) {
+          unsetTe();
+        } else {
+          setTe((TimedOutException)value);
+        }
+        break;
+
+      case NFE:
+        if (value == null) {
+          unsetNfe();
+        } else {
+          setNfe((NotFoundException)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return new Long(getSuccess());
+
+      case IRE:
+        return getIre();
+
+      case UE:
+        return getUe();
+
+      case TE:
+        return getTe();
+
+      case NFE:
+        return getNfe();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      case IRE:
+        return isSetIre();
+      case UE:
+        return isSetUe();
+      case TE:
+        return isSetTe();
+      case NFE:
+        return isSetNfe();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof copy_cfs_block_result)
+        return this.equals((copy_cfs_block_result)that);
+      return false;
+    }
+
+    public boolean equals(copy_cfs_block_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true;
+      boolean that_present_success = true;
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (this.success != that.success)
+          return false;
+      }
+
+      boolean this_present_ire = true && this.isSetIre();
+      boolean that_present_ire = true && that.isSetIre();
+      if (this_present_ire || that_present_ire) {
+        if (!(this_present_ire && that_present_ire))
+          return false;
+        if (!this.ire.equals(that.ire))
+          return false;
+      }
+
+      boolean this_present_ue = true && this.isSetUe();
+      boolean that_present_ue = true && that.isSetUe();
+      if (this_present_ue || that_present_ue) {
+        if (!(this_present_ue && that_present_ue))
+          return false;
+        if (!this.ue.equals(that.ue))
+          return false;
+      }
+
+      boolean this_present_te = true && this.isSetTe();
+      boolean that_present_te = true && that.isSetTe();
+      if (this_present_te || that_present_te) {
+        if (!(this_present_te && that_present_te))
+          return false;
+        if (!this.te.equals(that.te))
+          return false;
+      }
+
+      boolean this_present_nfe = true && this.isSetNfe();
+      boolean that_present_nfe = true && that.isSetNfe();
+      if (this_present_nfe || that_present_nfe) {
+        if (!(this_present_nfe && that_present_nfe))
+          return false;
+        if (!this.nfe.equals(that.nfe))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      HashCodeBuilder builder = new HashCodeBuilder();
+
+      boolean present_success = true;
+      builder.append(present_success);
+      if (present_success)
+        builder.append(success);
+
+      boolean present_ire = true && (isSetIre());
+      builder.append(present_ire);
+      if (present_ire)
+        builder.append(ire);
+
+      boolean present_ue = true && (isSetUe());
+      builder.append(present_ue);
+      if (present_ue)
+        builder.append(ue);
+
+      boolean present_te = true && (isSetTe());
+      builder.append(present_te);
+      if (present_te)
+        builder.append(te);
+
+      boolean present_nfe = true && (isSetNfe());
+      builder.append(present_nfe);
+      if (present_nfe)
+        builder.append(nfe);
+
+      return builder.toHashCode();
+    }
+
+    public int compareTo(copy_cfs_block_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      copy_cfs_block_result typedOther = (copy_cfs_block_result)other;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, typedOther.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetIre()).compareTo(typedOther.isSetIre());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetIre()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.ire, typedOther.ire);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetUe()).compareTo(typedOther.isSetUe());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetUe()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.ue, typedOther.ue);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetTe()).compareTo(typedOther.isSetTe());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetTe()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.te, typedOther.te);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetNfe()).compareTo(typedOther.isSetNfe());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetNfe()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.nfe, typedOther.nfe);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      org.apache.thrift.protocol.TField field;
+      iprot.readStructBegin();
+      while (true)
+      {
+        field = iprot.readFieldBegin();
+        if (field.type == org.apache.thrift.protocol.TType.STOP) { 
+          break;
+        }
+        switch (field.id) {
+          case 0: // SUCCESS
+            if (field.type == org.apache.thrift.protocol.TType.I64) {
+              this.success = iprot.readI64();
+              setSuccessIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 1: // IRE
+            if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
+              this.ire = new InvalidRequestException();
+              this.ire.read(iprot);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 2: // UE
+            if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
+              this.ue = new UnavailableException();
+              this.ue.read(iprot);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 3: // TE
+            if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
+              this.te = new TimedOutException();
+              this.te.read(iprot);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 4: // NFE
+            if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
+              this.nfe = new NotFoundException();
+              this.nfe.read(iprot);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          default:
+            org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+        }
+        iprot.readFieldEnd();
+      }
+      iprot.readStructEnd();
+
+      // check for required fields of primitive type, which can't be checked in the validate method
+      validate();
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      oprot.writeStructBegin(STRUCT_DESC);
+
+      if (this.isSetSuccess()) {
+        oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+        oprot.writeI64(this.success);
+        oprot.writeFieldEnd();
+      } else if (this.isSetIre()) {
+        oprot.writeFieldBegin(IRE_FIELD_DESC);
+        this.ire.write(oprot);
+        oprot.writeFieldEnd();
+      } else if (this.isSetUe()) {
+        oprot.writeFieldBegin(UE_FIELD_DESC);
+        this.ue.write(oprot);
+        oprot.writeFieldEnd();
+      } else if (this.isSetTe()) {
+        oprot.writeFieldBegin(TE_FIELD_DESC);
+        this.te.write(oprot);
+        oprot.writeFieldEnd();
+      } else if (this.isSetNfe()) {
+        oprot.writeFieldBegin(NFE_FIELD_DESC);
+        this.nfe.write(oprot);
+        oprot.writeFieldEnd();
+      }
+      oprot.writeFieldStop();
+      oprot.writeStructEnd();
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("copy_cfs_block_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      sb.append(this.success);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("ire:");
+      if (this.ire == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.ire);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("ue:");
+      if (this.ue == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.ue);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("te:");
+      if (this.te == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.te);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("nfe:");
+      if (this.nfe == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.nfe);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bit_vector = new BitSet(1);
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+  }
+
+  public static class get_jobtracker_address_args implements org.apache.thrift.TBase<get_jobtracker_address_args, get_jobtracker_address_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("get_jobtracker_address_args");
+
+
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+;
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(get_jobtracker_address_args.class, metaDataMap);
+    }
+
+    public get_jobtracker_address_args() {
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public get_jobtracker_address_args(get_jobtracker_address_args other) {
+    }
+
+    public get_jobtracker_address_args deepCopy() {
+      return new get_jobtracker_address_args(this);
+    }
+
+    @Override
+    public void clear() {
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof get_jobtracker_address_args)
+        return this.equals((get_jobtracker_address_args)that);
+      return false;
+    }
+
+    public boolean equals(get_jobtracker_address_args that) {
+      if (that == null)
+        return false;
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      HashCodeBuilder builder = new HashCodeBuilder();
+
+      return builder.toHashCode();
+    }
+
+    public int compareTo(get_jobtracker_address_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      get_jobtracker_address_args typedOther = (get_jobtracker_address_args)other;
+
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      org.apache.thrift.protocol.TField field;
+      iprot.readStructBegin();
+      while (true)
+      {
+        field = iprot.readFieldBegin();
+        if (field.type == org.apache.thrift.protocol.TType.STOP) { 
+          break;
+        }
+        switch (field.id) {
+          default:
+            org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+        }
+        iprot.readFieldEnd();
+      }
+      iprot.readStructEnd();
+
+      // check for required fields of primitive type, which can't be checked in the validate method
+      validate();
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      validate();
+
+      oprot.writeStructBegin(STRUCT_DESC);
+      oprot.writeFieldStop();
+      oprot.writeStructEnd();
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("get_jobtracker_address_args(");
+      boolean first = true;
+
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+  }
+
+  public static class get_jobtracker_address_result implements org.apache.thrift.TBase<get_jobtracker_address_result, get_jobtracker_address_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("get_jobtracker_address_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRING, (short)0);
+    private static final org.apache.thrift.protocol.TField NFE_FIELD_DESC = new org.apache.thrift.protocol.TField("nfe", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+
+    public String success;
+    public NotFoundException nfe;
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success"),
+      NFE((short)1, "nfe");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          case 1: // NFE
+            return NFE;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      tmpMap.put(_Fields.NFE, new org.apache.thrift.meta_data.FieldMetaData("nfe", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(get_jobtracker_address_result.class, metaDataMap);
+    }
+
+    public get_jobtracker_address_result() {
+    }
+
+    public get_jobtracker_address_result(
+      String success,
+      NotFoundException nfe)
+    {
+      this();
+      this.success = success;
+      this.nfe = nfe;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public get_jobtracker_address_result(get_jobtracker_address_result other) {
+      if (other.isSetSuccess()) {
+        this.success = other.success;
+      }
+      if (other.isSetNfe()) {
+        this.nfe = new NotFoundException(other.nfe);
+      }
+    }
+
+    public get_jobtracker_address_result deepCopy() {
+      return new get_jobtracker_address_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+      this.nfe = null;
+    }
+
+    public String getSuccess() {
+      return this.success;
+    }
+
+    public get_jobtracker_address_result setSuccess(String success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public NotFoundException getNfe() {
+      return this.nfe;
+    }
+
+    public get_jobtracker_address_result setNfe(NotFoundException nfe) {
+      this.nfe = nfe;
+      return this;
+    }
+
+    public void unsetNfe() {
+      this.nfe = null;
+    }
+
+    /** Returns true if field nfe is set (has been assigned a value) and false otherwise */
+    public boolean isSetNfe() {
+      return this.nfe != null;
+    }
+
+    public void setNfeIsSet(boolean value) {
+      if (!value) {
+        this.nfe = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((String)value);
+        }
+        break;
+
+      case NFE:
+        if (value == null) {
+          unsetNfe();
+        } else {
+          setNfe((NotFoundException)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      case NFE:
+        return getNfe();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      case NFE:
+        return isSetNfe();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof get_jobtracker_address_result)
+        return this.equals((get_jobtracker_address_result)that);
+      return false;
+    }
+
+    public boolean equals(get_jobtracker_address_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      boolean this_present_nfe = true && this.isSetNfe();
+      boolean that_present_nfe = true && that.isSetNfe();
+      if (this_present_nfe || that_present_nfe) {
+        if (!(this_present_nfe && that_present_nfe))
+          return false;
+        if (!this.nfe.equals(that.nfe))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      HashCodeBuilder builder = new HashCodeBuilder();
+
+      boolean present_success = true && (isSetSuccess());
+      builder.append(present_success);
+      if (present_success)
+        builder.append(success);
+
+      boolean present_nfe = true && (isSetNfe());
+      builder.append(present_nfe);
+      if (present_nfe)
+        builder.append(nfe);
+
+      return builder.toHashCode();
+    }
+
+    public int compareTo(get_jobtracker_address_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      get_jobtracker_address_result typedOther = (get_jobtracker_address_result)other;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, typedOther.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetNfe()).compareTo(typedOther.isSetNfe());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetNfe()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.nfe, typedOther.nfe);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      org.apache.thrift.protocol.TField field;
+      iprot.readStructBegin();
+      while (true)
+      {
+        field = iprot.readFieldBegin();
+        if (field.type == org.apache.thrift.protocol.TType.STOP) { 
+          break;
+        }
+        switch (field.id) {
+          case 0: // SUCCESS
+            if (field.type == org.apache.thrift.protocol.TType.STRING) {
+              this.success = iprot.readString();
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 1: // NFE
+            if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
+              this.nfe = new NotFoundException();
+              this.nfe.read(iprot);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          default:
+            org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+        }
+        iprot.readFieldEnd();
+      }
+      iprot.readStructEnd();
+
+      // check for required fields of primitive type, which can't be checked in the validate method
+      validate();
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      oprot.writeStructBegin(STRUCT_DESC);
+
+      if (this.isSetSuccess()) {
+        oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+        oprot.writeString(this.success);
+        oprot.writeFieldEnd();
+      } else if (this.isSetNfe()) {
+        oprot.writeFieldBegin(NFE_FIELD_DESC);
+        this.nfe.write(oprot);
+        oprot.writeFieldEnd();
+      }
+      oprot.writeFieldStop();
+      oprot.writeStructEnd();
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("get_jobtracker_address_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("nfe:");
+      if (this.nfe == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.nfe);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+  }
+
+  public static class move_job_tracker_args implements org.apache.thrift.TBase<move_job_tracker_args, move_job_tracker_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("move_job_tracker_args");
+
+    private static final org.apache.thrift.protocol.TField NEW_JOBTRACKER_FIELD_DESC = new org.apache.thrift.protocol.TField("new_jobtracker", org.apache.thrift.protocol.TType.STRING, (short)1);
+
+    public String new_jobtracker;
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      NEW_JOBTRACKER((short)1, "new_jobtracker");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // NEW_JOBTRACKER
+            return NEW_JOBTRACKER;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.NEW_JOBTRACKER, new org.apache.thrift.meta_data.FieldMetaData("new_jobtracker", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(move_job_tracker_args.class, metaDataMap);
+    }
+
+    public move_job_tracker_args() {
+    }
+
+    public move_job_tracker_args(
+      String new_jobtracker)
+    {
+      this();
+      this.new_jobtracker = new_jobtracker;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public move_job_tracker_args(move_job_tracker_args other) {
+      if (other.isSetNew_jobtracker()) {
+        this.new_jobtracker = other.new_jobtracker;
+      }
+    }
+
+    public move_job_tracker_args deepCopy() {
+      return new move_job_tracker_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.new_jobtracker = null;
+    }
+
+    public String getNew_jobtracker() {
+      return this.new_jobtracker;
+    }
+
+    public move_job_tracker_args setNew_jobtracker(String new_jobtracker) {
+      this.new_jobtracker = new_jobtracker;
+      return this;
+    }
+
+    public void unsetNew_jobtracker() {
+      this.new_jobtracker = null;
+    }
+
+    /** Returns true if field new_jobtracker is set (has been assigned a value) and false otherwise */
+    public boolean isSetNew_jobtracker() {
+      return this.new_jobtracker != null;
+    }
+
+    public void setNew_jobtrackerIsSet(boolean value) {
+      if (!value) {
+        this.new_jobtracker = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case NEW_JOBTRACKER:
+        if (value == null) {
+          unsetNew_jobtracker();
+        } else {
+          setNew_jobtracker((String)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case NEW_JOBTRACKER:
+        return getNew_jobtracker();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case NEW_JOBTRACKER:
+        return isSetNew_jobtracker();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof move_job_tracker_args)
+        return this.equals((move_job_tracker_args)that);
+      return false;
+    }
+
+    public boolean equals(move_job_tracker_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_new_jobtracker = true && this.isSetNew_jobtracker();
+      boolean that_present_new_jobtracker = true && that.isSetNew_jobtracker();
+      if (this_present_new_jobtracker || that_present_new_jobtracker) {
+        if (!(this_present_new_jobtracker && that_present_new_jobtracker))
+          return false;
+        if (!this.new_jobtracker.equals(that.new_jobtracker))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      HashCodeBuilder builder = new HashCodeBuilder();
+
+      boolean present_new_jobtracker = true && (isSetNew_jobtracker());
+      builder.append(present_new_jobtracker);
+      if (present_new_jobtracker)
+        builder.append(new_jobtracker);
+
+      return builder.toHashCode();
+    }
+
+    public int compareTo(move_job_tracker_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      move_job_tracker_args typedOther = (move_job_tracker_args)other;
+
+      lastComparison = Boolean.valueOf(isSetNew_jobtracker()).compareTo(typedOther.isSetNew_jobtracker());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetNew_jobtracker()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.new_jobtracker, typedOther.new_jobtracker);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      org.apache.thrift.protocol.TField field;
+      iprot.readStructBegin();
+      while (true)
+      {
+        field = iprot.readFieldBegin();
+        if (field.type == org.apache.thrift.protocol.TType.STOP) { 
+          break;
+        }
+        switch (field.id) {
+          case 1: // NEW_JOBTRACKER
+            if (field.type == org.apache.thrift.protocol.TType.STRING) {
+              this.new_jobtracker = iprot.readString();
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          default:
+            org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+        }
+        iprot.readFieldEnd();
+      }
+      iprot.readStructEnd();
+
+      // check for required fields of primitive type, which can't be checked in the validate method
+      validate();
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      validate();
+
+      oprot.writeStructBegin(STRUCT_DESC);
+      if (this.new_jobtracker != null) {
+        oprot.writeFieldBegin(NEW_JOBTRACKER_FIELD_DESC);
+        oprot.writeString(this.new_jobtracker);
         oprot.writeFieldEnd();
       }
       oprot.writeFieldStop();
@@ -2370,42 +9188,14 @@ public class Brisk {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("get_cfs_sblock_args(");
+      StringBuilder sb = new StringBuilder("move_job_tracker_args(");
       boolean first = true;
 
-      sb.append("caller_host_name:");
-      if (this.caller_host_name == null) {
-        sb.append("null");
-      } else {
-        sb.append(this.caller_host_name);
-      }
-      first = false;
-      if (!first) sb.append(", ");
-      sb.append("block_id:");
-      if (this.block_id == null) {
-        sb.append("null");
-      } else {
-        org.apache.thrift.TBaseHelper.toString(this.block_id, sb);
-      }
-      first = false;
-      if (!first) sb.append(", ");
-      sb.append("sblock_id:");
-      if (this.sblock_id == null) {
-        sb.append("null");
-      } else {
-        org.apache.thrift.TBaseHelper.toString(this.sblock_id, sb);
-      }
-      first = false;
-      if (!first) sb.append(", ");
-      sb.append("offset:");
-      sb.append(this.offset);
-      first = false;
-      if (!first) sb.append(", ");
-      sb.append("storageType:");
-      if (this.storageType == null) {
+      sb.append("new_jobtracker:");
+      if (this.new_jobtracker == null) {
         sb.append("null");
       } else {
-        sb.append(this.storageType);
+        sb.append(this.new_jobtracker);
       }
       first = false;
       sb.append(")");
@@ -2414,18 +9204,6 @@ public class Brisk {
 
     public void validate() throws org.apache.thrift.TException {
       // check for required fields
-      if (caller_host_name == null) {
-        throw new org.apache.thrift.protocol.TProtocolException("Required field 'caller_host_name' was not present! Struct: " + toString());
-      }
-      if (block_id == null) {
-        throw new org.apache.thrift.protocol.TProtocolException("Required field 'block_id' was not present! Struct: " + toString());
-      }
-      if (sblock_id == null) {
-        throw new org.apache.thrift.protocol.TProtocolException("Required field 'sblock_id' was not present! Struct: " + toString());
-      }
-      if (storageType == null) {
-        throw new org.apache.thrift.protocol.TProtocolException("Required field 'storageType' was not present! Struct: " + toString());
-      }
     }
 
     private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -2446,28 +9224,19 @@ public class Brisk {
 
   }
 
-  public static class get_cfs_sblock_result implements org.apache.thrift.TBase<get_cfs_sblock_result, get_cfs_sblock_result._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("get_cfs_sblock_result");
+  public static class move_job_tracker_result implements org.apache.thrift.TBase<move_job_tracker_result, move_job_tracker_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("move_job_tracker_result");
 
-    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
-    private static final org.apache.thrift.protocol.TField IRE_FIELD_DESC = new org.apache.thrift.protocol.TField("ire", org.apache.thrift.protocol.TType.STRUCT, (short)1);
-    private static final org.apache.thrift.protocol.TField UE_FIELD_DESC = new org.apache.thrift.protocol.TField("ue", org.apache.thrift.protocol.TType.STRUCT, (short)2);
-    private static final org.apache.thrift.protocol.TField TE_FIELD_DESC = new org.apache.thrift.protocol.TField("te", org.apache.thrift.protocol.TType.STRUCT, (short)3);
-    private static final org.apache.thrift.protocol.TField NFE_FIELD_DESC = new org.apache.thrift.protocol.TField("nfe", org.apache.thrift.protocol.TType.STRUCT, (short)4);
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRING, (short)0);
+    private static final org.apache.thrift.protocol.TField NFE_FIELD_DESC = new org.apache.thrift.protocol.TField("nfe", org.apache.thrift.protocol.TType.STRUCT, (short)1);
 
-    public LocalOrRemoteBlock success;
-    public InvalidRequestException ire;
-    public UnavailableException ue;
-    public TimedOutException te;
+    public String success;
     public NotFoundException nfe;
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
       SUCCESS((short)0, "success"),
-      IRE((short)1, "ire"),
-      UE((short)2, "ue"),
-      TE((short)3, "te"),
-      NFE((short)4, "nfe");
+      NFE((short)1, "nfe");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -2484,13 +9253,7 @@ public class Brisk {
         switch(fieldId) {
           case 0: // SUCCESS
             return SUCCESS;
-          case 1: // IRE
-            return IRE;
-          case 2: // UE
-            return UE;
-          case 3: // TE
-            return TE;
-          case 4: // NFE
+          case 1: // NFE
             return NFE;
           default:
             return null;
@@ -2537,76 +9300,52 @@ public class Brisk {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, LocalOrRemoteBlock.class)));
-      tmpMap.put(_Fields.IRE, new org.apache.thrift.meta_data.FieldMetaData("ire", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
-      tmpMap.put(_Fields.UE, new org.apache.thrift.meta_data.FieldMetaData("ue", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
-      tmpMap.put(_Fields.TE, new org.apache.thrift.meta_data.FieldMetaData("te", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
       tmpMap.put(_Fields.NFE, new org.apache.thrift.meta_data.FieldMetaData("nfe", org.apache.thrift.TFieldRequirementType.DEFAULT, 
           new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(get_cfs_sblock_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(move_job_tracker_result.class, metaDataMap);
     }
 
-    public get_cfs_sblock_result() {
+    public move_job_tracker_result() {
     }
 
-    public get_cfs_sblock_result(
-      LocalOrRemoteBlock success,
-      InvalidRequestException ire,
-      UnavailableException ue,
-      TimedOutException te,
+    public move_job_tracker_result(
+      String success,
       NotFoundException nfe)
     {
       this();
       this.success = success;
-      this.ire = ire;
-      this.ue = ue;
-      this.te = te;
       this.nfe = nfe;
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public get_cfs_sblock_result(get_cfs_sblock_result other) {
+    public move_job_tracker_result(move_job_tracker_result other) {
       if (other.isSetSuccess()) {
-        this.success = new LocalOrRemoteBlock(other.success);
-      }
-      if (other.isSetIre()) {
-        this.ire = new InvalidRequestException(other.ire);
-      }
-      if (other.isSetUe()) {
-        this.ue = new UnavailableException(other.ue);
-      }
-      if (other.isSetTe()) {
-        this.te = new TimedOutException(other.te);
+        this.success = other.success;
       }
       if (other.isSetNfe()) {
         this.nfe = new NotFoundException(other.nfe);
       }
     }
 
-    public get_cfs_sblock_result deepCopy() {
-      return new get_cfs_sblock_result(this);
+    public move_job_tracker_result deepCopy() {
+      return new move_job_tracker_result(this);
     }
 
     @Override
     public void clear() {
       this.success = null;
-      this.ire = null;
-      this.ue = null;
-      this.te = null;
       this.nfe = null;
     }
 
-    public LocalOrRemoteBlock getSuccess() {
+    public String getSuccess() {
       return this.success;
     }
 
-    public get_cfs_sblock_result setSuccess(LocalOrRemoteBlock success) {
+    public move_job_tracker_result setSuccess(String success) {
       this.success = success;
       return this;
     }
@@ -2626,83 +9365,11 @@ public class Brisk {
       }
     }
 
-    public InvalidRequestException getIre() {
-      return this.ire;
-    }
-
-    public get_cfs_sblock_result setIre(InvalidRequestException ire) {
-      this.ire = ire;
-      return this;
-    }
-
-    public void unsetIre() {
-      this.ire = null;
-    }
-
-    /** Returns true if field ire is set (has been assigned a value) and false otherwise */
-    public boolean isSetIre() {
-      return this.ire != null;
-    }
-
-    public void setIreIsSet(boolean value) {
-      if (!value) {
-        this.ire = null;
-      }
-    }
-
-    public UnavailableException getUe() {
-      return this.ue;
-    }
-
-    public get_cfs_sblock_result setUe(UnavailableException ue) {
-      this.ue = ue;
-      return this;
-    }
-
-    public void unsetUe() {
-      this.ue = null;
-    }
-
-    /** Returns true if field ue is set (has been assigned a value) and false otherwise */
-    public boolean isSetUe() {
-      return this.ue != null;
-    }
-
-    public void setUeIsSet(boolean value) {
-      if (!value) {
-        this.ue = null;
-      }
-    }
-
-    public TimedOutException getTe() {
-      return this.te;
-    }
-
-    public get_cfs_sblock_result setTe(TimedOutException te) {
-      this.te = te;
-      return this;
-    }
-
-    public void unsetTe() {
-      this.te = null;
-    }
-
-    /** Returns true if field te is set (has been assigned a value) and false otherwise */
-    public boolean isSetTe() {
-      return this.te != null;
-    }
-
-    public void setTeIsSet(boolean value) {
-      if (!value) {
-        this.te = null;
-      }
-    }
-
     public NotFoundException getNfe() {
       return this.nfe;
     }
 
-    public get_cfs_sblock_result setNfe(NotFoundException nfe) {
+    public move_job_tracker_result setNfe(NotFoundException nfe) {
       this.nfe = nfe;
       return this;
     }
@@ -2728,31 +9395,7 @@ public class Brisk {
         if (value == null) {
           unsetSuccess();
         } else {
-          setSuccess((LocalOrRemoteBlock)value);
-        }
-        break;
-
-      case IRE:
-        if (value == null) {
-          unsetIre();
-        } else {
-          setIre((InvalidRequestException)value);
-        }
-        break;
-
-      case UE:
-        if (value == null) {
-          unsetUe();
-        } else {
-          setUe((UnavailableException)value);
-        }
-        break;
-
-      case TE:
-        if (value == null) {
-          unsetTe();
-        } else {
-          setTe((TimedOutException)value);
+          setSuccess((String)value);
         }
         break;
 
@@ -2765,21 +9408,12 @@ public class Brisk {
         break;
 
       }
-    }
-
-    public Object getFieldValue(_Fields field) {
-      switch (field) {
-      case SUCCESS:
-        return getSuccess();
-
-      case IRE:
-        return getIre();
-
-      case UE:
-        return getUe();
+    }
 
-      case TE:
-        return getTe();
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
 
       case NFE:
         return getNfe();
@@ -2797,12 +9431,6 @@ public class Brisk {
       switch (field) {
       case SUCCESS:
         return isSetSuccess();
-      case IRE:
-        return isSetIre();
-      case UE:
-        return isSetUe();
-      case TE:
-        return isSetTe();
       case NFE:
         return isSetNfe();
       }
@@ -2813,12 +9441,12 @@ public class Brisk {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof get_cfs_sblock_result)
-        return this.equals((get_cfs_sblock_result)that);
+      if (that instanceof move_job_tracker_result)
+        return this.equals((move_job_tracker_result)that);
       return false;
     }
 
-    public boolean equals(get_cfs_sblock_result that) {
+    public boolean equals(move_job_tracker_result that) {
       if (that == null)
         return false;
 
@@ -2831,33 +9459,6 @@ public class Brisk {
           return false;
       }
 
-      boolean this_present_ire = true && this.isSetIre();
-      boolean that_present_ire = true && that.isSetIre();
-      if (this_present_ire || that_present_ire) {
-        if (!(this_present_ire && that_present_ire))
-          return false;
-        if (!this.ire.equals(that.ire))
-          return false;
-      }
-
-      boolean this_present_ue = true && this.isSetUe();
-      boolean that_present_ue = true && that.isSetUe();
-      if (this_present_ue || that_present_ue) {
-        if (!(this_present_ue && that_present_ue))
-          return false;
-        if (!this.ue.equals(that.ue))
-          return false;
-      }
-
-      boolean this_present_te = true && this.isSetTe();
-      boolean that_present_te = true && that.isSetTe();
-      if (this_present_te || that_present_te) {
-        if (!(this_present_te && that_present_te))
-          return false;
-        if (!this.te.equals(that.te))
-          return false;
-      }
-
       boolean this_present_nfe = true && this.isSetNfe();
       boolean that_present_nfe = true && that.isSetNfe();
       if (this_present_nfe || that_present_nfe) {
@@ -2879,21 +9480,6 @@ public class Brisk {
       if (present_success)
         builder.append(success);
 
-      boolean present_ire = true && (isSetIre());
-      builder.append(present_ire);
-      if (present_ire)
-        builder.append(ire);
-
-      boolean present_ue = true && (isSetUe());
-      builder.append(present_ue);
-      if (present_ue)
-        builder.append(ue);
-
-      boolean present_te = true && (isSetTe());
-      builder.append(present_te);
-      if (present_te)
-        builder.append(te);
-
       boolean present_nfe = true && (isSetNfe());
       builder.append(present_nfe);
       if (present_nfe)
@@ -2902,13 +9488,13 @@ public class Brisk {
       return builder.toHashCode();
     }
 
-    public int compareTo(get_cfs_sblock_result other) {
+    public int compareTo(move_job_tracker_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      get_cfs_sblock_result typedOther = (get_cfs_sblock_result)other;
+      move_job_tracker_result typedOther = (move_job_tracker_result)other;
 
       lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
       if (lastComparison != 0) {
@@ -2920,36 +9506,6 @@ public class Brisk {
           return lastComparison;
         }
       }
-      lastComparison = Boolean.valueOf(isSetIre()).compareTo(typedOther.isSetIre());
-      if (lastComparison != 0) {
-        return lastComparison;
-      }
-      if (isSetIre()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.ire, typedOther.ire);
-        if (lastComparison != 0) {
-          return lastComparison;
-        }
-      }
-      lastComparison = Boolean.valueOf(isSetUe()).compareTo(typedOther.isSetUe());
-      if (lastComparison != 0) {
-        return lastComparison;
-      }
-      if (isSetUe()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.ue, typedOther.ue);
-        if (lastComparison != 0) {
-          return lastComparison;
-        }
-      }
-      lastComparison = Boolean.valueOf(isSetTe()).compareTo(typedOther.isSetTe());
-      if (lastComparison != 0) {
-        return lastComparison;
-      }
-      if (isSetTe()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.te, typedOther.te);
-        if (lastComparison != 0) {
-          return lastComparison;
-        }
-      }
       lastComparison = Boolean.valueOf(isSetNfe()).compareTo(typedOther.isSetNfe());
       if (lastComparison != 0) {
         return lastComparison;
@@ -2978,38 +9534,13 @@ public class Brisk {
         }
         switch (field.id) {
           case 0: // SUCCESS
-            if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
-              this.success = new LocalOrRemoteBlock();
-              this.success.read(iprot);
-            } else { 
-              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
-            }
-            break;
-          case 1: // IRE
-            if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
-              this.ire = new InvalidRequestException();
-              this.ire.read(iprot);
-            } else { 
-              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
-            }
-            break;
-          case 2: // UE
-            if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
-              this.ue = new UnavailableException();
-              this.ue.read(iprot);
-            } else { 
-              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
-            }
-            break;
-          case 3: // TE
-            if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
-              this.te = new TimedOutException();
-              this.te.read(iprot);
+            if (field.type == org.apache.thrift.protocol.TType.STRING) {
+              this.success = iprot.readString();
             } else { 
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
             }
             break;
-          case 4: // NFE
+          case 1: // NFE
             if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
               this.nfe = new NotFoundException();
               this.nfe.read(iprot);
@@ -3033,19 +9564,7 @@ public class Brisk {
 
       if (this.isSetSuccess()) {
         oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
-        this.success.write(oprot);
-        oprot.writeFieldEnd();
-      } else if (this.isSetIre()) {
-        oprot.writeFieldBegin(IRE_FIELD_DESC);
-        this.ire.write(oprot);
-        oprot.writeFieldEnd();
-      } else if (this.isSetUe()) {
-        oprot.writeFieldBegin(UE_FIELD_DESC);
-        this.ue.write(oprot);
-        oprot.writeFieldEnd();
-      } else if (this.isSetTe()) {
-        oprot.writeFieldBegin(TE_FIELD_DESC);
-        this.te.write(oprot);
+        oprot.writeString(this.success);
         oprot.writeFieldEnd();
       } else if (this.isSetNfe()) {
         oprot.writeFieldBegin(NFE_FIELD_DESC);
@@ -3058,7 +9577,7 @@ public class Brisk {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("get_cfs_sblock_result(");
+      StringBuilder sb = new StringBuilder("move_job_tracker_result(");
       boolean first = true;
 
       sb.append("success:");
@@ -3069,30 +9588,6 @@ public class Brisk {
       }
       first = false;
       if (!first) sb.append(", ");
-      sb.append("ire:");
-      if (this.ire == null) {
-        sb.append("null");
-      } else {
-        sb.append(this.ire);
-      }
-      first = false;
-      if (!first) sb.append(", ");
-      sb.append("ue:");
-      if (this.ue == null) {
-        sb.append("null");
-      } else {
-        sb.append(this.ue);
-      }
-      first = false;
-      if (!first) sb.append(", ");
-      sb.append("te:");
-      if (this.te == null) {
-        sb.append("null");
-      } else {
-        sb.append(this.te);
-      }
-      first = false;
-      if (!first) sb.append(", ");
       sb.append("nfe:");
       if (this.nfe == null) {
         sb.append("null");
@@ -3126,14 +9621,16 @@ public class Brisk {
 
   }
 
-  public static class get_jobtracker_address_args implements org.apache.thrift.TBase<get_jobtracker_address_args, get_jobtracker_address_args._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("get_jobtracker_address_args");
+  public static class describe_network_locations_args implements org.apache.thrift.TBase<describe_network_locations_args, describe_network_locations_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("describe_network_locations_args");
 
+    private static final org.apache.thrift.protocol.TField ENDPOINTS_FIELD_DESC = new org.apache.thrift.protocol.TField("endpoints", org.apache.thrift.protocol.TType.LIST, (short)1);
 
+    public List<String> endpoints;
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-;
+      ENDPOINTS((short)1, "endpoints");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -3148,6 +9645,8 @@ public class Brisk {
        */
       public static _Fields findByThriftId(int fieldId) {
         switch(fieldId) {
+          case 1: // ENDPOINTS
+            return ENDPOINTS;
           default:
             return null;
         }
@@ -3186,37 +9685,108 @@ public class Brisk {
         return _fieldName;
       }
     }
+
+    // isset id assignments
+
     public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.ENDPOINTS, new org.apache.thrift.meta_data.FieldMetaData("endpoints", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING))));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(get_jobtracker_address_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(describe_network_locations_args.class, metaDataMap);
     }
 
-    public get_jobtracker_address_args() {
+    public describe_network_locations_args() {
+    }
+
+    public describe_network_locations_args(
+      List<String> endpoints)
+    {
+      this();
+      this.endpoints = endpoints;
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public get_jobtracker_address_args(get_jobtracker_address_args other) {
+    public describe_network_locations_args(describe_network_locations_args other) {
+      if (other.isSetEndpoints()) {
+        List<String> __this__endpoints = new ArrayList<String>();
+        for (String other_element : other.endpoints) {
+          __this__endpoints.add(other_element);
+        }
+        this.endpoints = __this__endpoints;
+      }
     }
 
-    public get_jobtracker_address_args deepCopy() {
-      return new get_jobtracker_address_args(this);
+    public describe_network_locations_args deepCopy() {
+      return new describe_network_locations_args(this);
     }
 
     @Override
     public void clear() {
+      this.endpoints = null;
+    }
+
+    public int getEndpointsSize() {
+      return (this.endpoints == null) ? 0 : this.endpoints.size();
+    }
+
+    public java.util.Iterator<String> getEndpointsIterator() {
+      return (this.endpoints == null) ? null : this.endpoints.iterator();
+    }
+
+    public void addToEndpoints(String elem) {
+      if (this.endpoints == null) {
+        this.endpoints = new ArrayList<String>();
+      }
+      this.endpoints.add(elem);
+    }
+
+    public List<String> getEndpoints() {
+      return this.endpoints;
+    }
+
+    public describe_network_locations_args setEndpoints(List<String> endpoints) {
+      this.endpoints = endpoints;
+      return this;
+    }
+
+    public void unsetEndpoints() {
+      this.endpoints = null;
+    }
+
+    /** Returns true if field endpoints is set (has been assigned a value) and false otherwise */
+    public boolean isSetEndpoints() {
+      return this.endpoints != null;
+    }
+
+    public void setEndpointsIsSet(boolean value) {
+      if (!value) {
+        this.endpoints = null;
+      }
     }
 
     public void setFieldValue(_Fields field, Object value) {
       switch (field) {
+      case ENDPOINTS:
+        if (value == null) {
+          unsetEndpoints();
+        } else {
+          setEndpoints((List<String>)value);
+        }
+        break;
+
       }
     }
 
     public Object getFieldValue(_Fields field) {
       switch (field) {
+      case ENDPOINTS:
+        return getEndpoints();
+
       }
       throw new IllegalStateException();
     }
@@ -3228,6 +9798,8 @@ public class Brisk {
       }
 
       switch (field) {
+      case ENDPOINTS:
+        return isSetEndpoints();
       }
       throw new IllegalStateException();
     }
@@ -3236,15 +9808,24 @@ public class Brisk {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof get_jobtracker_address_args)
-        return this.equals((get_jobtracker_address_args)that);
+      if (that instanceof describe_network_locations_args)
+        return this.equals((describe_network_locations_args)that);
       return false;
     }
 
-    public boolean equals(get_jobtracker_address_args that) {
+    public boolean equals(describe_network_locations_args that) {
       if (that == null)
         return false;
 
+      boolean this_present_endpoints = true && this.isSetEndpoints();
+      boolean that_present_endpoints = true && that.isSetEndpoints();
+      if (this_present_endpoints || that_present_endpoints) {
+        if (!(this_present_endpoints && that_present_endpoints))
+          return false;
+        if (!this.endpoints.equals(that.endpoints))
+          return false;
+      }
+
       return true;
     }
 
@@ -3252,17 +9833,32 @@ public class Brisk {
     public int hashCode() {
       HashCodeBuilder builder = new HashCodeBuilder();
 
+      boolean present_endpoints = true && (isSetEndpoints());
+      builder.append(present_endpoints);
+      if (present_endpoints)
+        builder.append(endpoints);
+
       return builder.toHashCode();
     }
 
-    public int compareTo(get_jobtracker_address_args other) {
+    public int compareTo(describe_network_locations_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      get_jobtracker_address_args typedOther = (get_jobtracker_address_args)other;
+      describe_network_locations_args typedOther = (describe_network_locations_args)other;
 
+      lastComparison = Boolean.valueOf(isSetEndpoints()).compareTo(typedOther.isSetEndpoints());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetEndpoints()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.endpoints, typedOther.endpoints);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
       return 0;
     }
 
@@ -3280,6 +9876,23 @@ public class Brisk {
           break;
         }
         switch (field.id) {
+          case 1: // ENDPOINTS
+            if (field.type == org.apache.thrift.protocol.TType.LIST) {
+              {
+                org.apache.thrift.protocol.TList _list12 = iprot.readListBegin();
+                this.endpoints = new ArrayList<String>(_list12.size);
+                for (int _i13 = 0; _i13 < _list12.size; ++_i13)
+                {
+                  String _elem14;
+                  _elem14 = iprot.readString();
+                  this.endpoints.add(_elem14);
+                }
+                iprot.readListEnd();
+              }
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
         }
@@ -3295,21 +9908,43 @@ public class Brisk {
       validate();
 
       oprot.writeStructBegin(STRUCT_DESC);
+      if (this.endpoints != null) {
+        oprot.writeFieldBegin(ENDPOINTS_FIELD_DESC);
+        {
+          oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRING, this.endpoints.size()));
+          for (String _iter15 : this.endpoints)
+          {
+            oprot.writeString(_iter15);
+          }
+          oprot.writeListEnd();
+        }
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("get_jobtracker_address_args(");
+      StringBuilder sb = new StringBuilder("describe_network_locations_args(");
       boolean first = true;
 
+      sb.append("endpoints:");
+      if (this.endpoints == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.endpoints);
+      }
+      first = false;
       sb.append(")");
       return sb.toString();
     }
 
     public void validate() throws org.apache.thrift.TException {
       // check for required fields
+      if (endpoints == null) {
+        throw new org.apache.thrift.protocol.TProtocolException("Required field 'endpoints' was not present! Struct: " + toString());
+      }
     }
 
     private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -3330,19 +9965,19 @@ public class Brisk {
 
   }
 
-  public static class get_jobtracker_address_result implements org.apache.thrift.TBase<get_jobtracker_address_result, get_jobtracker_address_result._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("get_jobtracker_address_result");
+  public static class describe_network_locations_result implements org.apache.thrift.TBase<describe_network_locations_result, describe_network_locations_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("describe_network_locations_result");
 
-    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRING, (short)0);
-    private static final org.apache.thrift.protocol.TField NFE_FIELD_DESC = new org.apache.thrift.protocol.TField("nfe", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.LIST, (short)0);
+    private static final org.apache.thrift.protocol.TField IRE_FIELD_DESC = new org.apache.thrift.protocol.TField("ire", org.apache.thrift.protocol.TType.STRUCT, (short)1);
 
-    public String success;
-    public NotFoundException nfe;
+    public List<String> success;
+    public InvalidRequestException ire;
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
       SUCCESS((short)0, "success"),
-      NFE((short)1, "nfe");
+      IRE((short)1, "ire");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -3359,8 +9994,8 @@ public class Brisk {
         switch(fieldId) {
           case 0: // SUCCESS
             return SUCCESS;
-          case 1: // NFE
-            return NFE;
+          case 1: // IRE
+            return IRE;
           default:
             return null;
         }
@@ -3406,52 +10041,72 @@ public class Brisk {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
-      tmpMap.put(_Fields.NFE, new org.apache.thrift.meta_data.FieldMetaData("nfe", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING))));
+      tmpMap.put(_Fields.IRE, new org.apache.thrift.meta_data.FieldMetaData("ire", org.apache.thrift.TFieldRequirementType.DEFAULT, 
           new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(get_jobtracker_address_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(describe_network_locations_result.class, metaDataMap);
     }
 
-    public get_jobtracker_address_result() {
+    public describe_network_locations_result() {
     }
 
-    public get_jobtracker_address_result(
-      String success,
-      NotFoundException nfe)
+    public describe_network_locations_result(
+      List<String> success,
+      InvalidRequestException ire)
     {
       this();
       this.success = success;
-      this.nfe = nfe;
+      this.ire = ire;
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public get_jobtracker_address_result(get_jobtracker_address_result other) {
+    public describe_network_locations_result(describe_network_locations_result other) {
       if (other.isSetSuccess()) {
-        this.success = other.success;
+        List<String> __this__success = new ArrayList<String>();
+        for (String other_element : other.success) {
+          __this__success.add(other_element);
+        }
+        this.success = __this__success;
       }
-      if (other.isSetNfe()) {
-        this.nfe = new NotFoundException(other.nfe);
+      if (other.isSetIre()) {
+        this.ire = new InvalidRequestException(other.ire);
       }
     }
 
-    public get_jobtracker_address_result deepCopy() {
-      return new get_jobtracker_address_result(this);
+    public describe_network_locations_result deepCopy() {
+      return new describe_network_locations_result(this);
     }
 
     @Override
     public void clear() {
       this.success = null;
-      this.nfe = null;
+      this.ire = null;
     }
 
-    public String getSuccess() {
+    public int getSuccessSize() {
+      return (this.success == null) ? 0 : this.success.size();
+    }
+
+    public java.util.Iterator<String> getSuccessIterator() {
+      return (this.success == null) ? null : this.success.iterator();
+    }
+
+    public void addToSuccess(String elem) {
+      if (this.success == null) {
+        this.success = new ArrayList<String>();
+      }
+      this.success.add(elem);
+    }
+
+    public List<String> getSuccess() {
       return this.success;
     }
 
-    public get_jobtracker_address_result setSuccess(String success) {
+    public describe_network_locations_result setSuccess(List<String> success) {
       this.success = success;
       return this;
     }
@@ -3471,27 +10126,27 @@ public class Brisk {
       }
     }
 
-    public NotFoundException getNfe() {
-      return this.nfe;
+    public InvalidRequestException getIre() {
+      return this.ire;
     }
 
-    public get_jobtracker_address_result setNfe(NotFoundException nfe) {
-      this.nfe = nfe;
+    public describe_network_locations_result setIre(InvalidRequestException ire) {
+      this.ire = ire;
       return this;
     }
 
-    public void unsetNfe() {
-      this.nfe = null;
+    public void unsetIre() {
+      this.ire = null;
     }
 
-    /** Returns true if field nfe is set (has been assigned a value) and false otherwise */
-    public boolean isSetNfe() {
-      return this.nfe != null;
+    /** Returns true if field ire is set (has been assigned a value) and false otherwise */
+    public boolean isSetIre() {
+      return this.ire != null;
     }
 
-    public void setNfeIsSet(boolean value) {
+    public void setIreIsSet(boolean value) {
       if (!value) {
-        this.nfe = null;
+        this.ire = null;
       }
     }
 
@@ -3501,15 +10156,15 @@ public class Brisk {
         if (value == null) {
           unsetSuccess();
         } else {
-          setSuccess((String)value);
+          setSuccess((List<String>)value);
         }
         break;
 
-      case NFE:
+      case IRE:
         if (value == null) {
-          unsetNfe();
+          unsetIre();
         } else {
-          setNfe((NotFoundException)value);
+          setIre((InvalidRequestException)value);
         }
         break;
 
@@ -3521,8 +10176,8 @@ public class Brisk {
       case SUCCESS:
         return getSuccess();
 
-      case NFE:
-        return getNfe();
+      case IRE:
+        return getIre();
 
       }
       throw new IllegalStateException();
@@ -3537,8 +10192,8 @@ public class Brisk {
       switch (field) {
       case SUCCESS:
         return isSetSuccess();
-      case NFE:
-        return isSetNfe();
+      case IRE:
+        return isSetIre();
       }
       throw new IllegalStateException();
     }
@@ -3547,12 +10202,12 @@ public class Brisk {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof get_jobtracker_address_result)
-        return this.equals((get_jobtracker_address_result)that);
+      if (that instanceof describe_network_locations_result)
+        return this.equals((describe_network_locations_result)that);
       return false;
     }
 
-    public boolean equals(get_jobtracker_address_result that) {
+    public boolean equals(describe_network_locations_result that) {
       if (that == null)
         return false;
 
@@ -3565,12 +10220,12 @@ public class Brisk {
           return false;
       }
 
-      boolean this_present_nfe = true && this.isSetNfe();
-      boolean that_present_nfe = true && that.isSetNfe();
-      if (this_present_nfe || that_present_nfe) {
-        if (!(this_present_nfe && that_present_nfe))
+      boolean this_present_ire = true && this.isSetIre();
+      boolean that_present_ire = true && that.isSetIre();
+      if (this_present_ire || that_present_ire) {
+        if (!(this_present_ire && that_present_ire))
           return false;
-        if (!this.nfe.equals(that.nfe))
+        if (!this.ire.equals(that.ire))
           return false;
       }
 
@@ -3586,21 +10241,21 @@ public class Brisk {
       if (present_success)
         builder.append(success);
 
-      boolean present_nfe = true && (isSetNfe());
-      builder.append(present_nfe);
-      if (present_nfe)
-        builder.append(nfe);
+      boolean present_ire = true && (isSetIre());
+      builder.append(present_ire);
+      if (present_ire)
+        builder.append(ire);
 
       return builder.toHashCode();
     }
 
-    public int compareTo(get_jobtracker_address_result other) {
+    public int compareTo(describe_network_locations_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      get_jobtracker_address_result typedOther = (get_jobtracker_address_result)other;
+      describe_network_locations_result typedOther = (describe_network_locations_result)other;
 
       lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
       if (lastComparison != 0) {
@@ -3612,12 +10267,12 @@ public class Brisk {
           return lastComparison;
         }
       }
-      lastComparison = Boolean.valueOf(isSetNfe()).compareTo(typedOther.isSetNfe());
+      lastComparison = Boolean.valueOf(isSetIre()).compareTo(typedOther.isSetIre());
       if (lastComparison != 0) {
         return lastComparison;
       }
-      if (isSetNfe()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.nfe, typedOther.nfe);
+      if (isSetIre()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.ire, typedOther.ire);
         if (lastComparison != 0) {
           return lastComparison;
         }
@@ -3640,16 +10295,26 @@ public class Brisk {
         }
         switch (field.id) {
           case 0: // SUCCESS
-            if (field.type == org.apache.thrift.protocol.TType.STRING) {
-              this.success = iprot.readString();
+            if (field.type == org.apache.thrift.protocol.TType.LIST) {
+              {
+                org.apache.thrift.protocol.TList _list16 = iprot.readListBegin();
+                this.success = new ArrayList<String>(_list16.size);
+                for (int _i17 = 0; _i17 < _list16.size; ++_i17)
+                {
+                  String _elem18;
+                  _elem18 = iprot.readString();
+                  this.success.add(_elem18);
+                }
+                iprot.readListEnd();
+              }
             } else { 
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
             }
             break;
-          case 1: // NFE
+          case 1: // IRE
             if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
-              this.nfe = new NotFoundException();
-              this.nfe.read(iprot);
+              this.ire = new InvalidRequestException();
+              this.ire.read(iprot);
             } else { 
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
             }
@@ -3670,11 +10335,18 @@ public class Brisk {
 
       if (this.isSetSuccess()) {
         oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
-        oprot.writeString(this.success);
+        {
+          oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRING, this.success.size()));
+          for (String _iter19 : this.success)
+          {
+            oprot.writeString(_iter19);
+          }
+          oprot.writeListEnd();
+        }
         oprot.writeFieldEnd();
-      } else if (this.isSetNfe()) {
-        oprot.writeFieldBegin(NFE_FIELD_DESC);
-        this.nfe.write(oprot);
+      } else if (this.isSetIre()) {
+        oprot.writeFieldBegin(IRE_FIELD_DESC);
+        this.ire.write(oprot);
         oprot.writeFieldEnd();
       }
       oprot.writeFieldStop();
@@ -3683,7 +10355,7 @@ public class Brisk {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("get_jobtracker_address_result(");
+      StringBuilder sb = new StringBuilder("describe_network_locations_result(");
       boolean first = true;
 
       sb.append("success:");
@@ -3694,11 +10366,11 @@ public class Brisk {
       }
       first = false;
       if (!first) sb.append(", ");
-      sb.append("nfe:");
-      if (this.nfe == null) {
+      sb.append("ire:");
+      if (this.ire == null) {
         sb.append("null");
       } else {
-        sb.append(this.nfe);
+        sb.append(this.ire);
       }
       first = false;
       sb.append(")");
@@ -3727,16 +10399,38 @@ public class Brisk {
 
   }
 
-  public static class move_job_tracker_args implements org.apache.thrift.TBase<move_job_tracker_args, move_job_tracker_args._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("move_job_tracker_args");
+  public static class describe_cfs_locations_args implements org.apache.thrift.TBase<describe_cfs_locations_args, describe_cfs_locations_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("describe_cfs_locations_args");
 
-    private static final org.apache.thrift.protocol.TField NEW_JOBTRACKER_FIELD_DESC = new org.apache.thrift.protocol.TField("new_jobtracker", org.apache.thrift.protocol.TType.STRING, (short)1);
+    private static final org.apache.thrift.protocol.TField PATHS_FIELD_DESC = new org.apache.thrift.protocol.TField("paths", org.apache.thrift.protocol.TType.LIST, (short)1);
+    private static final org.apache.thrift.protocol.TField STORAGE_TYPE_FIELD_DESC = new org.apache.thrift.protocol.TField("storageType", org.apache.thrift.protocol.TType.I32, (short)2);
+    private static final org.apache.thrift.protocol.TField CONSISTENCY_LEVEL_FIELD_DESC = new org.apache.thrift.protocol.TField("consistency_level", org.apache.thrift.protocol.TType.I32, (short)3);
 
-    public String new_jobtracker;
+    public List<String> paths;
+    /**
+     * 
+     * @see StorageType
+     */
+    public StorageType storageType;
+    /**
+     * 
+     * @see ConsistencyLevel
+     */
+    public ConsistencyLevel consistency_level;
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-      NEW_JOBTRACKER((short)1, "new_jobtracker");
+      PATHS((short)1, "paths"),
+      /**
+       * 
+       * @see StorageType
+       */
+      STORAGE_TYPE((short)2, "storageType"),
+      /**
+       * 
+       * @see ConsistencyLevel
+       */
+      CONSISTENCY_LEVEL((short)3, "consistency_level");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -3751,8 +10445,12 @@ public class Brisk {
        */
       public static _Fields findByThriftId(int fieldId) {
         switch(fieldId) {
-          case 1: // NEW_JOBTRACKER
-            return NEW_JOBTRACKER;
+          case 1: // PATHS
+            return PATHS;
+          case 2: // STORAGE_TYPE
+            return STORAGE_TYPE;
+          case 3: // CONSISTENCY_LEVEL
+            return CONSISTENCY_LEVEL;
           default:
             return null;
         }
@@ -3797,71 +10495,187 @@ public class Brisk {
     public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
-      tmpMap.put(_Fields.NEW_JOBTRACKER, new org.apache.thrift.meta_data.FieldMetaData("new_jobtracker", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      tmpMap.put(_Fields.PATHS, new org.apache.thrift.meta_data.FieldMetaData("paths", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING))));
+      tmpMap.put(_Fields.STORAGE_TYPE, new org.apache.thrift.meta_data.FieldMetaData("storageType", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+          new org.apache.thrift.meta_data.EnumMetaData(org.apache.thrift.protocol.TType.ENUM, StorageType.class)));
+      tmpMap.put(_Fields.CONSISTENCY_LEVEL, new org.apache.thrift.meta_data.FieldMetaData("consistency_level", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+          new org.apache.thrift.meta_data.EnumMetaData(org.apache.thrift.protocol.TType.ENUM, ConsistencyLevel.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(move_job_tracker_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(describe_cfs_locations_args.class, metaDataMap);
     }
 
-    public move_job_tracker_args() {
+    public describe_cfs_locations_args() {
     }
 
-    public move_job_tracker_args(
-      String new_jobtracker)
+    public describe_cfs_locations_args(
+      List<String> paths,
+      StorageType storageType,
+      ConsistencyLevel consistency_level)
     {
       this();
-      this.new_jobtracker = new_jobtracker;
+      this.paths = paths;
+      this.storageType = storageType;
+      this.consistency_level = consistency_level;
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public move_job_tracker_args(move_job_tracker_args other) {
-      if (other.isSetNew_jobtracker()) {
-        this.new_jobtracker = other.new_jobtracker;
+    public describe_cfs_locations_args(describe_cfs_locations_args other) {
+      if (other.isSetPaths()) {
+        List<String> __this__paths = new ArrayList<String>();
+        for (String other_element : other.paths) {
+          __this__paths.add(other_element);
+        }
+        this.paths = __this__paths;
+      }
+      if (other.isSetStorageType()) {
+        this.storageType = other.storageType;
+      }
+      if (other.isSetConsistency_level()) {
+        this.consistency_level = other.consistency_level;
       }
     }
 
-    public move_job_tracker_args deepCopy() {
-      return new move_job_tracker_args(this);
+    public describe_cfs_locations_args deepCopy() {
+      return new describe_cfs_locations_args(this);
     }
 
     @Override
     public void clear() {
-      this.new_jobtracker = null;
+      this.paths = null;
+      this.storageType = null;
+      this.consistency_level = null;
     }
 
-    public String getNew_jobtracker() {
-      return this.new_jobtracker;
+    public int getPathsSize() {
+      return (this.paths == null) ? 0 : this.paths.size();
     }
 
-    public move_job_tracker_args setNew_jobtracker(String new_jobtracker) {
-      this.new_jobtracker = new_jobtracker;
+    public java.util.Iterator<String> getPathsIterator() {
+      return (this.paths == null) ? null : this.paths.iterator();
+    }
+
+    public void addToPaths(String elem) {
+      if (this.paths == null) {
+        this.paths = new ArrayList<String>();
+      }
+      this.paths.add(elem);
+    }
+
+    public List<String> getPaths() {
+      return this.paths;
+    }
+
+    public describe_cfs_locations_args setPaths(List<String> paths) {
+      this.paths = paths;
       return this;
     }
 
-    public void unsetNew_jobtracker() {
-      this.new_jobtracker = null;
+    public void unsetPaths() {
+      this.paths = null;
     }
 
-    /** Returns true if field new_jobtracker is set (has been assigned a value) and false otherwise */
-    public boolean isSetNew_jobtracker() {
-      return this.new_jobtracker != null;
+    /** Returns true if field paths is set (has been assigned a value) and false otherwise */
+    public boolean isSetPaths() {
+      return this.paths != null;
     }
 
-    public void setNew_jobtrackerIsSet(boolean value) {
+    public void setPathsIsSet(boolean value) {
+      if (!value) {
+        this.paths = null;
+      }
+    }
+
+    /**
+     * 
+     * @see StorageType
+     */
+    public StorageType getStorageType() {
+      return this.storageType;
+    }
+
+    /**
+     * 
+     * @see StorageType
+     */
+    public describe_cfs_locations_args setStorageType(StorageType storageType) {
+      this.storageType = storageType;
+      return this;
+    }
+
+    public void unsetStorageType() {
+      this.storageType = null;
+    }
+
+    /** Returns true if field storageType is set (has been assigned a value) and false otherwise */
+    public boolean isSetStorageType() {
+      return this.storageType != null;
+    }
+
+    public void setStorageTypeIsSet(boolean value) {
+      if (!value) {
+        this.storageType = null;
+      }
+    }
+
+    /**
+     * 
+     * @see ConsistencyLevel
+     */
+    public ConsistencyLevel getConsistency_level() {
+      return this.consistency_level;
+    }
+
+    /**
+     * 
+     * @see ConsistencyLevel
+     */
+    public describe_cfs_locations_args setConsistency_level(ConsistencyLevel consistency_level) {
+      this.consistency_level = consistency_level;
+      return this;
+    }
+
+    public void unsetConsistency_level() {
+      this.consistency_level = null;
+    }
+
+    /** Returns true if field consistency_level is set (has been assigned a value) and false otherwise */
+    public boolean isSetConsistency_level() {
+      return this.consistency_level != null;
+    }
+
+    public void setConsistency_levelIsSet(boolean value) {
       if (!value) {
-        this.new_jobtracker = null;
+        this.consistency_level = null;
       }
     }
 
     public void setFieldValue(_Fields field, Object value) {
       switch (field) {
-      case NEW_JOBTRACKER:
+      case PATHS:
         if (value == null) {
-          unsetNew_jobtracker();
+          unsetPaths();
         } else {
-          setNew_jobtracker((String)value);
+          setPaths((List<String>)value);
+        }
+        break;
+
+      case STORAGE_TYPE:
+        if (value == null) {
+          unsetStorageType();
+        } else {
+          setStorageType((StorageType)value);
+        }
+        break;
+
+      case CONSISTENCY_LEVEL:
+        if (value == null) {
+          unsetConsistency_level();
+        } else {
+          setConsistency_level((ConsistencyLevel)value);
         }
         break;
 
@@ -3870,8 +10684,14 @@ public class Brisk {
 
     public Object getFieldValue(_Fields field) {
       switch (field) {
-      case NEW_JOBTRACKER:
-        return getNew_jobtracker();
+      case PATHS:
+        return getPaths();
+
+      case STORAGE_TYPE:
+        return getStorageType();
+
+      case CONSISTENCY_LEVEL:
+        return getConsistency_level();
 
       }
       throw new IllegalStateException();
@@ -3884,8 +10704,12 @@ public class Brisk {
       }
 
       switch (field) {
-      case NEW_JOBTRACKER:
-        return isSetNew_jobtracker();
+      case PATHS:
+        return isSetPaths();
+      case STORAGE_TYPE:
+        return isSetStorageType();
+      case CONSISTENCY_LEVEL:
+        return isSetConsistency_level();
       }
       throw new IllegalStateException();
     }
@@ -3894,21 +10718,39 @@ public class Brisk {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof move_job_tracker_args)
-        return this.equals((move_job_tracker_args)that);
+      if (that instanceof describe_cfs_locations_args)
+        return this.equals((describe_cfs_locations_args)that);
       return false;
     }
 
-    public boolean equals(move_job_tracker_args that) {
+    public boolean equals(describe_cfs_locations_args that) {
       if (that == null)
         return false;
 
-      boolean this_present_new_jobtracker = true && this.isSetNew_jobtracker();
-      boolean that_present_new_jobtracker = true && that.isSetNew_jobtracker();
-      if (this_present_new_jobtracker || that_present_new_jobtracker) {
-        if (!(this_present_new_jobtracker && that_present_new_jobtracker))
+      boolean this_present_paths = true && this.isSetPaths();
+      boolean that_present_paths = true && that.isSetPaths();
+      if (this_present_paths || that_present_paths) {
+        if (!(this_present_paths && that_present_paths))
           return false;
-        if (!this.new_jobtracker.equals(that.new_jobtracker))
+        if (!this.paths.equals(that.paths))
+          return false;
+      }
+
+      boolean this_present_storageType = true && this.isSetStorageType();
+      boolean that_present_storageType = true && that.isSetStorageType();
+      if (this_present_storageType || that_present_storageType) {
+        if (!(this_present_storageType && that_present_storageType))
+          return false;
+        if (!this.storageType.equals(that.storageType))
+          return false;
+      }
+
+      boolean this_present_consistency_level = true && this.isSetConsistency_level();
+      boolean that_present_consistency_level = true && that.isSetConsistency_level();
+      if (this_present_consistency_level || that_present_consistency_level) {
+        if (!(this_present_consistency_level && that_present_consistency_level))
+          return false;
+        if (!this.consistency_level.equals(that.consistency_level))
           return false;
       }
 
@@ -3919,28 +10761,58 @@ public class Brisk {
     public int hashCode() {
       HashCodeBuilder builder = new HashCodeBuilder();
 
-      boolean present_new_jobtracker = true && (isSetNew_jobtracker());
-      builder.append(present_new_jobtracker);
-      if (present_new_jobtracker)
-        builder.append(new_jobtracker);
+      boolean present_paths = true && (isSetPaths());
+      builder.append(present_paths);
+      if (present_paths)
+        builder.append(paths);
+
+      boolean present_storageType = true && (isSetStorageType());
+      builder.append(present_storageType);
+      if (present_storageType)
+        builder.append(storageType.getValue());
+
+      boolean present_consistency_level = true && (isSetConsistency_level());
+      builder.append(present_consistency_level);
+      if (present_consistency_level)
+        builder.append(consistency_level.getValue());
 
       return builder.toHashCode();
     }
 
-    public int compareTo(move_job_tracker_args other) {
+    public int compareTo(describe_cfs_locations_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      move_job_tracker_args typedOther = (move_job_tracker_args)other;
+      describe_cfs_locations_args typedOther = (describe_cfs_locations_args)other;
 
-      lastComparison = Boolean.valueOf(isSetNew_jobtracker()).compareTo(typedOther.isSetNew_jobtracker());
+      lastComparison = Boolean.valueOf(isSetPaths()).compareTo(typedOther.isSetPaths());
       if (lastComparison != 0) {
         return lastComparison;
       }
-      if (isSetNew_jobtracker()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.new_jobtracker, typedOther.new_jobtracker);
+      if (isSetPaths()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.paths, typedOther.paths);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetStorageType()).compareTo(typedOther.isSetStorageType());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetStorageType()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.storageType, typedOther.storageType);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetConsistency_level()).compareTo(typedOther.isSetConsistency_level());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetConsistency_level()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.consistency_level, typedOther.consistency_level);
         if (lastComparison != 0) {
           return lastComparison;
         }
@@ -3962,9 +10834,33 @@ public class Brisk {
           break;
         }
         switch (field.id) {
-          case 1: // NEW_JOBTRACKER
-            if (field.type == org.apache.thrift.protocol.TType.STRING) {
-              this.new_jobtracker = iprot.readString();
+          case 1: // PATHS
+            if (field.type == org.apache.thrift.protocol.TType.LIST) {
+              {
+                org.apache.thrift.protocol.TList _list20 = iprot.readListBegin();
+                this.paths = new ArrayList<String>(_list20.size);
+                for (int _i21 = 0; _i21 < _list20.size; ++_i21)
+                {
+                  String _elem22;
+                  _elem22 = iprot.readString();
+                  this.paths.add(_elem22);
+                }
+                iprot.readListEnd();
+              }
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 2: // STORAGE_TYPE
+            if (field.type == org.apache.thrift.protocol.TType.I32) {
+              this.storageType = StorageType.findByValue(iprot.readI32());
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 3: // CONSISTENCY_LEVEL
+            if (field.type == org.apache.thrift.protocol.TType.I32) {
+              this.consistency_level = ConsistencyLevel.findByValue(iprot.readI32());
             } else { 
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
             }
@@ -3984,9 +10880,26 @@ public class Brisk {
       validate();
 
       oprot.writeStructBegin(STRUCT_DESC);
-      if (this.new_jobtracker != null) {
-        oprot.writeFieldBegin(NEW_JOBTRACKER_FIELD_DESC);
-        oprot.writeString(this.new_jobtracker);
+      if (this.paths != null) {
+        oprot.writeFieldBegin(PATHS_FIELD_DESC);
+        {
+          oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRING, this.paths.size()));
+          for (String _iter23 : this.paths)
+          {
+            oprot.writeString(_iter23);
+          }
+          oprot.writeListEnd();
+        }
+        oprot.writeFieldEnd();
+      }
+      if (this.storageType != null) {
+        oprot.writeFieldBegin(STORAGE_TYPE_FIELD_DESC);
+        oprot.writeI32(this.storageType.getValue());
+        oprot.writeFieldEnd();
+      }
+      if (this.consistency_level != null) {
+        oprot.writeFieldBegin(CONSISTENCY_LEVEL_FIELD_DESC);
+        oprot.writeI32(this.consistency_level.getValue());
         oprot.writeFieldEnd();
       }
       oprot.writeFieldStop();
@@ -3995,14 +10908,30 @@ public class Brisk {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("move_job_tracker_args(");
+      StringBuilder sb = new StringBuilder("describe_cfs_locations_args(");
       boolean first = true;
 
-      sb.append("new_jobtracker:");
-      if (this.new_jobtracker == null) {
+      sb.append("paths:");
+      if (this.paths == null) {
         sb.append("null");
       } else {
-        sb.append(this.new_jobtracker);
+        sb.append(this.paths);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("storageType:");
+      if (this.storageType == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.storageType);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("consistency_level:");
+      if (this.consistency_level == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.consistency_level);
       }
       first = false;
       sb.append(")");
@@ -4011,6 +10940,15 @@ public class Brisk {
 
     public void validate() throws org.apache.thrift.TException {
       // check for required fields
+      if (paths == null) {
+        throw new org.apache.thrift.protocol.TProtocolException("Required field 'paths' was not present! Struct: " + toString());
+      }
+      if (storageType == null) {
+        throw new org.apache.thrift.protocol.TProtocolException("Required field 'storageType' was not present! Struct: " + toString());
+      }
+      if (consistency_level == null) {
+        throw new org.apache.thrift.protocol.TProtocolException("Required field 'consistency_level' was not present! Struct: " + toString());
+      }
     }
 
     private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -4031,19 +10969,25 @@ public class Brisk {
 
   }
 
-  public static class move_job_tracker_result implements org.apache.thrift.TBase<move_job_tracker_result, move_job_tracker_result._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("move_job_tracker_result");
+  public static class describe_cfs_locations_result implements org.apache.thrift.TBase<describe_cfs_locations_result, describe_cfs_locations_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("describe_cfs_locations_result");
 
-    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRING, (short)0);
-    private static final org.apache.thrift.protocol.TField NFE_FIELD_DESC = new org.apache.thrift.protocol.TField("nfe", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.LIST, (short)0);
+    private static final org.apache.thrift.protocol.TField IRE_FIELD_DESC = new org.apache.thrift.protocol.TField("ire", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+    private static final org.apache.thrift.protocol.TField UE_FIELD_DESC = new org.apache.thrift.protocol.TField("ue", org.apache.thrift.protocol.TType.STRUCT, (short)2);
+    private static final org.apache.thrift.protocol.TField TE_FIELD_DESC = new org.apache.thrift.protocol.TField("te", org.apache.thrift.protocol.TType.STRUCT, (short)3);
 
-    public String success;
-    public NotFoundException nfe;
+    public List<List<CfsBlockLocation>> success;
+    public InvalidRequestException ire;
+    public UnavailableException ue;
+    public TimedOutException te;
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
       SUCCESS((short)0, "success"),
-      NFE((short)1, "nfe");
+      IRE((short)1, "ire"),
+      UE((short)2, "ue"),
+      TE((short)3, "te");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -4060,8 +11004,12 @@ public class Brisk {
         switch(fieldId) {
           case 0: // SUCCESS
             return SUCCESS;
-          case 1: // NFE
-            return NFE;
+          case 1: // IRE
+            return IRE;
+          case 2: // UE
+            return UE;
+          case 3: // TE
+            return TE;
           default:
             return null;
         }
@@ -4107,92 +11055,181 @@ public class Brisk {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
-      tmpMap.put(_Fields.NFE, new org.apache.thrift.meta_data.FieldMetaData("nfe", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+                  new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, CfsBlockLocation.class)))));
+      tmpMap.put(_Fields.IRE, new org.apache.thrift.meta_data.FieldMetaData("ire", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+      tmpMap.put(_Fields.UE, new org.apache.thrift.meta_data.FieldMetaData("ue", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+      tmpMap.put(_Fields.TE, new org.apache.thrift.meta_data.FieldMetaData("te", org.apache.thrift.TFieldRequirementType.DEFAULT, 
           new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(move_job_tracker_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(describe_cfs_locations_result.class, metaDataMap);
     }
 
-    public move_job_tracker_result() {
+    public describe_cfs_locations_result() {
     }
 
-    public move_job_tracker_result(
-      String success,
-      NotFoundException nfe)
+    public describe_cfs_locations_result(
+      List<List<CfsBlockLocation>> success,
+      InvalidRequestException ire,
+      UnavailableException ue,
+      TimedOutException te)
     {
       this();
       this.success = success;
-      this.nfe = nfe;
+      this.ire = ire;
+      this.ue = ue;
+      this.te = te;
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public move_job_tracker_result(move_job_tracker_result other) {
+    public describe_cfs_locations_result(describe_cfs_locations_result other) {
       if (other.isSetSuccess()) {
-        this.success = other.success;
+        List<List<CfsBlockLocation>> __this__success = new ArrayList<List<CfsBlockLocation>>();
+        for (List<CfsBlockLocation> other_element : other.success) {
+          List<CfsBlockLocation> __this__success_copy = new ArrayList<CfsBlockLocation>();
+          for (CfsBlockLocation other_element_element : other_element) {
+            __this__success_copy.add(new CfsBlockLocation(other_element_element));
+          }
+          __this__success.add(__this__success_copy);
+        }
+        this.success = __this__success;
       }
-      if (other.isSetNfe()) {
-        this.nfe = new NotFoundException(other.nfe);
+      if (other.isSetIre()) {
+        this.ire = new InvalidRequestException(other.ire);
+      }
+      if (other.isSetUe()) {
+        this.ue = new UnavailableException(other.ue);
+      }
+      if (other.isSetTe()) {
+        this.te = new TimedOutException(other.te);
       }
     }
 
-    public move_job_tracker_result deepCopy() {
-      return new move_job_tracker_result(this);
+    public describe_cfs_locations_result deepCopy() {
+      return new describe_cfs_locations_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+      this.ire = null;
+      this.ue = null;
+      this.te = null;
+    }
+
+    public int getSuccessSize() {
+      return (this.success == null) ? 0 : this.success.size();
+    }
+
+    public java.util.Iterator<List<CfsBlockLocation>> getSuccessIterator() {
+      return (this.success == null) ? null : this.success.iterator();
+    }
+
+    public void addToSuccess(List<CfsBlockLocation> elem) {
+      if (this.success == null) {
+        this.success = new ArrayList<List<CfsBlockLocation>>();
+      }
+      this.success.add(elem);
+    }
+
+    public List<List<CfsBlockLocation>> getSuccess() {
+      return this.success;
+    }
+
+    public describe_cfs_locations_result setSuccess(List<List<CfsBlockLocation>> success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public InvalidRequestException getIre() {
+      return this.ire;
+    }
+
+    public describe_cfs_locations_result setIre(InvalidRequestException ire) {
+      this.ire = ire;
+      return this;
+    }
+
+    public void unsetIre() {
+      this.ire = null;
+    }
+
+    /** Returns true if field ire is set (has been assigned a value) and false otherwise */
+    public boolean isSetIre() {
+      return this.ire != null;
     }
 
-    @Override
-    public void clear() {
-      this.success = null;
-      this.nfe = null;
+    public void setIreIsSet(boolean value) {
+      if (!value) {
+        this.ire = null;
+      }
     }
 
-    public String getSuccess() {
-      return this.success;
+    public UnavailableException getUe() {
+      return this.ue;
     }
 
-    public move_job_tracker_result setSuccess(String success) {
-      this.success = success;
+    public describe_cfs_locations_result setUe(UnavailableException ue) {
+      this.ue = ue;
       return this;
     }
 
-    public void unsetSuccess() {
-      this.success = null;
+    public void unsetUe() {
+      this.ue = null;
     }
 
-    /** Returns true if field success is set (has been assigned a value) and false otherwise */
-    public boolean isSetSuccess() {
-      return this.success != null;
+    /** Returns true if field ue is set (has been assigned a value) and false otherwise */
+    public boolean isSetUe() {
+      return this.ue != null;
     }
 
-    public void setSuccessIsSet(boolean value) {
+    public void setUeIsSet(boolean value) {
       if (!value) {
-        this.success = null;
+        this.ue = null;
       }
     }
 
-    public NotFoundException getNfe() {
-      return this.nfe;
+    public TimedOutException getTe() {
+      return this.te;
     }
 
-    public move_job_tracker_result setNfe(NotFoundException nfe) {
-      this.nfe = nfe;
+    public describe_cfs_locations_result setTe(TimedOutException te) {
+      this.te = te;
       return this;
     }
 
-    public void unsetNfe() {
-      this.nfe = null;
+    public void unsetTe() {
+      this.te = null;
     }
 
-    /** Returns true if field nfe is set (has been assigned a value) and false otherwise */
-    public boolean isSetNfe() {
-      return this.nfe != null;
+    /** Returns true if field te is set (has been assigned a value) and false otherwise */
+    public boolean isSetTe() {
+      return this.te != null;
     }
 
-    public void setNfeIsSet(boolean value) {
+    public void setTeIsSet(boolean value) {
       if (!value) {
-        this.nfe = null;
+        this.te = null;
       }
     }
 
@@ -4202,15 +11239,31 @@ public class Brisk {
         if (value == null) {
           unsetSuccess();
         } else {
-          setSuccess((String)value);
+          setSuccess((List<List<CfsBlockLocation>>)value);
         }
         break;
 
-      case NFE:
+      case IRE:
         if (value == null) {
-          unsetNfe();
+          unsetIre();
         } else {
-          setNfe((NotFoundException)value);
+          setIre((InvalidRequestException)value);
+        }
+        break;
+
+      case UE:
+        if (value == null) {
+          unsetUe();
+        } else {
+          setUe((UnavailableException)value);
+        }
+        break;
+
+      case TE:
+        if (value == null) {
+          unsetTe();
+        } else {
+          setTe((TimedOutException)value);
         }
         break;
 
@@ -4222,8 +11275,14 @@ public class Brisk {
       case SUCCESS:
         return getSuccess();
 
-      case NFE:
-        return getNfe();
+      case IRE:
+        return getIre();
+
+      case UE:
+        return getUe();
+
+      case TE:
+        return getTe();
 
       }
       throw new IllegalStateException();
@@ -4238,8 +11297,12 @@ public class Brisk {
       switch (field) {
       case SUCCESS:
         return isSetSuccess();
-      case NFE:
-        return isSetNfe();
+      case IRE:
+        return isSetIre();
+      case UE:
+        return isSetUe();
+      case TE:
+        return isSetTe();
       }
       throw new IllegalStateException();
     }
@@ -4248,12 +11311,12 @@ public class Brisk {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof move_job_tracker_result)
-        return this.equals((move_job_tracker_result)that);
+      if (that instanceof describe_cfs_locations_result)
+        return this.equals((describe_cfs_locations_result)that);
       return false;
     }
 
-    public boolean equals(move_job_tracker_result that) {
+    public boolean equals(describe_cfs_locations_result that) {
       if (that == null)
         return false;
 
@@ -4266,12 +11329,30 @@ public class Brisk {
           return false;
       }
 
-      boolean this_present_nfe = true && this.isSetNfe();
-      boolean that_present_nfe = true && that.isSetNfe();
-      if (this_present_nfe || that_present_nfe) {
-        if (!(this_present_nfe && that_present_nfe))
+      boolean this_present_ire = true && this.isSetIre();
+      boolean that_present_ire = true && that.isSetIre();
+      if (this_present_ire || that_present_ire) {
+        if (!(this_present_ire && that_present_ire))
           return false;
-        if (!this.nfe.equals(that.nfe))
+        if (!this.ire.equals(that.ire))
+          return false;
+      }
+
+      boolean this_present_ue = true && this.isSetUe();
+      boolean that_present_ue = true && that.isSetUe();
+      if (this_present_ue || that_present_ue) {
+        if (!(this_present_ue && that_present_ue))
+          return false;
+        if (!this.ue.equals(that.ue))
+          return false;
+      }
+
+      boolean this_present_te = true && this.isSetTe();
+      boolean that_present_te = true && that.isSetTe();
+      if (this_present_te || that_present_te) {
+        if (!(this_present_te && that_present_te))
+          return false;
+        if (!this.te.equals(that.te))
           return false;
       }
 
@@ -4287,21 +11368,31 @@ public class Brisk {
       if (present_success)
         builder.append(success);
 
-      boolean present_nfe = true && (isSetNfe());
-      builder.append(present_nfe);
-      if (present_nfe)
-        builder.append(nfe);
+      boolean present_ire = true && (isSetIre());
+      builder.append(present_ire);
+      if (present_ire)
+        builder.append(ire);
+
+      boolean present_ue = true && (isSetUe());
+      builder.append(present_ue);
+      if (present_ue)
+        builder.append(ue);
+
+      boolean present_te = true && (isSetTe());
+      builder.append(present_te);
+      if (present_te)
+        builder.append(te);
 
       return builder.toHashCode();
     }
 
-    public int compareTo(move_job_tracker_result other) {
+    public int compareTo(describe_cfs_locations_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      move_job_tracker_result typedOther = (move_job_tracker_result)other;
+      describe_cfs_locations_result typedOther = (describe_cfs_locations_result)other;
 
       lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
       if (lastComparison != 0) {
@@ -4313,12 +11404,32 @@ public class Brisk {
           return lastComparison;
         }
       }
-      lastComparison = Boolean.valueOf(isSetNfe()).compareTo(typedOther.isSetNfe());
+      lastComparison = Boolean.valueOf(isSetIre()).compareTo(typedOther.isSetIre());
       if (lastComparison != 0) {
         return lastComparison;
       }
-      if (isSetNfe()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.nfe, typedOther.nfe);
+      if (isSetIre()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.ire, typedOther.ire);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetUe()).compareTo(typedOther.isSetUe());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetUe()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.ue, typedOther.ue);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetTe()).compareTo(typedOther.isSetTe());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetTe()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.te, typedOther.te);
         if (lastComparison != 0) {
           return lastComparison;
         }
@@ -4341,16 +11452,53 @@ public class Brisk {
         }
         switch (field.id) {
           case 0: // SUCCESS
-            if (field.type == org.apache.thrift.protocol.TType.STRING) {
-              this.success = iprot.readString();
+            if (field.type == org.apache.thrift.protocol.TType.LIST) {
+              {
+                org.apache.thrift.protocol.TList _list24 = iprot.readListBegin();
+                this.success = new ArrayList<List<CfsBlockLocation>>(_list24.size);
+                for (int _i25 = 0; _i25 < _list24.size; ++_i25)
+                {
+                  List<CfsBlockLocation> _elem26;
+                  {
+                    org.apache.thrift.protocol.TList _list27 = iprot.readListBegin();
+                    _elem26 = new ArrayList<CfsBlockLocation>(_list27.size);
+                    for (int _i28 = 0; _i28 < _list27.size; ++_i28)
+                    {
+                      CfsBlockLocation _elem29;
+                      _elem29 = new CfsBlockLocation();
+                      _elem29.read(iprot);
+                      _elem26.add(_elem29);
+                    }
+                    iprot.readListEnd();
+                  }
+                  this.success.add(_elem26);
+                }
+                iprot.readListEnd();
+              }
             } else { 
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
             }
             break;
-          case 1: // NFE
+          case 1: // IRE
             if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
-              this.nfe = new NotFoundException();
-              this.nfe.read(iprot);
+              this.ire = new InvalidRequestException();
+              this.ire.read(iprot);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 2: // UE
+            if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
+              this.ue = new UnavailableException();
+              this.ue.read(iprot);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
+            }
+            break;
+          case 3: // TE
+            if (field.type == org.apache.thrift.protocol.TType.STRUCT) {
+              this.te = new TimedOutException();
+              this.te.read(iprot);
             } else { 
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, field.type);
             }
@@ -4371,11 +11519,33 @@ public class Brisk {
 
       if (this.isSetSuccess()) {
         oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
-        oprot.writeString(this.success);
+        {
+          oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.LIST, this.success.size()));
+          for (List<CfsBlockLocation> _iter30 : this.success)
+          {
+            {
+              oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, _iter30.size()));
+              for (CfsBlockLocation _iter31 : _iter30)
+              {
+                _iter31.write(oprot);
+              }
+              oprot.writeListEnd();
+            }
+          }
+          oprot.writeListEnd();
+        }
         oprot.writeFieldEnd();
-      } else if (this.isSetNfe()) {
-        oprot.writeFieldBegin(NFE_FIELD_DESC);
-        this.nfe.write(oprot);
+      } else if (this.isSetIre()) {
+        oprot.writeFieldBegin(IRE_FIELD_DESC);
+        this.ire.write(oprot);
+        oprot.writeFieldEnd();
+      } else if (this.isSetUe()) {
+        oprot.writeFieldBegin(UE_FIELD_DESC);
+        this.ue.write(oprot);
+        oprot.writeFieldEnd();
+      } else if (this.isSetTe()) {
+        oprot.writeFieldBegin(TE_FIELD_DESC);
+        this.te.write(oprot);
         oprot.writeFieldEnd();
       }
       oprot.writeFieldStop();
@@ -4384,7 +11554,7 @@ public class Brisk {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("move_job_tracker_result(");
+      StringBuilder sb = new StringBuilder("describe_cfs_locations_result(");
       boolean first = true;
 
       sb.append("success:");
@@ -4395,11 +11565,27 @@ public class Brisk {
       }
       first = false;
       if (!first) sb.append(", ");
-      sb.append("nfe:");
-      if (this.nfe == null) {
+      sb.append("ire:");
+      if (this.ire == null) {
         sb.append("null");
       } else {
-        sb.append(this.nfe);
+        sb.append(this.ire);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("ue:");
+      if (this.ue == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.ue);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("te:");
+      if (this.te == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.te);
       }
       first = false;
       sb.append(")");
@@ -34,6 +34,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.apache.cassandra.config.DatabaseDescriptor;
+import org.apache.cassandra.hadoop.fs.BlockCompactionService;
+import org.apache.cassandra.hadoop.fs.BlockReclamationService;
+import org.apache.cassandra.hadoop.fs.TieringService;
 import org.apache.cassandra.hadoop.trackers.TrackerInitializer;
 import org.apache.cassandra.thrift.*;
 import org.apache.thrift.protocol.TProtocolFactory;
@@ -46,6 +49,7 @@ public class BriskDaemon extends org.apache.cassandra.service.AbstractCassandraD
 
     private static Logger logger = LoggerFactory.getLogger(BriskDaemon.class);
     private ThriftServer server;
+    private SubBlockDataServer dataServer;
 
 
     public String getReleaseVersion()
@@ -93,6 +97,19 @@ public class BriskDaemon extends org.apache.cassandra.service.AbstractCassandraD
             server = new ThriftServer(listenAddr, listenPort);
             server.start();
         }
+
+        if (dataServer == null && SubBlockDataServer.port > 0)
+        {
+            try
+            {
+                dataServer = new SubBlockDataServer(listenAddr, SubBlockDataServer.port);
+                dataServer.start();
+            }
+            catch (IOException e)
+            {
+                throw new RuntimeException("Unable to open the sub block data port " + SubBlockDataServer.port, e);
+            }
+        }
         
         
         //Start hadoop trackers...
@@ -100,12 +117,27 @@ public class BriskDaemon extends org.apache.cassandra.service.AbstractCassandraD
         {
             logger.info("Starting up Hadoop trackers");
             TrackerInitializer.init();
+
+            logger.info("Starting up block reclamation service");
+            BlockReclamationService.init();
+
+            logger.info("Starting up tiering service");
+            TieringService.init();
+
+            logger.info("Starting up block compaction service");
+            BlockCompactionService.init();
         }
 
     }
 
     protected void stopServer()
     {
+        if (dataServer != null)
+        {
+            dataServer.stopServer();
+            dataServer = null;
+        }
+
         if (server != null)
         {
             server.stopServer();
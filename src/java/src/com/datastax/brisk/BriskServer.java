@@ -17,6 +17,7 @@
  */
 package com.datastax.brisk;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.net.InetAddress;
@@ -24,8 +25,12 @@ import java.net.UnknownHostException;
 import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
 import java.util.*;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.*;
+import java.util.zip.CRC32;
+
+import com.datastax.brisk.CfsRequestScheduler.RequestClass;
 
 import org.apache.cassandra.config.CFMetaData;
 import org.apache.cassandra.config.DatabaseDescriptor;
@@ -34,6 +39,10 @@ import org.apache.cassandra.db.*;
 import org.apache.cassandra.db.filter.QueryPath;
 import org.apache.cassandra.db.marshal.AbstractType;
 import org.apache.cassandra.dht.Token;
+import org.apache.cassandra.hadoop.fs.Block;
+import org.apache.cassandra.hadoop.fs.CassandraFileSystemThriftStore;
+import org.apache.cassandra.hadoop.fs.INode;
+import org.apache.cassandra.hadoop.fs.INodeResolver;
 import org.apache.cassandra.hadoop.trackers.CassandraJobConf;
 import org.apache.cassandra.hadoop.trackers.TrackerInitializer;
 import org.apache.cassandra.hadoop.trackers.TrackerManager;
@@ -43,14 +52,17 @@ import org.apache.cassandra.io.sstable.IndexHelper;
 import org.apache.cassandra.io.sstable.SSTableReader;
 import org.apache.cassandra.io.sstable.SSTableReader.Operator;
 import org.apache.cassandra.io.util.*;
+import org.apache.cassandra.locator.SnitchSwitchMapping;
 import org.apache.cassandra.service.StorageProxy;
 import org.apache.cassandra.service.StorageService;
 import org.apache.cassandra.thrift.*;
 import org.apache.cassandra.utils.ByteBufferUtil;
 import org.apache.cassandra.utils.FBUtilities;
 import org.apache.cassandra.utils.Filter;
+import org.apache.hadoop.io.MD5Hash;
 import org.apache.log4j.Logger;
 import org.apache.thrift.TException;
+import org.xerial.snappy.Snappy;
 
 import static com.datastax.brisk.BriskDBUtil.validateAndGetColumn;
 
@@ -62,6 +74,9 @@ public class BriskServer extends CassandraServer implements Brisk.Iface
     static final ByteBuffer dataCol        = ByteBufferUtil.bytes("data");
 
     static final String     cfsKeyspace    = "cfs";
+
+    // Keyspace of the shards of erasure coded blocks
+    static final String     cfsErasureKeyspace = "cfs_ec";
     
     // CFs for regular storage
     static final String     cfsInodeDefaultFamily = "inode";
@@ -72,29 +87,120 @@ public class BriskServer extends CassandraServer implements Brisk.Iface
 
     // CFs for archive kind of storage
     private static final String         cfsInodeArchiveFamily       = "inode_archive";
-    private static final String         cfsSubBlockArchiveFamily       = "sblocks_archive";
+    static final String                 cfsSubBlockArchiveFamily       = "sblocks_archive";
 
     static final QueryPath    inodeArchiveQueryPath =  new QueryPath(cfsInodeArchiveFamily, null, dataCol);
     static final ColumnParent subBlockArchiveDataPath= new ColumnParent(cfsSubBlockArchiveFamily);
 
+    // Host name of the endpoints seen so far, reverse lookups can be slow.
+    private static final ConcurrentMap<InetAddress, String> hostNames = new ConcurrentHashMap<InetAddress, String>();
+
+    // Per thread direct buffers sub blocks are uncompressed with when a range is asked for.
+    private static final ThreadLocal<ByteBuffer> compressedBuffer   = new ThreadLocal<ByteBuffer>();
+    private static final ThreadLocal<ByteBuffer> uncompressedBuffer = new ThreadLocal<ByteBuffer>();
+
+    // Remote sub block reads in flight, identical requests wait for the first one instead of reading again.
+    private static final ConcurrentMap<SubBlockCache.Key, FutureTask<ByteBuffer>> inflightReads = new ConcurrentHashMap<SubBlockCache.Key, FutureTask<ByteBuffer>>();
+
+    // Where the local sub blocks read in chunks were found, so that the next chunks are read in place
+    // without looking the sub block up again. Data files are immutable, a location is good until compacted away.
+    private static final int chunkLocationsSize = 1024;
+
+    // Values of the other sub blocks being read in chunks, held until their last chunk is served rather than left
+    // to the sub block cache, which may be off or evict them, so that each chunk does not read the whole value again.
+    // Reads abandoned halfway are dropped once unused for chunkedValueTimeout ms.
+    private static final long chunkedValueTimeout = 60 * 1000;
+    private static final ConcurrentMap<SubBlockCache.Key, ChunkedValue> chunkedValues = new ConcurrentHashMap<SubBlockCache.Key, ChunkedValue>();
+    private static final Map<SubBlockCache.Key, LocalBlock> chunkLocations = new LinkedHashMap<SubBlockCache.Key, LocalBlock>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<SubBlockCache.Key, LocalBlock> eldest)
+        {
+            return size() > chunkLocationsSize;
+        }
+    };
+
 
 	@Override
 	public LocalOrRemoteBlock get_cfs_sblock(String callerHostName, ByteBuffer blockId, ByteBuffer sblockId, int offset,
-			StorageType storageType) throws InvalidRequestException, UnavailableException, TimedOutException, NotFoundException,
+			StorageType storageType, int length) throws InvalidRequestException, UnavailableException, TimedOutException, NotFoundException,
 			TException {
 		
-		if (storageType == StorageType.CFS_REGULAR)
+		acquire(RequestClass.CFS_READ);
+		try
 		{
-			return get_cfs_sblock(callerHostName, cfsSubBlockDefaultFamily, blockId, sblockId, offset, subBlockDefaultDataPath);
-		} else 
+			LocalOrRemoteBlock block;
+
+			if (storageType == StorageType.CFS_REGULAR)
+			{
+				block = get_cfs_sblock(callerHostName, cfsSubBlockDefaultFamily, blockId, sblockId, offset, length, subBlockDefaultDataPath);
+			} else 
+			{
+				block = get_cfs_sblock(callerHostName, cfsSubBlockArchiveFamily, blockId, sblockId, offset, length, subBlockArchiveDataPath);
+			}
+
+			// Local blocks are read by the caller, from the same disks
+			charge(RequestClass.CFS_READ, block.isSetLocal_block() ? block.local_block.length : block.remote_block.remaining());
+
+			return block;
+		}
+		finally
 		{
-			return get_cfs_sblock(callerHostName, cfsSubBlockArchiveFamily, blockId, sblockId, offset, subBlockArchiveDataPath);
+			CfsRequestScheduler.instance.release(RequestClass.CFS_READ);
 		}
-		
 	}
 
+    /**
+     * Sub block writes are scheduled apart from the other inserts.
+     */
+    @Override
+    public void insert(ByteBuffer key, ColumnParent column_parent, Column column, ConsistencyLevel consistency_level)
+            throws InvalidRequestException, UnavailableException, TimedOutException, TException
+    {
+        if (!column_parent.column_family.equals(cfsSubBlockDefaultFamily)
+                && !column_parent.column_family.equals(cfsSubBlockArchiveFamily))
+        {
+            super.insert(key, column_parent, column, consistency_level);
+            return;
+        }
+
+        acquire(RequestClass.CFS_WRITE);
+        try
+        {
+            charge(RequestClass.CFS_WRITE, column.value.remaining());
+            super.insert(key, column_parent, column, consistency_level);
+        }
+        finally
+        {
+            CfsRequestScheduler.instance.release(RequestClass.CFS_WRITE);
+        }
+    }
+
+    private static void acquire(RequestClass requestClass) throws TimedOutException
+    {
+        try
+        {
+            CfsRequestScheduler.instance.acquire(requestClass);
+        }
+        catch (InterruptedException e)
+        {
+            throw new TimedOutException();
+        }
+    }
+
+    private static void charge(RequestClass requestClass, long bytes) throws TimedOutException
+    {
+        try
+        {
+            CfsRequestScheduler.instance.charge(requestClass, bytes);
+        }
+        catch (InterruptedException e)
+        {
+            throw new TimedOutException();
+        }
+    }
+
     private LocalOrRemoteBlock get_cfs_sblock(String callerHostName, String subBlockCFName, ByteBuffer blockId,
-    		ByteBuffer sblockId, int offset, ColumnParent subBlockDataPath) throws TException, TimedOutException, UnavailableException, InvalidRequestException, NotFoundException
+    		ByteBuffer sblockId, int offset, int length, ColumnParent subBlockDataPath) throws TException, TimedOutException, UnavailableException, InvalidRequestException, NotFoundException
     {
 
         // This logic is only used on mmap spec machines
@@ -124,7 +230,8 @@ public class BriskServer extends CassandraServer implements Brisk.Iface
                 if(logger.isDebugEnabled())
                     logger.debug("Local block should be on this node "+blockId);
                 
-                LocalBlock localBlock = getLocalSubBlock(subBlockCFName, blockId, sblockId, offset);
+                // A range is cut by the caller out of the whole local sub block
+                LocalBlock localBlock = getLocalSubBlock(subBlockCFName, blockId, sblockId, length > 0 ? 0 : offset);
                 
                 if(localBlock != null)
                 {
@@ -140,38 +247,480 @@ public class BriskServer extends CassandraServer implements Brisk.Iface
             logger.debug("Checking for remote block: "+blockId);
        
         //Fallback to storageProxy
-        return getRemoteSubBlock(blockId, sblockId, offset, subBlockDataPath);
+        return getRemoteSubBlock(blockId, sblockId, offset, length, subBlockDataPath);
         
     }
     
 
+    public ByteBuffer get_cfs_sblock_chunk(ByteBuffer blockId, ByteBuffer sblockId, long position, int maxLength,
+            StorageType storageType) throws InvalidRequestException, UnavailableException, TimedOutException,
+            NotFoundException, TException
+    {
+        if (position < 0 || maxLength <= 0)
+            throw new InvalidRequestException("Invalid chunk at " + position + " of length " + maxLength);
+
+        boolean regular = storageType == StorageType.CFS_REGULAR;
+        String subBlockCFName = regular ? cfsSubBlockDefaultFamily : cfsSubBlockArchiveFamily;
+
+        acquire(RequestClass.CFS_READ);
+        try
+        {
+            // Chunks of a sub block in the data files are read in place, the others are cut out of
+            // the whole value, read once and held for the next chunks.
+            LocalBlock localBlock = getChunkLocation(subBlockCFName, blockId, sblockId, false);
+
+            ByteBuffer chunk = null;
+
+            if (localBlock != null)
+            {
+                try
+                {
+                    chunk = readChunk(localBlock, position, maxLength);
+                }
+                catch (IOException e)
+                {
+                    // The data file may have been compacted away since the sub block was found in it
+                    localBlock = getChunkLocation(subBlockCFName, blockId, sblockId, true);
+
+                    if (localBlock != null)
+                        chunk = readChunk(localBlock, position, maxLength);
+                }
+            }
+
+            if (chunk == null)
+                chunk = readHeldChunk(blockId, sblockId, regular ? subBlockDefaultDataPath : subBlockArchiveDataPath,
+                        position, maxLength);
+
+            charge(RequestClass.CFS_READ, chunk.remaining());
+
+            return chunk;
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+        catch (TimeoutException e)
+        {
+            throw new TimedOutException();
+        }
+        finally
+        {
+            CfsRequestScheduler.instance.release(RequestClass.CFS_READ);
+        }
+    }
+
+    /**
+     * @param refresh true to look the sub block up again rather than trust the location found before
+     * @return where the sub block is in the local data files, null if it is not local
+     */
+    private LocalBlock getChunkLocation(String subBlockCFName, ByteBuffer blockId, ByteBuffer sblockId,
+            boolean refresh) throws TException
+    {
+        SubBlockCache.Key key = new SubBlockCache.Key(blockId, sblockId);
+
+        if (!refresh)
+        {
+            synchronized (chunkLocations)
+            {
+                LocalBlock localBlock = chunkLocations.get(key);
+
+                if (localBlock != null)
+                    return localBlock;
+            }
+        }
+
+        LocalBlock localBlock = getLocalSubBlock(subBlockCFName, blockId, sblockId, 0);
+
+        synchronized (chunkLocations)
+        {
+            if (localBlock == null)
+                chunkLocations.remove(key);
+            else
+                chunkLocations.put(new SubBlockCache.Key(ByteBufferUtil.clone(blockId), ByteBufferUtil.clone(sblockId)),
+                        localBlock);
+        }
+
+        return localBlock;
+    }
+
+    /**
+     * Cuts a chunk out of the value of the sub block. Unless cached, the value is read on the first chunk and held
+     * until the last one.
+     */
+    private ByteBuffer readHeldChunk(ByteBuffer blockId, ByteBuffer sblockId, ColumnParent subBlockDataPath,
+            long position, int maxLength) throws IOException, TimeoutException, UnavailableException,
+            InvalidRequestException, NotFoundException
+    {
+        SubBlockCache.Key key = new SubBlockCache.Key(blockId, sblockId);
+        long now = System.currentTimeMillis();
+
+        ChunkedValue held = chunkedValues.get(key);
+        ByteBuffer value;
+
+        if (held != null)
+        {
+            held.accessed = now;
+            value = held.value.duplicate();
+        }
+        else
+        {
+            ByteBuffer chunk = SubBlockCache.instance.get(blockId, sblockId, position, maxLength);
+            if (chunk != null)
+                return chunk;
+
+            value = readSubBlockOnce(blockId, sblockId, subBlockDataPath);
+
+            for (Iterator<ChunkedValue> it = chunkedValues.values().iterator(); it.hasNext();)
+            {
+                if (it.next().accessed < now - chunkedValueTimeout)
+                    it.remove();
+            }
+        }
+
+        ByteBuffer chunk = sliceChunk(value, position, maxLength);
+
+        if (position + chunk.remaining() >= value.remaining())
+            chunkedValues.remove(key);
+        else if (held == null)
+            chunkedValues.put(new SubBlockCache.Key(ByteBufferUtil.clone(blockId), ByteBufferUtil.clone(sblockId)),
+                    new ChunkedValue(value, now));
+
+        return chunk;
+    }
+
+    private static class ChunkedValue
+    {
+        final ByteBuffer value;
+        volatile long accessed;
+
+        ChunkedValue(ByteBuffer value, long accessed)
+        {
+            this.value = value;
+            this.accessed = accessed;
+        }
+    }
+
+    private static ByteBuffer readChunk(LocalBlock localBlock, long position, int maxLength) throws IOException,
+            InvalidRequestException
+    {
+        if (position > localBlock.length)
+            throw new InvalidRequestException("Invalid position for block of size: " + localBlock.length);
+
+        ByteBuffer chunk = ByteBuffer.allocate((int) Math.min(maxLength, localBlock.length - position));
+
+        RandomAccessFile raf = new RandomAccessFile(localBlock.file, "r");
+        try
+        {
+            FileChannel channel = raf.getChannel();
+
+            while (chunk.hasRemaining())
+            {
+                if (channel.read(chunk, localBlock.offset + position + chunk.position()) < 0)
+                    throw new EOFException("Sub block truncated in " + localBlock.file);
+            }
+        }
+        finally
+        {
+            FileUtils.closeQuietly(raf);
+        }
+
+        chunk.flip();
+
+        return chunk;
+    }
+
+    private static ByteBuffer sliceChunk(ByteBuffer value, long position, int maxLength) throws InvalidRequestException
+    {
+        if (position > value.remaining())
+            throw new InvalidRequestException("Invalid position for block of size: " + value.remaining());
+
+        ByteBuffer chunk = value.duplicate();
+        chunk.position(chunk.position() + (int) position);
+        chunk.limit(chunk.position() + Math.min(maxLength, chunk.remaining()));
+
+        return chunk;
+    }
+
+    public ByteBuffer get_cfs_block_checksum(ByteBuffer blockId, List<ByteBuffer> sblockIds, int bytesPerCrc,
+            StorageType storageType) throws InvalidRequestException, UnavailableException, TimedOutException,
+            NotFoundException, TException
+    {
+        if (bytesPerCrc <= 0)
+            throw new InvalidRequestException("Invalid bytes per CRC: " + bytesPerCrc);
+
+        ColumnParent subBlockDataPath = storageType == StorageType.CFS_REGULAR ? subBlockDefaultDataPath
+                : subBlockArchiveDataPath;
+
+        MessageDigest digest = MD5Hash.getDigester();
+        CRC32 crc = new CRC32();
+        byte[] chunk = new byte[bytesPerCrc];
+        int crcLength = 0;
+
+        acquire(RequestClass.CFS_READ);
+        try
+        {
+            for (ByteBuffer sblockId : sblockIds)
+            {
+                // Read past the sub block cache, a checksum scan should not evict what tasks read
+                ByteBuffer value = readSubBlock(blockId, sblockId, subBlockDataPath);
+                charge(RequestClass.CFS_READ, value.remaining());
+
+                ByteBuffer data = uncompressSubBlock(value);
+
+                // Chunks go on from one sub block to the next, as if the block was read in one go
+                while (data.hasRemaining())
+                {
+                    int length = Math.min(bytesPerCrc - crcLength, data.remaining());
+                    data.get(chunk, 0, length);
+                    crc.update(chunk, 0, length);
+                    crcLength += length;
+
+                    if (crcLength == bytesPerCrc)
+                    {
+                        updateDigest(digest, crc);
+                        crcLength = 0;
+                    }
+                }
+            }
+
+            if (crcLength > 0)
+                updateDigest(digest, crc);
+
+            return ByteBuffer.wrap(digest.digest());
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+        catch (TimeoutException e)
+        {
+            throw new TimedOutException();
+        }
+        finally
+        {
+            CfsRequestScheduler.instance.release(RequestClass.CFS_READ);
+        }
+    }
+
+    public long copy_cfs_block(ByteBuffer blockId, List<ByteBuffer> sblockIds, StorageType source,
+            ByteBuffer targetBlockId, StorageType target, ConsistencyLevel consistencyLevel)
+            throws InvalidRequestException, UnavailableException, TimedOutException, NotFoundException, TException
+    {
+        ColumnParent sourcePath = source == StorageType.CFS_REGULAR ? subBlockDefaultDataPath : subBlockArchiveDataPath;
+        String targetFamily = target == StorageType.CFS_REGULAR ? cfsSubBlockDefaultFamily : cfsSubBlockArchiveFamily;
+
+        if (sourcePath.column_family.equals(targetFamily) && blockId.equals(targetBlockId))
+            throw new InvalidRequestException("A block can't be copied onto itself");
+
+        long copied = 0;
+
+        try
+        {
+            for (ByteBuffer sblockId : sblockIds)
+            {
+                ByteBuffer value;
+
+                // Read past the sub block cache, as stored, from this node when it is a replica
+                acquire(RequestClass.CFS_READ);
+                try
+                {
+                    value = readSubBlock(blockId, sblockId, sourcePath);
+                    charge(RequestClass.CFS_READ, value.remaining());
+                }
+                finally
+                {
+                    CfsRequestScheduler.instance.release(RequestClass.CFS_READ);
+                }
+
+                RowMutation rm = new RowMutation(cfsKeyspace, targetBlockId);
+                rm.add(new QueryPath(targetFamily, null, sblockId), value, System.currentTimeMillis());
+
+                acquire(RequestClass.CFS_WRITE);
+                try
+                {
+                    charge(RequestClass.CFS_WRITE, value.remaining());
+                    StorageProxy.mutate(Arrays.asList(rm), consistencyLevel);
+                }
+                finally
+                {
+                    CfsRequestScheduler.instance.release(RequestClass.CFS_WRITE);
+                }
+
+                copied += value.remaining();
+            }
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+        catch (TimeoutException e)
+        {
+            throw new TimedOutException();
+        }
+
+        return copied;
+    }
+
+    private static void updateDigest(MessageDigest digest, CRC32 crc)
+    {
+        int value = (int) crc.getValue();
+        digest.update(new byte[] { (byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value });
+        crc.reset();
+    }
+
 	public List<List<String>> describe_keys(String keyspace, List<ByteBuffer> keys) throws TException
     {
         List<List<String>> keyEndpoints = new ArrayList<List<String>>(keys.size());
 
         for (ByteBuffer key : keys)
         {
-            keyEndpoints.add(getKeyLocations(key));
+            keyEndpoints.add(getKeyLocations(keyspace, key));
         }
 
         return keyEndpoints;
     }
 
-    private List<String> getKeyLocations(ByteBuffer key)
+    private List<String> getKeyLocations(String keyspace, ByteBuffer key)
     {
-        List<InetAddress> endpoints = StorageService.instance.getLiveNaturalEndpoints(cfsKeyspace, key);
-        DatabaseDescriptor.getEndpointSnitch().sortByProximity(FBUtilities.getLocalAddress(), endpoints);
+        List<InetAddress> endpoints = getSortedEndpoints(keyspace, key);
 
         List<String> hosts = new ArrayList<String>(endpoints.size());
 
         for (InetAddress endpoint : endpoints)
         {
-            hosts.add(endpoint.getHostName());
+            hosts.add(getHostName(endpoint));
         }
 
         return hosts;
     }
 
+    private List<InetAddress> getSortedEndpoints(String keyspace, ByteBuffer key)
+    {
+        List<InetAddress> endpoints = StorageService.instance.getLiveNaturalEndpoints(keyspace, key);
+        DatabaseDescriptor.getEndpointSnitch().sortByProximity(FBUtilities.getLocalAddress(), endpoints);
+
+        return endpoints;
+    }
+
+    /**
+     * The live nodes holding the data shards of an erasure coded block, those holding the most shards
+     * first, then the closest.
+     */
+    private List<InetAddress> getShardEndpoints(Block block)
+    {
+        final Map<InetAddress, Integer> shards = new HashMap<InetAddress, Integer>();
+
+        for (UUID shardId : block.getDataShardIds())
+        {
+            for (InetAddress endpoint : StorageService.instance.getLiveNaturalEndpoints(cfsErasureKeyspace,
+                    CassandraFileSystemThriftStore.uuidToByteBuffer(shardId)))
+            {
+                Integer count = shards.get(endpoint);
+                shards.put(endpoint, count == null ? 1 : count + 1);
+            }
+        }
+
+        List<InetAddress> endpoints = new ArrayList<InetAddress>(shards.keySet());
+        DatabaseDescriptor.getEndpointSnitch().sortByProximity(FBUtilities.getLocalAddress(), endpoints);
+
+        // Stable, the closest stay first among the nodes holding as many shards
+        Collections.sort(endpoints, new Comparator<InetAddress>() {
+            public int compare(InetAddress a, InetAddress b)
+            {
+                return shards.get(b) - shards.get(a);
+            }
+        });
+
+        return endpoints;
+    }
+
+    private static String getHostName(InetAddress endpoint)
+    {
+        String hostName = hostNames.get(endpoint);
+
+        if (hostName == null)
+        {
+            hostName = endpoint.getHostName();
+            hostNames.put(endpoint, hostName);
+        }
+
+        return hostName;
+    }
+
+    public List<List<CfsBlockLocation>> describe_cfs_locations(List<String> paths, StorageType storageType,
+            ConsistencyLevel consistency_level) throws InvalidRequestException, UnavailableException, TimedOutException,
+            TException
+    {
+        INodeResolver resolver = new INodeResolver(storageType == StorageType.CFS_REGULAR ? cfsInodeDefaultFamily
+                : cfsInodeArchiveFamily, consistency_level);
+
+        List<INode> inodes;
+
+        try
+        {
+            inodes = resolver.retrieveINodes(paths);
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+        catch (TimeoutException e)
+        {
+            throw new TimedOutException();
+        }
+
+        List<List<CfsBlockLocation>> fileLocations = new ArrayList<List<CfsBlockLocation>>(inodes.size());
+
+        for (INode inode : inodes)
+        {
+            List<CfsBlockLocation> blockLocations = new ArrayList<CfsBlockLocation>();
+
+            if (inode != null && inode.getBlocks() != null)
+            {
+                for (Block block : inode.getBlocks())
+                {
+                    // The data of an erasure coded block is in its shards, not in the sblocks CFs
+                    List<InetAddress> endpoints = block.isErasureCoded() ? getShardEndpoints(block)
+                            : getSortedEndpoints(cfsKeyspace, CassandraFileSystemThriftStore.uuidToByteBuffer(block.id));
+
+                    List<String> hosts = new ArrayList<String>(endpoints.size());
+                    List<String> networkLocations = new ArrayList<String>(endpoints.size());
+
+                    for (InetAddress endpoint : endpoints)
+                    {
+                        hosts.add(getHostName(endpoint));
+                        networkLocations.add(SnitchSwitchMapping.getNetworkLocation(endpoint));
+                    }
+
+                    blockLocations.add(new CfsBlockLocation(block.offset, block.length, hosts, networkLocations));
+                }
+            }
+
+            fileLocations.add(blockLocations);
+        }
+
+        return fileLocations;
+    }
+
+    public List<String> describe_network_locations(List<String> endpoints) throws InvalidRequestException, TException
+    {
+        List<String> locations = new ArrayList<String>(endpoints.size());
+
+        for (String endpoint : endpoints)
+        {
+            try
+            {
+                locations.add(SnitchSwitchMapping.getNetworkLocation(InetAddress.getByName(endpoint)));
+            }
+            catch (UnknownHostException e)
+            {
+                throw new InvalidRequestException("Unknown endpoint: " + endpoint);
+            }
+        }
+
+        return locations;
+    }
+
     /**
      * Retrieves a local subBlock
      * 
@@ -181,7 +730,7 @@ public class BriskServer extends CassandraServer implements Brisk.Iface
      * @return a local sublock
      * @throws TException
      */
-    private LocalBlock getLocalSubBlock(String subBlockCFName, ByteBuffer blockId, ByteBuffer sblockId, int offset) throws TException
+    LocalBlock getLocalSubBlock(String subBlockCFName, ByteBuffer blockId, ByteBuffer sblockId, int offset) throws TException
     {
         DecoratedKey<Token<?>> decoratedKey = new DecoratedKey<Token<?>>(StorageService.getPartitioner().getToken(blockId), blockId);
 
@@ -390,32 +939,15 @@ public class BriskServer extends CassandraServer implements Brisk.Iface
         return null;
     }
 
-    private LocalOrRemoteBlock getRemoteSubBlock(ByteBuffer blockId, ByteBuffer sblockId, int offset, ColumnParent subBlockDataPath) 
+    private LocalOrRemoteBlock getRemoteSubBlock(ByteBuffer blockId, ByteBuffer sblockId, int offset, int length, ColumnParent subBlockDataPath) 
     	throws TimedOutException, UnavailableException, InvalidRequestException, NotFoundException
     {
-        // The column name is the SubBlock id (UUID)
-        ReadCommand rc = new SliceByNamesReadCommand(cfsKeyspace, blockId, subBlockDataPath, Arrays.asList(sblockId));
-
         try
         {
-            // CL=ONE as there are NOT multiple versions of the blocks.
-            List<Row> rows = StorageProxy.read(Arrays.asList(rc), ConsistencyLevel.ONE);
-            
-            IColumn col = null;
-            try 
-            {
-            	col = validateAndGetColumn(rows, sblockId);
-            } catch (NotFoundException e) 
-            {
-            	// This is a best effort to get the value. Sometimes due to the size of
-            	// the sublocks, the normal replication may time out leaving a replicate without
-            	// the piece of data. Hence we re try with higher CL.
-            	rows = StorageProxy.read(Arrays.asList(rc), ConsistencyLevel.QUORUM);
-            }
-            
-            col = validateAndGetColumn(rows, sblockId);
-            
-            ByteBuffer value = col.value();
+            ByteBuffer value = getSubBlockValue(blockId, sblockId, subBlockDataPath);
+
+            if (length > 0)
+                return new LocalOrRemoteBlock().setRemote_block(sliceSubBlock(value, offset, length));
             
             if(value.remaining() < offset)
                 throw new InvalidRequestException("Invalid offset for block of size: "+value.remaining());
@@ -445,6 +977,193 @@ public class BriskServer extends CassandraServer implements Brisk.Iface
         }
     }
 
+    private ByteBuffer getSubBlockValue(ByteBuffer blockId, ByteBuffer sblockId, ColumnParent subBlockDataPath)
+        throws IOException, TimeoutException, UnavailableException, InvalidRequestException, NotFoundException
+    {
+        ByteBuffer value = SubBlockCache.instance.get(blockId, sblockId);
+
+        if (value == null)
+            value = readSubBlockOnce(blockId, sblockId, subBlockDataPath);
+
+        return value;
+    }
+
+    /**
+     * Copies [offset, offset + length) of the uncompressed sub block data, so that only the
+     * requested bytes go back to the caller.
+     */
+    private static ByteBuffer sliceSubBlock(ByteBuffer value, int offset, int length) throws IOException, InvalidRequestException
+    {
+        ByteBuffer data = uncompressSubBlock(value);
+
+        if (data.remaining() < offset)
+            throw new InvalidRequestException("Invalid offset for block of size: "+data.remaining());
+
+        ByteBuffer range = data.duplicate();
+        range.position(range.position() + offset);
+        range.limit(range.position() + Math.min(length, range.remaining()));
+
+        ByteBuffer slice = ByteBuffer.allocate(range.remaining());
+        slice.put(range);
+        slice.flip();
+
+        return slice;
+    }
+
+    /**
+     * @return the uncompressed sub block data, in a scratch buffer of the calling thread
+     *         that the next call reuses, or the value itself if it is not compressed
+     */
+    private static ByteBuffer uncompressSubBlock(ByteBuffer value) throws IOException
+    {
+        // Snappy only works on direct buffers
+        ByteBuffer compressed = getScratchBuffer(compressedBuffer, value.remaining());
+        compressed.put(value.duplicate());
+        compressed.flip();
+
+        if (!Snappy.isValidCompressedBuffer(compressed))
+            return value.duplicate();
+
+        ByteBuffer data = getScratchBuffer(uncompressedBuffer, Snappy.uncompressedLength(compressed));
+        Snappy.uncompress(compressed, data);
+
+        return data;
+    }
+
+    private static ByteBuffer getScratchBuffer(ThreadLocal<ByteBuffer> scratch, int capacity)
+    {
+        ByteBuffer buffer = scratch.get();
+
+        if (buffer == null || buffer.capacity() < capacity)
+        {
+            buffer = ByteBuffer.allocateDirect(capacity);
+            scratch.set(buffer);
+        }
+
+        buffer.clear();
+        buffer.limit(capacity);
+
+        return buffer;
+    }
+
+    /**
+     * Reads the sub block, or waits for the same read already in flight on this node and shares its result.
+     */
+    private ByteBuffer readSubBlockOnce(final ByteBuffer blockId, final ByteBuffer sblockId, final ColumnParent subBlockDataPath)
+        throws IOException, TimeoutException, UnavailableException, InvalidRequestException, NotFoundException
+    {
+        SubBlockCache.Key key = new SubBlockCache.Key(blockId, sblockId);
+
+        FutureTask<ByteBuffer> read = new FutureTask<ByteBuffer>(new Callable<ByteBuffer>() {
+            public ByteBuffer call() throws Exception
+            {
+                ByteBuffer value = readSubBlock(blockId, sblockId, subBlockDataPath);
+
+                // Cached before the read is done so that later requests find it
+                SubBlockCache.instance.put(blockId, sblockId, value);
+
+                return value;
+            }
+        });
+
+        FutureTask<ByteBuffer> inflightRead = inflightReads.putIfAbsent(key, read);
+
+        if (inflightRead == null)
+        {
+            try
+            {
+                read.run();
+            }
+            finally
+            {
+                inflightReads.remove(key, read);
+            }
+
+            inflightRead = read;
+        }
+
+        try
+        {
+            // Each request moves its own position
+            return inflightRead.get().duplicate();
+        }
+        catch (InterruptedException e)
+        {
+            throw new TimeoutException();
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof IOException)
+                throw (IOException) cause;
+            if (cause instanceof TimeoutException)
+                throw (TimeoutException) cause;
+            if (cause instanceof UnavailableException)
+                throw (UnavailableException) cause;
+            if (cause instanceof InvalidRequestException)
+                throw (InvalidRequestException) cause;
+            if (cause instanceof NotFoundException)
+                throw (NotFoundException) cause;
+
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private ByteBuffer readSubBlock(ByteBuffer blockId, ByteBuffer sblockId, ColumnParent subBlockDataPath)
+        throws IOException, TimeoutException, UnavailableException, InvalidRequestException, NotFoundException
+    {
+        // The column name is the SubBlock id (UUID)
+        ReadCommand rc = new SliceByNamesReadCommand(cfsKeyspace, blockId, subBlockDataPath, Arrays.asList(sblockId));
+
+        // CL=ONE as there are NOT multiple versions of the blocks.
+        List<Row> rows = StorageProxy.read(Arrays.asList(rc), ConsistencyLevel.ONE);
+        
+        IColumn col = null;
+        try 
+        {
+        	col = validateAndGetColumn(rows, sblockId);
+        } catch (NotFoundException e) 
+        {
+        	// This is a best effort to get the value. Sometimes due to the size of
+        	// the sublocks, the normal replication may time out leaving a replicate without
+        	// the piece of data. Hence we re try with higher CL.
+        	rows = StorageProxy.read(Arrays.asList(rc), ConsistencyLevel.QUORUM);
+        }
+        
+        col = validateAndGetColumn(rows, sblockId);
+        
+        return col.value();
+    }
+
+    /**
+     * Deleted blocks are dropped from the sub block cache.
+     */
+    @Override
+    public void batch_mutate(Map<ByteBuffer, Map<String, List<Mutation>>> mutation_map, ConsistencyLevel consistency_level)
+            throws InvalidRequestException, UnavailableException, TimedOutException, TException
+    {
+        for (Map.Entry<ByteBuffer, Map<String, List<Mutation>>> row : mutation_map.entrySet())
+        {
+            for (Map.Entry<String, List<Mutation>> cf : row.getValue().entrySet())
+            {
+                if (!cf.getKey().equals(cfsSubBlockDefaultFamily) && !cf.getKey().equals(cfsSubBlockArchiveFamily))
+                    continue;
+
+                for (Mutation mutation : cf.getValue())
+                {
+                    if (mutation.isSetDeletion())
+                    {
+                        SubBlockCache.instance.invalidate(row.getKey());
+                        break;
+                    }
+                }
+            }
+        }
+
+        super.batch_mutate(mutation_map, consistency_level);
+    }
+
 
     public String get_jobtracker_address() throws NotFoundException, TException
     {
@@ -460,7 +1179,10 @@ public class BriskServer extends CassandraServer implements Brisk.Iface
 	public String move_job_tracker(String newJobtracker) throws NotFoundException, TException {
 		
 		try {
-			TrackerManager.insertJobtrackerLocation(InetAddress.getByName(newJobtracker));
+			InetAddress newJobtrackerAddr = InetAddress.getByName(newJobtracker);
+			TrackerManager.insertJobtrackerLocation(newJobtrackerAddr);
+			// Let the trackers know without waiting for their next poll
+			TrackerInitializer.announceJobTracker(newJobtrackerAddr);
 		} catch (UnknownHostException e) {
 			throw new TException("Unable to set the new Job Tracker lcoation");
 		} catch (TrackerManagerException e) {
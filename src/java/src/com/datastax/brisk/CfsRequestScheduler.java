@@ -0,0 +1,219 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.brisk;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Keeps CFS sub block traffic from filling the thrift workers and the read and mutation
+ * stages interactive requests go through.
+ *
+ * Sub block reads and writes each get their own cap on the number of requests served at
+ * once and on the bytes moved per second. Requests over the caps wait in BriskServer, the
+ * rest of the traffic is not affected. Caps are set with the brisk.cfs.* properties and
+ * changed at runtime through JMX.
+ */
+public class CfsRequestScheduler implements CfsRequestSchedulerMBean
+{
+    private static final Logger logger = Logger.getLogger(CfsRequestScheduler.class);
+
+    public static final CfsRequestScheduler instance = new CfsRequestScheduler();
+
+    public enum RequestClass
+    {
+        CFS_READ, CFS_WRITE
+    }
+
+    private final Throttle readThrottle = new Throttle(Integer.getInteger("brisk.cfs.read.concurrency", 32),
+            Long.getLong("brisk.cfs.read.bandwidth", 0));
+
+    private final Throttle writeThrottle = new Throttle(Integer.getInteger("brisk.cfs.write.concurrency", 16),
+            Long.getLong("brisk.cfs.write.bandwidth", 0));
+
+    private CfsRequestScheduler()
+    {
+        MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+        try
+        {
+            mbs.registerMBean(this, new ObjectName("com.datastax.brisk:type=CfsRequestScheduler"));
+        }
+        catch (Exception e)
+        {
+            logger.warn("Unable to register the CFS request scheduler MBean", e);
+        }
+    }
+
+    /**
+     * Waits for the request to be allowed in, {@link #release} must be called once it is done.
+     */
+    public void acquire(RequestClass requestClass) throws InterruptedException
+    {
+        getThrottle(requestClass).acquire();
+    }
+
+    /**
+     * Charges the bytes the request moved, waiting if the class went over its bandwidth.
+     */
+    public void charge(RequestClass requestClass, long bytes) throws InterruptedException
+    {
+        getThrottle(requestClass).charge(bytes);
+    }
+
+    public void release(RequestClass requestClass)
+    {
+        getThrottle(requestClass).release();
+    }
+
+    private Throttle getThrottle(RequestClass requestClass)
+    {
+        return requestClass == RequestClass.CFS_READ ? readThrottle : writeThrottle;
+    }
+
+    public int getReadConcurrency()
+    {
+        return readThrottle.concurrency;
+    }
+
+    public void setReadConcurrency(int concurrency)
+    {
+        readThrottle.setConcurrency(concurrency);
+    }
+
+    public long getReadBandwidth()
+    {
+        return readThrottle.bandwidth;
+    }
+
+    public void setReadBandwidth(long bytesPerSecond)
+    {
+        readThrottle.setBandwidth(bytesPerSecond);
+    }
+
+    public int getWriteConcurrency()
+    {
+        return writeThrottle.concurrency;
+    }
+
+    public void setWriteConcurrency(int concurrency)
+    {
+        writeThrottle.setConcurrency(concurrency);
+    }
+
+    public long getWriteBandwidth()
+    {
+        return writeThrottle.bandwidth;
+    }
+
+    public void setWriteBandwidth(long bytesPerSecond)
+    {
+        writeThrottle.setBandwidth(bytesPerSecond);
+    }
+
+    public int getPendingRequests()
+    {
+        return readThrottle.waiting + writeThrottle.waiting;
+    }
+
+    /**
+     * A resizable concurrency cap plus a token bucket. Bytes are charged once known, so the
+     * bucket may go into debt, which the next requests pay back by waiting.
+     */
+    static class Throttle
+    {
+        private volatile int  concurrency;
+        private volatile long bandwidth;
+
+        private int  running;
+        private int  waiting;
+
+        private double tokens;
+        private long   lastRefill = System.nanoTime();
+
+        Throttle(int concurrency, long bandwidth)
+        {
+            this.concurrency = Math.max(1, concurrency);
+            this.bandwidth = Math.max(0, bandwidth);
+        }
+
+        synchronized void acquire() throws InterruptedException
+        {
+            waiting++;
+            try
+            {
+                while (running >= concurrency)
+                    wait();
+            }
+            finally
+            {
+                waiting--;
+            }
+
+            running++;
+        }
+
+        synchronized void release()
+        {
+            running--;
+            notifyAll();
+        }
+
+        synchronized void setConcurrency(int concurrency)
+        {
+            this.concurrency = Math.max(1, concurrency);
+            notifyAll();
+        }
+
+        synchronized void setBandwidth(long bandwidth)
+        {
+            this.bandwidth = Math.max(0, bandwidth);
+            tokens = 0;
+            lastRefill = System.nanoTime();
+        }
+
+        void charge(long bytes) throws InterruptedException
+        {
+            long delay = reserve(bytes);
+
+            if (delay > 0)
+                Thread.sleep(delay);
+        }
+
+        /**
+         * @return how long, in ms, the caller has to wait for the bucket to be out of debt
+         */
+        synchronized long reserve(long bytes)
+        {
+            if (bandwidth == 0)
+                return 0;
+
+            long now = System.nanoTime();
+
+            // At most one second worth of bytes can be saved up
+            tokens = Math.min(bandwidth, tokens + bandwidth * (now - lastRefill) / 1e9);
+            lastRefill = now;
+            tokens -= bytes;
+
+            return tokens >= 0 ? 0 : (long) (-tokens * 1000 / bandwidth);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.brisk;
+
+public interface CfsRequestSchedulerMBean {
+
+    /**
+     * Max number of sub block reads served at the same time.
+     */
+    public int getReadConcurrency();
+
+    public void setReadConcurrency(int concurrency);
+
+    /**
+     * Max sub block bytes read per second, 0 for no limit.
+     */
+    public long getReadBandwidth();
+
+    public void setReadBandwidth(long bytesPerSecond);
+
+    /**
+     * Max number of sub block writes served at the same time.
+     */
+    public int getWriteConcurrency();
+
+    public void setWriteConcurrency(int concurrency);
+
+    /**
+     * Max sub block bytes written per second, 0 for no limit.
+     */
+    public long getWriteBandwidth();
+
+    public void setWriteBandwidth(long bytesPerSecond);
+
+    /**
+     * Number of sub block requests waiting for their turn.
+     */
+    public int getPendingRequests();
+}
@@ -0,0 +1,206 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.brisk;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.cassandra.utils.ByteBufferUtil;
+
+/**
+ * LRU cache of sub block values read from other replicas, kept off heap and bounded by
+ * the number of bytes it holds.
+ *
+ * The sblocks CFs have no row cache as a row is a whole block. Files read by many tasks
+ * at once (job jars, distributed cache files, small tables) are served from here instead of
+ * one StorageProxy read per task. Block and sub block ids are never reused, so entries only
+ * have to go away when their block is deleted.
+ */
+public class SubBlockCache
+{
+    public static final SubBlockCache instance = new SubBlockCache(Long.getLong("brisk.sblock.cache.size", 128) * 1024 * 1024);
+
+    private final long capacity;
+    private long       size;
+
+    private final LinkedHashMap<Key, ByteBuffer> entries = new LinkedHashMap<Key, ByteBuffer>(16, 0.75f, true);
+
+    private final AtomicLong hits     = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+
+    public SubBlockCache(long capacity)
+    {
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return a copy of the cached value, null if it is not cached
+     */
+    public ByteBuffer get(ByteBuffer blockId, ByteBuffer sblockId)
+    {
+        if (capacity <= 0)
+            return null;
+
+        requests.incrementAndGet();
+
+        ByteBuffer value;
+        synchronized (this)
+        {
+            value = entries.get(new Key(blockId, sblockId));
+        }
+
+        if (value == null)
+            return null;
+
+        hits.incrementAndGet();
+
+        // Thrift wants heap buffers, and the caller may move the position
+        ByteBuffer copy = ByteBuffer.allocate(value.remaining());
+        copy.put(value.duplicate());
+        copy.flip();
+
+        return copy;
+    }
+
+    /**
+     * Copies no more than <code>maxLength</code> bytes of a cached value, from <code>position</code> on.
+     *
+     * @return the copied bytes, empty past the end of the value, null if it is not cached
+     */
+    public ByteBuffer get(ByteBuffer blockId, ByteBuffer sblockId, long position, int maxLength)
+    {
+        if (capacity <= 0)
+            return null;
+
+        requests.incrementAndGet();
+
+        ByteBuffer value;
+        synchronized (this)
+        {
+            value = entries.get(new Key(blockId, sblockId));
+        }
+
+        if (value == null)
+            return null;
+
+        hits.incrementAndGet();
+
+        ByteBuffer range = value.duplicate();
+        range.position((int) Math.min(range.limit(), range.position() + position));
+        range.limit(range.position() + Math.min(maxLength, range.remaining()));
+
+        ByteBuffer copy = ByteBuffer.allocate(range.remaining());
+        copy.put(range);
+        copy.flip();
+
+        return copy;
+    }
+
+    public void put(ByteBuffer blockId, ByteBuffer sblockId, ByteBuffer value)
+    {
+        if (value.remaining() > capacity)
+            return;
+
+        ByteBuffer offHeapValue = ByteBuffer.allocateDirect(value.remaining());
+        offHeapValue.put(value.duplicate());
+        offHeapValue.flip();
+
+        Key key = new Key(ByteBufferUtil.clone(blockId), ByteBufferUtil.clone(sblockId));
+
+        synchronized (this)
+        {
+            ByteBuffer previous = entries.put(key, offHeapValue);
+
+            if (previous != null)
+                size -= previous.capacity();
+
+            size += offHeapValue.capacity();
+
+            Iterator<ByteBuffer> it = entries.values().iterator();
+            while (size > capacity && it.hasNext())
+            {
+                size -= it.next().capacity();
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops all the sub blocks of a block.
+     */
+    public synchronized void invalidate(ByteBuffer blockId)
+    {
+        Iterator<Map.Entry<Key, ByteBuffer>> it = entries.entrySet().iterator();
+
+        while (it.hasNext())
+        {
+            Map.Entry<Key, ByteBuffer> entry = it.next();
+
+            if (entry.getKey().blockId.equals(blockId))
+            {
+                size -= entry.getValue().capacity();
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized long size()
+    {
+        return size;
+    }
+
+    public double getHitRate()
+    {
+        long r = requests.get();
+        return r == 0 ? 0 : (double) hits.get() / r;
+    }
+
+    /**
+     * Identifies a sub block, it holds the given buffers as they are.
+     */
+    static class Key
+    {
+        final ByteBuffer blockId;
+        final ByteBuffer sblockId;
+
+        Key(ByteBuffer blockId, ByteBuffer sblockId)
+        {
+            this.blockId = blockId;
+            this.sblockId = sblockId;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * blockId.hashCode() + sblockId.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (!(o instanceof Key))
+                return false;
+
+            Key other = (Key) o;
+            return blockId.equals(other.blockId) && sblockId.equals(other.sblockId);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.brisk;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.datastax.brisk.CfsRequestScheduler.RequestClass;
+
+import org.apache.cassandra.hadoop.fs.SubBlockDataClient;
+import org.apache.cassandra.io.util.FileUtils;
+import org.apache.cassandra.thrift.LocalBlock;
+import org.apache.log4j.Logger;
+
+/**
+ * Serves the sub blocks this node holds straight from the SSTable data files with
+ * FileChannel.transferTo, so they go to the socket without being deserialized, copied
+ * into a column value or buffered in a thrift frame.
+ *
+ * Sub blocks are resolved the same way as local blocks are for get_cfs_sblock, a sub block
+ * that is not in an SSTable yet is answered as not found and the client falls back to thrift.
+ * See {@link SubBlockDataClient} for the protocol.
+ *
+ * A connection holds a worker thread for as long as it is open. Connections beyond the number of
+ * workers are closed right away, and connections idle for longer than the timeout are closed, the
+ * clients fall back to thrift or open a new one.
+ */
+public class SubBlockDataServer extends Thread
+{
+    private static final Logger logger = Logger.getLogger(SubBlockDataServer.class);
+
+    // The port sub blocks are served on, 0 to turn the data port off.
+    public static final int port = Integer.getInteger("brisk.data.port", 0);
+
+    // Max number of connections served at once.
+    private static final int maxConnections = Integer.getInteger("brisk.data.connections", 64);
+
+    // How long, in ms, a connection may wait for its next request.
+    private static final int idleTimeout = Integer.getInteger("brisk.data.timeout", 60000);
+
+    private final ServerSocketChannel serverChannel;
+    private final ExecutorService     workers = new ThreadPoolExecutor(0, Math.max(1, maxConnections), 60,
+                                                      TimeUnit.SECONDS, new SynchronousQueue<Runnable>());
+    private final BriskServer         briskServer = new BriskInternalServer();
+
+    public SubBlockDataServer(InetAddress listenAddr, int listenPort) throws IOException
+    {
+        super("SUBBLOCK-DATA-SERVER");
+        setDaemon(true);
+
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.socket().setReuseAddress(true);
+        serverChannel.socket().bind(new InetSocketAddress(listenAddr, listenPort));
+
+        logger.info(String.format("Serving sub blocks on %s:%s", listenAddr, listenPort));
+    }
+
+    public void run()
+    {
+        while (serverChannel.isOpen())
+        {
+            try
+            {
+                final SocketChannel channel = serverChannel.accept();
+
+                try
+                {
+                    workers.execute(new Runnable() {
+                        public void run()
+                        {
+                            serve(channel);
+                        }
+                    });
+                }
+                catch (RejectedExecutionException e)
+                {
+                    logger.debug("Too many sub block connections, closing " + channel.socket().getRemoteSocketAddress());
+                    FileUtils.closeQuietly(channel);
+                }
+            }
+            catch (IOException e)
+            {
+                if (serverChannel.isOpen())
+                    logger.warn("Unable to accept sub block connection", e);
+            }
+        }
+    }
+
+    public void stopServer()
+    {
+        FileUtils.closeQuietly(serverChannel);
+        workers.shutdownNow();
+    }
+
+    /**
+     * Answers the requests of a connection until the client closes it.
+     */
+    private void serve(SocketChannel channel)
+    {
+        try
+        {
+            channel.socket().setTcpNoDelay(true);
+            channel.socket().setSoTimeout(idleTimeout);
+            DataInputStream in = new DataInputStream(channel.socket().getInputStream());
+
+            while (true)
+            {
+                ByteBuffer blockId;
+                ByteBuffer sblockId;
+                boolean archive;
+
+                try
+                {
+                    blockId = readBytes(in);
+                    sblockId = readBytes(in);
+                    archive = in.readBoolean();
+                }
+                catch (EOFException e)
+                {
+                    break;
+                }
+
+                LocalBlock localBlock = null;
+                try
+                {
+                    localBlock = briskServer.getLocalSubBlock(archive ? BriskServer.cfsSubBlockArchiveFamily
+                            : BriskServer.cfsSubBlockDefaultFamily, blockId, sblockId, 0);
+                }
+                catch (Exception e)
+                {
+                    logger.warn("Unable to resolve sub block", e);
+                }
+
+                if (localBlock == null)
+                {
+                    writeHeader(channel, SubBlockDataClient.STATUS_NOT_FOUND, 0);
+                    continue;
+                }
+
+                transfer(channel, localBlock);
+            }
+        }
+        catch (Exception e)
+        {
+            logger.debug("Sub block connection closed", e);
+        }
+        finally
+        {
+            FileUtils.closeQuietly(channel);
+        }
+    }
+
+    private static void transfer(SocketChannel channel, LocalBlock localBlock) throws IOException, InterruptedException
+    {
+        CfsRequestScheduler.instance.acquire(RequestClass.CFS_READ);
+
+        RandomAccessFile raf = new RandomAccessFile(localBlock.file, "r");
+        try
+        {
+            CfsRequestScheduler.instance.charge(RequestClass.CFS_READ, localBlock.length);
+
+            writeHeader(channel, SubBlockDataClient.STATUS_OK, localBlock.length);
+
+            FileChannel file = raf.getChannel();
+            long position = localBlock.offset;
+            long end = localBlock.offset + localBlock.length;
+
+            while (position < end)
+                position += file.transferTo(position, end - position, channel);
+        }
+        finally
+        {
+            FileUtils.closeQuietly(raf);
+            CfsRequestScheduler.instance.release(RequestClass.CFS_READ);
+        }
+    }
+
+    private static void writeHeader(SocketChannel channel, byte status, long length) throws IOException
+    {
+        ByteBuffer header = ByteBuffer.allocate(9);
+        header.put(status).putLong(length).flip();
+
+        while (header.hasRemaining())
+            channel.write(header);
+    }
+
+    private static ByteBuffer readBytes(DataInputStream in) throws IOException
+    {
+        byte[] bytes = new byte[in.readUnsignedShort()];
+        in.readFully(bytes);
+
+        return ByteBuffer.wrap(bytes);
+    }
+}
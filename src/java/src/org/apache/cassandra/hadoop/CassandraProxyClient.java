@@ -120,6 +120,31 @@ public class CassandraProxyClient implements java.lang.reflect.InvocationHandler
                 Brisk.Client.class.getInterfaces(), new CassandraProxyClient(host, port, framed, connectionStrategy));
     }
 
+    /**
+     * Closes the connection of a client created by {@link #newProxyConnection}, other clients are left as they are.
+     *
+     * @param proxy the client to close
+     */
+    public static void close(Brisk.Iface proxy)
+    {
+        if (!java.lang.reflect.Proxy.isProxyClass(proxy.getClass()))
+            return;
+
+        java.lang.reflect.InvocationHandler handler = java.lang.reflect.Proxy.getInvocationHandler(proxy);
+
+        if (handler instanceof CassandraProxyClient)
+            ((CassandraProxyClient) handler).close();
+    }
+
+    private void close()
+    {
+        if (client != null)
+        {
+            client.getInputProtocol().getTransport().close();
+            client = null;
+        }
+    }
+
     /**
      * Create connection to a given host.
      *
@@ -29,13 +29,47 @@ public class Block
     public final long length;
     public final long offset;
     public final SubBlock[] subBlocks;
+
+    // Stripe layout of an erasure coded block, shardIds is null for a replicated one.
+    // The sub blocks are grouped by dataShards in stripes, each stripe has the row ids of its
+    // data shards, one per sub block, then of its parityShards parity shards.
+    public final int dataShards;
+    public final int parityShards;
+    public final UUID[] shardIds;
     
     public Block(UUID id, long offset, long length, SubBlock[] subBlocks)
+    {
+        this(id, offset, length, subBlocks, 0, 0, null);
+    }
+
+    public Block(UUID id, long offset, long length, SubBlock[] subBlocks, int dataShards, int parityShards,
+            UUID[] shardIds)
     {
         this.id     = id;
         this.offset = offset;
         this.length = length;
         this.subBlocks = subBlocks;
+        this.dataShards = dataShards;
+        this.parityShards = parityShards;
+        this.shardIds = shardIds;
+    }
+
+    /**
+     * @return the row ids of the data shards of an erasure coded block, one per sub block, in order
+     */
+    public UUID[] getDataShardIds()
+    {
+        UUID[] ids = new UUID[subBlocks.length];
+
+        for (int i = 0; i < subBlocks.length; i++)
+            ids[i] = shardIds[i / dataShards * (dataShards + parityShards) + i % dataShards];
+
+        return ids;
+    }
+
+    public boolean isErasureCoded()
+    {
+        return shardIds != null;
     }
     
     @Override
@@ -0,0 +1,446 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.hadoop.fs;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import org.apache.cassandra.config.DatabaseDescriptor;
+import org.apache.cassandra.config.KSMetaData;
+import org.apache.cassandra.db.ColumnFamily;
+import org.apache.cassandra.db.ColumnFamilyStore;
+import org.apache.cassandra.db.ColumnSerializer;
+import org.apache.cassandra.db.CompactionManager;
+import org.apache.cassandra.db.Table;
+import org.apache.cassandra.io.sstable.Component;
+import org.apache.cassandra.io.sstable.Descriptor;
+import org.apache.cassandra.io.sstable.IndexHelper;
+import org.apache.cassandra.io.sstable.SSTableReader;
+import org.apache.cassandra.io.util.BufferedRandomAccessFile;
+import org.apache.cassandra.io.util.FileUtils;
+import org.apache.cassandra.utils.ByteBufferUtil;
+import org.apache.log4j.Logger;
+
+/**
+ * Compacts the CFs holding block data in place of the size tiered compaction, which is disabled on them.
+ *
+ * Block rows are written once and only ever removed as a whole, so merging SSTables gains nothing but
+ * copies of the same blobs: reads already hit a single SSTable through the bloom filters. Only the space
+ * of deleted blocks is worth getting back. Each run, on every node:
+ * - drops, without rewriting anything, the SSTables all of whose rows are deleted blocks,
+ * - compacts together an SSTable and the SSTables holding the tombstones of its rows when at least
+ *   cfs.compaction.dead.ratio of their bytes go away, so that live blocks are seldom copied.
+ *
+ * A block row may still be written after its tombstone, e.g. by a late replayed write, so a row only counts
+ * as deleted if its columns are older than the tombstone.
+ */
+public class BlockCompactionService
+{
+    private static final Logger logger = Logger.getLogger(BlockCompactionService.class);
+
+    // How often the block CFs are compacted, in seconds.
+    private static final long compactionInterval = Long.getLong("cfs.compaction.interval", 600);
+
+    // Share of the bytes of a set of SSTables that must be deleted blocks for the set to be rewritten.
+    private static final double minDeadRatio = Double.parseDouble(System.getProperty("cfs.compaction.dead.ratio", "0.8"));
+
+    private static ScheduledExecutorService compactor;
+
+    // Rows of the SSTables already read, which never change
+    private static final Map<Descriptor, List<RowSummary>> summaries = new HashMap<Descriptor, List<RowSummary>>();
+
+    public static synchronized void init()
+    {
+        if (compactor != null)
+            return;
+
+        compactor = Executors.newSingleThreadScheduledExecutor();
+
+        compactor.scheduleWithFixedDelay(new Runnable() {
+            public void run()
+            {
+                try
+                {
+                    compactBlockCfs();
+                }
+                catch (Throwable t)
+                {
+                    logger.error("Unable to compact the block CFs", t);
+                }
+            }
+        }, compactionInterval, compactionInterval, TimeUnit.SECONDS);
+
+        logger.info("Block compaction service started");
+    }
+
+    private static void compactBlockCfs() throws Exception
+    {
+        String[][] blockCfs = { { CassandraFileSystemThriftStore.keySpace, CassandraFileSystemThriftStore.sblockDefaultCf },
+                { CassandraFileSystemThriftStore.keySpace, CassandraFileSystemThriftStore.sblockArchiveCf },
+                { ErasureCodedBlocks.keySpace, ErasureCodedBlocks.shardCf } };
+
+        for (String[] blockCf : blockCfs)
+        {
+            KSMetaData ksm = DatabaseDescriptor.getTableDefinition(blockCf[0]);
+
+            if (ksm == null || !ksm.cfMetaData().containsKey(blockCf[1]))
+                continue;
+
+            ColumnFamilyStore cfs = Table.open(blockCf[0]).getColumnFamilyStore(blockCf[1]);
+
+            // Keyspaces created by older versions have the size tiered compaction on
+            if (cfs.getMinimumCompactionThreshold() > 0)
+                cfs.disableAutoCompaction();
+
+            // Leave the SSTables alone while a major compaction or a cleanup runs
+            if (CompactionManager.instance.getPendingTasks() > 0)
+                continue;
+
+            int gcBefore = (int) (System.currentTimeMillis() / 1000) - cfs.metadata.getGcGraceSeconds();
+            compact(cfs, gcBefore);
+        }
+    }
+
+    /**
+     * Drops or compacts the SSTables of <code>cfs</code> made of deleted blocks.
+     *
+     * @param gcBefore tombstones deleted before this time, in seconds, can be purged
+     * @return the number of SSTables dropped or compacted
+     */
+    static int compact(ColumnFamilyStore cfs, int gcBefore) throws Exception
+    {
+        List<SSTableReader> sstables = new ArrayList<SSTableReader>(cfs.getSSTables());
+        Map<SSTableReader, List<RowSummary>> rows = new HashMap<SSTableReader, List<RowSummary>>();
+
+        synchronized (summaries)
+        {
+            Set<Descriptor> live = new HashSet<Descriptor>();
+
+            for (SSTableReader sstable : sstables)
+            {
+                List<RowSummary> summary = summaries.get(sstable.descriptor);
+
+                if (summary == null)
+                {
+                    summary = summarize(sstable);
+                    summaries.put(sstable.descriptor, summary);
+                }
+
+                rows.put(sstable, summary);
+                live.add(sstable.descriptor);
+            }
+
+            summaries.keySet().retainAll(live);
+        }
+
+        // The rows of each key, by SSTable
+        Map<ByteBuffer, Map<SSTableReader, RowSummary>> keys = new HashMap<ByteBuffer, Map<SSTableReader, RowSummary>>();
+
+        for (Map.Entry<SSTableReader, List<RowSummary>> entry : rows.entrySet())
+        {
+            for (RowSummary row : entry.getValue())
+            {
+                Map<SSTableReader, RowSummary> keyRows = keys.get(row.key);
+
+                if (keyRows == null)
+                {
+                    keyRows = new HashMap<SSTableReader, RowSummary>();
+                    keys.put(row.key, keyRows);
+                }
+
+                keyRows.put(entry.getKey(), row);
+            }
+        }
+
+        // Largest first, they have the most to give back
+        Collections.sort(sstables, new Comparator<SSTableReader>() {
+            public int compare(SSTableReader a, SSTableReader b)
+            {
+                return Long.signum(b.length() - a.length());
+            }
+        });
+
+        Set<SSTableReader> done = new HashSet<SSTableReader>();
+        int compacted = 0;
+
+        for (SSTableReader sstable : sstables)
+        {
+            if (done.contains(sstable))
+                continue;
+
+            if (isDroppable(sstable, rows.get(sstable), keys, gcBefore))
+            {
+                if (drop(cfs, sstable))
+                    compacted++;
+
+                done.add(sstable);
+                continue;
+            }
+
+            // The rows of the SSTable only go away along with their tombstones
+            Set<SSTableReader> set = new HashSet<SSTableReader>();
+            set.add(sstable);
+
+            for (RowSummary row : rows.get(sstable))
+            {
+                for (Map.Entry<SSTableReader, RowSummary> keyRow : keys.get(row.key).entrySet())
+                {
+                    if (keyRow.getValue().isDeleted(gcBefore))
+                        set.add(keyRow.getKey());
+                }
+            }
+
+            if (!Collections.disjoint(set, done))
+                continue;
+
+            long size = 0;
+            long dead = 0;
+
+            for (SSTableReader member : set)
+            {
+                for (RowSummary row : rows.get(member))
+                {
+                    size += row.size;
+
+                    // Purged only if every row of the key is in the set and older than its tombstone
+                    Map<SSTableReader, RowSummary> keyRows = keys.get(row.key);
+                    if (set.containsAll(keyRows.keySet()) && isDead(keyRows, gcBefore))
+                        dead += row.size;
+                }
+            }
+
+            if (dead == 0 || dead < minDeadRatio * size)
+                continue;
+
+            if (logger.isDebugEnabled())
+                logger.debug("Compacting " + set + ", " + dead + " of their " + size + " bytes are deleted blocks");
+
+            List<Descriptor> descriptors = new ArrayList<Descriptor>(set.size());
+            for (SSTableReader member : set)
+                descriptors.add(member.descriptor);
+
+            CompactionManager.instance.submitUserDefined(cfs, descriptors, gcBefore).get();
+            done.addAll(set);
+            compacted += set.size();
+        }
+
+        if (compacted > 0)
+            logger.info("Dropped or compacted " + compacted + " SSTables of " + cfs.getColumnFamilyName());
+
+        return compacted;
+    }
+
+    /**
+     * Drops the SSTable unless a compaction has taken it since the SSTables were listed.
+     * Holding the compaction lock keeps compactions from starting on it meanwhile.
+     *
+     * @return true if the SSTable was dropped
+     */
+    private static boolean drop(ColumnFamilyStore cfs, SSTableReader sstable)
+    {
+        Lock lock = CompactionManager.instance.getCompactionLock();
+        lock.lock();
+        try
+        {
+            if (!cfs.getSSTables().contains(sstable))
+                return false;
+
+            if (logger.isDebugEnabled())
+                logger.debug("Dropping " + sstable + ", all its blocks are deleted");
+
+            cfs.markCompacted(Arrays.asList(sstable));
+            return true;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * An SSTable can go without being read if all its rows are either blocks deleted by a later tombstone
+     * of another SSTable, or tombstones past their grace period of keys no other SSTable holds.
+     */
+    private static boolean isDroppable(SSTableReader sstable, List<RowSummary> rows,
+            Map<ByteBuffer, Map<SSTableReader, RowSummary>> keys, int gcBefore)
+    {
+        if (rows.isEmpty())
+            return false;
+
+        for (RowSummary row : rows)
+        {
+            Map<SSTableReader, RowSummary> keyRows = keys.get(row.key);
+
+            if (row.isMarkedForDelete())
+            {
+                // Dropping the tombstone would bring the blocks of the other SSTables back
+                if (keyRows.size() > 1 || !isDead(keyRows, gcBefore))
+                    return false;
+            }
+            else if (row.maxTimestamp > getTombstone(keyRows, sstable, gcBefore))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * A key is dead when none of its rows has a column written after its latest purgeable tombstone.
+     */
+    private static boolean isDead(Map<SSTableReader, RowSummary> keyRows, int gcBefore)
+    {
+        long tombstone = getTombstone(keyRows, null, gcBefore);
+
+        if (tombstone == Long.MIN_VALUE)
+            return false;
+
+        for (RowSummary row : keyRows.values())
+        {
+            if (row.maxTimestamp > tombstone)
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * @param exclude SSTable whose tombstone is not counted, may be null
+     * @return the latest time the key was deleted at by a purgeable tombstone, Long.MIN_VALUE if none
+     */
+    private static long getTombstone(Map<SSTableReader, RowSummary> keyRows, SSTableReader exclude, int gcBefore)
+    {
+        long tombstone = Long.MIN_VALUE;
+
+        for (Map.Entry<SSTableReader, RowSummary> keyRow : keyRows.entrySet())
+        {
+            if (keyRow.getKey() != exclude && keyRow.getValue().isDeleted(gcBefore))
+                tombstone = Math.max(tombstone, keyRow.getValue().markedForDeleteAt);
+        }
+
+        return tombstone;
+    }
+
+    /**
+     * Reads the header of each row of an SSTable and of its columns, skipping over the block data.
+     */
+    private static List<RowSummary> summarize(SSTableReader sstable) throws IOException
+    {
+        List<RowSummary> rows = new ArrayList<RowSummary>();
+        BufferedRandomAccessFile file = new BufferedRandomAccessFile(new File(sstable.descriptor
+                .filenameFor(Component.DATA)), "r");
+
+        try
+        {
+            while (!file.isEOF())
+            {
+                long rowStart = file.getFilePointer();
+                ByteBuffer key = ByteBufferUtil.readWithShortLength(file);
+                long rowSize = SSTableReader.readRowSize(file, sstable.descriptor);
+                long dataStart = file.getFilePointer();
+
+                IndexHelper.skipBloomFilter(file);
+                IndexHelper.skipIndex(file);
+                ColumnFamily cf = ColumnFamily.serializer().deserializeFromSSTableNoColumns(
+                        ColumnFamily.create(sstable.metadata), file);
+
+                long maxTimestamp = Long.MIN_VALUE;
+                int columns = file.readInt();
+
+                for (int i = 0; i < columns; i++)
+                    maxTimestamp = Math.max(maxTimestamp, skipColumn(file));
+
+                rows.add(new RowSummary(key, dataStart - rowStart + rowSize, cf.isMarkedForDelete() ? cf
+                        .getLocalDeletionTime() : Integer.MAX_VALUE, cf.getMarkedForDeleteAt(), maxTimestamp));
+
+                file.seek(dataStart + rowSize);
+            }
+        }
+        finally
+        {
+            FileUtils.closeQuietly(file);
+        }
+
+        return rows;
+    }
+
+    /**
+     * Skips a serialized column, value included.
+     *
+     * @return the timestamp of the column
+     */
+    private static long skipColumn(BufferedRandomAccessFile file) throws IOException
+    {
+        int nameLength = file.readUnsignedShort();
+        file.seek(file.getFilePointer() + nameLength);
+        int flags = file.readUnsignedByte();
+
+        if ((flags & ColumnSerializer.COUNTER_MASK) != 0)
+            file.readLong(); // timestamp of the last delete
+        else if ((flags & ColumnSerializer.EXPIRATION_MASK) != 0)
+            file.seek(file.getFilePointer() + 8); // ttl and expiration time
+
+        long timestamp = file.readLong();
+        int length = file.readInt();
+        file.seek(file.getFilePointer() + length);
+
+        return timestamp;
+    }
+
+    /**
+     * A row of an SSTable: its key, its size on disk, when it was deleted if it was, and when its latest
+     * column was written, Long.MIN_VALUE if it has none.
+     */
+    private static class RowSummary
+    {
+        final ByteBuffer key;
+        final long       size;
+        final int        localDeletionTime;
+        final long       markedForDeleteAt;
+        final long       maxTimestamp;
+
+        RowSummary(ByteBuffer key, long size, int localDeletionTime, long markedForDeleteAt, long maxTimestamp)
+        {
+            this.key = key;
+            this.size = size;
+            this.localDeletionTime = localDeletionTime;
+            this.markedForDeleteAt = markedForDeleteAt;
+            this.maxTimestamp = maxTimestamp;
+        }
+
+        boolean isMarkedForDelete()
+        {
+            return localDeletionTime != Integer.MAX_VALUE;
+        }
+
+        /**
+         * @return true if the row holds a tombstone that can be purged
+         */
+        boolean isDeleted(int gcBefore)
+        {
+            return localDeletionTime < gcBefore;
+        }
+    }
+}
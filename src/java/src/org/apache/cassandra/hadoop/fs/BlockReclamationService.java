@@ -0,0 +1,631 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.hadoop.fs;
+
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.datastax.brisk.BriskInternalServer;
+
+import org.apache.cassandra.dht.Range;
+import org.apache.cassandra.dht.Token;
+import org.apache.cassandra.service.StorageService;
+import org.apache.cassandra.thrift.*;
+import org.apache.cassandra.utils.ByteBufferUtil;
+import org.apache.cassandra.utils.FBUtilities;
+import org.apache.log4j.Logger;
+
+/**
+ * Removes the sblock rows of deleted files in the background and garbage collects the blocks
+ * no inode refers to anymore.
+ *
+ * Two tasks are scheduled on every Brisk node:
+ * - the reclaim worker drains the reclaim queue filled by CassandraFileSystemThriftStore deletes,
+ *   removing the queued block rows at a bounded rate.
+ * - the orphan sweep walks the sblocks CFs looking for blocks older than a grace period that no inode
+ *   references, e.g. blocks written by tasks killed before closing their file. Inode rows older than the
+ *   grace period which cannot be reached from the root, e.g. those of a recursive delete interrupted
+ *   after unlinking its directory, are marked, then removed along with their blocks by the next sweep
+ *   if they still cannot be reached from the root at QUORUM.
+ *
+ * Each node only processes the token ranges it is the first live replica of, so the work is split
+ * across the ring and picked up by another replica when a node goes down.
+ */
+public class BlockReclamationService
+{
+    private static final Logger logger = Logger.getLogger(BlockReclamationService.class);
+
+    // Max number of block rows removed per second.
+    private static final int reclaimRate = Integer.getInteger("cfs.reclaim.rate", 200);
+
+    // How often the reclaim queue is drained, in seconds.
+    private static final long reclaimInterval = Long.getLong("cfs.reclaim.interval", 60);
+
+    // How often orphan blocks are looked for, in seconds.
+    private static final long sweepInterval = Long.getLong("cfs.orphan.sweep.interval", 6 * 3600);
+
+    // Blocks younger than this, in seconds, may belong to a file still being written.
+    private static final long orphanGracePeriod = Long.getLong("cfs.orphan.grace", 24 * 3600);
+
+    private static final int pageSize = 100;
+
+    private static final ColumnParent reclaimParent = new ColumnParent(CassandraFileSystemThriftStore.reclaimCf);
+
+    private static final SlicePredicate allColumns = new SlicePredicate().setSlice_range(new SliceRange(
+            ByteBufferUtil.EMPTY_BYTE_BUFFER, ByteBufferUtil.EMPTY_BYTE_BUFFER, false, Integer.MAX_VALUE));
+
+    private static final SlicePredicate firstColumn = new SlicePredicate().setSlice_range(new SliceRange(
+            ByteBufferUtil.EMPTY_BYTE_BUFFER, ByteBufferUtil.EMPTY_BYTE_BUFFER, false, 1));
+
+    private static final SlicePredicate entryColumns = new SlicePredicate().setSlice_range(new SliceRange(
+            CassandraFileSystemThriftStore.entryStart, CassandraFileSystemThriftStore.entryEnd, false,
+            Integer.MAX_VALUE));
+
+    // Unreachable inodes of each inode CF found by the last sweep, removed by the next one if still unreachable.
+    private static final Map<String, Set<ByteBuffer>> unlinkedCandidates = new ConcurrentHashMap<String, Set<ByteBuffer>>();
+
+    private static ScheduledExecutorService reclaimer;
+
+    public static synchronized void init()
+    {
+        if (reclaimer != null)
+            return;
+
+        reclaimer = Executors.newScheduledThreadPool(2);
+
+        reclaimer.scheduleWithFixedDelay(new Runnable() {
+            public void run()
+            {
+                try
+                {
+                    reclaimQueuedBlocks();
+                }
+                catch (Throwable t)
+                {
+                    logger.error("Unable to reclaim deleted blocks", t);
+                }
+            }
+        }, reclaimInterval, reclaimInterval, TimeUnit.SECONDS);
+
+        reclaimer.scheduleWithFixedDelay(new Runnable() {
+            public void run()
+            {
+                try
+                {
+                    sweepOrphanBlocks(orphanGracePeriod * 1000);
+                }
+                catch (Throwable t)
+                {
+                    logger.error("Unable to sweep orphan blocks", t);
+                }
+            }
+        }, sweepInterval, sweepInterval, TimeUnit.SECONDS);
+
+        logger.info("Block reclamation service started");
+    }
+
+    /**
+     * Removes the block rows queued on the ranges this node is in charge of.
+     *
+     * @return the number of blocks reclaimed
+     */
+    static int reclaimQueuedBlocks() throws Exception
+    {
+        Brisk.Iface client = getClient();
+        if (client == null)
+            return 0;
+
+        RateLimiter limiter = new RateLimiter(reclaimRate);
+        int reclaimed = 0;
+
+        for (Range range : getOwnedRanges())
+        {
+            for (List<KeySlice> page : new RangePager(client, reclaimParent, allColumns, range, ConsistencyLevel.ONE))
+            {
+                Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
+                long ts = System.currentTimeMillis();
+
+                for (KeySlice row : page)
+                {
+                    // range ghost
+                    if (row.getColumns().isEmpty())
+                        continue;
+
+                    // As of the time the block was deleted, a block copied back into the CF since then is kept
+                    for (ColumnOrSuperColumn cosc : row.getColumns())
+                        addRowDeletion(mutationMap, row.key, ByteBufferUtil.string(cosc.column.name),
+                                cosc.column.timestamp);
+
+                    addRowDeletion(mutationMap, row.key, CassandraFileSystemThriftStore.reclaimCf, ts);
+                    reclaimed++;
+                }
+
+                if (mutationMap.isEmpty())
+                    continue;
+
+                limiter.acquire(mutationMap.size());
+                client.batch_mutate(mutationMap, ConsistencyLevel.LOCAL_QUORUM);
+            }
+        }
+
+        if (reclaimed > 0)
+            logger.info("Reclaimed " + reclaimed + " deleted blocks");
+
+        return reclaimed;
+    }
+
+    /**
+     * Removes the inode rows on the ranges this node is in charge of which are older than <code>gracePeriod</code>
+     * and unreachable from the root, then the blocks older than <code>gracePeriod</code> referenced by no
+     * reachable inode.
+     *
+     * @return the number of orphan blocks removed
+     */
+    static int sweepOrphanBlocks(long gracePeriod) throws Exception
+    {
+        Brisk.Iface client = getClient();
+        if (client == null)
+            return 0;
+
+        Map<String, Set<ByteBuffer>> unlinked = new HashMap<String, Set<ByteBuffer>>();
+        for (String inodeCf : Arrays.asList(CassandraFileSystemThriftStore.inodeDefaultCf,
+                CassandraFileSystemThriftStore.inodeArchiveCf))
+        {
+            Set<ByteBuffer> ids = getLinkedINodes(client, inodeCf);
+
+            if (ids != null)
+                unlinked.put(inodeCf, sweepUnlinkedINodes(client, inodeCf, ids, gracePeriod));
+        }
+
+        int removed = sweepOrphanBlocks(client, CassandraFileSystemThriftStore.sblockDefaultCf, gracePeriod,
+                unlinked, CassandraFileSystemThriftStore.inodeDefaultCf);
+
+        // Files forwarded to the archive keep their inode in the default storage
+        removed += sweepOrphanBlocks(client, CassandraFileSystemThriftStore.sblockArchiveCf, gracePeriod,
+                unlinked, CassandraFileSystemThriftStore.inodeArchiveCf, CassandraFileSystemThriftStore.inodeDefaultCf);
+
+        if (removed > 0)
+            logger.info("Removed " + removed + " orphan blocks");
+
+        return removed;
+    }
+
+    /**
+     * The ids of the inodes reachable from the root in either of two walks of the directory entries, so that a
+     * rename relinking an inode while the entries are read is not mistaken for an unlink.
+     *
+     * @return null if the inodes of the CF are still keyed by their path
+     */
+    private static Set<ByteBuffer> getLinkedINodes(Brisk.Iface client, String inodeCf) throws Exception
+    {
+        try
+        {
+            client.get(CassandraFileSystemThriftStore.rootId, new ColumnPath(inodeCf).setColumn(
+                    CassandraFileSystemThriftStore.layoutCol), ConsistencyLevel.LOCAL_QUORUM);
+        }
+        catch (NotFoundException e)
+        {
+            return null;
+        }
+
+        Set<ByteBuffer> linked = walkEntries(client, inodeCf, ConsistencyLevel.LOCAL_QUORUM);
+        linked.addAll(walkEntries(client, inodeCf, ConsistencyLevel.LOCAL_QUORUM));
+
+        return linked;
+    }
+
+    private static Set<ByteBuffer> walkEntries(Brisk.Iface client, String inodeCf, ConsistencyLevel consistencyLevel)
+            throws Exception
+    {
+        Map<ByteBuffer, List<ByteBuffer>> children = new HashMap<ByteBuffer, List<ByteBuffer>>();
+
+        Token minimum = StorageService.getPartitioner().getMinimumToken();
+        for (List<KeySlice> page : new RangePager(client, new ColumnParent(inodeCf), entryColumns, new Range(minimum,
+                minimum), consistencyLevel))
+        {
+            for (KeySlice row : page)
+            {
+                if (row.getColumns().isEmpty())
+                    continue;
+
+                List<ByteBuffer> ids = new ArrayList<ByteBuffer>(row.getColumns().size());
+                for (ColumnOrSuperColumn cosc : row.getColumns())
+                    ids.add(cosc.column.value);
+
+                children.put(row.key, ids);
+            }
+        }
+
+        Set<ByteBuffer> linked = new HashSet<ByteBuffer>();
+        Deque<ByteBuffer> pending = new ArrayDeque<ByteBuffer>();
+        pending.add(CassandraFileSystemThriftStore.rootId);
+
+        while (!pending.isEmpty())
+        {
+            ByteBuffer id = pending.poll();
+
+            if (!linked.add(id))
+                continue;
+
+            List<ByteBuffer> ids = children.get(id);
+            if (ids != null)
+                pending.addAll(ids);
+        }
+
+        return linked;
+    }
+
+    /**
+     * Marks the inode rows of the ranges this node is in charge of which were written before
+     * <code>gracePeriod</code> and are not in <code>linked</code>. Those already marked by the previous sweep
+     * are removed, unless a QUORUM read finds them reachable or rewritten.
+     *
+     * @return the ids of the removed inodes
+     */
+    private static Set<ByteBuffer> sweepUnlinkedINodes(Brisk.Iface client, String inodeCf, Set<ByteBuffer> linked,
+            long gracePeriod) throws Exception
+    {
+        long oldest = System.currentTimeMillis() - gracePeriod;
+        ColumnParent inodeParent = new ColumnParent(inodeCf);
+
+        Set<ByteBuffer> marked = unlinkedCandidates.get(inodeCf);
+        Set<ByteBuffer> candidates = new HashSet<ByteBuffer>();
+        Set<ByteBuffer> removed = new HashSet<ByteBuffer>();
+
+        for (Range range : getOwnedRanges())
+        {
+            for (List<KeySlice> page : new RangePager(client, inodeParent, CassandraFileSystemThriftStore.dataPredicate,
+                    range, ConsistencyLevel.LOCAL_QUORUM))
+            {
+                for (KeySlice row : page)
+                {
+                    if (linked.contains(row.key) || !isUnlinked(row.getColumns(), oldest))
+                        continue;
+
+                    if (marked != null && marked.contains(row.key))
+                        removed.add(row.key);
+                    else
+                        candidates.add(row.key);
+                }
+            }
+        }
+
+        unlinkedCandidates.put(inodeCf, candidates);
+
+        if (removed.isEmpty())
+            return removed;
+
+        // The scans above may have missed an entry not on the local replicas yet, check again at QUORUM.
+        Set<ByteBuffer> reachable = walkEntries(client, inodeCf, ConsistencyLevel.QUORUM);
+
+        RateLimiter limiter = new RateLimiter(reclaimRate);
+        Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
+
+        for (Iterator<ByteBuffer> it = removed.iterator(); it.hasNext();)
+        {
+            ByteBuffer key = it.next();
+
+            if (reachable.contains(key) || !isUnlinked(client.get_slice(key, inodeParent,
+                    CassandraFileSystemThriftStore.dataPredicate, ConsistencyLevel.QUORUM), oldest))
+            {
+                it.remove();
+                continue;
+            }
+
+            if (logger.isDebugEnabled())
+                logger.debug("Removing unlinked inode " + ByteBufferUtil.bytesToHex(key) + " from " + inodeCf);
+
+            addRowDeletion(mutationMap, key, inodeCf, System.currentTimeMillis());
+
+            if (mutationMap.size() >= pageSize)
+            {
+                limiter.acquire(mutationMap.size());
+                client.batch_mutate(mutationMap, ConsistencyLevel.QUORUM);
+                mutationMap.clear();
+            }
+        }
+
+        if (!mutationMap.isEmpty())
+        {
+            limiter.acquire(mutationMap.size());
+            client.batch_mutate(mutationMap, ConsistencyLevel.QUORUM);
+        }
+
+        if (!removed.isEmpty())
+            logger.info("Removed " + removed.size() + " unlinked inodes from " + inodeCf);
+
+        return removed;
+    }
+
+    /**
+     * @return true if the data of the unreachable inode of <code>columns</code> was written before
+     *         <code>oldest</code>, a younger one may still be linked by the client creating it
+     */
+    private static boolean isUnlinked(List<ColumnOrSuperColumn> columns, long oldest)
+    {
+        for (ColumnOrSuperColumn cosc : columns)
+        {
+            if (cosc.column.name.equals(CassandraFileSystemThriftStore.dataCol))
+                return cosc.column.timestamp <= oldest;
+        }
+
+        return false;
+    }
+
+    /**
+     * @param unlinked the inodes of each inode CF removed by this sweep, their blocks go along
+     */
+    private static int sweepOrphanBlocks(Brisk.Iface client, String sblockCf, long gracePeriod,
+            Map<String, Set<ByteBuffer>> unlinked, String... inodeCfs) throws Exception
+    {
+        ColumnParent sblockParent = new ColumnParent(sblockCf);
+        long oldest = System.currentTimeMillis() - gracePeriod;
+
+        // Sub block timestamps are set when they are written, the first one dates the block.
+        Set<ByteBuffer> candidates = new HashSet<ByteBuffer>();
+        for (Range range : getOwnedRanges())
+        {
+            for (List<KeySlice> page : new RangePager(client, sblockParent, firstColumn, range, ConsistencyLevel.ONE))
+            {
+                for (KeySlice row : page)
+                {
+                    if (!row.getColumns().isEmpty() && row.getColumns().get(0).column.timestamp <= oldest)
+                        candidates.add(row.key);
+                }
+            }
+        }
+
+        if (candidates.isEmpty())
+            return 0;
+
+        // Only now pay for a full scan of the inodes, a stale replica here would get live blocks removed.
+        Token minimum = StorageService.getPartitioner().getMinimumToken();
+        for (String inodeCf : inodeCfs)
+        {
+            Set<ByteBuffer> removedINodes = unlinked.get(inodeCf);
+
+            for (List<KeySlice> page : new RangePager(client, new ColumnParent(inodeCf),
+                    CassandraFileSystemThriftStore.dataPredicate, new Range(minimum, minimum),
+                    ConsistencyLevel.LOCAL_QUORUM))
+            {
+                for (KeySlice row : page)
+                {
+                    // Unlinked rows the sweep of another node has not removed yet still hold their blocks
+                    if (removedINodes != null && removedINodes.contains(row.key))
+                        continue;
+
+                    INode inode = CassandraFileSystemThriftStore.toINode(row.getColumns());
+
+                    if (inode == null || inode.getBlocks() == null)
+                        continue;
+
+                    for (Block block : inode.getBlocks())
+                        candidates.remove(CassandraFileSystemThriftStore.uuidToByteBuffer(block.id));
+                }
+
+                if (candidates.isEmpty())
+                    return 0;
+            }
+        }
+
+        RateLimiter limiter = new RateLimiter(reclaimRate);
+        Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
+        long ts = System.currentTimeMillis();
+
+        for (ByteBuffer key : candidates)
+        {
+            if (logger.isDebugEnabled())
+                logger.debug("Removing orphan block " + ByteBufferUtil.string(key) + " from " + sblockCf);
+
+            addRowDeletion(mutationMap, key, sblockCf, ts);
+
+            if (mutationMap.size() >= pageSize)
+            {
+                limiter.acquire(mutationMap.size());
+                client.batch_mutate(mutationMap, ConsistencyLevel.LOCAL_QUORUM);
+                mutationMap.clear();
+            }
+        }
+
+        if (!mutationMap.isEmpty())
+        {
+            limiter.acquire(mutationMap.size());
+            client.batch_mutate(mutationMap, ConsistencyLevel.LOCAL_QUORUM);
+        }
+
+        return candidates.size();
+    }
+
+    /**
+     * @return a client bound to the cfs keyspace or null if the keyspace does not exist yet
+     */
+    private static Brisk.Iface getClient() throws Exception
+    {
+        Brisk.Iface client = new BriskInternalServer();
+
+        try
+        {
+            KsDef ks = client.describe_keyspace(CassandraFileSystemThriftStore.keySpace);
+
+            for (CfDef cf : ks.getCf_defs())
+            {
+                if (cf.getName().equals(CassandraFileSystemThriftStore.reclaimCf))
+                {
+                    client.set_keyspace(CassandraFileSystemThriftStore.keySpace);
+                    return client;
+                }
+            }
+        }
+        catch (NotFoundException e)
+        {
+            // nothing to do before the first use of cfs
+        }
+
+        return null;
+    }
+
+    /**
+     * The local ranges of the cfs keyspace for which this node is the first live replica.
+     */
+    private static List<Range> getOwnedRanges()
+    {
+        InetAddress local = FBUtilities.getLocalAddress();
+        List<Range> owned = new ArrayList<Range>();
+
+        for (Range range : StorageService.instance.getLocalRanges(CassandraFileSystemThriftStore.keySpace))
+        {
+            List<InetAddress> endpoints = StorageService.instance.getLiveNaturalEndpoints(
+                    CassandraFileSystemThriftStore.keySpace, range.right);
+
+            InetAddress first = null;
+            for (InetAddress endpoint : endpoints)
+            {
+                if (first == null || endpoint.getHostAddress().compareTo(first.getHostAddress()) < 0)
+                    first = endpoint;
+            }
+
+            if (local.equals(first))
+                owned.add(range);
+        }
+
+        return owned;
+    }
+
+    private static void addRowDeletion(Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap, ByteBuffer key,
+            String cf, long ts)
+    {
+        Map<String, List<Mutation>> cfMutations = mutationMap.get(key);
+        if (cfMutations == null)
+        {
+            cfMutations = new HashMap<String, List<Mutation>>();
+            mutationMap.put(key, cfMutations);
+        }
+
+        List<Mutation> mutations = cfMutations.get(cf);
+        if (mutations == null)
+        {
+            mutations = new ArrayList<Mutation>();
+            cfMutations.put(cf, mutations);
+        }
+
+        mutations.add(new Mutation().setDeletion(new Deletion().setTimestamp(ts)));
+    }
+
+    /**
+     * Iterates over the rows of a token range, <code>pageSize</code> rows at a time.
+     */
+    private static class RangePager implements Iterable<List<KeySlice>>
+    {
+        private final Brisk.Iface    client;
+        private final ColumnParent   parent;
+        private final SlicePredicate predicate;
+        private final Range          range;
+        private final ConsistencyLevel consistencyLevel;
+
+        RangePager(Brisk.Iface client, ColumnParent parent, SlicePredicate predicate, Range range,
+                ConsistencyLevel consistencyLevel)
+        {
+            this.client = client;
+            this.parent = parent;
+            this.predicate = predicate;
+            this.range = range;
+            this.consistencyLevel = consistencyLevel;
+        }
+
+        public Iterator<List<KeySlice>> iterator()
+        {
+            return new Iterator<List<KeySlice>>() {
+                private Token.TokenFactory tf = StorageService.getPartitioner().getTokenFactory();
+                private String start = tf.toString(range.left);
+                private boolean done = false;
+
+                public boolean hasNext()
+                {
+                    return !done;
+                }
+
+                public List<KeySlice> next()
+                {
+                    if (done)
+                        throw new NoSuchElementException();
+
+                    KeyRange keyRange = new KeyRange(pageSize).setStart_token(start).setEnd_token(
+                            tf.toString(range.right));
+
+                    List<KeySlice> page;
+                    try
+                    {
+                        page = client.get_range_slices(parent, predicate, keyRange, consistencyLevel);
+                    }
+                    catch (Exception e)
+                    {
+                        throw new RuntimeException(e);
+                    }
+
+                    if (page.size() < pageSize)
+                    {
+                        done = true;
+                    }
+                    else
+                    {
+                        ByteBuffer lastKey = page.get(page.size() - 1).key;
+                        start = tf.toString(StorageService.getPartitioner().getToken(lastKey));
+                    }
+
+                    return page;
+                }
+
+                public void remove()
+                {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+    }
+
+    /**
+     * Spreads the removals so that no more than <code>permitsPerSecond</code> rows are deleted per second.
+     */
+    private static class RateLimiter
+    {
+        private final int permitsPerSecond;
+        private final long started = System.currentTimeMillis();
+        private long permits = 0;
+
+        RateLimiter(int permitsPerSecond)
+        {
+            this.permitsPerSecond = permitsPerSecond;
+        }
+
+        void acquire(int n) throws InterruptedException
+        {
+            permits += n;
+
+            long expected = permits * 1000 / permitsPerSecond;
+            long elapsed = System.currentTimeMillis() - started;
+
+            if (expected > elapsed)
+                Thread.sleep(expected - elapsed);
+        }
+    }
+}
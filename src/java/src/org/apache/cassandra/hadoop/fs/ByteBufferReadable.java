@@ -0,0 +1,46 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.hadoop.fs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * CFS streams that read into ByteBuffers, or hand out the sub block buffers themselves,
+ * without going through a heap byte array.
+ */
+public interface ByteBufferReadable
+{
+    /**
+     * Reads up to buf.remaining() bytes into buf from the current position of the stream.
+     * 
+     * @return the number of bytes read, -1 at the end of the stream
+     * @throws IOException if an error occurs
+     */
+    int read(ByteBuffer buf) throws IOException;
+
+    /**
+     * Reads up to maxLength bytes without copying them. Uncompressed local sub blocks are
+     * sliced out of their mmap, the others out of the buffer they were uncompressed to.
+     * 
+     * @return a read-only buffer holding the bytes read, only valid until the next read
+     *         from the file system, or null at the end of the stream
+     * @throws IOException if an error occurs
+     */
+    ByteBuffer readBuffer(int maxLength) throws IOException;
+}
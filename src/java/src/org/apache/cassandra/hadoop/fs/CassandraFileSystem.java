@@ -20,10 +20,13 @@ package org.apache.cassandra.hadoop.fs;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
+import org.apache.cassandra.thrift.StorageType;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.*;
 import org.apache.hadoop.fs.permission.FsPermission;
@@ -42,6 +45,15 @@ public class CassandraFileSystem extends FileSystem
 
     private long                          subBlockSize;
 
+    // When positive, files are reported as made of blocks of this size instead of their real ones.
+    private long                          virtualBlockSize;
+
+    // How often, in ms, the access time of a file is updated when it is opened, 0 to not track it.
+    private long                          accessTimePrecision;
+
+    // Reads the blocks of the files forwarded to the archive storage, created on first use.
+    private CassandraFileSystem           archive;
+
     public CassandraFileSystem()
     {
         this.store = new CassandraFileSystemThriftStore();
@@ -58,6 +70,27 @@ public class CassandraFileSystem extends FileSystem
 
         store.initialize(this.uri, conf);
         subBlockSize = conf.getLong("fs.local.subblock.size", 256L * 1024L);
+        virtualBlockSize = conf.getInt("brisk.virtual.block.subblocks", 0) * subBlockSize;
+        accessTimePrecision = conf.getLong("brisk.access.time.precision", 3600000L);
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            super.close();
+        }
+        finally
+        {
+            synchronized (this)
+            {
+                if (archive != null)
+                    archive.close();
+            }
+
+            store.close();
+        }
     }
 
     @Override
@@ -116,7 +149,7 @@ public class CassandraFileSystem extends FileSystem
     private boolean mkdir(Path path, FsPermission permission) throws IOException
     {
         Path absolutePath = makeAbsolute(path);
-        INode inode = store.retrieveINode(absolutePath);
+        INode inode = store.retrieveINodeSummary(absolutePath);
         if (inode == null)
         {
             store.storeINode(absolutePath, new INode(System.getProperty("user.name", "none"), System.getProperty(
@@ -132,7 +165,7 @@ public class CassandraFileSystem extends FileSystem
     @Override
     public boolean isFile(Path path) throws IOException
     {
-        INode inode = store.retrieveINode(makeAbsolute(path));
+        INode inode = store.retrieveINodeSummary(makeAbsolute(path));
         if (inode == null)
         {
             return false;
@@ -158,32 +191,31 @@ public class CassandraFileSystem extends FileSystem
     public FileStatus[] listStatus(Path f) throws IOException
     {
         Path absolutePath = makeAbsolute(f);
-        INode inode = store.retrieveINode(absolutePath);
+        INode inode = store.retrieveINodeSummary(absolutePath);
         if (inode == null)
         {
             return null;
         }
         if (inode.isFile())
         {
-            return new FileStatus[] { new CassandraFileStatus(f.makeQualified(this), inode) };
+            return new FileStatus[] { new CassandraFileStatus(f.makeQualified(this), inode, getBlockSize(inode)) };
         }
         ArrayList<FileStatus> ret = new ArrayList<FileStatus>();
-        for (Path p : store.listSubPaths(absolutePath))
-        {
-            // we shouldn't list ourselves
-            if (p.equals(f))
-                continue;
 
-            try
-            {
-                FileStatus stat = getFileStatus(p.makeQualified(this));
+        // The block locations of the files listed are looked up together, once the first of them is asked for
+        Listing listing = new Listing();
 
-                ret.add(stat);
-            }
-            catch (FileNotFoundException e)
+        // Children come along with their inode, no need to look each one up again
+        for (Map.Entry<Path, INode> child : store.listSubINodes(absolutePath).entrySet())
+        {
+            CassandraFileStatus status = new CassandraFileStatus(child.getKey().makeQualified(this), child.getValue(),
+                    getBlockSize(child.getValue()));
+
+            if (child.getValue().isFile())
             {
-                logger.warn("No file found for: " + p);
+                listing.add(status);
             }
+            ret.add(status);
         }
         return ret.toArray(new FileStatus[0]);
     }
@@ -203,7 +235,7 @@ public class CassandraFileSystem extends FileSystem
             short replication, long blockSize, Progressable progress) throws IOException
     {
 
-        INode inode = store.retrieveINode(makeAbsolute(file));
+        INode inode = store.retrieveINodeSummary(makeAbsolute(file));
         if (inode != null)
         {
             if (overwrite)
@@ -234,7 +266,67 @@ public class CassandraFileSystem extends FileSystem
     public FSDataInputStream open(Path path, int bufferSize) throws IOException
     {
         INode inode = checkFile(path);
-        return new FSDataInputStream(new CassandraInputStream(getConf(), store, inode, statistics));
+
+        long now = System.currentTimeMillis();
+        if (accessTimePrecision > 0 && now - inode.atime >= accessTimePrecision)
+        {
+            store.setAccessTime(makeAbsolute(path), now);
+        }
+
+        CassandraFileSystemStore blockStore = inode.isForwarded() ? getArchive().store : store;
+        return new CassandraFSDataInputStream(new CassandraInputStream(getConf(), blockStore, inode, statistics));
+    }
+
+    /**
+     * @return the archive storage of the same cluster, cfs-archive://
+     */
+    synchronized CassandraFileSystem getArchive() throws IOException
+    {
+        if (store.getStorageType() == StorageType.CFS_ARCHIVE)
+        {
+            return this;
+        }
+
+        if (archive == null)
+        {
+            CassandraFileSystem fs = new CassandraFileSystem();
+            fs.initialize(URI.create("cfs-archive://" + uri.getAuthority() + "/"), getConf());
+            archive = fs;
+        }
+        return archive;
+    }
+
+    /**
+     * Lets the callers of {@link #open} read into ByteBuffers, by casting the stream to
+     * {@link ByteBufferReadable}, and read many ranges at once.
+     */
+    public static class CassandraFSDataInputStream extends FSDataInputStream implements ByteBufferReadable
+    {
+        private final CassandraInputStream stream;
+
+        CassandraFSDataInputStream(CassandraInputStream stream) throws IOException
+        {
+            super(stream);
+            this.stream = stream;
+        }
+
+        public int read(ByteBuffer buf) throws IOException
+        {
+            return stream.read(buf);
+        }
+
+        public ByteBuffer readBuffer(int maxLength) throws IOException
+        {
+            return stream.readBuffer(maxLength);
+        }
+
+        /**
+         * @see CassandraInputStream#readVectored(List)
+         */
+        public void readVectored(List<FileRange> ranges) throws IOException
+        {
+            stream.readVectored(ranges);
+        }
     }
 
     @Override
@@ -244,18 +336,18 @@ public class CassandraFileSystem extends FileSystem
             logger.debug("Renaming " + src + " to " + dst);
 
         Path absoluteSrc = makeAbsolute(src);
-        INode srcINode = store.retrieveINode(absoluteSrc);
+        INode srcINode = store.retrieveINodeSummary(absoluteSrc);
         if (srcINode == null)
         {
             // src path doesn't exist
             return false;
         }
         Path absoluteDst = makeAbsolute(dst);
-        INode dstINode = store.retrieveINode(absoluteDst);
+        INode dstINode = store.retrieveINodeSummary(absoluteDst);
         if (dstINode != null && dstINode.isDirectory())
         {
             absoluteDst = new Path(absoluteDst, absoluteSrc.getName());
-            dstINode = store.retrieveINode(absoluteDst);
+            dstINode = store.retrieveINodeSummary(absoluteDst);
         }
         if (dstINode != null)
         {
@@ -265,42 +357,123 @@ public class CassandraFileSystem extends FileSystem
         Path dstParent = absoluteDst.getParent();
         if (dstParent != null)
         {
-            INode dstParentINode = store.retrieveINode(dstParent);
+            INode dstParentINode = store.retrieveINodeSummary(dstParent);
             if (dstParentINode == null || dstParentINode.isFile())
             {
                 // dst parent doesn't exist or is a file
                 return false;
             }
         }
-        return renameRecursive(absoluteSrc, absoluteDst);
+
+        // A directory can't be moved below itself
+        String srcPath = absoluteSrc.toUri().getPath();
+        if (absoluteDst.toUri().getPath().startsWith(srcPath + "/"))
+        {
+            return false;
+        }
+
+        return store.renameINode(absoluteSrc, absoluteDst);
     }
 
-    private boolean renameRecursive(Path src, Path dst) throws IOException
+    /**
+     * Copies a file to <code>dst</code> on <code>dstFs</code>, which may be on the other storage
+     * (cfs-archive:// from cfs:// and the other way around). The nodes holding the blocks copy
+     * them, the data does not go through the client. The copy keeps the attributes of the
+     * source.
+     * 
+     * @param deleteSource true to delete the source once the copy is stored, making it a move
+     * @return false if <code>dst</code> already exists
+     */
+    public boolean copy(Path src, CassandraFileSystem dstFs, Path dst, boolean deleteSource) throws IOException
     {
-        INode srcINode = store.retrieveINode(src);
+        Path absoluteSrc = makeAbsolute(src);
+        INode inode = checkFile(absoluteSrc);
 
-        Set<Path> paths = store.listDeepSubPaths(src);
+        // Nothing to copy to move within a storage
+        if (deleteSource && dstFs.store.getStorageType() == store.getStorageType())
+        {
+            return rename(absoluteSrc, dst);
+        }
+
+        Path absoluteDst = dstFs.makeAbsolute(dst);
+        if (dstFs.store.retrieveINodeSummary(absoluteDst) != null)
+        {
+            return false;
+        }
+        Path dstParent = absoluteDst.getParent();
+        if (dstParent != null && !dstFs.mkdirs(dstParent))
+        {
+            throw new IOException("Mkdirs failed to create " + dstParent);
+        }
 
-        store.storeINode(dst, srcINode);
+        dstFs.store.storeINode(absoluteDst, store.copyBlocks(inode, dstFs.store.getStorageType(), false));
 
-        for (Path oldSrc : paths)
+        if (deleteSource)
         {
-            INode inode = store.retrieveINode(oldSrc);
-            if (inode == null)
-            {
-                return false;
-            }
-            String oldSrcPath = oldSrc.toUri().getPath();
-            String srcPath = src.toUri().getPath();
-            String dstPath = dst.toUri().getPath();
-            Path newDst = new Path(oldSrcPath.replaceFirst(srcPath, dstPath));
-            store.storeINode(newDst, inode);
-            store.deleteINode(oldSrc);
+            store.deleteINode(absoluteSrc);
+            store.deleteSubBlocks(inode);
         }
+        return true;
+    }
 
-        if (!paths.contains(src))
-            store.deleteINode(src);
+    /**
+     * Moves the blocks of a file to the archive storage. The file stays at its path, marked as
+     * forwarded, and is read from the archive from then on. The nodes holding the blocks copy
+     * them, then the blocks of the default storage are deleted.
+     * 
+     * @return false if the file was replaced while its blocks were copied
+     */
+    public boolean forwardToArchive(Path path) throws IOException
+    {
+        Path absolutePath = makeAbsolute(path);
+        INode inode = checkFile(absolutePath);
 
+        if (inode.isForwarded() || store.getStorageType() == StorageType.CFS_ARCHIVE)
+        {
+            return true;
+        }
+
+        INode copy = store.copyBlocks(inode, StorageType.CFS_ARCHIVE, true);
+
+        if (!store.forwardINode(absolutePath, inode))
+        {
+            getArchive().store.deleteSubBlocks(copy);
+            return false;
+        }
+
+        // Readers which opened the file before it was forwarded have until the blocks are reclaimed
+        store.deleteSubBlocks(inode);
+        return true;
+    }
+
+    /**
+     * Stores the blocks of an archived file erasure coded, with brisk.erasure.data.shards and
+     * brisk.erasure.parity.shards, instead of replicated. The data goes through this client, which
+     * writes the shards before the replicated blocks are deleted.
+     *
+     * @return false if the file was replaced while its blocks were encoded
+     */
+    public boolean erasureCode(Path path) throws IOException
+    {
+        Path absolutePath = makeAbsolute(path);
+        INode inode = checkFile(absolutePath);
+
+        if (!inode.isForwarded() && store.getStorageType() != StorageType.CFS_ARCHIVE)
+            throw new IOException("Only archived files can be erasure coded: " + path);
+
+        if (inode.isErasureCoded())
+            return true;
+
+        CassandraFileSystemStore blockStore = inode.isForwarded() ? getArchive().store : store;
+        INode coded = blockStore.erasureCode(inode);
+
+        if (!store.replaceBlocks(absolutePath, inode, coded))
+        {
+            blockStore.deleteSubBlocks(coded);
+            return false;
+        }
+
+        blockStore.deleteSubBlocks(inode);
         return true;
     }
 
@@ -320,27 +493,18 @@ public class CassandraFileSystem extends FileSystem
             store.deleteINode(absolutePath);
             store.deleteSubBlocks(inode);
         }
-        else
+        else if (!recursive)
         {
-
-            FileStatus[] contents = listStatus(absolutePath);
-            if (contents == null)
-            {
-                return false;
-            }
-            if ((contents.length != 0) && (!recursive))
+            for (Path p : store.listSubPaths(absolutePath))
             {
-                throw new IOException("Directory " + path.toString() + " is not empty.");
-            }
-            for (FileStatus p : contents)
-            {
-                if (!delete(p.getPath(), recursive))
-                {
-                    return false;
-                }
+                if (!p.equals(absolutePath))
+                    throw new IOException("Directory " + path.toString() + " is not empty.");
             }
             store.deleteINode(absolutePath);
-
+        }
+        else
+        {
+            store.deleteINodeRecursive(absolutePath);
         }
         return true;
     }
@@ -374,10 +538,25 @@ public class CassandraFileSystem extends FileSystem
             return null;
         }
 
-        INode inode = ((CassandraFileStatus) file).inode;
+        CassandraFileStatus status = (CassandraFileStatus) file;
+        INode inode = status.inode;
 
         long end = start + len;
 
+        // Status calls leave the blocks out, let the server find them rather than walking the path from here
+        if (!inode.hasBlocks())
+        {
+            BlockLocation[] locations = status.listing != null ? getListedLocations(status)
+                    : store.getBlockLocations(Arrays.asList(makeAbsolute(file.getPath()))).get(0);
+
+            if (locations.length == 0 && file.getLen() > 0)
+            {
+                throw new FileNotFoundException(file.getPath().toString());
+            }
+
+            return select(locations, start, end);
+        }
+
         if (logger.isDebugEnabled())
         {
             logger.debug(String.format("Looking up Blocks Start: %d Len: %d", start, len));
@@ -387,9 +566,7 @@ public class CassandraFileSystem extends FileSystem
         for (Block block : inode.getBlocks())
         {
 
-            // See if the two windows overlap
-            if (((start >= block.offset && start < (block.offset + block.length)) || (end >= block.offset && end < (block.offset + block.length)))
-                    || ((block.offset >= start && block.offset < end) || ((block.offset + block.length) >= start && (block.offset + block.length) < end)))
+            if (overlaps(block.offset, block.length, start, end))
             {
                 usedBlocks.add(block);
             }
@@ -401,7 +578,154 @@ public class CassandraFileSystem extends FileSystem
             printBlocksDebug(usedBlocks);
         }
 
-        return store.getBlockLocation(usedBlocks, start, len);
+        BlockLocation[] locations = store.getBlockLocation(usedBlocks, start, len);
+
+        if (virtualBlockSize > 0 && locations != null)
+        {
+            return select(locations, start, end);
+        }
+
+        return locations;
+    }
+
+    /**
+     * Looks up the locations of all the blocks of many files in as few round trips as possible,
+     * split planning over thousands of files would otherwise pay a few of them per file.
+     * 
+     * @return the locations of the blocks of each file, in order
+     */
+    public BlockLocation[][] getFileBlockLocations(FileStatus[] files) throws IOException
+    {
+        List<Path> paths = new ArrayList<Path>(files.length);
+        for (FileStatus file : files)
+        {
+            paths.add(makeAbsolute(file.getPath()));
+        }
+
+        BlockLocation[][] locations = store.getBlockLocations(paths).toArray(new BlockLocation[files.length][]);
+
+        if (virtualBlockSize > 0)
+        {
+            for (int i = 0; i < locations.length; i++)
+            {
+                List<BlockLocation> pieces = new ArrayList<BlockLocation>();
+                for (BlockLocation location : locations[i])
+                {
+                    pieces.addAll(split(location));
+                }
+                locations[i] = pieces.toArray(new BlockLocation[pieces.size()]);
+            }
+        }
+
+        return locations;
+    }
+
+    /**
+     * The locations of a listed file, looked up along with those of the other files of its listing
+     * as split planning asks for the files of a listing one after the other.
+     */
+    private BlockLocation[] getListedLocations(CassandraFileStatus file) throws IOException
+    {
+        Listing listing = file.listing;
+
+        synchronized (listing)
+        {
+            if (listing.locations == null)
+            {
+                listing.locations = getFileBlockLocations(listing.files.toArray(new FileStatus[listing.files.size()]));
+            }
+            return listing.locations[file.listingIndex];
+        }
+    }
+
+    /**
+     * Keeps the locations, or the virtual blocks they are made of, which overlap [start, end).
+     */
+    private BlockLocation[] select(BlockLocation[] locations, long start, long end) throws IOException
+    {
+        List<BlockLocation> usedLocations = new ArrayList<BlockLocation>();
+        for (BlockLocation location : locations)
+        {
+            for (BlockLocation piece : split(location))
+            {
+                if (overlaps(piece.getOffset(), piece.getLength(), start, end))
+                {
+                    usedLocations.add(piece);
+                }
+            }
+        }
+
+        if (usedLocations.isEmpty())
+        {
+            return null;
+        }
+
+        // Copied, the locations of a listing are shared by every call for its files
+        BlockLocation first = usedLocations.get(0);
+        if (first.getOffset() > start)
+        {
+            usedLocations.set(0, new BlockLocation(first.getNames(), first.getHosts(), first.getTopologyPaths(), start,
+                    first.getLength()));
+        }
+
+        return usedLocations.toArray(new BlockLocation[usedLocations.size()]);
+    }
+
+    /**
+     * Cuts a block in virtual blocks of <code>virtualBlockSize</code> bytes, all on the replicas of the block
+     * as its sub blocks live in the same row.
+     */
+    private List<BlockLocation> split(BlockLocation location) throws IOException
+    {
+        if (virtualBlockSize <= 0 || location.getLength() <= virtualBlockSize)
+        {
+            return Arrays.asList(location);
+        }
+
+        List<BlockLocation> pieces = new ArrayList<BlockLocation>();
+        for (long offset = 0; offset < location.getLength(); offset += virtualBlockSize)
+        {
+            pieces.add(new BlockLocation(location.getNames(), location.getHosts(), location.getTopologyPaths(),
+                    location.getOffset() + offset, Math.min(virtualBlockSize, location.getLength() - offset)));
+        }
+        return pieces;
+    }
+
+    /**
+     * The checksum is computed by the nodes holding the blocks, so that tools like distcp can
+     * compare files without reading them.
+     */
+    @Override
+    public FileChecksum getFileChecksum(Path f) throws IOException
+    {
+        FileChecksum checksum = store.getFileChecksum(makeAbsolute(f), getConf().getInt("io.bytes.per.checksum", 512));
+        if (checksum == null)
+        {
+            throw new FileNotFoundException(f.toString());
+        }
+        return checksum;
+    }
+
+    /**
+     * The block size reported for <code>inode</code>, which drives the size of input splits.
+     */
+    private long getBlockSize(INode inode)
+    {
+        if (virtualBlockSize > 0 && inode.getBlockSize() > virtualBlockSize)
+        {
+            return virtualBlockSize;
+        }
+
+        return inode.getBlockSize();
+    }
+
+    /**
+     * See if the two windows overlap
+     */
+    private static boolean overlaps(long offset, long length, long start, long end)
+    {
+        return ((start >= offset && start < (offset + length)) || (end >= offset && end < (offset + length)))
+                || ((offset >= start && offset < end) || ((offset + length) >= start && (offset + length) < end));
     }
 
     /**
@@ -425,12 +749,12 @@ public class CassandraFileSystem extends FileSystem
     @Override
     public FileStatus getFileStatus(Path f) throws IOException
     {
-        INode inode = store.retrieveINode(makeAbsolute(f));
+        INode inode = store.retrieveINodeSummary(makeAbsolute(f));
         if (inode == null)
         {
             throw new FileNotFoundException(f.toString());
         }
-        return new CassandraFileStatus(f.makeQualified(this), inode);
+        return new CassandraFileStatus(f.makeQualified(this), inode, getBlockSize(inode));
     }
 
     private static class CassandraFileStatus extends FileStatus
@@ -438,34 +762,35 @@ public class CassandraFileSystem extends FileSystem
 
         public final INode inode;
 
-        CassandraFileStatus(Path f, INode inode) throws IOException
+        // The listing the file was found in, null if it was looked up alone
+        private Listing listing;
+        private int listingIndex;
+
+        CassandraFileStatus(Path f, INode inode, long blockSize) throws IOException
         {
-            super(findLength(inode), inode.isDirectory(), 1, findBlocksize(inode), inode.mtime, f);
+            super(inode.getLength(), inode.isDirectory(), 1, blockSize, inode.mtime, f);
 
             this.inode = inode;
             this.setGroup(inode.group);
             this.setOwner(inode.user);
             this.setPermission(inode.perms);
         }
+    }
 
-        private static long findLength(INode inode)
-        {
-            if (!inode.isDirectory())
-            {
-                long length = 0L;
-                for (Block block : inode.getBlocks())
-                {
-                    length += block.length;
-                }
-                return length;
-            }
-            return 0;
-        }
+    /**
+     * The files of one listStatus call, and their block locations once looked up.
+     */
+    private static class Listing
+    {
+        private final List<CassandraFileStatus> files = new ArrayList<CassandraFileStatus>();
+
+        private BlockLocation[][] locations;
 
-        private static long findBlocksize(INode inode)
+        void add(CassandraFileStatus file)
         {
-            final Block[] ret = inode.getBlocks();
-            return ret == null ? 0L : ret[0].length;
+            file.listing = this;
+            file.listingIndex = files.size();
+            files.add(file);
         }
     }
 
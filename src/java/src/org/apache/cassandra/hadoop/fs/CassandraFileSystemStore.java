@@ -22,11 +22,14 @@ import java.io.InputStream;
 import java.net.URI;
 import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
+import org.apache.cassandra.thrift.StorageType;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.BlockLocation;
+import org.apache.hadoop.fs.MD5MD5CRC32FileChecksum;
 import org.apache.hadoop.fs.Path;
 
 /**
@@ -37,6 +40,13 @@ public interface CassandraFileSystemStore
 
     void initialize(URI uri, Configuration conf) throws IOException;
 
+    /**
+     * Releases the connections and threads of the store, it can't be used afterwards.
+     * 
+     * @throws IOException if an error occurs
+     */
+    void close() throws IOException;
+
     String getVersion() throws IOException;
 
     void storeINode(Path path, INode inode) throws IOException;
@@ -53,6 +63,15 @@ public interface CassandraFileSystemStore
 
     INode retrieveINode(Path path) throws IOException;
 
+    /**
+     * Retrieves the inode at <code>path</code> without reading its blocks, which is enough for status calls.
+     * 
+     * @param path inode path
+     * @return the inode, whose blocks may not be loaded (see {@link INode#hasBlocks()}), or null
+     * @throws IOException if an error occurs
+     */
+    INode retrieveINodeSummary(Path path) throws IOException;
+
     InputStream retrieveBlock(Block block, long byteRangeStart) throws IOException;
     
     /**
@@ -66,6 +85,110 @@ public interface CassandraFileSystemStore
      */
     InputStream retrieveSubBlock(Block block, SubBlock subBlock, long byteRangeStart) throws IOException;
 
+    /**
+     * Retrieves the SubBlock content as a read-only buffer, positioned at byteRangeStart.
+     * The buffer may be reused by the next retrieval.
+     * 
+     * @param block parent block of the subBlock to retrieve
+     * @param subBlock the subBLock to retrieve
+     * @param byteRangeStart the offset where to read the data from.
+     * @return a buffer holding the content of the subBlock
+     * @throws IOException if an error occurs
+     */
+    ByteBuffer retrieveSubBlockBuffer(Block block, SubBlock subBlock, long byteRangeStart) throws IOException;
+
+    /**
+     * Retrieves only a range of the SubBlock content, the data owner slices it so
+     * that the rest of the SubBlock is not transferred.
+     * 
+     * @param block parent block of the subBlock to retrieve
+     * @param subBlock the subBLock to retrieve
+     * @param byteRangeStart the offset where to stream the data from.
+     * @param length the max number of bytes to stream
+     * @return an inputStream to retrieve the range of the subBlock
+     * @throws IOException if an error occurs
+     */
+    InputStream retrieveSubBlock(Block block, SubBlock subBlock, long byteRangeStart, int length) throws IOException;
+
+    /**
+     * Reads ranges of SubBlocks, up to brisk.read.threads of them in parallel over their own
+     * connections. Remote ranges are sliced by the data owner.
+     * 
+     * @param ranges the SubBlock ranges to read, each one handed its content as soon as it is read
+     * @throws IOException if an error occurs
+     */
+    void retrieveSubBlockRanges(List<? extends SubBlockRange> ranges) throws IOException;
+
+    /**
+     * Computes the checksum of a file on the nodes holding its blocks, in the MD5 of MD5 of
+     * CRC32 form HDFS uses. It is kept with the inode until the file is overwritten.
+     * 
+     * @param path file path
+     * @param bytesPerCrc number of bytes each CRC32 covers
+     * @return the checksum of the file, or null if there is no inode at <code>path</code>
+     * @throws IOException if an error occurs or <code>path</code> is a directory
+     */
+    MD5MD5CRC32FileChecksum getFileChecksum(Path path, int bytesPerCrc) throws IOException;
+
+    /**
+     * Copies the blocks of a file into the sblocks CF of <code>storageType</code>. Each block is copied by
+     * one of its replicas, the data does not go through the caller.
+     * 
+     * @param inode file to copy
+     * @param storageType storage to copy the blocks to, which may be the storage of this store
+     * @param move true if the blocks are moved to the other storage for this same inode, the copies then keep the
+     *            id of their block. Any other copy gets new ids so that no two inodes share a block row.
+     * @return the inode of the copy, with the same attributes, to be stored by a store of <code>storageType</code>
+     * @throws IOException if an error occurs
+     */
+    INode copyBlocks(INode inode, StorageType storageType, boolean move) throws IOException;
+
+    /**
+     * @return the storage, cfs or cfs-archive, this store reads and writes
+     */
+    StorageType getStorageType();
+
+    /**
+     * Marks a file whose blocks were copied to the archive storage, keeping their ids, as read from
+     * there. The file stays at its path in this store.
+     * 
+     * @param path file path
+     * @param inode the file as it was when its blocks were copied
+     * @return false if the file was replaced or deleted since
+     * @throws IOException if an error occurs
+     */
+    boolean forwardINode(Path path, INode inode) throws IOException;
+
+    /**
+     * Records when a file was last opened.
+     * 
+     * @param path file path
+     * @param atime access time
+     * @throws IOException if an error occurs
+     */
+    void setAccessTime(Path path, long atime) throws IOException;
+
+    /**
+     * Writes the blocks of a file of this storage erasure coded, see {@link ErasureCodedBlocks}. The
+     * replicated blocks are left in place.
+     * 
+     * @param inode file to encode
+     * @return the inode with the erasure coded blocks, to be stored with {@link #replaceBlocks}
+     * @throws IOException if an error occurs
+     */
+    INode erasureCode(INode inode) throws IOException;
+
+    /**
+     * Replaces the blocks of a file by the same data stored differently, keeping its other attributes.
+     * 
+     * @param path file path
+     * @param inode the file as it was when its blocks were rewritten
+     * @param replacement the file with the new blocks
+     * @return false if the file was replaced or deleted since
+     * @throws IOException if an error occurs
+     */
+    boolean replaceBlocks(Path path, INode inode, INode replacement) throws IOException;
+
     /**
      * Delete an inode from the persistent layer.
      * 
@@ -81,9 +204,57 @@ public interface CassandraFileSystemStore
      */
     void deleteSubBlocks(INode inode) throws IOException;
 
+    /**
+     * Deletes the inode at <code>path</code> and, for a directory, everything below it along with the
+     * subBlocks of the files. The tree is removed from the namespace before its inodes are deleted.
+     * 
+     * @param path root of the tree to delete
+     * @throws IOException if an error occurs
+     */
+    void deleteINodeRecursive(Path path) throws IOException;
+
+    /**
+     * Moves the inode at <code>src</code>, with everything below it, to <code>dst</code>. Only the
+     * directory entries of the two parents are updated, whatever the size of the tree.
+     * 
+     * @param src current path of the inode
+     * @param dst new path of the inode, its parent must exist
+     * @return false if <code>src</code> or the parent of <code>dst</code> does not exist
+     * @throws IOException if an error occurs
+     */
+    boolean renameINode(Path src, Path dst) throws IOException;
+
     Set<Path> listSubPaths(Path path) throws IOException;
 
+    /**
+     * Lists the direct children of <code>path</code> together with their inode. Like
+     * {@link #retrieveINodeSummary(Path)}, the blocks of the inodes may not be loaded.
+     * 
+     * @param path directory to list
+     * @return the inodes found keyed by their path
+     * @throws IOException if an error occurs
+     */
+    Map<Path, INode> listSubINodes(Path path) throws IOException;
+
     Set<Path> listDeepSubPaths(Path path) throws IOException;
 
+    /**
+     * Lists every path under <code>path</code> together with its inode, in a single pass.
+     * 
+     * @param path root of the listing, not included in the result
+     * @return the inodes found keyed by their path
+     * @throws IOException if an error occurs
+     */
+    Map<Path, INode> listDeepSubINodes(Path path) throws IOException;
+
     BlockLocation[] getBlockLocation(List<Block> usedBlocks, long start, long len) throws IOException;
+
+    /**
+     * Looks up where all the blocks of many files live, resolving the paths on the server side.
+     * 
+     * @param paths absolute paths of the files
+     * @return the locations of every block of each path, in order, empty for paths that do not exist
+     * @throws IOException if an error occurs
+     */
+    List<BlockLocation[]> getBlockLocations(List<Path> paths) throws IOException;
 }
\ No newline at end of file
@@ -22,11 +22,16 @@ import java.net.URI;
 import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
 
 import com.datastax.brisk.BriskInternalServer;
 import com.datastax.brisk.BriskSchema;
 
+import org.apache.cassandra.concurrent.NamedThreadFactory;
 import org.apache.cassandra.config.DatabaseDescriptor;
 import org.apache.cassandra.hadoop.CassandraProxyClient;
 import org.apache.cassandra.hadoop.CassandraProxyClient.ConnectionStrategy;
@@ -39,7 +44,9 @@ import org.apache.cassandra.utils.FBUtilities;
 import org.apache.cassandra.utils.UUIDGen;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.BlockLocation;
+import org.apache.hadoop.fs.MD5MD5CRC32FileChecksum;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.MD5Hash;
 import org.apache.log4j.Logger;
 import org.apache.thrift.TException;
 import org.xerial.snappy.Snappy;
@@ -57,30 +64,50 @@ import org.xerial.snappy.SnappyException;
  * |      inode       |
  * -------------------
  *  {key : [<path>: <  > ], [<sentinel>: <   >], [ <datacol> : < all blocks with its subBlocks serialized>] }
+ *  File rows may also hold [<checksum> : <digest of the blocks, file checksum>], set on the first getFileChecksum,
+ *  [<atime> : <last time the file was opened>] and [<forward> : <  >] once its blocks moved to the archive.
  *
  *  ------------------
  * |     sblocks      |
  *  ------------------
  *  { key(Block UUID): [<subBlockUUID> : <data>>], [<subBlockUUID> : <data>>], .......[<subBlockUUID> : <data>>] }
+ *
+ *  ------------------
+ * |     reclaim      |
+ *  ------------------
+ *  { key(Block UUID): [<sblocks cf name> : <  >] }
+ *
+ * Erasure coded blocks are kept in the cfs_ec keyspace instead, see {@link ErasureCodedBlocks}.
  */
 public class CassandraFileSystemThriftStore implements CassandraFileSystemStore
 {
     private final static Logger         logger        = Logger.getLogger(CassandraFileSystemThriftStore.class);
 
-    private static final String         keySpace      = "cfs";
+    static final String         keySpace      = "cfs";
 
     // Cfs for normal use. They can be overridden if the archive mode is set.
-    private static String         inodeDefaultCf       = "inode";
-    private static String         sblockDefaultCf       = "sblocks";
+    static final String         inodeDefaultCf       = "inode";
+    static final String         sblockDefaultCf       = "sblocks";
 
     // Cfs for archive kind of storage
-    private static final String         inodeArchiveCf       = "inode_archive";
-    private static final String         sblockArchiveCf       = "sblocks_archive";
+    static final String         inodeArchiveCf       = "inode_archive";
+    static final String         sblockArchiveCf       = "sblocks_archive";
 
-    private static final ByteBuffer     dataCol       = ByteBufferUtil.bytes("data");
+    // Queue of deleted blocks whose rows are still to be removed by the BlockReclamationService
+    static final String         reclaimCf            = "reclaim";
+
+    static final ByteBuffer     dataCol       = ByteBufferUtil.bytes("data");
+    // Everything but the blocks of an inode, for status calls
+    private static final ByteBuffer     summaryCol    = ByteBufferUtil.bytes("summary");
     private static final ByteBuffer     pathCol       = ByteBufferUtil.bytes("path");
     private static final ByteBuffer     parentPathCol = ByteBufferUtil.bytes("parent_path");
     private static final ByteBuffer     sentCol       = ByteBufferUtil.bytes("sentinel");
+    // File checksum, along with the digest of the blocks it was computed from
+    private static final ByteBuffer     checksumCol   = ByteBufferUtil.bytes("checksum");
+    // Last time the file was opened, as a long, also used as the column timestamp
+    private static final ByteBuffer     atimeCol      = ByteBufferUtil.bytes("atime");
+    // Marks a file of the default storage whose blocks were moved to the archive storage
+    private static final ByteBuffer     forwardCol    = ByteBufferUtil.bytes("forward");
 
 
     private String         inodeCfInUse       = null;
@@ -95,15 +122,47 @@ public class CassandraFileSystemThriftStore implements CassandraFileSystemStore
     private ColumnParent   inodeParent   = null;
 
     // This values can be overridden if the archive mode is set.
-    private ColumnPath     inodeDataPath = null;
+    private ColumnPath     inodeChecksumPath = null;
     private ColumnPath     sblockDataPath = null;
 
     private ByteBuffer     compressedData = null;
     private ByteBuffer     uncompressedData = null;
 
+    // Reads sub blocks from the data port of the nodes, null if it is not used.
+    private SubBlockDataClient dataClient = null;
+
+    // Replicas of the last block read through the data port.
+    private ByteBuffer     hostsBlockId = null;
+    private List<String>   blockHosts = null;
+
+    // Largest chunk sub blocks of other nodes are read in, 0 to read them whole
+    private int            chunkSize;
+
     private StorageType storageTypeInUse  = StorageType.CFS_REGULAR;
 
     private static final SlicePredicate pathPredicate = new SlicePredicate().setColumn_names(Arrays.asList(pathCol));
+    // The data or the summary of an inode, along with its access time and forwarding marker
+    static final SlicePredicate         dataPredicate = new SlicePredicate().setColumn_names(Arrays.asList(atimeCol,
+                                                              dataCol, forwardCol));
+    private static final SlicePredicate summaryPredicate = new SlicePredicate().setColumn_names(Arrays.asList(
+                                                              atimeCol, forwardCol, summaryCol));
+
+    // Directory entries live in the row of their directory, one <entryPrefix><name> : <child inode id> column each.
+    static final String                 entryPrefix   = "e:";
+    static final ByteBuffer             entryStart    = ByteBufferUtil.bytes(entryPrefix);
+    static final ByteBuffer             entryEnd      = ByteBufferUtil.bytes("e;");
+
+    // Set in the root row once inodes written with the path keyed layout have been linked into their parent.
+    static final ByteBuffer             layoutCol     = ByteBufferUtil.bytes("layout");
+    private static final ByteBuffer     layoutVersion = ByteBufferUtil.bytes("2");
+
+    // The root keeps the row it had when inodes were keyed by their path.
+    static final ByteBuffer             rootId        = getPathKey(new Path("/"));
+
+    private static final int            listPageSize  = 1000;
+
+    // Max number of paths whose block locations are asked for in a single call.
+    private static final int            locationBatchSize = 1000;
 
     private static final ByteBuffer     sentinelValue = ByteBufferUtil.bytes("x");
 
@@ -113,6 +172,44 @@ public class CassandraFileSystemThriftStore implements CassandraFileSystemStore
 
     private Brisk.Iface             client;
 
+    // Where additional connections are opened to when deletes or reads are spread over several of them.
+    private String                      host;
+    private int                         port;
+    private boolean                     internalClient;
+
+    // Max number of rows removed by a single batch_mutate call and number of batches sent concurrently.
+    private int                         deleteBatchSize;
+    private int                         deleteThreads;
+
+    // If true sblock rows are queued for the reclamation service instead of being removed right away.
+    private boolean                     asyncDeletes;
+
+    // Number of SubBlock ranges read concurrently.
+    private int                         readThreads;
+
+    // Erasure code of the blocks of archived files, and where their shards are read and written, created on first use.
+    private int                         dataShards;
+    private int                         parityShards;
+    private ErasureCodedBlocks          erasureCodedBlocks;
+
+    // Runs the parallel deletes and reads, created on first use.
+    private ExecutorService             executor;
+
+    // Extra connections used by the parallel deletes and reads, Thrift clients are not thread safe.
+    private final Queue<Brisk.Iface>    extraClients = new ConcurrentLinkedQueue<Brisk.Iface>();
+
+    // Connections to given nodes, for the requests served by the replicas of a block.
+    private final ConcurrentMap<String, Queue<Brisk.Iface>> hostClients = new ConcurrentHashMap<String, Queue<Brisk.Iface>>();
+
+    // Ids of the paths resolved by this store, up to pathCacheSize of them. Another client may have renamed
+    // or deleted any of them since, so a cached id is only used once the entries linking it to the root
+    // have been read back, all in a single request.
+    private final ConcurrentMap<String, ByteBuffer> pathIds = new ConcurrentHashMap<String, ByteBuffer>();
+    private int                         pathCacheSize;
+
+    // Network location (/datacenter/rack) of the hosts holding blocks, as reported by the snitch.
+    private final ConcurrentMap<String, String> networkLocations = new ConcurrentHashMap<String, String>();
+
     public CassandraFileSystemThriftStore()
     {
 
@@ -130,16 +227,36 @@ public class CassandraFileSystemThriftStore implements CassandraFileSystemStore
         if (port == -1)
             port = DatabaseDescriptor.getRpcPort(); // default
 
+        this.host = host;
+        this.port = port;
+
         // We could be running inside of cassandra...
-        if (conf instanceof CassandraJobConf)
-            client = new BriskInternalServer();
-        else
-            client = CassandraProxyClient.newProxyConnection(host, port, true, ConnectionStrategy.STICKY);
+        internalClient = conf instanceof CassandraJobConf;
+        client = createClient();
+
+        deleteBatchSize = conf.getInt("brisk.delete.batch.size", 1000);
+        deleteThreads = conf.getInt("brisk.delete.threads", 4);
+        asyncDeletes = conf.getBoolean("brisk.delete.async", true);
+        readThreads = conf.getInt("brisk.read.threads", 4);
+        pathCacheSize = conf.getInt("brisk.path.cache.size", 10000);
+        dataShards = conf.getInt("brisk.erasure.data.shards", 6);
+        parityShards = conf.getInt("brisk.erasure.parity.shards", 3);
+
+        // Port the nodes serve sub blocks on, 0 to read them through thrift only
+        int dataPort = conf.getInt("brisk.data.port", 0);
+        if (dataPort > 0)
+            dataClient = new SubBlockDataClient(dataPort);
+
+        // There is no frame to bound with the in-JVM client. Off by default, each chunk is a round trip
+        // and the sub block is still put together whole here.
+        chunkSize = internalClient ? 0 : conf.getInt("brisk.sblock.chunk.size", 0);
 
         KsDef ks = checkKeyspace();
 
         if (ks == null)
             ks = createKeySpace();
+        else
+            checkReclaimCf(ks);
 
         initConsistencyLevels(ks, conf);
         initCFNames(uri);
@@ -152,6 +269,136 @@ public class CassandraFileSystemThriftStore implements CassandraFileSystemStore
         {
             throw new IOException(e);
         }
+
+        checkLayout();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void close() throws IOException
+    {
+        synchronized (this)
+        {
+            if (executor != null)
+                executor.shutdownNow();
+
+            if (erasureCodedBlocks != null)
+                erasureCodedBlocks.close();
+        }
+
+        Brisk.Iface extraClient;
+        while ((extraClient = extraClients.poll()) != null)
+            CassandraProxyClient.close(extraClient);
+
+        for (Queue<Brisk.Iface> clients : hostClients.values())
+        {
+            Brisk.Iface hostClient;
+            while ((hostClient = clients.poll()) != null)
+                CassandraProxyClient.close(hostClient);
+        }
+
+        CassandraProxyClient.close(client);
+
+        if (dataClient != null)
+            dataClient.close();
+    }
+
+    /**
+     * @return the threads shared by the parallel deletes and reads of this store, as many as the largest of
+     *         brisk.delete.threads and brisk.read.threads
+     */
+    private synchronized ExecutorService getExecutor()
+    {
+        if (executor == null)
+        {
+            int threads = Math.max(1, Math.max(deleteThreads, readThreads));
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(), new NamedThreadFactory("CfsStore"));
+            pool.allowCoreThreadTimeOut(true);
+
+            executor = pool;
+        }
+
+        return executor;
+    }
+
+    /**
+     * Runs the tasks on the shared threads, no more than <code>parallelism</code> at once, and waits for all of
+     * them. The remaining ones are cancelled as soon as one fails.
+     *
+     * @return the results, in the order of the tasks
+     */
+    private <T> List<T> invokeAll(final List<Callable<T>> tasks, int parallelism) throws IOException
+    {
+        ExecutorService executor = getExecutor();
+        final List<T> results = new ArrayList<T>(Collections.<T>nCopies(tasks.size(), null));
+        final AtomicInteger next = new AtomicInteger();
+
+        List<Future<Void>> futures = new ArrayList<Future<Void>>();
+
+        try
+        {
+            for (int i = 0; i < Math.max(1, Math.min(parallelism, tasks.size())); i++)
+            {
+                futures.add(executor.submit(new Callable<Void>() {
+                    public Void call() throws Exception
+                    {
+                        int task;
+                        while ((task = next.getAndIncrement()) < tasks.size())
+                            results.set(task, tasks.get(task).call());
+
+                        return null;
+                    }
+                }));
+            }
+
+            for (Future<Void> future : futures)
+                future.get();
+
+            return results;
+        }
+        catch (ExecutionException e)
+        {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+
+            throw new IOException(e.getCause());
+        }
+        catch (InterruptedException e)
+        {
+            throw new IOException(e);
+        }
+        catch (RejectedExecutionException e)
+        {
+            throw new IOException("Store closed", e);
+        }
+        finally
+        {
+            for (Future<Void> future : futures)
+                future.cancel(true);
+        }
+    }
+
+    private Brisk.Iface createClient() throws IOException
+    {
+        if (internalClient)
+            return new BriskInternalServer();
+
+        return CassandraProxyClient.newProxyConnection(host, port, true, ConnectionStrategy.STICKY);
+    }
+
+    private synchronized ErasureCodedBlocks getErasureCodedBlocks() throws IOException
+    {
+        if (erasureCodedBlocks == null)
+            erasureCodedBlocks = new ErasureCodedBlocks(new Callable<Brisk.Iface>() {
+                public Brisk.Iface call() throws Exception
+                {
+                    return createClient();
+                }
+            }, dataShards, parityShards);
+
+        return erasureCodedBlocks;
     }
 
     /**
@@ -179,7 +426,7 @@ public class CassandraFileSystemThriftStore implements CassandraFileSystemStore
 		inodePath     = new ColumnPath(inodeCfInUse);
 		inodeParent   = new ColumnParent(inodeCfInUse);
 
-		inodeDataPath = new ColumnPath(inodeCfInUse).setColumn(dataCol);
+		inodeChecksumPath = new ColumnPath(inodeCfInUse).setColumn(checksumCol);
 		sblockDataPath = new ColumnPath(sblockCfInUse).setColumn(dataCol);
 
 	}
@@ -237,6 +484,52 @@ public class CassandraFileSystemThriftStore implements CassandraFileSystemStore
         }
     }
 
+    /**
+     * Keyspaces created by older versions lack the reclaim queue, add it on the fly.
+     */
+    private void checkReclaimCf(KsDef ks) throws IOException
+    {
+        for (CfDef cf : ks.getCf_defs())
+        {
+            if (cf.getName().equals(reclaimCf))
+                return;
+        }
+
+        try
+        {
+            // Stagger like createKeySpace() so nodes don't race each other
+            Thread.sleep(new Random().nextInt(5000));
+
+            for (CfDef cf : client.describe_keyspace(keySpace).getCf_defs())
+            {
+                if (cf.getName().equals(reclaimCf))
+                    return;
+            }
+
+            client.set_keyspace(keySpace);
+            client.system_add_column_family(createReclaimCfDef());
+            BriskSchema.waitForSchemaAgreement(client);
+        }
+        catch (Exception e)
+        {
+            throw new IOException(e);
+        }
+    }
+
+    private CfDef createReclaimCfDef()
+    {
+        CfDef cf = new CfDef();
+        cf.setName(reclaimCf);
+        cf.setComparator_type("BytesType");
+        cf.setKey_cache_size(0);
+        cf.setRow_cache_size(0);
+        cf.setGc_grace_seconds(60);
+        cf.setComment("Stores the blocks waiting to be reclaimed");
+        cf.setKeyspace(keySpace);
+
+        return cf;
+    }
+
     public KsDef createKeySpace() throws IOException
     {
         try
@@ -292,8 +585,9 @@ public class CassandraFileSystemThriftStore implements CassandraFileSystemStore
             cf.setMemtable_throughput_in_mb(128);
             cf.setMemtable_flush_after_mins(1);
 
-            cf.setMin_compaction_threshold(16);
-            cf.setMax_compaction_threshold(64);
+            // Compacted by the BlockCompactionService, which never merges live blocks.
+            cf.setMin_compaction_threshold(0);
+            cf.setMax_compaction_threshold(0);
 
             cfs.add(cf);
 
@@ -337,12 +631,14 @@ public class CassandraFileSystemThriftStore implements CassandraFileSystemStore
             // Optimization for 128 MB blocks.
             cf.setMemtable_flush_after_mins(1);
             cf.setMemtable_throughput_in_mb(128);
-            // Disable compaction for archive.
+            // Compacted by the BlockCompactionService, like sblocks.
             cf.setMin_compaction_threshold(0);
             cf.setMax_compaction_threshold(0);
 
             cfs.add(cf);
 
+            cfs.add(createReclaimCfDef());
+
             Map<String,String> stratOpts = new HashMap<String,String>();
             stratOpts.put(BriskSimpleSnitch.BRISK_DC, System.getProperty("cfs.replication","1"));
             stratOpts.put(BriskSimpleSnitch.CASSANDRA_DC, "0");
@@ -373,29 +669,59 @@ public class CassandraFileSystemThriftStore implements CassandraFileSystemStore
 
     public InputStream retrieveSubBlock(Block block, SubBlock subBlock, long byteRangeStart) throws IOException
     {
-    	ByteBuffer blockId = uuidToByteBuffer(block.id);
-        ByteBuffer subBlockId = uuidToByteBuffer(subBlock.id);
+        return ByteBufferUtil.inputStream(retrieveSubBlockBuffer(block, subBlock, byteRangeStart));
+    }
 
-        LocalOrRemoteBlock blockData = null;
+    /**
+     * {@inheritDoc}
+     */
+    public ByteBuffer retrieveSubBlockBuffer(Block block, SubBlock subBlock, long byteRangeStart) throws IOException
+    {
+        ByteBuffer data = block.isErasureCoded() ? getErasureCodedBlocks().read(block, subBlock) : null;
 
-        try
+        // Local sub blocks are better read from the mmap
+        if (data == null && (dataClient != null || chunkSize > 0) && !isLocalBlock(block))
         {
-            blockData = ((Brisk.Iface) client).get_cfs_sblock(FBUtilities.getLocalAddress().getHostName(),
-            		blockId, subBlockId, (int) 0, storageTypeInUse);
+            if (dataClient != null)
+                data = readFromDataPort(block, subBlock);
+
+            if (data == null && chunkSize > 0)
+                data = readInChunks(block, subBlock);
         }
-        catch (Exception e)
+
+        if (data == null)
         {
-            throw new IOException(e);
+            LocalOrRemoteBlock blockData = getSubBlock(block, subBlock, 0, 0);
+
+            if (blockData.remote_block != null)
+                data = uncompress(blockData.remote_block);
+            else
+                data = readLocalBlock(blockData.getLocal_block());
         }
 
-        if (blockData == null)
-            throw new IOException("Missing block: " + subBlock.id);
+        ByteBuffer buffer = data.asReadOnlyBuffer();
+        buffer.position(Math.min(buffer.limit(), buffer.position() + (int) byteRangeStart));
+
+        return buffer;
+    }
+
+    public InputStream retrieveSubBlock(Block block, SubBlock subBlock, long byteRangeStart, int length) throws IOException
+    {
+        if (block.isErasureCoded())
+        {
+            ByteBuffer data = retrieveSubBlockBuffer(block, subBlock, byteRangeStart);
+            data.limit(Math.min(data.limit(), data.position() + length));
+
+            return ByteBufferUtil.inputStream(data);
+        }
+
+        LocalOrRemoteBlock blockData = getSubBlock(block, subBlock, (int) byteRangeStart, length);
 
-        InputStream is = null;
+        // The remote range comes uncompressed
         if (blockData.remote_block != null)
-            is = getInputStream(blockData.remote_block);
-        else
-            is = readLocalBlock(blockData.getLocal_block());
+            return ByteBufferUtil.inputStream(blockData.remote_block);
+
+        InputStream is = ByteBufferUtil.inputStream(readLocalBlock(blockData.getLocal_block()));
 
         if(byteRangeStart > 0)
             is.skip(byteRangeStart);
@@ -403,133 +729,990 @@ public class CassandraFileSystemThriftStore implements CassandraFileSystemStore
         return is;
     }
 
-    private synchronized InputStream getInputStream(ByteBuffer bb) throws IOException
+    /**
+     * {@inheritDoc}
+     */
+    public void retrieveSubBlockRanges(List<? extends SubBlockRange> ranges) throws IOException
     {
+        if (ranges.isEmpty())
+            return;
 
-        ByteBuffer output = null;
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(ranges.size());
 
-        if(compressedData == null || compressedData.capacity() < bb.remaining())
-            compressedData = ByteBuffer.allocateDirect(bb.remaining());
+        for (final SubBlockRange range : ranges)
+        {
+            tasks.add(new Callable<Void>() {
+                public Void call() throws Exception
+                {
+                    Brisk.Iface rangeClient = borrowClient();
+                    try
+                    {
+                        range.completed(readSubBlockRange(rangeClient, range));
+                    }
+                    finally
+                    {
+                        extraClients.offer(rangeClient);
+                    }
+                    return null;
+                }
+            });
+        }
 
-        compressedData.limit(compressedData.capacity());
-        compressedData.rewind();
-        compressedData.put(bb.duplicate());
-        compressedData.limit(compressedData.position());
-        compressedData.rewind();
+        invokeAll(tasks, readThreads);
+    }
 
-        if(Snappy.isValidCompressedBuffer(compressedData))
+    /**
+     * Reads a SubBlock range with its own connection and buffers, so that ranges can be read concurrently.
+     */
+    private ByteBuffer readSubBlockRange(Brisk.Iface rangeClient, SubBlockRange range) throws Exception
+    {
+        if (range.block.isErasureCoded())
         {
+            ByteBuffer data = getErasureCodedBlocks().read(range.block, range.subBlock);
+            data.position(Math.min(data.limit(), (int) range.offset));
+            data.limit(Math.min(data.limit(), data.position() + range.length));
 
-            int uncompressedLength = Snappy.uncompressedLength(compressedData);
+            return data.slice();
+        }
 
-            if(uncompressedData == null || uncompressedData.capacity() < uncompressedLength)
-            {
-                uncompressedData = ByteBuffer.allocateDirect(uncompressedLength);
-            }
+        LocalOrRemoteBlock blockData = rangeClient.get_cfs_sblock(FBUtilities.getLocalAddress().getHostName(),
+                uuidToByteBuffer(range.block.id), uuidToByteBuffer(range.subBlock.id), (int) range.offset,
+                storageTypeInUse, range.length);
+
+        if (blockData == null)
+            throw new IOException("Missing block: " + range.subBlock.id);
 
-            int len = Snappy.uncompress(compressedData, uncompressedData);
+        // The remote range comes uncompressed
+        if (blockData.remote_block != null)
+            return blockData.remote_block;
 
-            uncompressedData.limit(len);
-            uncompressedData.rewind();
+        ByteBuffer data = mapLocalBlock(blockData.getLocal_block());
 
-            output = uncompressedData;
+        if (data.remaining() > 0 && Snappy.isValidCompressedBuffer(data))
+        {
+            ByteBuffer uncompressed = ByteBuffer.allocateDirect(Snappy.uncompressedLength(data));
+            Snappy.uncompress(data, uncompressed);
+            data = uncompressed;
         }
-        else
+
+        ByteBuffer slice = data.duplicate();
+        slice.position(Math.min(slice.limit(), slice.position() + (int) range.offset));
+        slice.limit(Math.min(slice.limit(), slice.position() + range.length));
+
+        return slice;
+    }
+
+    /**
+     * Reads a sub block from the data port of the first replica that has it in its data files.
+     * 
+     * @return the sub block content, null if it has to be read through thrift
+     */
+    private synchronized ByteBuffer readFromDataPort(Block block, SubBlock subBlock) throws IOException
+    {
+        ByteBuffer blockId = uuidToByteBuffer(block.id);
+
+        for (String host : getBlockHosts(block))
         {
-            output = compressedData;
+            try
+            {
+                ByteBuffer data = dataClient.read(host, blockId, uuidToByteBuffer(subBlock.id),
+                        storageTypeInUse == StorageType.CFS_ARCHIVE, compressedData);
+
+                if (data == null)
+                    continue;
+
+                compressedData = data;
+                return uncompress(compressedData);
+            }
+            catch (IOException e)
+            {
+                logger.warn("Unable to read sub block " + subBlock.id + " from the data port of " + host, e);
+            }
         }
 
-        return ByteBufferUtil.inputStream(output);
+        return null;
     }
 
-	private InputStream readLocalBlock(LocalBlock blockInfo) throws IOException
+    /**
+     * Reads a sub block in chunks of at most chunkSize bytes, so that neither side holds it
+     * whole in a thrift frame. Chunks are copied into compressedData as they arrive, it is
+     * uncompressed once complete.
+     */
+    private synchronized ByteBuffer readInChunks(Block block, SubBlock subBlock) throws IOException
     {
+        ByteBuffer blockId = uuidToByteBuffer(block.id);
+        ByteBuffer subBlockId = uuidToByteBuffer(subBlock.id);
 
-        if (blockInfo.file == null)
-            throw new RuntimeException("Local file name is not defined");
+        if (compressedData == null)
+            compressedData = ByteBuffer.allocateDirect(chunkSize);
 
-        if (blockInfo.length == 0)
-            return ByteBufferUtil.inputStream(ByteBufferUtil.EMPTY_BYTE_BUFFER);
+        compressedData.clear();
 
-        RandomAccessFile raf = null;
-        try
+        int chunkLength;
+        do
         {
-            raf = new RandomAccessFile(blockInfo.file, "r");
+            ByteBuffer chunk;
 
-            if(logger.isDebugEnabled())
-                logger.debug("Mmapping " + blockInfo.length + " bytes");
+            try
+            {
+                chunk = client.get_cfs_sblock_chunk(blockId, subBlockId, compressedData.position(), chunkSize,
+                        storageTypeInUse);
+            }
+            catch (Exception e)
+            {
+                throw new IOException(e);
+            }
 
-            MappedByteBuffer bb = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, blockInfo.offset,
-                    blockInfo.length);
+            chunkLength = chunk.remaining();
 
-            return getInputStream(bb);
+            if (compressedData.remaining() < chunkLength)
+            {
+                ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(2 * compressedData.capacity(),
+                        compressedData.position() + chunkLength));
 
+                compressedData.flip();
+                larger.put(compressedData);
+                compressedData = larger;
+            }
+
+            compressedData.put(chunk);
         }
-        catch (FileNotFoundException e)
-        {
-            throw new RuntimeException("Local file does not exist: " + blockInfo.file);
-        }
-        catch (IOException e)
-        {
-            throw new RuntimeException(String.format("Unable to mmap block %s[%d,%d]", blockInfo.file,
-                    blockInfo.length, blockInfo.offset), e);
-        }
-        finally
-        {
-            FileUtils.closeQuietly(raf);
-        }
+        while (chunkLength == chunkSize);
+
+        compressedData.flip();
 
+        return uncompress(compressedData);
     }
 
-    public INode retrieveINode(Path path) throws IOException
+    /**
+     * @return true if this node is the closest replica of the block
+     */
+    private boolean isLocalBlock(Block block) throws IOException
     {
-        ByteBuffer pathKey = getPathKey(path);
-        ColumnOrSuperColumn pathInfo;
+        List<String> hosts = getBlockHosts(block);
 
-        pathInfo = performGet(pathKey, inodeDataPath, consistencyLevelRead);
+        return !hosts.isEmpty() && hosts.get(0).equals(FBUtilities.getLocalAddress().getHostName());
+    }
 
-        // If not found and I already tried with CL= ONE, retry with higher CL.
-        if (pathInfo == null && consistencyLevelRead.equals(ConsistencyLevel.ONE))
-        {
-        	pathInfo = performGet(pathKey, inodeDataPath, ConsistencyLevel.QUORUM);
-        }
+    /**
+     * @return the live replicas of the block, closest first. The replicas of the last block
+     *         asked for are kept, as its sub blocks are usually read one after the other.
+     */
+    private synchronized List<String> getBlockHosts(Block block) throws IOException
+    {
+        ByteBuffer blockId = uuidToByteBuffer(block.id);
 
-        if (pathInfo == null)
+        if (!blockId.equals(hostsBlockId))
         {
-            // Now give up and return null.
-            return null;
+            try
+            {
+                blockHosts = client.describe_keys(keySpace, Arrays.asList(blockId)).get(0);
+            }
+            catch (Exception e)
+            {
+                throw new IOException(e);
+            }
+
+            hostsBlockId = blockId;
         }
 
-        return INode.deserialize(ByteBufferUtil.inputStream(pathInfo.column.value), pathInfo.column.getTimestamp());
+        return blockHosts;
     }
 
-	private ColumnOrSuperColumn performGet(ByteBuffer key, ColumnPath cp, ConsistencyLevel cl) throws IOException {
-        ColumnOrSuperColumn result;
+    private LocalOrRemoteBlock getSubBlock(Block block, SubBlock subBlock, int offset, int length) throws IOException
+    {
+    	ByteBuffer blockId = uuidToByteBuffer(block.id);
+        ByteBuffer subBlockId = uuidToByteBuffer(subBlock.id);
+
+        LocalOrRemoteBlock blockData = null;
+
         try
         {
-            result = client.get(key, cp, cl);
-        }
-        catch (NotFoundException e)
-        {
-            return null;
+            blockData = ((Brisk.Iface) client).get_cfs_sblock(FBUtilities.getLocalAddress().getHostName(),
+            		blockId, subBlockId, offset, storageTypeInUse, length);
         }
         catch (Exception e)
         {
             throw new IOException(e);
         }
 
-        return result;
-	}
+        if (blockData == null)
+            throw new IOException("Missing block: " + subBlock.id);
 
-	/**
-     * {@inheritDoc}
+        return blockData;
+    }
+
+    /**
+     * @return the sub block data in bb, uncompressed if needed. Direct buffers, mmapped ones
+     *         included, are uncompressed in place or returned as they are when not compressed.
      */
-    public synchronized void storeSubBlock(UUID parentBlockUUID, SubBlock sblock, ByteBuffer data) throws IOException
+    private synchronized ByteBuffer uncompress(ByteBuffer bb) throws IOException
     {
-    	assert parentBlockUUID != null;
+        // Snappy only works on direct buffers
+        if (!bb.isDirect())
+        {
+            if(compressedData == null || compressedData.capacity() < bb.remaining())
+                compressedData = ByteBuffer.allocateDirect(bb.remaining());
 
-    	// Row key is the Block id to which this SubBLock belongs to.
-        ByteBuffer parentBlockId = uuidToByteBuffer(parentBlockUUID);
+            compressedData.limit(compressedData.capacity());
+            compressedData.rewind();
+            compressedData.put(bb.duplicate());
+            compressedData.limit(compressedData.position());
+            compressedData.rewind();
+
+            bb = compressedData;
+        }
+
+        if(!Snappy.isValidCompressedBuffer(bb))
+            return bb;
+
+        int uncompressedLength = Snappy.uncompressedLength(bb);
+
+        if(uncompressedData == null || uncompressedData.capacity() < uncompressedLength)
+        {
+            uncompressedData = ByteBuffer.allocateDirect(uncompressedLength);
+        }
+
+        uncompressedData.clear();
+        int len = Snappy.uncompress(bb, uncompressedData);
+
+        uncompressedData.limit(len);
+        uncompressedData.rewind();
+
+        return uncompressedData;
+    }
+
+	private ByteBuffer readLocalBlock(LocalBlock blockInfo) throws IOException
+    {
+        ByteBuffer bb = mapLocalBlock(blockInfo);
+
+        // Not copied, uncompressed sub blocks are served straight from the mmap
+        return bb.remaining() == 0 ? bb : uncompress(bb);
+    }
+
+    private ByteBuffer mapLocalBlock(LocalBlock blockInfo)
+    {
+
+        if (blockInfo.file == null)
+            throw new RuntimeException("Local file name is not defined");
+
+        if (blockInfo.length == 0)
+            return ByteBufferUtil.EMPTY_BYTE_BUFFER;
+
+        RandomAccessFile raf = null;
+        try
+        {
+            raf = new RandomAccessFile(blockInfo.file, "r");
+
+            if(logger.isDebugEnabled())
+                logger.debug("Mmapping " + blockInfo.length + " bytes");
+
+            MappedByteBuffer bb = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, blockInfo.offset,
+                    blockInfo.length);
+
+            return bb;
+
+        }
+        catch (FileNotFoundException e)
+        {
+            throw new RuntimeException("Local file does not exist: " + blockInfo.file);
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(String.format("Unable to mmap block %s[%d,%d]", blockInfo.file,
+                    blockInfo.length, blockInfo.offset), e);
+        }
+        finally
+        {
+            FileUtils.closeQuietly(raf);
+        }
+
+    }
+
+    public INode retrieveINode(Path path) throws IOException
+    {
+        ByteBuffer id = resolve(path);
+
+        if (id == null)
+            return null;
+
+        return retrieveINode(id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public INode retrieveINodeSummary(Path path) throws IOException
+    {
+        ByteBuffer id = resolve(path);
+
+        if (id == null)
+            return null;
+
+        INode summary = toINode(performSliceWithRetry(id, summaryPredicate));
+
+        // Inodes stored before summaries only have their data column
+        if (summary == null)
+            return retrieveINode(id);
+
+        return summary;
+    }
+
+    private INode retrieveINode(ByteBuffer id) throws IOException
+    {
+        return toINode(performSliceWithRetry(id, dataPredicate));
+    }
+
+    /**
+     * Builds an inode from the columns of its row read with {@link #dataPredicate} or the summary predicate.
+     *
+     * @return null if the row has neither data nor summary
+     */
+    static INode toINode(List<ColumnOrSuperColumn> columns) throws IOException
+    {
+        Column data = null;
+        long atime = 0;
+        boolean forwarded = false;
+
+        for (ColumnOrSuperColumn cosc : columns)
+        {
+            if (cosc.column.name.equals(atimeCol))
+                atime = cosc.column.value.getLong(cosc.column.value.position());
+            else if (cosc.column.name.equals(forwardCol))
+                forwarded = true;
+            else
+                data = cosc.column;
+        }
+
+        if (data == null)
+            return null;
+
+        INode inode = INode.deserialize(ByteBufferUtil.inputStream(data.value), data.getTimestamp());
+        inode.atime = atime;
+        inode.setForwarded(forwarded);
+
+        return inode;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setAccessTime(Path path, long atime) throws IOException
+    {
+        ByteBuffer id = resolve(path);
+
+        if (id == null)
+            return;
+
+        Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
+        ByteBuffer value = ByteBuffer.allocate(8);
+        value.putLong(0, atime);
+        addRowMutation(mutationMap, id, inodeCfInUse, createMutationForCol(atimeCol, value, atime));
+
+        try
+        {
+            client.batch_mutate(mutationMap, ConsistencyLevel.ONE);
+        }
+        catch (Exception e)
+        {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean forwardINode(Path path, INode inode) throws IOException
+    {
+        if (storageTypeInUse == StorageType.CFS_ARCHIVE)
+            throw new IOException("Files of the archive storage can't be forwarded.");
+
+        ByteBuffer id = resolve(path);
+
+        if (id == null)
+            return false;
+
+        INode current = retrieveINode(id);
+
+        if (current == null || !current.isFile()
+                || !getListOfBlockIds(current.getBlocks()).equals(getListOfBlockIds(inode.getBlocks())))
+            return false;
+
+        if (current.isForwarded())
+            return true;
+
+        // Written at the time of the inode data, so that deleting the inode also drops it
+        Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
+        addRowMutation(mutationMap, id, inodeCfInUse, createMutationForCol(forwardCol,
+                ByteBufferUtil.EMPTY_BYTE_BUFFER, current.mtime));
+
+        try
+        {
+            client.batch_mutate(mutationMap, consistencyLevelWrite);
+        }
+        catch (Exception e)
+        {
+            throw new IOException(e);
+        }
+
+        return true;
+    }
+
+    /**
+     * @return the storage the blocks of <code>inode</code> are in
+     */
+    private StorageType getBlockStorage(INode inode)
+    {
+        return inode.isForwarded() ? StorageType.CFS_ARCHIVE : storageTypeInUse;
+    }
+
+    private String getSubBlockCf(INode inode)
+    {
+        return inode.isForwarded() ? sblockArchiveCf : sblockCfInUse;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public MD5MD5CRC32FileChecksum getFileChecksum(Path path, int bytesPerCrc) throws IOException
+    {
+        ByteBuffer id = resolve(path);
+
+        if (id == null)
+            return null;
+
+        INode inode = retrieveINode(id);
+
+        if (inode == null)
+            return null;
+
+        if (inode.isDirectory())
+            throw new IOException("Path " + path + " is a directory.");
+
+        Block[] blocks = inode.getBlocks();
+        byte[] blocksDigest = getBlocksDigest(blocks, bytesPerCrc);
+
+        // An overwritten file keeps its inode row, the checksum only stands for the blocks it was computed from
+        ColumnOrSuperColumn cached = performGet(id, inodeChecksumPath, consistencyLevelRead);
+
+        if (cached != null)
+        {
+            DataInputStream in = new DataInputStream(ByteBufferUtil.inputStream(cached.column.value));
+            byte[] cachedDigest = new byte[blocksDigest.length];
+            in.readFully(cachedDigest);
+
+            if (Arrays.equals(blocksDigest, cachedDigest))
+            {
+                MD5MD5CRC32FileChecksum checksum = new MD5MD5CRC32FileChecksum();
+                checksum.readFields(in);
+
+                return checksum;
+            }
+        }
+
+        MD5MD5CRC32FileChecksum checksum = computeFileChecksum(blocks, bytesPerCrc, getBlockStorage(inode));
+
+        ByteArrayOutputStream value = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(value);
+        out.write(blocksDigest);
+        checksum.write(out);
+
+        // Written at the time of the inode data, so that deleting the inode also drops it
+        Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
+        addRowMutation(mutationMap, id, inodeCfInUse, createMutationForCol(checksumCol,
+                ByteBuffer.wrap(value.toByteArray()), inode.mtime));
+
+        try
+        {
+            client.batch_mutate(mutationMap, consistencyLevelWrite);
+        }
+        catch (Exception e)
+        {
+            throw new IOException(e);
+        }
+
+        return checksum;
+    }
+
+    /**
+     * Asks the closest replica of each block for the MD5 of the CRC32s of its data, and
+     * combines them the way HDFS does.
+     */
+    private MD5MD5CRC32FileChecksum computeFileChecksum(Block[] blocks, final int bytesPerCrc,
+            final StorageType storageType) throws IOException
+    {
+        List<ByteBuffer> blockChecksums;
+
+        // No node holds a whole erasure coded block, their data is gathered here
+        if (blocks.length > 0 && blocks[0].isErasureCoded())
+        {
+            blockChecksums = new ArrayList<ByteBuffer>(blocks.length);
+
+            for (Block block : blocks)
+                blockChecksums.add(computeBlockChecksum(block, bytesPerCrc));
+        }
+        else
+        {
+            blockChecksums = runOnReplicas(blocks, new BlockTask<ByteBuffer>() {
+                public ByteBuffer run(Brisk.Iface replica, Block block) throws Exception
+                {
+                    return replica.get_cfs_block_checksum(uuidToByteBuffer(block.id), getSubBlockIds(block),
+                            bytesPerCrc, storageType);
+                }
+            });
+        }
+
+        MessageDigest digest = MD5Hash.getDigester();
+
+        for (ByteBuffer blockChecksum : blockChecksums)
+            digest.update(ByteBufferUtil.getArray(blockChecksum));
+
+        // Same as HDFS, only set when the file spans several blocks
+        int crcPerBlock = blocks.length > 1 ? (int) ((blocks[0].length + bytesPerCrc - 1) / bytesPerCrc) : 0;
+
+        return new MD5MD5CRC32FileChecksum(bytesPerCrc, crcPerBlock, new MD5Hash(digest.digest()));
+    }
+
+    /**
+     * The MD5 of the CRC32s of the data of a block, computed as the nodes do for get_cfs_block_checksum.
+     */
+    private ByteBuffer computeBlockChecksum(Block block, int bytesPerCrc) throws IOException
+    {
+        MessageDigest digest = MD5Hash.getDigester();
+        CRC32 crc = new CRC32();
+        byte[] chunk = new byte[bytesPerCrc];
+        int crcLength = 0;
+
+        for (SubBlock subBlock : block.subBlocks)
+        {
+            ByteBuffer data = retrieveSubBlockBuffer(block, subBlock, 0);
+
+            while (data.hasRemaining())
+            {
+                int length = Math.min(bytesPerCrc - crcLength, data.remaining());
+                data.get(chunk, 0, length);
+                crc.update(chunk, 0, length);
+                crcLength += length;
+
+                if (crcLength == bytesPerCrc)
+                {
+                    digest.update(ByteBuffer.allocate(4).putInt((int) crc.getValue()).array());
+                    crc.reset();
+                    crcLength = 0;
+                }
+            }
+        }
+
+        if (crcLength > 0)
+            digest.update(ByteBuffer.allocate(4).putInt((int) crc.getValue()).array());
+
+        return ByteBuffer.wrap(digest.digest());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public INode copyBlocks(INode inode, final StorageType storageType, boolean move) throws IOException
+    {
+        if (inode.isDirectory())
+            throw new IOException("Directories have no blocks to copy.");
+
+        if (inode.isErasureCoded())
+            throw new IOException("Erasure coded blocks can't be copied by the nodes.");
+
+        Block[] blocks = inode.getBlocks();
+        Block[] copies = new Block[blocks.length];
+        final Map<UUID, UUID> copyIds = new HashMap<UUID, UUID>();
+        final StorageType source = getBlockStorage(inode);
+
+        // Blocks moved to the other storage keep their id, and so their replicas, which then write
+        // their own copy. Other copies are blocks of another inode and need new ids, the rows of a
+        // block are removed with the first inode deleted.
+        for (int i = 0; i < blocks.length; i++)
+        {
+            UUID id = move && storageType != source ? blocks[i].id
+                    : UUIDGen.makeType1UUIDFromHost(FBUtilities.getLocalAddress());
+
+            copies[i] = new Block(id, blocks[i].offset, blocks[i].length, blocks[i].subBlocks);
+            copyIds.put(blocks[i].id, id);
+        }
+
+        long copied = 0;
+
+        for (long blockBytes : runOnReplicas(blocks, new BlockTask<Long>() {
+            public Long run(Brisk.Iface replica, Block block) throws Exception
+            {
+                return replica.copy_cfs_block(uuidToByteBuffer(block.id), getSubBlockIds(block), source,
+                        uuidToByteBuffer(copyIds.get(block.id)), storageType, consistencyLevelWrite);
+            }
+        }))
+        {
+            copied += blockBytes;
+        }
+
+        if (logger.isDebugEnabled())
+            logger.debug("Copied " + blocks.length + " blocks, " + copied + " bytes, to " + storageType);
+
+        return new INode(inode.user, inode.group, inode.perms, INode.FileType.FILE, copies, inode.mtime);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public INode erasureCode(INode inode) throws IOException
+    {
+        if (inode.isDirectory())
+            throw new IOException("Directories have no blocks to encode.");
+
+        Block[] blocks = inode.getBlocks();
+        Block[] coded = new Block[blocks.length];
+
+        for (int i = 0; i < blocks.length; i++)
+            coded[i] = blocks[i].isErasureCoded() ? blocks[i] : getErasureCodedBlocks().encode(blocks[i], this);
+
+        return new INode(inode.user, inode.group, inode.perms, INode.FileType.FILE, coded, inode.mtime);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean replaceBlocks(Path path, INode inode, INode replacement) throws IOException
+    {
+        ByteBuffer id = resolve(path);
+
+        if (id == null)
+            return false;
+
+        INode current = retrieveINode(id);
+
+        if (current == null || !current.isFile()
+                || !getListOfBlockIds(current.getBlocks()).equals(getListOfBlockIds(inode.getBlocks())))
+            return false;
+
+        // Written right after the inode data, so that the mtime is kept to the ms and a later write wins
+        long ts = current.mtime + 1;
+
+        Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
+        addRowMutation(mutationMap, id, inodeCfInUse, createMutationForCol(dataCol, replacement.serialize(), ts));
+        addRowMutation(mutationMap, id, inodeCfInUse, createMutationForCol(summaryCol, replacement.serializeSummary(), ts));
+
+        try
+        {
+            client.batch_mutate(mutationMap, consistencyLevelWrite);
+        }
+        catch (Exception e)
+        {
+            throw new IOException(e);
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public StorageType getStorageType()
+    {
+        return storageTypeInUse;
+    }
+
+    /**
+     * Work done for a block by one of its replicas.
+     */
+    private interface BlockTask<T>
+    {
+        T run(Brisk.Iface replica, Block block) throws Exception;
+    }
+
+    /**
+     * Runs a task for each block on the closest replica of the block, up to brisk.read.threads at once,
+     * so that the block data is read where it lives.
+     * 
+     * @return the results, in the order of the blocks
+     */
+    private <T> List<T> runOnReplicas(Block[] blocks, final BlockTask<T> task) throws IOException
+    {
+        if (blocks.length == 0)
+            return new ArrayList<T>();
+
+        List<ByteBuffer> blockIds = new ArrayList<ByteBuffer>(blocks.length);
+
+        for (Block block : blocks)
+            blockIds.add(uuidToByteBuffer(block.id));
+
+        List<List<String>> hosts;
+
+        try
+        {
+            hosts = client.describe_keys(keySpace, blockIds);
+        }
+        catch (Exception e)
+        {
+            throw new IOException(e);
+        }
+
+        List<Callable<T>> tasks = new ArrayList<Callable<T>>(blocks.length);
+
+        for (int i = 0; i < blocks.length; i++)
+        {
+            final Block block = blocks[i];
+            final String host = hosts.get(i).isEmpty() ? null : hosts.get(i).get(0);
+
+            tasks.add(new Callable<T>() {
+                public T call() throws Exception
+                {
+                    // Inside a replica the block is read from its own node without any connection
+                    if (host == null || (internalClient && host.equals(FBUtilities.getLocalAddress().getHostName())))
+                    {
+                        Brisk.Iface replica = borrowClient();
+                        try
+                        {
+                            return task.run(replica, block);
+                        }
+                        finally
+                        {
+                            extraClients.offer(replica);
+                        }
+                    }
+
+                    Brisk.Iface replica = borrowHostClient(host);
+                    try
+                    {
+                        return task.run(replica, block);
+                    }
+                    finally
+                    {
+                        releaseHostClient(host, replica);
+                    }
+                }
+            });
+        }
+
+        return invokeAll(tasks, readThreads);
+    }
+
+    private static List<ByteBuffer> getSubBlockIds(Block block)
+    {
+        List<ByteBuffer> sblockIds = new ArrayList<ByteBuffer>(block.subBlocks.length);
+
+        for (SubBlock subBlock : block.subBlocks)
+            sblockIds.add(uuidToByteBuffer(subBlock.id));
+
+        return sblockIds;
+    }
+
+    /**
+     * @return the MD5 of bytesPerCrc and of the ids of the blocks and sub blocks, in order
+     */
+    private static byte[] getBlocksDigest(Block[] blocks, int bytesPerCrc)
+    {
+        MessageDigest digest = MD5Hash.getDigester();
+        digest.update(ByteBuffer.allocate(4).putInt(bytesPerCrc).array());
+
+        for (Block block : blocks)
+        {
+            digest.update(ByteBufferUtil.getArray(uuidToByteBuffer(block.id)));
+
+            for (SubBlock subBlock : block.subBlocks)
+                digest.update(ByteBufferUtil.getArray(uuidToByteBuffer(subBlock.id)));
+        }
+
+        return digest.digest();
+    }
+
+    /**
+     * Walks the directory entries from the root down to <code>path</code>, unless the cached ids of the path
+     * are still linked where they were.
+     *
+     * @return the id of the inode linked at <code>path</code> or null if there is none
+     */
+    private ByteBuffer resolve(Path path) throws IOException
+    {
+        if (path.getParent() == null)
+            return rootId;
+
+        ByteBuffer id = getCachedId(path);
+
+        return id != null ? id : walk(path);
+    }
+
+    /**
+     * Walks the entries one path component at a time, caching the ids found on the way.
+     */
+    private ByteBuffer walk(Path path) throws IOException
+    {
+        if (path.getParent() == null)
+            return rootId;
+
+        ByteBuffer parentId = walk(path.getParent());
+
+        if (parentId == null)
+            return null;
+
+        ColumnOrSuperColumn entry = performGetWithRetry(parentId, getEntryPath(path.getName()));
+
+        if (entry == null)
+        {
+            forgetPath(path);
+            return null;
+        }
+
+        if (pathIds.size() >= pathCacheSize)
+            pathIds.clear();
+
+        pathIds.put(path.toUri().getPath(), entry.column.value);
+
+        return entry.column.value;
+    }
+
+    /**
+     * Reads back, in one request, the entries linking the cached ids of <code>path</code> and of its ancestors
+     * to the root.
+     *
+     * @return the cached id of <code>path</code>, null if an id along the way is not cached or not linked
+     *         where it was anymore
+     */
+    private ByteBuffer getCachedId(Path path) throws IOException
+    {
+        List<Path> hops = new ArrayList<Path>();
+        List<ByteBuffer> ids = new ArrayList<ByteBuffer>();
+
+        for (Path hop = path; hop.getParent() != null; hop = hop.getParent())
+        {
+            ByteBuffer id = pathIds.get(hop.toUri().getPath());
+
+            if (id == null)
+                return null;
+
+            hops.add(0, hop);
+            ids.add(0, id);
+        }
+
+        Set<ByteBuffer> parentIds = new LinkedHashSet<ByteBuffer>();
+        Set<ByteBuffer> names = new LinkedHashSet<ByteBuffer>();
+
+        for (int i = 0; i < hops.size(); i++)
+        {
+            parentIds.add(i == 0 ? rootId : ids.get(i - 1));
+            names.add(getEntryName(hops.get(i).getName()));
+        }
+
+        Map<ByteBuffer, List<ColumnOrSuperColumn>> rows;
+
+        try
+        {
+            rows = client.multiget_slice(new ArrayList<ByteBuffer>(parentIds), inodeParent, new SlicePredicate()
+                    .setColumn_names(new ArrayList<ByteBuffer>(names)), consistencyLevelRead);
+        }
+        catch (Exception e)
+        {
+            throw new IOException(e);
+        }
+
+        for (int i = 0; i < hops.size(); i++)
+        {
+            List<ColumnOrSuperColumn> row = rows.get(i == 0 ? rootId : ids.get(i - 1));
+            ByteBuffer name = getEntryName(hops.get(i).getName());
+            boolean linked = false;
+
+            for (ColumnOrSuperColumn cosc : row == null ? Collections.<ColumnOrSuperColumn> emptyList() : row)
+                linked |= cosc.column.name.equals(name) && cosc.column.value.equals(ids.get(i));
+
+            if (!linked)
+            {
+                // Renamed or deleted by another client
+                forgetPath(hops.get(i));
+                return null;
+            }
+        }
+
+        return ids.get(ids.size() - 1);
+    }
+
+    /**
+     * Drops the cached ids of a path and of the paths below it.
+     */
+    private void forgetPath(Path path)
+    {
+        String prefix = path.toUri().getPath() + "/";
+
+        for (Iterator<String> it = pathIds.keySet().iterator(); it.hasNext();)
+        {
+            if (it.next().startsWith(prefix))
+                it.remove();
+        }
+
+        pathIds.remove(path.toUri().getPath());
+    }
+
+    private ColumnPath getEntryPath(String name)
+    {
+        return new ColumnPath(inodeCfInUse).setColumn(getEntryName(name));
+    }
+
+    private ByteBuffer getEntryName(String name)
+    {
+        return ByteBufferUtil.bytes(entryPrefix + name);
+    }
+
+    private ColumnOrSuperColumn performGetWithRetry(ByteBuffer key, ColumnPath cp) throws IOException
+    {
+        ColumnOrSuperColumn result = performGet(key, cp, consistencyLevelRead);
+
+        // If not found and I already tried with CL= ONE, retry with higher CL.
+        if (result == null && consistencyLevelRead.equals(ConsistencyLevel.ONE))
+        {
+            result = performGet(key, cp, ConsistencyLevel.QUORUM);
+        }
+
+        return result;
+    }
+
+    private List<ColumnOrSuperColumn> performSliceWithRetry(ByteBuffer key, SlicePredicate predicate) throws IOException
+    {
+        try
+        {
+            List<ColumnOrSuperColumn> result = client.get_slice(key, inodeParent, predicate, consistencyLevelRead);
+
+            // Same as performGetWithRetry
+            if (result.isEmpty() && consistencyLevelRead.equals(ConsistencyLevel.ONE))
+                result = client.get_slice(key, inodeParent, predicate, ConsistencyLevel.QUORUM);
+
+            return result;
+        }
+        catch (Exception e)
+        {
+            throw new IOException(e);
+        }
+    }
+
+	private ColumnOrSuperColumn performGet(ByteBuffer key, ColumnPath cp, ConsistencyLevel cl) throws IOException {
+        ColumnOrSuperColumn result;
+        try
+        {
+            result = client.get(key, cp, cl);
+        }
+        catch (NotFoundException e)
+        {
+            return null;
+        }
+        catch (Exception e)
+        {
+            throw new IOException(e);
+        }
+
+        return result;
+	}
+
+	/**
+     * {@inheritDoc}
+     */
+    public synchronized void storeSubBlock(UUID parentBlockUUID, SubBlock sblock, ByteBuffer data) throws IOException
+    {
+    	assert parentBlockUUID != null;
+
+    	// Row key is the Block id to which this SubBLock belongs to.
+        ByteBuffer parentBlockId = uuidToByteBuffer(parentBlockUUID);
 
         //Prepare the buffer to hold the compressed data
         int maxCapacity = Snappy.maxCompressedLength(data.capacity());
@@ -550,244 +1733,792 @@ public class CassandraFileSystemThriftStore implements CassandraFileSystemStore
         	logger.debug("Storing " + sblock);
         }
 
-        // Row Key: UUID of SubBLock Block parent
-        // Column name: Sub Block UUID
-        // Column value: Sub Block Data.
+        // Row Key: UUID of SubBLock Block parent
+        // Column name: Sub Block UUID
+        // Column value: Sub Block Data.
+
+        try
+        {
+            client.insert(
+                parentBlockId,
+                sblockParent,
+                new Column().setName(uuidToByteBuffer(sblock.id)).setValue(compressedData).setTimestamp(System.currentTimeMillis()),
+                consistencyLevelWrite);
+        }
+        catch (Exception e)
+        {
+            throw new IOException(e);
+        }
+    }
+
+    public void storeINode(Path path, INode inode) throws IOException
+    {
+
+        if (logger.isDebugEnabled() && inode.getBlocks() != null) {
+            logger.debug("Writing inode to: " + path);
+        	printBlocksDebug(inode.getBlocks());
+        }
+
+        Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
+        long ts = System.currentTimeMillis();
+
+        ByteBuffer id = rootId;
+
+        ByteBuffer parentId = null;
+
+        if (path.getParent() != null)
+        {
+            parentId = resolve(path.getParent());
+
+            if (parentId == null)
+                throw new IOException("Parent directory does not exist: " + path.getParent());
+
+            // Keep the id of an inode being overwritten, otherwise link a new one into the parent
+            ColumnOrSuperColumn entry = performGetWithRetry(parentId, getEntryPath(path.getName()));
+
+            if (entry != null)
+            {
+                id = entry.column.value;
+                parentId = null;
+            }
+            else
+            {
+                id = uuidToByteBuffer(UUIDGen.makeType1UUIDFromHost(FBUtilities.getLocalAddress()));
+                addRowMutation(mutationMap, parentId, inodeCfInUse, createMutationForCol(getEntryName(path.getName()), id, ts));
+            }
+        }
+
+        // serialized inode, along with its summary
+        addRowMutation(mutationMap, id, inodeCfInUse, createMutationForCol(dataCol, inode.serialize(), ts));
+        addRowMutation(mutationMap, id, inodeCfInUse, createMutationForCol(summaryCol, inode.serializeSummary(), ts));
+
+        try
+        {
+            client.batch_mutate(mutationMap, consistencyLevelWrite);
+        }
+        catch (Exception e)
+        {
+            throw new IOException(e);
+        }
+
+        // Another client may have linked its own new inode at the same time, the last entry written wins
+        if (parentId != null)
+        {
+            ColumnOrSuperColumn entry = performGet(parentId, getEntryPath(path.getName()), consistencyLevelRead);
+
+            if (entry != null && !entry.column.value.equals(id))
+            {
+                Map<ByteBuffer, Map<String, List<Mutation>>> lost = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
+                addRowMutation(lost, id, inodeCfInUse, createRowDeletion(System.currentTimeMillis()));
+
+                try
+                {
+                    client.batch_mutate(lost, consistencyLevelWrite);
+                }
+                catch (Exception e)
+                {
+                    throw new IOException(e);
+                }
+
+                // Overwrite the winner instead, as if it had been created first
+                storeINode(path, inode);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean renameINode(Path src, Path dst) throws IOException
+    {
+        if (src.getParent() == null || dst.getParent() == null)
+            return false;
+
+        ByteBuffer srcParentId = resolve(src.getParent());
+        ByteBuffer dstParentId = resolve(dst.getParent());
+
+        if (srcParentId == null || dstParentId == null)
+            return false;
+
+        ColumnOrSuperColumn entry = performGetWithRetry(srcParentId, getEntryPath(src.getName()));
+
+        if (entry == null)
+            return false;
+
+        ByteBuffer id = entry.column.value;
+        long ts = System.currentTimeMillis();
+
+        forgetPath(src);
+        forgetPath(dst);
+
+        try
+        {
+            // Link first, a failure in between leaves the inode reachable from both paths rather than from none.
+            client.insert(dstParentId, inodeParent, new Column().setName(getEntryName(dst.getName())).setValue(id)
+                    .setTimestamp(ts), consistencyLevelWrite);
+
+            Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
+            addRowMutation(mutationMap, srcParentId, inodeCfInUse, createColumnDeletion(getEntryName(src.getName()), ts));
+
+            // Inodes linked by the layout migration must not be linked back under their old path by a later run.
+            addRowMutation(mutationMap, id, inodeCfInUse, createColumnDeletion(sentCol, ts));
+
+            client.batch_mutate(mutationMap, consistencyLevelWrite);
+        }
+        catch (Exception e)
+        {
+            throw new IOException(e);
+        }
+
+        return true;
+    }
+
+    /**
+     * Creates a mutation for a column <code>colName</code> whose value is <code>value</code> and with
+     * tiemstamp <code>ts</code>.
+     * @param colName column name
+     * @param value column value
+     * @param ts column timestamp
+     * @return a Mutation object
+     */
+    private Mutation createMutationForCol(ByteBuffer colName, ByteBuffer value, long ts) {
+        return new Mutation().setColumn_or_supercolumn(
+                    new ColumnOrSuperColumn().setColumn(
+                        new Column().setName(colName).
+                                     setValue(value).
+                                     setTimestamp(ts)));
+    }
+
+    /**
+     * Print this List by invoking its objects' toString(); using the logger in debug mode.
+     * @param blocks list of blocks to be printed
+     */
+    private void printBlocksDebug(Block[] blocks) {
+        for (Block block : blocks) {
+            logger.debug(block);
+        }
+    }
+
+    static ByteBuffer getPathKey(Path path)
+    {
+        return ByteBufferUtil.bytes(FBUtilities.hashToBigInteger(ByteBufferUtil.bytes(path.toUri().getPath()))
+                .toString(16));
+    }
+
+
+    public static ByteBuffer uuidToByteBuffer(UUID id)
+    {
+        return ByteBufferUtil.bytes(FBUtilities.bytesToHex(UUIDGen.decompose(id)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void deleteSubBlocks(INode inode) throws IOException
+    {
+        if (inode.getBlocks() == null)
+            return;
+
+        Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
+        long ts = System.currentTimeMillis();
+        Mutation deletion = createRowDeletion(ts);
+
+        List<Block> erasureCoded = new ArrayList<Block>();
+
+        for (Block block : inode.getBlocks())
+        {
+            if (block.isErasureCoded())
+                erasureCoded.add(block);
+            else
+                addBlockDeletion(mutationMap, block.id, getSubBlockCf(inode), deletion, ts);
+        }
+
+        try
+        {
+            if (!mutationMap.isEmpty())
+                client.batch_mutate(mutationMap, consistencyLevelWrite);
+        }
+        catch (Exception e)
+        {
+            throw new IOException(e);
+        }
+
+        if (!erasureCoded.isEmpty())
+            getErasureCodedBlocks().delete(erasureCoded);
+    }
+
+    /**
+     * Retrieves a list of UUIDs
+     * @param blocks list of blocks
+     * @return a list of UUID
+     */
+    private List<UUID> getListOfBlockIds(Block[] blocks) {
+		List<UUID> blockIds = new ArrayList<UUID>(blocks.length);
+		for (Block aBlock : blocks) {
+			blockIds.add(aBlock.id);
+		}
+		return blockIds;
+	}
+
+    /**
+     * {@inheritDoc}
+     */
+    public void deleteINode(Path path) throws IOException
+    {
+        Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
+        long ts = System.currentTimeMillis();
+
+        ByteBuffer id = unlink(path, mutationMap, ts);
+
+        if (id == null)
+            return;
+
+        addRowMutation(mutationMap, id, inodeCfInUse, createRowDeletion(ts));
+
+        try
+        {
+            client.batch_mutate(mutationMap, consistencyLevelWrite);
+        }
+        catch (Exception e)
+        {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Adds the removal of the directory entry of <code>path</code> to <code>mutationMap</code>.
+     *
+     * @return the id of the inode being unlinked or null if <code>path</code> does not exist
+     */
+    private ByteBuffer unlink(Path path, Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap, long ts)
+            throws IOException
+    {
+        if (path.getParent() == null)
+            return rootId;
+
+        forgetPath(path);
+        ByteBuffer parentId = resolve(path.getParent());
+
+        if (parentId == null)
+            return null;
+
+        ColumnOrSuperColumn entry = performGetWithRetry(parentId, getEntryPath(path.getName()));
+
+        if (entry == null)
+            return null;
+
+        addRowMutation(mutationMap, parentId, inodeCfInUse, createColumnDeletion(getEntryName(path.getName()), ts));
+
+        return entry.column.value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void deleteINodeRecursive(Path path) throws IOException
+    {
+        long ts = System.currentTimeMillis();
+
+        // The whole tree disappears at once from the namespace, its rows are removed afterwards.
+        Map<ByteBuffer, Map<String, List<Mutation>>> unlink = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
+        ByteBuffer id = unlink(path, unlink, ts);
+
+        if (id == null)
+            return;
+
+        INode inode = retrieveINode(id);
+
+        try
+        {
+            if (!unlink.isEmpty())
+                client.batch_mutate(unlink, consistencyLevelWrite);
+        }
+        catch (Exception e)
+        {
+            throw new IOException(e);
+        }
+
+        List<ResolvedINode> subTree = new ArrayList<ResolvedINode>();
+        subTree.add(new ResolvedINode(path, id, inode));
+
+        if (inode != null && inode.isDirectory())
+            subTree.addAll(listSubTree(path, id, true, false));
+
+        Mutation deletion = createRowDeletion(ts);
+
+        // Shards have rows of their own, removed once the inodes are gone
+        List<Block> erasureCoded = new ArrayList<Block>();
+
+        List<Map<ByteBuffer, Map<String, List<Mutation>>>> batches = new ArrayList<Map<ByteBuffer, Map<String, List<Mutation>>>>();
+        Map<ByteBuffer, Map<String, List<Mutation>>> batch = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
+
+        for (ResolvedINode resolved : subTree)
+        {
+            // Keep an inode and its blocks in the same batch so a failure leaves as little garbage as possible.
+            if (batch.size() >= deleteBatchSize)
+            {
+                batches.add(batch);
+                batch = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
+            }
+
+            addRowMutation(batch, resolved.id, inodeCfInUse, deletion);
+
+            Block[] blocks = resolved.inode == null ? null : resolved.inode.getBlocks();
+            if (blocks != null)
+            {
+                for (Block block : blocks)
+                {
+                    if (block.isErasureCoded())
+                        erasureCoded.add(block);
+                    else
+                        addBlockDeletion(batch, block.id, getSubBlockCf(resolved.inode), deletion, ts);
+                }
+            }
+        }
+
+        if (!batch.isEmpty())
+            batches.add(batch);
+
+        if (logger.isDebugEnabled())
+            logger.debug("Deleting " + subTree.size() + " inodes in " + batches.size() + " batches");
+
+        if (batches.size() == 1 || deleteThreads <= 1)
+        {
+            try
+            {
+                for (Map<ByteBuffer, Map<String, List<Mutation>>> b : batches)
+                    client.batch_mutate(b, consistencyLevelWrite);
+            }
+            catch (Exception e)
+            {
+                throw new IOException(e);
+            }
+        }
+        else
+        {
+            executeInParallel(batches);
+        }
+
+        if (!erasureCoded.isEmpty())
+            getErasureCodedBlocks().delete(erasureCoded);
+    }
 
-        try
+    /**
+     * Sends the batches over up to <code>deleteThreads</code> connections at the same time and waits for all of
+     * them to complete.
+     */
+    private void executeInParallel(List<Map<ByteBuffer, Map<String, List<Mutation>>>> batches) throws IOException
+    {
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(batches.size());
+
+        for (final Map<ByteBuffer, Map<String, List<Mutation>>> batch : batches)
         {
-            client.insert(
-                parentBlockId,
-                sblockParent,
-                new Column().setName(uuidToByteBuffer(sblock.id)).setValue(compressedData).setTimestamp(System.currentTimeMillis()),
-                consistencyLevelWrite);
+            tasks.add(new Callable<Void>() {
+                public Void call() throws Exception
+                {
+                    Brisk.Iface deleteClient = borrowClient();
+                    try
+                    {
+                        deleteClient.batch_mutate(batch, consistencyLevelWrite);
+                    }
+                    finally
+                    {
+                        extraClients.offer(deleteClient);
+                    }
+                    return null;
+                }
+            });
         }
-        catch (Exception e)
+
+        invokeAll(tasks, deleteThreads);
+    }
+
+    private Brisk.Iface borrowClient() throws Exception
+    {
+        Brisk.Iface extraClient = extraClients.poll();
+
+        if (extraClient == null)
         {
-            throw new IOException(e);
+            extraClient = createClient();
+            extraClient.set_keyspace(keySpace);
         }
+
+        return extraClient;
     }
 
-    public void storeINode(Path path, INode inode) throws IOException
+    private Brisk.Iface borrowHostClient(String host) throws Exception
     {
+        Queue<Brisk.Iface> clients = hostClients.get(host);
+        Brisk.Iface hostClient = clients == null ? null : clients.poll();
 
-        if (logger.isDebugEnabled() && inode.getBlocks() != null) {
-            logger.debug("Writing inode to: " + path);
-        	printBlocksDebug(inode.getBlocks());
+        if (hostClient == null)
+        {
+            hostClient = CassandraProxyClient.newProxyConnection(host, port, true, ConnectionStrategy.STICKY);
+            hostClient.set_keyspace(keySpace);
         }
 
-        // Inode row key
-        ByteBuffer pathKey = getPathKey(path);
-
-        ByteBuffer data = inode.serialize();
+        return hostClient;
+    }
 
-        Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
-        Map<String, List<Mutation>> pathMutations = new HashMap<String, List<Mutation>>();
-        List<Mutation> mutations = new ArrayList<Mutation>();
+    private void releaseHostClient(String host, Brisk.Iface hostClient)
+    {
+        Queue<Brisk.Iface> clients = hostClients.get(host);
 
-        // setup mutation map
-        pathMutations.put(inodeCfInUse, mutations);
-        mutationMap.put(pathKey, pathMutations);
+        if (clients == null)
+        {
+            clients = new ConcurrentLinkedQueue<Brisk.Iface>();
+            Queue<Brisk.Iface> previous = hostClients.putIfAbsent(host, clients);
 
-        long ts = System.currentTimeMillis();
+            if (previous != null)
+                clients = previous;
+        }
 
-        // file name
-        mutations.add(createMutationForCol(pathCol, ByteBufferUtil.bytes(path.toUri().getPath()), ts));
+        clients.offer(hostClient);
+    }
 
-        // Parent name for this file
-        mutations.add(createMutationForCol(parentPathCol, ByteBufferUtil.bytes(getParentForIndex(path)), ts));
+    /**
+     * Unless asynchronous deletes are off, the block row is left to the reclamation service and only a queue entry
+     * naming the sblocks CF it lives in is written.
+     */
+    private void addBlockDeletion(Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap, UUID blockId,
+            String sblockCf, Mutation deletion, long ts)
+    {
+        if (asyncDeletes)
+            addRowMutation(mutationMap, uuidToByteBuffer(blockId), reclaimCf,
+                    createMutationForCol(ByteBufferUtil.bytes(sblockCf), ByteBufferUtil.EMPTY_BYTE_BUFFER, ts));
+        else
+            addRowMutation(mutationMap, uuidToByteBuffer(blockId), sblockCf, deletion);
+    }
 
-        // sentinal
-        mutations.add(createMutationForCol(sentCol, sentinelValue, ts));
+    private Mutation createRowDeletion(long ts)
+    {
+        return new Mutation().setDeletion(new Deletion().setTimestamp(ts));
+    }
 
-        // serialized inode
-        mutations.add(createMutationForCol(dataCol, data, ts));
+    private Mutation createColumnDeletion(ByteBuffer colName, long ts)
+    {
+        return new Mutation().setDeletion(new Deletion().setTimestamp(ts).setPredicate(
+                new SlicePredicate().setColumn_names(Arrays.asList(colName))));
+    }
 
-        try
+    private void addRowMutation(Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap, ByteBuffer key, String cf,
+            Mutation mutation)
+    {
+        Map<String, List<Mutation>> cfMutations = mutationMap.get(key);
+        if (cfMutations == null)
         {
-            client.batch_mutate(mutationMap, consistencyLevelWrite);
+            cfMutations = new HashMap<String, List<Mutation>>();
+            mutationMap.put(key, cfMutations);
         }
-        catch (Exception e)
+
+        List<Mutation> mutations = cfMutations.get(cf);
+        if (mutations == null)
         {
-            throw new IOException(e);
+            mutations = new ArrayList<Mutation>();
+            cfMutations.put(cf, mutations);
         }
+
+        mutations.add(mutation);
     }
 
-    /**
-     * @param path a Path
-     * @return the parent to the <code>path</code> or null if the <code>path</code> represents the root.
-     */
-    private String getParentForIndex(Path path) {
-        Path parent = path.getParent();
+    public Set<Path> listDeepSubPaths(Path path) throws IOException
+    {
+        ByteBuffer id = resolve(path);
 
-        if (parent == null)
-        {
-            return "null";
-        }
+        if (id == null)
+            return new HashSet<Path>();
 
-        return parent.toUri().getPath();
+        List<ResolvedINode> subTree = listSubTree(path, id, true, true);
+        Set<Path> matches = new HashSet<Path>(subTree.size());
+
+        for (ResolvedINode resolved : subTree)
+            matches.add(resolved.path);
+
+        return matches;
     }
 
     /**
-     * Creates a mutation for a column <code>colName</code> whose value is <code>value</code> and with
-     * tiemstamp <code>ts</code>.
-     * @param colName column name
-     * @param value column value
-     * @param ts column timestamp
-     * @return a Mutation object
+     * {@inheritDoc}
      */
-    private Mutation createMutationForCol(ByteBuffer colName, ByteBuffer value, long ts) {
-        return new Mutation().setColumn_or_supercolumn(
-                    new ColumnOrSuperColumn().setColumn(
-                        new Column().setName(colName).
-                                     setValue(value).
-                                     setTimestamp(ts)));
+    public Map<Path, INode> listDeepSubINodes(Path path) throws IOException
+    {
+        ByteBuffer id = resolve(path);
+
+        if (id == null)
+            return new HashMap<Path, INode>();
+
+        return toINodeMap(listSubTree(path, id, true, false));
+    }
+
+    public Set<Path> listSubPaths(Path path) throws IOException
+    {
+        ByteBuffer id = resolve(path);
+
+        if (id == null)
+            return new HashSet<Path>();
+
+        Path parent = new Path(path.toUri().getPath());
+        Set<Path> matches = new HashSet<Path>();
+
+        for (String name : getEntries(Arrays.asList(id)).get(id).keySet())
+            matches.add(new Path(parent, name));
+
+        return matches;
     }
 
     /**
-     * Print this List by invoking its objects' toString(); using the logger in debug mode.
-     * @param blocks list of blocks to be printed
+     * {@inheritDoc}
      */
-    private void printBlocksDebug(Block[] blocks) {
-        for (Block block : blocks) {
-            logger.debug(block);
-        }
+    public Map<Path, INode> listSubINodes(Path path) throws IOException
+    {
+        ByteBuffer id = resolve(path);
+
+        if (id == null)
+            return new HashMap<Path, INode>();
+
+        return toINodeMap(listSubTree(path, id, false, true));
     }
 
-    ByteBuffer getPathKey(Path path)
+    private Map<Path, INode> toINodeMap(List<ResolvedINode> resolved)
     {
-        return ByteBufferUtil.bytes(FBUtilities.hashToBigInteger(ByteBufferUtil.bytes(path.toUri().getPath()))
-                .toString(16));
-    }
+        Map<Path, INode> inodes = new HashMap<Path, INode>(resolved.size());
 
+        for (ResolvedINode r : resolved)
+            inodes.put(r.path, r.inode);
 
-    ByteBuffer uuidToByteBuffer(UUID id)
-    {
-        return ByteBufferUtil.bytes(FBUtilities.bytesToHex(UUIDGen.decompose(id)));
+        return inodes;
     }
 
     /**
-     * {@inheritDoc}
+     * Lists the inodes below the directory <code>id</code> linked at <code>path</code>, one level of the tree at a
+     * time. Each level costs a multiget of the directory entries and one of the inodes they point at.
+     *
+     * @param deep false to stop at the direct children
+     * @param summaries true to only read the inode summaries, leaving the blocks out
      */
-    public void deleteSubBlocks(INode inode) throws IOException
+    private List<ResolvedINode> listSubTree(Path path, ByteBuffer id, boolean deep, boolean summaries)
+            throws IOException
     {
-        // Get all the SubBlock keys to delete.
-        List<UUID> subBlockKeys = getListOfBlockIds(inode.getBlocks());
-        try
+        List<ResolvedINode> subTree = new ArrayList<ResolvedINode>();
+        Map<ByteBuffer, Path> dirs = new HashMap<ByteBuffer, Path>();
+        dirs.put(id, new Path(path.toUri().getPath()));
+
+        while (!dirs.isEmpty())
         {
-            // TODO (patricioe) can we send one big batch mutation  here ?
-            for (UUID subBlocksKey : subBlockKeys) {
-                client.remove(ByteBuffer.wrap(UUIDGen.decompose(subBlocksKey)), sblockPath, System.currentTimeMillis(),
-                        consistencyLevelWrite);
+            Map<ByteBuffer, Map<String, ByteBuffer>> entries = getEntries(new ArrayList<ByteBuffer>(dirs.keySet()));
+
+            Map<ByteBuffer, Path> children = new HashMap<ByteBuffer, Path>();
+            for (Map.Entry<ByteBuffer, Path> dir : dirs.entrySet())
+            {
+                for (Map.Entry<String, ByteBuffer> entry : entries.get(dir.getKey()).entrySet())
+                    children.put(entry.getValue(), new Path(dir.getValue(), entry.getKey()));
+            }
+
+            Map<ByteBuffer, INode> inodes = summaries ? multigetINodeSummaries(children.keySet()) : multigetINodes(
+                    children.keySet(), dataPredicate);
+
+            dirs = new HashMap<ByteBuffer, Path>();
+            for (Map.Entry<ByteBuffer, Path> child : children.entrySet())
+            {
+                INode inode = inodes.get(child.getKey());
+
+                // dangling entry
+                if (inode == null)
+                    continue;
+
+                subTree.add(new ResolvedINode(child.getValue(), child.getKey(), inode));
+
+                if (deep && inode.isDirectory())
+                    dirs.put(child.getKey(), child.getValue());
             }
         }
-        catch (Exception e)
-        {
-            throw new IOException(e);
-        }
-    }
 
-    /**
-     * Retrieves a list of UUIDs
-     * @param blocks list of blocks
-     * @return a list of UUID
-     */
-    private List<UUID> getListOfBlockIds(Block[] blocks) {
-		List<UUID> blockIds = new ArrayList<UUID>(blocks.length);
-		for (Block aBlock : blocks) {
-			blockIds.add(aBlock.id);
-		}
-		return blockIds;
-	}
+        return subTree;
+    }
 
     /**
-     * {@inheritDoc}
+     * Reads the directory entries of <code>ids</code>. Directories returning a full page are read again page by
+     * page.
+     *
+     * @return name to inode id entries of every directory
      */
-    public void deleteINode(Path path) throws IOException
+    private Map<ByteBuffer, Map<String, ByteBuffer>> getEntries(List<ByteBuffer> ids) throws IOException
     {
+        Map<ByteBuffer, Map<String, ByteBuffer>> entries = new HashMap<ByteBuffer, Map<String, ByteBuffer>>();
+
         try
         {
-            client.remove(getPathKey(path), inodePath, System.currentTimeMillis(), consistencyLevelWrite);
+            for (int i = 0; i < ids.size(); i += listPageSize)
+            {
+                List<ByteBuffer> keys = ids.subList(i, Math.min(ids.size(), i + listPageSize));
+                SlicePredicate predicate = new SlicePredicate().setSlice_range(new SliceRange(entryStart, entryEnd,
+                        false, listPageSize));
+
+                Map<ByteBuffer, List<ColumnOrSuperColumn>> rows = client.multiget_slice(keys, inodeParent, predicate,
+                        consistencyLevelRead);
+
+                for (ByteBuffer key : keys)
+                {
+                    Map<String, ByteBuffer> dirEntries = new HashMap<String, ByteBuffer>();
+                    entries.put(key, dirEntries);
+
+                    List<ColumnOrSuperColumn> columns = rows.get(key);
+
+                    while (columns != null)
+                    {
+                        // The first column of a following page is the last one of the previous page, adding it
+                        // twice is harmless
+                        for (ColumnOrSuperColumn cosc : columns)
+                            dirEntries.put(ByteBufferUtil.string(cosc.column.name).substring(entryPrefix.length()),
+                                    cosc.column.value);
+
+                        if (columns.size() < listPageSize)
+                            break;
+
+                        predicate.getSlice_range().setStart(columns.get(columns.size() - 1).column.name);
+                        columns = client.get_slice(key, inodeParent, predicate, consistencyLevelRead);
+                    }
+                }
+            }
         }
         catch (Exception e)
         {
             throw new IOException(e);
         }
+
+        return entries;
     }
 
-    public Set<Path> listDeepSubPaths(Path path) throws IOException
+    private Map<ByteBuffer, INode> multigetINodeSummaries(Collection<ByteBuffer> ids) throws IOException
     {
-        String startPath = path.toUri().getPath();
-
-        List<IndexExpression> indexExpressions = new ArrayList<IndexExpression>();
+        Map<ByteBuffer, INode> inodes = multigetINodes(ids, summaryPredicate);
 
-        indexExpressions.add(new IndexExpression(sentCol, IndexOperator.EQ, sentinelValue));
-        indexExpressions.add(new IndexExpression(pathCol, IndexOperator.GT, ByteBufferUtil.bytes(startPath)));
-
-        // Limit listings to this root by incrementing the last char
-        if (startPath.length() > 1)
+        // Inodes stored before summaries only have their data column
+        if (inodes.size() < ids.size())
         {
-            String endPath = startPath.substring(0, startPath.length() - 1)
-                    + new Character((char) (startPath.charAt(startPath.length() - 1) + 1));
-
-            indexExpressions.add(new IndexExpression(pathCol, IndexOperator.LT, ByteBufferUtil.bytes(endPath)));
+            List<ByteBuffer> missing = new ArrayList<ByteBuffer>();
+            for (ByteBuffer id : ids)
+            {
+                if (!inodes.containsKey(id))
+                    missing.add(id);
+            }
+            inodes.putAll(multigetINodes(missing, dataPredicate));
         }
 
-        try
-        {
-            List<KeySlice> keys = client.get_indexed_slices(inodeParent, new IndexClause(indexExpressions,
-                    ByteBufferUtil.EMPTY_BYTE_BUFFER, 100000), pathPredicate, consistencyLevelRead);
+        return inodes;
+    }
 
-            Set<Path> matches = new HashSet<Path>(keys.size());
+    /**
+     * @param predicate selects either the data or the summary column
+     */
+    private Map<ByteBuffer, INode> multigetINodes(Collection<ByteBuffer> ids, SlicePredicate predicate)
+            throws IOException
+    {
+        Map<ByteBuffer, INode> inodes = new HashMap<ByteBuffer, INode>(ids.size());
+        List<ByteBuffer> keys = new ArrayList<ByteBuffer>(ids);
 
-            for (KeySlice key : keys)
+        try
+        {
+            for (int i = 0; i < keys.size(); i += listPageSize)
             {
-                for (ColumnOrSuperColumn cosc : key.getColumns())
+                Map<ByteBuffer, List<ColumnOrSuperColumn>> rows = client.multiget_slice(keys.subList(i, Math.min(
+                        keys.size(), i + listPageSize)), inodeParent, predicate, consistencyLevelRead);
+
+                for (Map.Entry<ByteBuffer, List<ColumnOrSuperColumn>> row : rows.entrySet())
                 {
-                    matches.add(new Path(ByteBufferUtil.string(cosc.column.value)));
+                    INode inode = toINode(row.getValue());
+
+                    if (inode != null)
+                        inodes.put(row.getKey(), inode);
                 }
             }
-
-            return matches;
         }
         catch (Exception e)
         {
             throw new IOException(e);
         }
-    }
 
+        return inodes;
+    }
 
-    public Set<Path> listSubPaths(Path path) throws IOException
+    /**
+     * Before directory entries, inodes were keyed by their path and only reachable through the path index. Links
+     * every such inode into its parent, its path key becoming its id, then flags the root so this only runs once.
+     * Running it several times concurrently is harmless.
+     */
+    private void checkLayout() throws IOException
     {
+        ColumnPath layoutPath = new ColumnPath(inodeCfInUse).setColumn(layoutCol);
 
-        String startPath = path.toUri().getPath();
+        if (performGetWithRetry(rootId, layoutPath) != null)
+            return;
 
-        List<IndexExpression> indexExpressions = new ArrayList<IndexExpression>();
-
-        indexExpressions.add(new IndexExpression(sentCol, IndexOperator.EQ, sentinelValue));
-        indexExpressions.add(new IndexExpression(parentPathCol, IndexOperator.EQ, ByteBufferUtil.bytes(startPath)));
+        List<IndexExpression> indexExpressions = Arrays.asList(new IndexExpression(sentCol, IndexOperator.EQ,
+                sentinelValue));
+        ByteBuffer startKey = ByteBufferUtil.EMPTY_BYTE_BUFFER;
+        int linked = 0;
 
         try
         {
-            List<KeySlice> keys = client.get_indexed_slices(inodeParent, new IndexClause(indexExpressions,
-                    ByteBufferUtil.EMPTY_BYTE_BUFFER, 100000), pathPredicate, consistencyLevelRead);
+            while (true)
+            {
+                List<KeySlice> keys = client.get_indexed_slices(inodeParent, new IndexClause(indexExpressions,
+                        startKey, listPageSize), pathPredicate, consistencyLevelRead);
 
-            Set<Path> matches = new HashSet<Path>(keys.size());
+                Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
+                long ts = System.currentTimeMillis();
 
-            for (KeySlice key : keys)
-            {
-                for (ColumnOrSuperColumn cosc : key.getColumns())
+                for (KeySlice key : keys)
                 {
-                    matches.add(new Path(ByteBufferUtil.string(cosc.column.value)));
+                    if (key.key.equals(startKey) || key.getColumns().isEmpty())
+                        continue;
+
+                    Path path = new Path(ByteBufferUtil.string(key.getColumns().get(0).column.value));
+
+                    if (path.getParent() == null)
+                        continue;
+
+                    addRowMutation(mutationMap, getPathKey(path.getParent()), inodeCfInUse, createMutationForCol(
+                            getEntryName(path.getName()), key.key, ts));
+                    linked++;
                 }
+
+                if (!mutationMap.isEmpty())
+                    client.batch_mutate(mutationMap, consistencyLevelWrite);
+
+                if (keys.size() < listPageSize)
+                    break;
+
+                startKey = keys.get(keys.size() - 1).key;
             }
 
-            return matches;
+            client.insert(rootId, inodeParent, new Column().setName(layoutCol).setValue(layoutVersion).setTimestamp(
+                    System.currentTimeMillis()), consistencyLevelWrite);
         }
         catch (Exception e)
         {
             throw new IOException(e);
         }
+
+        if (linked > 0)
+            logger.info("Linked " + linked + " inodes of " + inodeCfInUse + " into their parent directory");
+    }
+
+    /**
+     * An inode along with the path it was found at and the id of its row.
+     */
+    private static class ResolvedINode
+    {
+        final Path       path;
+        final ByteBuffer id;
+        final INode      inode;
+
+        ResolvedINode(Path path, ByteBuffer id, INode inode)
+        {
+            this.path = path;
+            this.id = id;
+            this.inode = inode;
+        }
     }
 
     public String getVersion() throws IOException
@@ -811,6 +2542,15 @@ public class CassandraFileSystemThriftStore implements CassandraFileSystemStore
         {
             List<List<String>> blockEndpoints = ((Brisk.Iface) client).describe_keys(keySpace, blockKeys);
 
+            // The data of an erasure coded block is in its shards, not in the sblocks CFs
+            for (int i = 0; i < blocks.size(); i++)
+            {
+                if (blocks.get(i).isErasureCoded())
+                    blockEndpoints.set(i, getShardHosts(blocks.get(i)));
+            }
+
+            resolveNetworkLocations(blockEndpoints);
+
             for (int i = 0; i < blockEndpoints.size(); i++)
             {
                 List<String> endpoints = blockEndpoints.get(i);
@@ -818,8 +2558,7 @@ public class CassandraFileSystemThriftStore implements CassandraFileSystemStore
 
                 long offset = (i == 0 && b.offset > start) ? start : b.offset;
 
-                // TODO: Add topology info if at all possible?
-                locations[i] = new BlockLocation(null, endpoints.toArray(new String[0]), offset, b.length);
+                locations[i] = newBlockLocation(endpoints, offset, b.length);
             }
 
             return locations;
@@ -830,4 +2569,125 @@ public class CassandraFileSystemThriftStore implements CassandraFileSystemStore
         }
 
     }
+
+    /**
+     * @return the nodes holding the data shards of an erasure coded block, those holding the most shards first
+     */
+    private List<String> getShardHosts(Block block) throws Exception
+    {
+        List<ByteBuffer> shardKeys = new ArrayList<ByteBuffer>(block.subBlocks.length);
+
+        for (UUID shardId : block.getDataShardIds())
+            shardKeys.add(uuidToByteBuffer(shardId));
+
+        // In the order the hosts are first met, the closest replica of each shard comes first
+        final Map<String, Integer> shards = new LinkedHashMap<String, Integer>();
+
+        for (List<String> hosts : client.describe_keys(ErasureCodedBlocks.keySpace, shardKeys))
+        {
+            for (String host : hosts)
+            {
+                Integer count = shards.get(host);
+                shards.put(host, count == null ? 1 : count + 1);
+            }
+        }
+
+        List<String> hosts = new ArrayList<String>(shards.keySet());
+
+        Collections.sort(hosts, new Comparator<String>() {
+            public int compare(String a, String b)
+            {
+                return shards.get(b) - shards.get(a);
+            }
+        });
+
+        return hosts;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<BlockLocation[]> getBlockLocations(List<Path> paths) throws IOException
+    {
+        List<BlockLocation[]> locations = new ArrayList<BlockLocation[]>(paths.size());
+
+        try
+        {
+            for (int i = 0; i < paths.size(); i += locationBatchSize)
+            {
+                List<String> batch = new ArrayList<String>(locationBatchSize);
+
+                for (Path path : paths.subList(i, Math.min(i + locationBatchSize, paths.size())))
+                    batch.add(path.toUri().getPath());
+
+                for (List<CfsBlockLocation> blocks : client.describe_cfs_locations(batch, storageTypeInUse,
+                        consistencyLevelRead))
+                {
+                    BlockLocation[] fileLocations = new BlockLocation[blocks.size()];
+
+                    for (int j = 0; j < fileLocations.length; j++)
+                    {
+                        CfsBlockLocation block = blocks.get(j);
+
+                        for (int k = 0; k < block.hosts.size(); k++)
+                            networkLocations.put(block.hosts.get(k), block.network_locations.get(k));
+
+                        fileLocations[j] = newBlockLocation(block.hosts, block.offset, block.length);
+                    }
+
+                    locations.add(fileLocations);
+                }
+            }
+        }
+        catch (Exception e)
+        {
+            throw new IOException(e);
+        }
+
+        return locations;
+    }
+
+    /**
+     * Same shape as HDFS: host:port names and /datacenter/rack/host:port topology paths.
+     */
+    private BlockLocation newBlockLocation(List<String> endpoints, long offset, long length)
+    {
+        String[] hosts = endpoints.toArray(new String[endpoints.size()]);
+        String[] names = new String[hosts.length];
+        String[] topologyPaths = new String[hosts.length];
+
+        for (int i = 0; i < hosts.length; i++)
+        {
+            names[i] = hosts[i] + ":" + port;
+            topologyPaths[i] = networkLocations.get(hosts[i]) + "/" + names[i];
+        }
+
+        return new BlockLocation(names, hosts, topologyPaths, offset, length);
+    }
+
+    /**
+     * Asks the cluster for the network location of every host not seen before.
+     */
+    private void resolveNetworkLocations(List<List<String>> blockEndpoints) throws InvalidRequestException, TException
+    {
+        Set<String> unresolved = new HashSet<String>();
+
+        for (List<String> endpoints : blockEndpoints)
+        {
+            for (String endpoint : endpoints)
+            {
+                if (!networkLocations.containsKey(endpoint))
+                    unresolved.add(endpoint);
+            }
+        }
+
+        if (unresolved.isEmpty())
+            return;
+
+        List<String> hosts = new ArrayList<String>(unresolved);
+        List<String> locations = client.describe_network_locations(hosts);
+
+        for (int i = 0; i < hosts.size(); i++)
+            networkLocations.put(hosts.get(i), locations.get(i));
+    }
 }
@@ -17,14 +17,21 @@
  */
 package org.apache.cassandra.hadoop.fs;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSInputStream;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.io.IOUtils;
 
-public class CassandraInputStream extends FSInputStream
+public class CassandraInputStream extends FSInputStream implements ByteBufferReadable
 {
 
     private CassandraFileSystemStore store;
@@ -43,6 +50,16 @@ public class CassandraInputStream extends FSInputStream
 
     private FileSystem.Statistics    stats;
 
+    // Ranges of a vectored read closer than that in a sub block are read together
+    private final int                mergeGap;
+
+    // All the sub blocks of the file and where they start, indexed on the first vectored read
+    private Block[]                  subBlockParents;
+
+    private SubBlock[]               subBlocks;
+
+    private long[]                   subBlockStarts;
+
     @Deprecated
     public CassandraInputStream(Configuration conf, CassandraFileSystemStore store, INode inode)
     {
@@ -55,6 +72,7 @@ public class CassandraInputStream extends FSInputStream
 
         this.store = store;
         this.stats = stats;
+        this.mergeGap = conf.getInt("brisk.read.merge.gap", 64 * 1024);
         this.blocks = inode.getBlocks();
         for (Block block : blocks)
         {
@@ -146,6 +164,285 @@ public class CassandraInputStream extends FSInputStream
         return -1;
     }
 
+    public synchronized int read(ByteBuffer buf) throws IOException
+    {
+        ByteBuffer data = readBuffer(buf.remaining());
+
+        if (data == null)
+            return -1;
+
+        int result = data.remaining();
+        buf.put(data);
+        return result;
+    }
+
+    public synchronized ByteBuffer readBuffer(int maxLength) throws IOException
+    {
+        if (closed)
+        {
+            throw new IOException("Stream closed");
+        }
+        if (pos < fileLength)
+        {
+            if (pos > blockEnd)
+            {
+                blockSeekTo(pos);
+            }
+            int realLen = Math.min(maxLength, (int) Math.min(blockEnd - pos + 1, Integer.MAX_VALUE));
+            ByteBuffer result;
+            if (blockStream instanceof ByteBufferReadable)
+            {
+                result = ((ByteBufferReadable) blockStream).readBuffer(realLen);
+            }
+            else
+            {
+                byte[] bytes = new byte[realLen];
+                int len = blockStream.read(bytes);
+                result = len < 0 ? null : ByteBuffer.wrap(bytes, 0, len).asReadOnlyBuffer();
+            }
+            if (result != null)
+            {
+                pos += result.remaining();
+            }
+            if (stats != null && result != null && result.remaining() > 0)
+            {
+                stats.incrementBytesRead(result.remaining());
+            }
+            return result;
+        }
+        return null;
+    }
+
+    /**
+     * Positional reads only fetch the bytes asked for from the sub block holding
+     * position, instead of the whole rest of the sub block.
+     */
+    @Override
+    public int read(long position, byte buf[], int off, int len) throws IOException
+    {
+        if (closed)
+        {
+            throw new IOException("Stream closed");
+        }
+        if (position < 0 || position >= fileLength)
+        {
+            return -1;
+        }
+        if (len == 0)
+        {
+            return 0;
+        }
+
+        long blockStart = 0;
+        for (Block block : blocks)
+        {
+            if (position < blockStart + block.length)
+            {
+                long subBlockStart = blockStart;
+                for (SubBlock subBlock : block.subBlocks)
+                {
+                    if (position < subBlockStart + subBlock.length)
+                    {
+                        long offsetIntoSubBlock = position - subBlockStart;
+                        int realLen = (int) Math.min(len, subBlock.length - offsetIntoSubBlock);
+
+                        InputStream in = store.retrieveSubBlock(block, subBlock, offsetIntoSubBlock, realLen);
+                        try
+                        {
+                            IOUtils.readFully(in, buf, off, realLen);
+                        }
+                        finally
+                        {
+                            in.close();
+                        }
+
+                        if (stats != null)
+                        {
+                            stats.incrementBytesRead(realLen);
+                        }
+                        return realLen;
+                    }
+                    subBlockStart += subBlock.length;
+                }
+            }
+            blockStart += block.length;
+        }
+        throw new IOException("Impossible situation: could not find target position " + position);
+    }
+
+    /**
+     * Reads many ranges of the file at once. The ranges are cut along sub blocks, the ones
+     * closer than brisk.read.merge.gap bytes in a sub block are read together and the reads
+     * run in parallel. Each range is copied into its buffer as soon as the reads covering it
+     * are done, this returns once all of them are.
+     */
+    public void readVectored(List<FileRange> ranges) throws IOException
+    {
+        if (closed)
+        {
+            throw new IOException("Stream closed");
+        }
+
+        indexSubBlocks();
+
+        List<RangePiece> pieces = new ArrayList<RangePiece>();
+        long bytes = 0;
+
+        for (FileRange range : ranges)
+        {
+            if (range.offset < 0 || range.offset + range.length > fileLength)
+            {
+                throw new EOFException(range + " is out of the file of length " + fileLength);
+            }
+
+            long position = range.offset;
+            long end = range.offset + range.length;
+
+            while (position < end)
+            {
+                int index = Arrays.binarySearch(subBlockStarts, position);
+                if (index < 0)
+                {
+                    index = -index - 2;
+                }
+
+                long offsetIntoSubBlock = position - subBlockStarts[index];
+                int len = (int) Math.min(end - position, subBlocks[index].length - offsetIntoSubBlock);
+
+                pieces.add(new RangePiece(index, offsetIntoSubBlock, len, range, (int) (position - range.offset)));
+                position += len;
+            }
+            bytes += range.length;
+        }
+
+        Collections.sort(pieces);
+
+        List<MergedRange> reads = new ArrayList<MergedRange>();
+        List<RangePiece> merged = new ArrayList<RangePiece>();
+        long mergedEnd = 0;
+
+        for (RangePiece piece : pieces)
+        {
+            if (!merged.isEmpty()
+                    && (merged.get(0).index != piece.index || piece.offset > mergedEnd + mergeGap))
+            {
+                reads.add(new MergedRange(subBlockParents, subBlocks, merged, mergedEnd));
+                merged = new ArrayList<RangePiece>();
+            }
+
+            mergedEnd = merged.isEmpty() ? piece.offset + piece.length : Math.max(mergedEnd, piece.offset + piece.length);
+            merged.add(piece);
+        }
+
+        if (!merged.isEmpty())
+        {
+            reads.add(new MergedRange(subBlockParents, subBlocks, merged, mergedEnd));
+        }
+
+        store.retrieveSubBlockRanges(reads);
+
+        if (stats != null)
+        {
+            stats.incrementBytesRead(bytes);
+        }
+    }
+
+    private synchronized void indexSubBlocks()
+    {
+        if (subBlocks != null)
+        {
+            return;
+        }
+
+        List<Block> parents = new ArrayList<Block>();
+        List<SubBlock> all = new ArrayList<SubBlock>();
+        for (Block block : blocks)
+        {
+            for (SubBlock subBlock : block.subBlocks)
+            {
+                parents.add(block);
+                all.add(subBlock);
+            }
+        }
+
+        long[] starts = new long[all.size()];
+        long start = 0;
+        for (int i = 0; i < starts.length; i++)
+        {
+            starts[i] = start;
+            start += all.get(i).length;
+        }
+
+        subBlockParents = parents.toArray(new Block[parents.size()]);
+        subBlockStarts = starts;
+        subBlocks = all.toArray(new SubBlock[all.size()]);
+    }
+
+    /**
+     * The part of a range that is in a given sub block.
+     */
+    private static class RangePiece implements Comparable<RangePiece>
+    {
+        final int       index;
+        final long      offset;
+        final int       length;
+        final FileRange range;
+        final int       rangeOffset;
+
+        RangePiece(int index, long offset, int length, FileRange range, int rangeOffset)
+        {
+            this.index = index;
+            this.offset = offset;
+            this.length = length;
+            this.range = range;
+            this.rangeOffset = rangeOffset;
+        }
+
+        public int compareTo(RangePiece other)
+        {
+            if (index != other.index)
+            {
+                return index < other.index ? -1 : 1;
+            }
+            return offset < other.offset ? -1 : (offset == other.offset ? 0 : 1);
+        }
+    }
+
+    /**
+     * Range pieces of a sub block read at once, copied to their buffers once read.
+     */
+    private static class MergedRange extends SubBlockRange
+    {
+        private final List<RangePiece> pieces;
+
+        MergedRange(Block[] parents, SubBlock[] subBlocks, List<RangePiece> pieces, long end)
+        {
+            super(parents[pieces.get(0).index], subBlocks[pieces.get(0).index], pieces.get(0).offset,
+                    (int) (end - pieces.get(0).offset));
+            this.pieces = pieces;
+        }
+
+        @Override
+        public void completed(ByteBuffer data) throws IOException
+        {
+            if (data.remaining() < length)
+            {
+                throw new EOFException("Got " + data.remaining() + " bytes of " + this);
+            }
+
+            for (RangePiece piece : pieces)
+            {
+                ByteBuffer src = data.duplicate();
+                src.position(data.position() + (int) (piece.offset - offset));
+                src.limit(src.position() + piece.length);
+
+                ByteBuffer dst = piece.range.buffer.duplicate();
+                dst.position(dst.position() + piece.rangeOffset);
+                dst.put(src);
+            }
+        }
+    }
+
     private synchronized void blockSeekTo(long target) throws IOException
     {
     	// Close underlying inputStream when switching to the new subBlock.
@@ -282,7 +282,7 @@ public class CassandraOutputStream extends OutputStream
     
     private synchronized void nextSubBlockOutputStream() {
     	// SubBlock  offset ==> bytesWrittenToBlock - bytesWrittenToSubBlock - pos
-        nextSubBlock = new SubBlock(generateTimeUUID(), 
+        nextSubBlock = new SubBlock(SubBlock.deriveId(currentBlockUUID, subBlocks.size()),
                                     bytesWrittenToBlock - bytesWrittenToSubBlock - pos, bytesWrittenToSubBlock);
 
         subBlocks.add(nextSubBlock);
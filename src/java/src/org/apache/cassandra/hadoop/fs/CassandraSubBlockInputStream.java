@@ -19,21 +19,22 @@ package org.apache.cassandra.hadoop.fs;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 /**
  * Inner inputStream for SubBlocks that provides an abstraction to
  * @link {@link CassandraInputStream} to read a flow of data.
  * 
- *  It handles the SubBlock switch and closes the underlying inputstream.
+ *  It handles the SubBlock switch and reads straight from the SubBlock buffers.
  *
  */
-public class CassandraSubBlockInputStream extends InputStream {
+public class CassandraSubBlockInputStream extends InputStream implements ByteBufferReadable {
 	
     private boolean                  closed;
     
     private long                     pos      = 0;
 
-    private InputStream              subBlockStream;
+    private ByteBuffer               subBlockBuffer;
     
     private Block                    block;
     
@@ -66,9 +67,9 @@ public class CassandraSubBlockInputStream extends InputStream {
             {
                 subBlockSeekTo(pos);
             }
-            result = subBlockStream.read();
-            if (result >= 0)
+            if (subBlockBuffer.hasRemaining())
             {
+                result = subBlockBuffer.get() & 0xff;
                 pos++;
             }
         }
@@ -89,24 +90,49 @@ public class CassandraSubBlockInputStream extends InputStream {
             {
             	subBlockSeekTo(pos);
             }
-            int realLen = Math.min(len, (int) (subBlockEnd - pos + 1));
-            int result = subBlockStream.read(buf, off, realLen);
-            if (result >= 0)
+            int realLen = Math.min(len, subBlockBuffer.remaining());
+            subBlockBuffer.get(buf, off, realLen);
+            pos += realLen;
+            return realLen;
+        }
+        return -1;
+    }
+
+    public synchronized int read(ByteBuffer buf) throws IOException
+    {
+        ByteBuffer data = readBuffer(buf.remaining());
+
+        if (data == null)
+            return -1;
+
+        int result = data.remaining();
+        buf.put(data);
+        return result;
+    }
+
+    public synchronized ByteBuffer readBuffer(int maxLength) throws IOException
+    {
+        if (closed)
+        {
+            throw new IOException("Stream closed");
+        }
+        if (pos < block.length)
+        {
+            if (pos > subBlockEnd)
             {
-                pos += result;
+                subBlockSeekTo(pos);
             }
-            return result;
+            ByteBuffer data = subBlockBuffer.duplicate();
+            data.limit(data.position() + Math.min(maxLength, data.remaining()));
+            subBlockBuffer.position(data.limit());
+            pos += data.remaining();
+            return data;
         }
-        return -1;
+        return null;
     }
 	
     private synchronized void subBlockSeekTo(long target) throws IOException
     {
-    	// Close underlying inputStream when switching to the new subBlock.
-        if (this.subBlockStream != null) {
-            this.subBlockStream.close();
-        }
-
         //
         // Compute desired block
         //
@@ -137,7 +163,7 @@ public class CassandraSubBlockInputStream extends InputStream {
 
         this.pos = target;
         this.subBlockEnd = targetSubBlockEnd;
-        this.subBlockStream = store.retrieveSubBlock(block, block.subBlocks[targetSubBlock], offsetIntoSubBlock);
+        this.subBlockBuffer = store.retrieveSubBlockBuffer(block, block.subBlocks[targetSubBlock], offsetIntoSubBlock);
 
     }
 	
@@ -149,10 +175,8 @@ public class CassandraSubBlockInputStream extends InputStream {
             return;
         }
         
-        if (this.subBlockStream != null) {
-            this.subBlockStream.close();
-        }
-       
+        this.subBlockBuffer = null;
+
         super.close();
         closed = true;
     }
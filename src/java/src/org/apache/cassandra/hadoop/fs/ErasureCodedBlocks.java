@@ -0,0 +1,558 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.hadoop.fs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.datastax.brisk.BriskSchema;
+
+import org.apache.cassandra.dht.IPartitioner;
+import org.apache.cassandra.dht.Token;
+import org.apache.cassandra.hadoop.CassandraProxyClient;
+import org.apache.cassandra.locator.BriskSimpleSnitch;
+import org.apache.cassandra.thrift.*;
+import org.apache.cassandra.utils.ByteBufferUtil;
+import org.apache.cassandra.utils.FBUtilities;
+import org.apache.cassandra.utils.UUIDGen;
+import org.apache.log4j.Logger;
+import org.xerial.snappy.Snappy;
+
+/**
+ * Stores blocks erasure coded rather than replicated.
+ *
+ * The sub blocks of a block are grouped in stripes of <code>dataShards</code> sub blocks, which get
+ * <code>parityShards</code> parity shards computed with {@link ReedSolomon}. Every shard, data or
+ * parity, is a row of its own in the sblocks_ec CF of the cfs_ec keyspace, which is not replicated
+ * (cfs.erasure.replication, 1 by default), and the row ids are picked so that the shards of a stripe
+ * land on distinct nodes as far as the ring allows. A 6+3 code so stores 1.5 times the data and
+ * survives the loss of any 3 nodes holding a stripe.
+ *
+ * A sub block whose shard can't be read is rebuilt from any <code>dataShards</code> shards of its
+ * stripe. The shards of the stripe found missing on the way, rather than on a node that is down or
+ * too slow, are written back once rebuilt so the stripe is whole again for the next reads. The
+ * stripe layout is kept in the blocks of the inode, see {@link Block#shardIds}.
+ */
+class ErasureCodedBlocks
+{
+    private static final Logger       logger     = Logger.getLogger(ErasureCodedBlocks.class);
+
+    static final String               keySpace   = "cfs_ec";
+    static final String               shardCf    = "sblocks_ec";
+
+    private static final ColumnPath   shardPath  = new ColumnPath(shardCf).setColumn(CassandraFileSystemThriftStore.dataCol);
+    private static final ColumnParent shardParent = new ColumnParent(shardCf);
+
+    // Candidate row ids looked up per shard to place, in each placement round
+    private static final int          candidatesPerShard = 4;
+    private static final int          placementRounds    = 4;
+
+    // Opens the clients, each call borrows one of its own so that coded reads run concurrently
+    private final Callable<Brisk.Iface> clientFactory;
+    private final Queue<Brisk.Iface>  clients    = new ConcurrentLinkedQueue<Brisk.Iface>();
+    private volatile boolean          closed     = false;
+
+    private final ReedSolomon         codec;
+
+    // Partitioner of the ring, to find the node in charge of a shard
+    private volatile IPartitioner<?>  partitioner;
+
+    /**
+     * @param clientFactory opens the clients of this instance, which are bound to the cfs_ec keyspace and closed
+     *            by {@link #close()}
+     */
+    ErasureCodedBlocks(Callable<Brisk.Iface> clientFactory, int dataShards, int parityShards) throws IOException
+    {
+        this.clientFactory = clientFactory;
+        this.codec = new ReedSolomon(dataShards, parityShards);
+
+        try
+        {
+            Brisk.Iface client = clientFactory.call();
+            checkKeyspace(client);
+            client.set_keyspace(keySpace);
+            clients.offer(client);
+        }
+        catch (IOException e)
+        {
+            throw e;
+        }
+        catch (Exception e)
+        {
+            throw new IOException(e);
+        }
+    }
+
+    private Brisk.Iface borrowClient() throws IOException
+    {
+        Brisk.Iface client = clients.poll();
+
+        if (client != null)
+            return client;
+
+        try
+        {
+            client = clientFactory.call();
+            client.set_keyspace(keySpace);
+
+            return client;
+        }
+        catch (IOException e)
+        {
+            throw e;
+        }
+        catch (Exception e)
+        {
+            throw new IOException(e);
+        }
+    }
+
+    private void releaseClient(Brisk.Iface client)
+    {
+        clients.offer(client);
+
+        // Closed while the client was in use
+        if (closed && clients.remove(client))
+            CassandraProxyClient.close(client);
+    }
+
+    private static void checkKeyspace(Brisk.Iface client) throws Exception
+    {
+        try
+        {
+            client.describe_keyspace(keySpace);
+            return;
+        }
+        catch (NotFoundException e)
+        {
+            // created below
+        }
+
+        CfDef cf = new CfDef();
+        cf.setName(shardCf);
+        cf.setComparator_type("BytesType");
+        cf.setKey_cache_size(0);
+        cf.setRow_cache_size(0);
+        cf.setGc_grace_seconds(60);
+        cf.setComment("Stores the data and parity shards of erasure coded blocks, one per row");
+        cf.setKeyspace(keySpace);
+        cf.setMemtable_flush_after_mins(1);
+        cf.setMemtable_throughput_in_mb(128);
+        // Compacted by the BlockCompactionService
+        cf.setMin_compaction_threshold(0);
+        cf.setMax_compaction_threshold(0);
+
+        Map<String, String> stratOpts = new HashMap<String, String>();
+        stratOpts.put(BriskSimpleSnitch.BRISK_DC, System.getProperty("cfs.erasure.replication", "1"));
+        stratOpts.put(BriskSimpleSnitch.CASSANDRA_DC, "0");
+
+        KsDef ks = new KsDef().setName(keySpace)
+                .setStrategy_class("org.apache.cassandra.locator.NetworkTopologyStrategy")
+                .setStrategy_options(stratOpts)
+                .setDurable_writes(true)
+                .setCf_defs(Arrays.asList(cf));
+
+        try
+        {
+            client.system_add_keyspace(ks);
+        }
+        catch (InvalidRequestException e)
+        {
+            // created by another client in the meantime
+            logger.debug("Keyspace " + keySpace + " not created", e);
+        }
+
+        BriskSchema.waitForSchemaAgreement(client);
+    }
+
+    /**
+     * Writes the shards of a block.
+     *
+     * @param source store the block is read from
+     * @return the block with its stripe layout
+     */
+    Block encode(Block block, CassandraFileSystemStore source) throws IOException
+    {
+        Brisk.Iface client = borrowClient();
+        try
+        {
+            return encode(client, block, source);
+        }
+        finally
+        {
+            releaseClient(client);
+        }
+    }
+
+    private Block encode(Brisk.Iface client, Block block, CassandraFileSystemStore source) throws IOException
+    {
+        int dataShards = codec.dataShards;
+        int parityShards = codec.parityShards;
+        List<UUID> shardIds = new ArrayList<UUID>();
+
+        for (int first = 0; first < block.subBlocks.length; first += dataShards)
+        {
+            int count = Math.min(dataShards, block.subBlocks.length - first);
+            int shardLength = getShardLength(block, first, count);
+
+            // Missing data shards of the last stripe are zeros and not stored
+            byte[][] shards = new byte[dataShards + parityShards][];
+            for (int i = 0; i < shards.length; i++)
+                shards[i] = new byte[shardLength];
+
+            for (int i = 0; i < count; i++)
+            {
+                ByteBuffer data = source.retrieveSubBlockBuffer(block, block.subBlocks[first + i], 0);
+                data.get(shards[i], 0, data.remaining());
+            }
+
+            codec.encode(shards, shardLength);
+
+            List<UUID> stripeIds = placeShards(client, count + parityShards);
+            Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
+            long ts = System.currentTimeMillis();
+
+            for (int i = 0; i < count + parityShards; i++)
+            {
+                byte[] shard = i < count ? Arrays.copyOf(shards[i], (int) block.subBlocks[first + i].length)
+                        : shards[dataShards + i - count];
+
+                Column column = new Column().setName(CassandraFileSystemThriftStore.dataCol).setValue(
+                        Snappy.compress(shard)).setTimestamp(ts);
+
+                mutationMap.put(CassandraFileSystemThriftStore.uuidToByteBuffer(stripeIds.get(i)), Collections
+                        .singletonMap(shardCf, Arrays.asList(new Mutation().setColumn_or_supercolumn(
+                                new ColumnOrSuperColumn().setColumn(column)))));
+            }
+
+            try
+            {
+                client.batch_mutate(mutationMap, ConsistencyLevel.ONE);
+            }
+            catch (Exception e)
+            {
+                throw new IOException(e);
+            }
+
+            shardIds.addAll(stripeIds);
+        }
+
+        return new Block(block.id, block.offset, block.length, block.subBlocks, dataShards, parityShards, shardIds
+                .toArray(new UUID[shardIds.size()]));
+    }
+
+    /**
+     * Reads a sub block of an erasure coded block, rebuilding it from the rest of its stripe if
+     * its own shard can't be read.
+     *
+     * @return the uncompressed sub block
+     */
+    ByteBuffer read(Block block, SubBlock subBlock) throws IOException
+    {
+        Brisk.Iface client = borrowClient();
+        try
+        {
+            return read(client, block, subBlock);
+        }
+        finally
+        {
+            releaseClient(client);
+        }
+    }
+
+    private ByteBuffer read(Brisk.Iface client, Block block, SubBlock subBlock) throws IOException
+    {
+        int index = 0;
+        while (index < block.subBlocks.length && !block.subBlocks[index].id.equals(subBlock.id))
+            index++;
+
+        if (index == block.subBlocks.length)
+            throw new IOException("Sub block " + subBlock.id + " is not part of block " + block.id);
+
+        int dataShards = block.dataShards;
+        int parityShards = block.parityShards;
+        int first = index - index % dataShards;
+        int count = Math.min(dataShards, block.subBlocks.length - first);
+        int base = first / dataShards * (dataShards + parityShards);
+
+        // Positions in the stripe of the shards which are not stored anymore
+        List<Integer> lost = new ArrayList<Integer>();
+
+        byte[] shard = readShard(client, block.shardIds[base + index - first], lost, index - first);
+
+        if (shard != null)
+            return ByteBuffer.wrap(shard);
+
+        if (logger.isDebugEnabled())
+            logger.debug("Rebuilding sub block " + subBlock.id + " of block " + block.id);
+
+        int shardLength = getShardLength(block, first, count);
+        byte[][] shards = new byte[dataShards + parityShards][];
+        int present = 0;
+
+        for (int i = count; i < dataShards; i++)
+        {
+            shards[i] = new byte[shardLength];
+            present++;
+        }
+
+        for (int i = 0; i < count + parityShards && present < dataShards; i++)
+        {
+            if (i == index - first)
+                continue;
+
+            byte[] other = readShard(client, block.shardIds[base + i], lost, i);
+
+            if (other == null)
+                continue;
+
+            shards[i < count ? i : dataShards + i - count] = Arrays.copyOf(other, shardLength);
+            present++;
+        }
+
+        if (!new ReedSolomon(dataShards, parityShards).decode(shards, shardLength))
+            throw new IOException("Too many shards lost to rebuild sub block " + subBlock.id + " of block " + block.id);
+
+        if (!lost.isEmpty())
+            writeBack(client, block, first, count, base, shards, lost);
+
+        return ByteBuffer.wrap(shards[index - first], 0, (int) subBlock.length).slice();
+    }
+
+    /**
+     * Stores again the lost shards of a rebuilt stripe. A failure is only logged, the read has what it needs.
+     *
+     * @param lost positions in the stripe of the shards to store, data shards first then parity shards
+     */
+    private void writeBack(Brisk.Iface client, Block block, int first, int count, int base, byte[][] shards,
+            List<Integer> lost)
+    {
+        Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
+        long ts = System.currentTimeMillis();
+
+        try
+        {
+            for (int i : lost)
+            {
+                byte[] shard = i < count ? Arrays.copyOf(shards[i], (int) block.subBlocks[first + i].length)
+                        : shards[block.dataShards + i - count];
+
+                Column column = new Column().setName(CassandraFileSystemThriftStore.dataCol).setValue(
+                        Snappy.compress(shard)).setTimestamp(ts);
+
+                mutationMap.put(CassandraFileSystemThriftStore.uuidToByteBuffer(block.shardIds[base + i]), Collections
+                        .singletonMap(shardCf, Arrays.asList(new Mutation().setColumn_or_supercolumn(
+                                new ColumnOrSuperColumn().setColumn(column)))));
+            }
+
+            client.batch_mutate(mutationMap, ConsistencyLevel.ONE);
+
+            logger.info("Wrote back " + lost.size() + " rebuilt shards of block " + block.id);
+        }
+        catch (Exception e)
+        {
+            logger.warn("Unable to write back the rebuilt shards of block " + block.id, e);
+        }
+    }
+
+    /**
+     * Removes the shards of the blocks.
+     */
+    void delete(Collection<Block> blocks) throws IOException
+    {
+        Map<ByteBuffer, Map<String, List<Mutation>>> mutationMap = new HashMap<ByteBuffer, Map<String, List<Mutation>>>();
+        Mutation deletion = new Mutation().setDeletion(new Deletion().setTimestamp(System.currentTimeMillis()));
+
+        for (Block block : blocks)
+        {
+            for (UUID shardId : block.shardIds)
+                mutationMap.put(CassandraFileSystemThriftStore.uuidToByteBuffer(shardId), Collections.singletonMap(
+                        shardCf, Arrays.asList(deletion)));
+        }
+
+        if (mutationMap.isEmpty())
+            return;
+
+        Brisk.Iface client = borrowClient();
+        try
+        {
+            client.batch_mutate(mutationMap, ConsistencyLevel.ONE);
+        }
+        catch (Exception e)
+        {
+            throw new IOException(e);
+        }
+        finally
+        {
+            releaseClient(client);
+        }
+    }
+
+    void close()
+    {
+        closed = true;
+
+        Brisk.Iface client;
+        while ((client = clients.poll()) != null)
+            CassandraProxyClient.close(client);
+    }
+
+    /**
+     * @param lost where <code>position</code> is added if the shard is not stored anymore
+     * @param position position of the shard in its stripe
+     * @return the uncompressed shard, null if it can't be read
+     */
+    private byte[] readShard(Brisk.Iface client, UUID shardId, List<Integer> lost, int position) throws IOException
+    {
+        try
+        {
+            ByteBuffer value = client.get(CassandraFileSystemThriftStore.uuidToByteBuffer(shardId), shardPath,
+                    ConsistencyLevel.ONE).column.value;
+
+            return Snappy.uncompress(ByteBufferUtil.getArray(value));
+        }
+        catch (NotFoundException e)
+        {
+            logger.warn("Missing shard " + shardId);
+            lost.add(position);
+        }
+        catch (UnavailableException e)
+        {
+            logger.warn("Node of shard " + shardId + " is down");
+        }
+        catch (TimedOutException e)
+        {
+            logger.warn("Timed out reading shard " + shardId);
+        }
+        catch (Exception e)
+        {
+            throw new IOException(e);
+        }
+
+        return null;
+    }
+
+    private static int getShardLength(Block block, int first, int count)
+    {
+        long shardLength = 0;
+        for (int i = first; i < first + count; i++)
+            shardLength = Math.max(shardLength, block.subBlocks[i].length);
+
+        return (int) shardLength;
+    }
+
+    /**
+     * Picks row ids for the shards of a stripe, each on a node holding no other shard of the stripe
+     * until every node holds one.
+     */
+    private List<UUID> placeShards(Brisk.Iface client, int count) throws IOException
+    {
+        List<UUID> ids = new ArrayList<UUID>(count);
+        Set<String> used = new HashSet<String>();
+        SortedMap<Token, String> ring = getRing(client);
+
+        for (int round = 0; round < placementRounds && ids.size() < count; round++)
+        {
+            List<UUID> candidates = new ArrayList<UUID>();
+            List<ByteBuffer> keys = new ArrayList<ByteBuffer>();
+            for (int i = 0; i < candidatesPerShard * count; i++)
+            {
+                candidates.add(UUIDGen.makeType1UUIDFromHost(FBUtilities.getLocalAddress()));
+                keys.add(CassandraFileSystemThriftStore.uuidToByteBuffer(candidates.get(i)));
+            }
+
+            List<String> endpoints = new ArrayList<String>(keys.size());
+            for (ByteBuffer key : keys)
+                endpoints.add(getPrimaryEndpoint(ring, key));
+
+            Set<String> seen = new HashSet<String>(endpoints);
+
+            boolean[] taken = new boolean[candidates.size()];
+            boolean progress = true;
+
+            while (progress && ids.size() < count)
+            {
+                progress = false;
+
+                for (int i = 0; i < candidates.size() && ids.size() < count; i++)
+                {
+                    if (!taken[i] && used.add(endpoints.get(i)))
+                    {
+                        taken[i] = true;
+                        ids.add(candidates.get(i));
+                        progress = true;
+                    }
+                }
+
+                // Every node holds a shard of the stripe already, spread the others over all of them again
+                if (!progress && !used.isEmpty() && used.containsAll(seen))
+                {
+                    used.clear();
+                    progress = true;
+                }
+            }
+        }
+
+        while (ids.size() < count)
+            ids.add(UUIDGen.makeType1UUIDFromHost(FBUtilities.getLocalAddress()));
+
+        return ids;
+    }
+
+    /**
+     * The first natural endpoint of each range of the cfs_ec ring, by the end token of the range. Unlike
+     * describe_keys, which sorts the endpoints by proximity, this is the same node from everywhere.
+     */
+    private SortedMap<Token, String> getRing(Brisk.Iface client) throws IOException
+    {
+        SortedMap<Token, String> ring = new TreeMap<Token, String>();
+
+        try
+        {
+            if (partitioner == null)
+                partitioner = FBUtilities.newPartitioner(client.describe_partitioner());
+
+            Token.TokenFactory<?> tf = partitioner.getTokenFactory();
+
+            for (TokenRange range : client.describe_ring(keySpace))
+                ring.put(tf.fromString(range.end_token), range.endpoints.isEmpty() ? "" : range.endpoints.get(0));
+        }
+        catch (Exception e)
+        {
+            throw new IOException(e);
+        }
+
+        return ring;
+    }
+
+    /**
+     * @return the node in charge of the range holding <code>key</code>, the first ending at or after its token
+     */
+    private String getPrimaryEndpoint(SortedMap<Token, String> ring, ByteBuffer key)
+    {
+        if (ring.isEmpty())
+            return "";
+
+        SortedMap<Token, String> tail = ring.tailMap(partitioner.getToken(key));
+
+        return tail.isEmpty() ? ring.get(ring.firstKey()) : tail.get(tail.firstKey());
+    }
+}
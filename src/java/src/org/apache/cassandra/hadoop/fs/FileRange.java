@@ -0,0 +1,45 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.hadoop.fs;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A range of a file to read with {@link CassandraInputStream#readVectored(java.util.List)}.
+ */
+public class FileRange
+{
+    public final long       offset;
+    public final int        length;
+
+    // Where the range is copied to, from its position on. The position is left as it is.
+    public final ByteBuffer buffer;
+
+    public FileRange(long offset, ByteBuffer buffer)
+    {
+        this.offset = offset;
+        this.length = buffer.remaining();
+        this.buffer = buffer;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "FileRange[" + offset + ", " + length + "]";
+    }
+}
@@ -22,6 +22,9 @@ import java.nio.ByteBuffer;
 import java.util.UUID;
 
 import org.apache.hadoop.fs.permission.FsPermission;
+import org.apache.hadoop.io.IOUtils;
+import org.apache.hadoop.io.WritableUtils;
+import org.xerial.snappy.Snappy;
 
 public class INode
 {
@@ -38,6 +41,33 @@ public class INode
     public final FsPermission      perms;
     private Block[]                blocks;
     public long mtime = 0;
+    // Last time the file was opened, to the access time precision, 0 if it never was
+    public long atime = 0;
+
+    // Set when the blocks of the file were moved to the archive storage, under the same ids
+    private boolean                forwarded;
+
+    // Known without the blocks when the inode was read from its summary
+    private long                   length;
+    private long                   blockSize;
+    private int                    blockCount;
+
+    // First byte of the compact format, which the legacy format cannot start with.
+    private static final byte MAGIC = (byte) 0xCF;
+    private static final byte VERSION = 1;
+
+    private static final byte FLAG_COMPRESSED = 0x01;
+    private static final byte FLAG_SUMMARY = 0x02;
+
+    private static final byte BLOCK_OFFSET = 0x01;
+    private static final byte BLOCK_LENGTH = 0x02;
+    private static final byte BLOCK_SUBBLOCK_IDS = 0x04;
+    private static final byte BLOCK_SUBBLOCK_OFFSETS = 0x08;
+    private static final byte BLOCK_STRIPES = 0x10;
+
+    // Inodes bigger than this, in bytes, are snappy compressed unless cfs.inode.compression is false.
+    private static final int compressionThreshold = 1024;
+    private static final boolean compress = Boolean.valueOf(System.getProperty("cfs.inode.compression", "true"));
 
     public INode(String user, String group, FsPermission perms, FileType fileType, Block[] blocks)
     {
@@ -65,6 +95,60 @@ public class INode
         return blocks;
     }
 
+    /**
+     * @return false for a file read from its summary, whose blocks must be retrieved with the full inode
+     */
+    public boolean hasBlocks()
+    {
+        return isDirectory() || blocks != null;
+    }
+
+    public long getLength()
+    {
+        if (blocks == null)
+            return length;
+
+        long total = 0;
+        for (Block block : blocks)
+            total += block.length;
+        return total;
+    }
+
+    public long getBlockSize()
+    {
+        if (blocks == null)
+            return blockSize;
+
+        return blocks.length == 0 ? 0 : blocks[0].length;
+    }
+
+    public int getBlockCount()
+    {
+        return blocks == null ? blockCount : blocks.length;
+    }
+
+    /**
+     * @return true if the blocks of this file are read from the archive storage, the inode
+     *         itself staying where it is
+     */
+    public boolean isForwarded()
+    {
+        return forwarded;
+    }
+
+    /**
+     * @return true if the blocks of this file are erasure coded rather than replicated
+     */
+    public boolean isErasureCoded()
+    {
+        return blocks != null && blocks.length > 0 && blocks[0].isErasureCoded();
+    }
+
+    void setForwarded(boolean forwarded)
+    {
+        this.forwarded = forwarded;
+    }
+
     public FileType getFileType()
     {
         return fileType;
@@ -80,48 +164,268 @@ public class INode
         return fileType == FileType.FILE;
     }
 
+    /**
+     * Serializes the inode in the compact format:
+     *
+     * magic, version, flags, then the (possibly compressed) body with user, group, permissions,
+     * file type and, for files, the blocks. Numbers are varints. A block only records its id and
+     * its sub-block lengths when its offset follows the previous block, its length is the sum of
+     * its sub-blocks and its sub-block ids are derived with {@link SubBlock#deriveId}; anything
+     * else is written explicitly, flagged per block. Erasure coded blocks are followed by their
+     * stripe layout.
+     */
     public ByteBuffer serialize() throws IOException
     {
-    	// Write INode header
         ByteArrayOutputStream bytes = new ByteArrayOutputStream();
         DataOutputStream out = new DataOutputStream(bytes);
-        out.writeInt(user.getBytes().length);  out.writeBytes(user);
-        out.writeInt(group.getBytes().length); out.writeBytes(group);
-        out.writeShort(perms.toShort());
-        out.writeByte(fileType.ordinal());
+        writeHeader(out);
         if (isFile())
-        {  
-            // Write blocks
-            out.writeInt(blocks.length);
-            for (int i = 0; i < blocks.length; i++)
+        {
+            WritableUtils.writeVInt(out, blocks.length);
+            long nextOffset = 0;
+            for (Block block : blocks)
             {
-                out.writeLong(blocks[i].id.getMostSignificantBits());
-                out.writeLong(blocks[i].id.getLeastSignificantBits());
+                writeBlock(out, block, nextOffset);
+                nextOffset = block.offset + block.length;
+            }
+        }
+        out.close();
 
-                out.writeLong(blocks[i].offset);
-                out.writeLong(blocks[i].length);
-                
-                // Write SubBlocks for this block
-                out.writeInt(blocks[i].subBlocks.length);
-                for (SubBlock subb : blocks[i].subBlocks)
-                {
-                    out.writeLong(subb.id.getMostSignificantBits());
-                    out.writeLong(subb.id.getLeastSignificantBits());
-                    out.writeLong(subb.offset);
-                    out.writeLong(subb.length);
-                }
+        byte[] body = bytes.toByteArray();
+        byte flags = 0;
+        if (compress && body.length >= compressionThreshold)
+        {
+            byte[] compressed = Snappy.compress(body);
+            if (compressed.length < body.length)
+            {
+                body = compressed;
+                flags |= FLAG_COMPRESSED;
             }
         }
+
+        return frame(flags, body);
+    }
+
+    /**
+     * Serializes what status calls need to know about the inode, without its blocks. Deserializing it gives an
+     * inode for which {@link #hasBlocks()} is false.
+     */
+    public ByteBuffer serializeSummary() throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeHeader(out);
+        if (isFile())
+        {
+            WritableUtils.writeVLong(out, getLength());
+            WritableUtils.writeVLong(out, getBlockSize());
+            WritableUtils.writeVInt(out, getBlockCount());
+        }
         out.close();
-        return ByteBuffer.wrap(bytes.toByteArray());
+
+        return frame(FLAG_SUMMARY, bytes.toByteArray());
+    }
+
+    private void writeHeader(DataOutput out) throws IOException
+    {
+        writeString(out, user);
+        writeString(out, group);
+        WritableUtils.writeVInt(out, perms.toShort());
+        out.writeByte(fileType.ordinal());
     }
 
+    private static ByteBuffer frame(byte flags, byte[] body)
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(3 + body.length);
+        buffer.put(MAGIC).put(VERSION).put(flags).put(body);
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void writeBlock(DataOutput out, Block block, long expectedOffset) throws IOException
+    {
+        byte flags = 0;
+        long subBlocksLength = 0;
+        long expectedSubOffset = 0;
+        for (int i = 0; i < block.subBlocks.length; i++)
+        {
+            SubBlock subBlock = block.subBlocks[i];
+            if (!subBlock.id.equals(SubBlock.deriveId(block.id, i)))
+                flags |= BLOCK_SUBBLOCK_IDS;
+            if (subBlock.offset != expectedSubOffset)
+                flags |= BLOCK_SUBBLOCK_OFFSETS;
+            expectedSubOffset = subBlock.offset + subBlock.length;
+            subBlocksLength += subBlock.length;
+        }
+        if (block.offset != expectedOffset)
+            flags |= BLOCK_OFFSET;
+        if (block.length != subBlocksLength)
+            flags |= BLOCK_LENGTH;
+        if (block.isErasureCoded())
+            flags |= BLOCK_STRIPES;
+
+        out.writeByte(flags);
+        out.writeLong(block.id.getMostSignificantBits());
+        out.writeLong(block.id.getLeastSignificantBits());
+        if ((flags & BLOCK_OFFSET) != 0)
+            WritableUtils.writeVLong(out, block.offset);
+        if ((flags & BLOCK_LENGTH) != 0)
+            WritableUtils.writeVLong(out, block.length);
+
+        WritableUtils.writeVInt(out, block.subBlocks.length);
+        for (SubBlock subBlock : block.subBlocks)
+        {
+            if ((flags & BLOCK_SUBBLOCK_IDS) != 0)
+            {
+                out.writeLong(subBlock.id.getMostSignificantBits());
+                out.writeLong(subBlock.id.getLeastSignificantBits());
+            }
+            if ((flags & BLOCK_SUBBLOCK_OFFSETS) != 0)
+                WritableUtils.writeVLong(out, subBlock.offset);
+            WritableUtils.writeVLong(out, subBlock.length);
+        }
+
+        if ((flags & BLOCK_STRIPES) != 0)
+        {
+            WritableUtils.writeVInt(out, block.dataShards);
+            WritableUtils.writeVInt(out, block.parityShards);
+            WritableUtils.writeVInt(out, block.shardIds.length);
+            for (UUID shardId : block.shardIds)
+            {
+                out.writeLong(shardId.getMostSignificantBits());
+                out.writeLong(shardId.getLeastSignificantBits());
+            }
+        }
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException
+    {
+        byte[] bytes = value.getBytes("UTF-8");
+        WritableUtils.writeVInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException
+    {
+        byte[] bytes = new byte[WritableUtils.readVInt(in)];
+        in.readFully(bytes);
+        return new String(bytes, "UTF-8");
+    }
+
+    /**
+     * Reads an inode in either the compact format or the original fixed-width one, which starts
+     * with the length of the user name and so never with {@link #MAGIC}.
+     */
     public static INode deserialize(InputStream in, long ts) throws IOException
     {
         if (in == null)
         {
             return null;
         }
+        PushbackInputStream pushbackIn = new PushbackInputStream(in, 1);
+        int first = pushbackIn.read();
+        if (first == -1)
+        {
+            throw new EOFException("Empty inode");
+        }
+        if ((byte) first != MAGIC)
+        {
+            pushbackIn.unread(first);
+            return deserializeLegacy(pushbackIn, ts);
+        }
+
+        DataInputStream dataIn = new DataInputStream(pushbackIn);
+        byte version = dataIn.readByte();
+        if (version != VERSION)
+        {
+            throw new IOException("Unknown inode format version " + version);
+        }
+        byte flags = dataIn.readByte();
+        if ((flags & FLAG_COMPRESSED) != 0)
+        {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            IOUtils.copyBytes(dataIn, compressed, 4096, false);
+            dataIn = new DataInputStream(new ByteArrayInputStream(Snappy.uncompress(compressed.toByteArray())));
+        }
+
+        String user = readString(dataIn);
+        String group = readString(dataIn);
+        FsPermission perms = new FsPermission((short) WritableUtils.readVInt(dataIn));
+
+        FileType fileType = INode.FILE_TYPES[dataIn.readByte()];
+        switch (fileType)
+        {
+        case DIRECTORY:
+            in.close();
+            return new INode(user, group, perms, fileType, null, ts);
+        case FILE:
+            if ((flags & FLAG_SUMMARY) != 0)
+            {
+                INode summary = new INode(user, group, perms, fileType, null, ts);
+                summary.length = WritableUtils.readVLong(dataIn);
+                summary.blockSize = WritableUtils.readVLong(dataIn);
+                summary.blockCount = WritableUtils.readVInt(dataIn);
+                in.close();
+                return summary;
+            }
+            int numBlocks = WritableUtils.readVInt(dataIn);
+            Block[] blocks = new Block[numBlocks];
+            long nextOffset = 0;
+            for (int i = 0; i < numBlocks; i++)
+            {
+                blocks[i] = readBlock(dataIn, nextOffset);
+                nextOffset = blocks[i].offset + blocks[i].length;
+            }
+            in.close();
+            return new INode(user, group, perms, fileType, blocks, ts);
+        default:
+            throw new IllegalArgumentException("Cannot deserialize inode.");
+        }
+    }
+
+    private static Block readBlock(DataInput in, long expectedOffset) throws IOException
+    {
+        byte flags = in.readByte();
+        UUID id = new UUID(in.readLong(), in.readLong());
+        long offset = (flags & BLOCK_OFFSET) != 0 ? WritableUtils.readVLong(in) : expectedOffset;
+        long length = (flags & BLOCK_LENGTH) != 0 ? WritableUtils.readVLong(in) : -1;
+
+        int numSubBlocks = WritableUtils.readVInt(in);
+        SubBlock[] subBlocks = new SubBlock[numSubBlocks];
+        long subOffset = 0;
+        for (int j = 0; j < numSubBlocks; j++)
+        {
+            UUID subId = (flags & BLOCK_SUBBLOCK_IDS) != 0 ? new UUID(in.readLong(), in.readLong()) : SubBlock
+                    .deriveId(id, j);
+            if ((flags & BLOCK_SUBBLOCK_OFFSETS) != 0)
+                subOffset = WritableUtils.readVLong(in);
+            long subLength = WritableUtils.readVLong(in);
+            subBlocks[j] = new SubBlock(subId, subOffset, subLength);
+            subOffset += subLength;
+        }
+
+        if (length == -1)
+        {
+            length = 0;
+            for (SubBlock subBlock : subBlocks)
+                length += subBlock.length;
+        }
+
+        if ((flags & BLOCK_STRIPES) != 0)
+        {
+            int dataShards = WritableUtils.readVInt(in);
+            int parityShards = WritableUtils.readVInt(in);
+            UUID[] shardIds = new UUID[WritableUtils.readVInt(in)];
+            for (int j = 0; j < shardIds.length; j++)
+                shardIds[j] = new UUID(in.readLong(), in.readLong());
+
+            return new Block(id, offset, length, subBlocks, dataShards, parityShards, shardIds);
+        }
+        return new Block(id, offset, length, subBlocks);
+    }
+
+    private static INode deserializeLegacy(InputStream in, long ts) throws IOException
+    {
         DataInputStream dataIn = new DataInputStream(in);
         int ulen = dataIn.readInt();
         byte[] ubuf = new byte[ulen];
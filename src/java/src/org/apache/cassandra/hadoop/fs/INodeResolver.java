@@ -0,0 +1,244 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.hadoop.fs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.cassandra.db.ColumnFamily;
+import org.apache.cassandra.db.IColumn;
+import org.apache.cassandra.db.ReadCommand;
+import org.apache.cassandra.db.Row;
+import org.apache.cassandra.db.SliceByNamesReadCommand;
+import org.apache.cassandra.service.StorageProxy;
+import org.apache.cassandra.thrift.ColumnParent;
+import org.apache.cassandra.thrift.ConsistencyLevel;
+import org.apache.cassandra.thrift.InvalidRequestException;
+import org.apache.cassandra.thrift.UnavailableException;
+import org.apache.cassandra.utils.ByteBufferUtil;
+import org.apache.hadoop.fs.Path;
+
+/**
+ * Resolves many cfs paths to their inodes from within the server.
+ *
+ * Directory entries are looked up one level at a time so that all the paths sharing a
+ * directory cost a single read of its row, no matter how many of them there are.
+ */
+public class INodeResolver
+{
+    // Max number of rows read by a single StorageProxy call.
+    private static final int readBatchSize = 1000;
+
+    private final ColumnParent inodeParent;
+
+    // Consistency level the client reads at, ONE is retried at QUORUM as other reads of cfs are.
+    private final ConsistencyLevel consistencyLevel;
+
+    public INodeResolver(String inodeCf, ConsistencyLevel consistencyLevel)
+    {
+        inodeParent = new ColumnParent(inodeCf);
+        this.consistencyLevel = consistencyLevel;
+    }
+
+    /**
+     * @return the inode of each path, in order, or null for the paths that do not exist
+     */
+    public List<INode> retrieveINodes(List<String> paths) throws IOException, TimeoutException, UnavailableException,
+            InvalidRequestException
+    {
+        Map<Path, ByteBuffer> ids = resolve(paths);
+
+        // The same inode may be asked for under several spellings of its path
+        Set<ByteBuffer> inodeIds = new HashSet<ByteBuffer>(ids.values());
+        List<SliceByNamesReadCommand> commands = new ArrayList<SliceByNamesReadCommand>(inodeIds.size());
+
+        for (ByteBuffer id : inodeIds)
+            commands.add(new SliceByNamesReadCommand(CassandraFileSystemThriftStore.keySpace, id, inodeParent,
+                    Arrays.asList(CassandraFileSystemThriftStore.dataCol)));
+
+        Map<ByteBuffer, ColumnFamily> rows = read(commands);
+        List<INode> inodes = new ArrayList<INode>(paths.size());
+
+        for (String path : paths)
+        {
+            ByteBuffer id = ids.get(new Path(path));
+            IColumn data = id == null ? null : getLiveColumn(rows.get(id), CassandraFileSystemThriftStore.dataCol);
+
+            if (data == null)
+                inodes.add(null);
+            else
+                inodes.add(INode.deserialize(ByteBufferUtil.inputStream(data.value()), data.timestamp()));
+        }
+
+        return inodes;
+    }
+
+    /**
+     * Walks the directory entries from the root down to every path, a level at a time.
+     *
+     * @return the inode id of each path found
+     */
+    private Map<Path, ByteBuffer> resolve(List<String> paths) throws IOException, TimeoutException,
+            UnavailableException, InvalidRequestException
+    {
+        // Every path along with the directories leading to it, by depth
+        SortedMap<Integer, Set<Path>> levels = new TreeMap<Integer, Set<Path>>();
+
+        for (String name : paths)
+        {
+            for (Path path = new Path(name); path.getParent() != null; path = path.getParent())
+            {
+                Set<Path> level = levels.get(path.depth());
+
+                if (level == null)
+                {
+                    level = new HashSet<Path>();
+                    levels.put(path.depth(), level);
+                }
+
+                level.add(path);
+            }
+        }
+
+        Map<Path, ByteBuffer> ids = new HashMap<Path, ByteBuffer>();
+        ids.put(new Path("/"), CassandraFileSystemThriftStore.rootId);
+
+        for (Set<Path> level : levels.values())
+        {
+            Map<ByteBuffer, List<Path>> children = new HashMap<ByteBuffer, List<Path>>();
+
+            for (Path path : level)
+            {
+                ByteBuffer parentId = ids.get(path.getParent());
+
+                // Nothing below a missing directory
+                if (parentId == null)
+                    continue;
+
+                List<Path> entries = children.get(parentId);
+
+                if (entries == null)
+                {
+                    entries = new ArrayList<Path>();
+                    children.put(parentId, entries);
+                }
+
+                entries.add(path);
+            }
+
+            List<SliceByNamesReadCommand> commands = new ArrayList<SliceByNamesReadCommand>(children.size());
+
+            for (Map.Entry<ByteBuffer, List<Path>> entry : children.entrySet())
+            {
+                List<ByteBuffer> names = new ArrayList<ByteBuffer>(entry.getValue().size());
+
+                for (Path path : entry.getValue())
+                    names.add(getEntryName(path));
+
+                commands.add(new SliceByNamesReadCommand(CassandraFileSystemThriftStore.keySpace, entry.getKey(),
+                        inodeParent, names));
+            }
+
+            Map<ByteBuffer, ColumnFamily> rows = read(commands);
+
+            for (Map.Entry<ByteBuffer, List<Path>> entry : children.entrySet())
+            {
+                for (Path path : entry.getValue())
+                {
+                    IColumn column = getLiveColumn(rows.get(entry.getKey()), getEntryName(path));
+
+                    if (column != null)
+                        ids.put(path, column.value());
+                }
+            }
+        }
+
+        return ids;
+    }
+
+    /**
+     * Reads at the consistency level of the client. At CL.ONE, the rows that came back incomplete are
+     * read again at CL.QUORUM as the columns may not have reached every replica yet.
+     */
+    private Map<ByteBuffer, ColumnFamily> read(List<SliceByNamesReadCommand> commands) throws IOException,
+            TimeoutException, UnavailableException, InvalidRequestException
+    {
+        Map<ByteBuffer, ColumnFamily> rows = read(commands, consistencyLevel);
+
+        if (consistencyLevel != ConsistencyLevel.ONE)
+            return rows;
+
+        List<SliceByNamesReadCommand> incomplete = new ArrayList<SliceByNamesReadCommand>();
+
+        for (SliceByNamesReadCommand command : commands)
+        {
+            ColumnFamily cf = rows.get(command.key);
+
+            for (ByteBuffer name : command.columnNames)
+            {
+                if (getLiveColumn(cf, name) == null)
+                {
+                    incomplete.add(command);
+                    break;
+                }
+            }
+        }
+
+        if (!incomplete.isEmpty())
+            rows.putAll(read(incomplete, ConsistencyLevel.QUORUM));
+
+        return rows;
+    }
+
+    private Map<ByteBuffer, ColumnFamily> read(List<SliceByNamesReadCommand> commands, ConsistencyLevel cl)
+            throws IOException, TimeoutException, UnavailableException, InvalidRequestException
+    {
+        Map<ByteBuffer, ColumnFamily> rows = new HashMap<ByteBuffer, ColumnFamily>();
+
+        for (int i = 0; i < commands.size(); i += readBatchSize)
+        {
+            List<ReadCommand> batch = new ArrayList<ReadCommand>(commands.subList(i, Math.min(i + readBatchSize,
+                    commands.size())));
+
+            for (Row row : StorageProxy.read(batch, cl))
+            {
+                if (row.cf != null)
+                    rows.put(row.key.key, row.cf);
+            }
+        }
+
+        return rows;
+    }
+
+    private static IColumn getLiveColumn(ColumnFamily cf, ByteBuffer name)
+    {
+        if (cf == null)
+            return null;
+
+        IColumn column = cf.getColumn(name);
+
+        return column == null || !column.isLive() ? null : column;
+    }
+
+    private static ByteBuffer getEntryName(Path path)
+    {
+        return ByteBufferUtil.bytes(CassandraFileSystemThriftStore.entryPrefix + path.getName());
+    }
+}
@@ -0,0 +1,242 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.hadoop.fs;
+
+/**
+ * Systematic Reed-Solomon erasure code over GF(2^8): <code>dataShards</code> shards of data get
+ * <code>parityShards</code> parity shards, any <code>dataShards</code> of them give the data back.
+ *
+ * The parity rows of the coding matrix form a Cauchy matrix, so that any square matrix made of
+ * rows of the coding matrix, identity on top of parity, can be inverted.
+ */
+public class ReedSolomon
+{
+    // x^8 + x^4 + x^3 + x^2 + 1
+    private static final int      POLYNOMIAL = 0x11D;
+
+    private static final byte[]   EXP = new byte[512];
+    private static final int[]    LOG = new int[256];
+    private static final byte[][] MUL = new byte[256][256];
+
+    static
+    {
+        int x = 1;
+        for (int i = 0; i < 255; i++)
+        {
+            EXP[i] = (byte) x;
+            LOG[x] = i;
+            x <<= 1;
+            if (x >= 256)
+                x ^= POLYNOMIAL;
+        }
+        for (int i = 255; i < EXP.length; i++)
+            EXP[i] = EXP[i - 255];
+
+        for (int a = 1; a < 256; a++)
+        {
+            for (int b = 1; b < 256; b++)
+                MUL[a][b] = EXP[LOG[a] + LOG[b]];
+        }
+    }
+
+    public final int        dataShards;
+    public final int        parityShards;
+
+    // parityShards rows of dataShards coefficients
+    private final byte[][]  parity;
+
+    public ReedSolomon(int dataShards, int parityShards)
+    {
+        if (dataShards <= 0 || parityShards < 0 || dataShards + parityShards > 256)
+            throw new IllegalArgumentException("Invalid erasure code " + dataShards + "+" + parityShards);
+
+        this.dataShards = dataShards;
+        this.parityShards = parityShards;
+
+        parity = new byte[parityShards][dataShards];
+        for (int i = 0; i < parityShards; i++)
+        {
+            for (int j = 0; j < dataShards; j++)
+                parity[i][j] = inverse((dataShards + i) ^ j);
+        }
+    }
+
+    /**
+     * Computes the parity shards.
+     *
+     * @param shards the data shards followed by the parity shards, all at least <code>length</code> long
+     */
+    public void encode(byte[][] shards, int length)
+    {
+        byte[][] data = new byte[dataShards][];
+        System.arraycopy(shards, 0, data, 0, dataShards);
+
+        for (int i = 0; i < parityShards; i++)
+            multiply(parity[i], data, shards[dataShards + i], length);
+    }
+
+    /**
+     * Rebuilds the missing shards.
+     *
+     * @param shards the data shards followed by the parity shards, null for the missing ones which are
+     *            allocated and filled in
+     * @return false if fewer than <code>dataShards</code> shards are present, nothing is rebuilt then
+     */
+    public boolean decode(byte[][] shards, int length)
+    {
+        int[] rows = new int[dataShards];
+        int present = 0;
+        boolean dataMissing = false;
+
+        for (int i = 0; i < shards.length; i++)
+        {
+            if (shards[i] == null)
+            {
+                dataMissing |= i < dataShards;
+                continue;
+            }
+
+            if (present < dataShards)
+                rows[present] = i;
+            present++;
+        }
+
+        if (present < dataShards)
+            return false;
+
+        if (dataMissing)
+        {
+            // The present shards are the product of their rows of the coding matrix by the data
+            byte[][] matrix = new byte[dataShards][];
+            byte[][] inputs = new byte[dataShards][];
+            for (int r = 0; r < dataShards; r++)
+            {
+                matrix[r] = rows[r] < dataShards ? identityRow(rows[r]) : parity[rows[r] - dataShards].clone();
+                inputs[r] = shards[rows[r]];
+            }
+
+            byte[][] inverted = invert(matrix);
+
+            for (int i = 0; i < dataShards; i++)
+            {
+                if (shards[i] != null)
+                    continue;
+
+                shards[i] = new byte[length];
+                multiply(inverted[i], inputs, shards[i], length);
+            }
+        }
+
+        byte[][] data = new byte[dataShards][];
+        System.arraycopy(shards, 0, data, 0, dataShards);
+
+        for (int i = 0; i < parityShards; i++)
+        {
+            if (shards[dataShards + i] != null)
+                continue;
+
+            shards[dataShards + i] = new byte[length];
+            multiply(parity[i], data, shards[dataShards + i], length);
+        }
+
+        return true;
+    }
+
+    /**
+     * output = sum of coefficients[i] * inputs[i], over the first <code>length</code> bytes.
+     */
+    private static void multiply(byte[] coefficients, byte[][] inputs, byte[] output, int length)
+    {
+        for (int b = 0; b < length; b++)
+            output[b] = 0;
+
+        for (int i = 0; i < coefficients.length; i++)
+        {
+            byte[] table = MUL[coefficients[i] & 0xFF];
+            byte[] input = inputs[i];
+
+            for (int b = 0; b < length; b++)
+                output[b] ^= table[input[b] & 0xFF];
+        }
+    }
+
+    private byte[] identityRow(int i)
+    {
+        byte[] row = new byte[dataShards];
+        row[i] = 1;
+        return row;
+    }
+
+    /**
+     * Gauss-Jordan elimination, <code>matrix</code> is reduced in place.
+     */
+    private static byte[][] invert(byte[][] matrix)
+    {
+        int n = matrix.length;
+        byte[][] inverse = new byte[n][n];
+        for (int i = 0; i < n; i++)
+            inverse[i][i] = 1;
+
+        for (int col = 0; col < n; col++)
+        {
+            int pivot = col;
+            while (matrix[pivot][col] == 0)
+            {
+                if (++pivot == n)
+                    throw new IllegalStateException("Singular coding matrix");
+            }
+
+            swap(matrix, col, pivot);
+            swap(inverse, col, pivot);
+
+            byte[] scale = MUL[inverse(matrix[col][col] & 0xFF) & 0xFF];
+            for (int j = 0; j < n; j++)
+            {
+                matrix[col][j] = scale[matrix[col][j] & 0xFF];
+                inverse[col][j] = scale[inverse[col][j] & 0xFF];
+            }
+
+            for (int row = 0; row < n; row++)
+            {
+                if (row == col || matrix[row][col] == 0)
+                    continue;
+
+                byte[] factor = MUL[matrix[row][col] & 0xFF];
+                for (int j = 0; j < n; j++)
+                {
+                    matrix[row][j] ^= factor[matrix[col][j] & 0xFF];
+                    inverse[row][j] ^= factor[inverse[col][j] & 0xFF];
+                }
+            }
+        }
+
+        return inverse;
+    }
+
+    private static void swap(byte[][] rows, int i, int j)
+    {
+        byte[] row = rows[i];
+        rows[i] = rows[j];
+        rows[j] = row;
+    }
+
+    private static byte inverse(int a)
+    {
+        return EXP[255 - LOG[a]];
+    }
+}
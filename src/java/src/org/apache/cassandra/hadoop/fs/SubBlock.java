@@ -17,6 +17,7 @@
  */
 package org.apache.cassandra.hadoop.fs;
 
+import java.nio.ByteBuffer;
 import java.util.UUID;
 
 import org.apache.log4j.Logger;
@@ -39,6 +40,18 @@ public class SubBlock
         this.length = length;        
     }
     
+    /**
+     * The id of the index-th SubBlock of a block. Derived ids are not stored in the inode.
+     */
+    public static UUID deriveId(UUID blockId, int index)
+    {
+        ByteBuffer name = ByteBuffer.allocate(20);
+        name.putLong(blockId.getMostSignificantBits());
+        name.putLong(blockId.getLeastSignificantBits());
+        name.putInt(index);
+        return UUID.nameUUIDFromBytes(name.array());
+    }
+
     @Override
     public String toString() {
       return "SubBlock[" + id + ", " + offset + ", "+ length+"]";
@@ -0,0 +1,175 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.hadoop.fs;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.cassandra.io.util.FileUtils;
+
+/**
+ * Reads sub blocks from the data port of the Brisk nodes holding them.
+ *
+ * A request is the block id and the sub block id, each preceded by its length as an
+ * unsigned short, then a boolean set for the archive storage. The answer is a status byte
+ * and the length of the sub block as a long, followed by the raw sub block column value.
+ * Connections are kept open and reused for the next requests to the same node, a request failing
+ * on a reused connection, which the node may have closed for being idle, is sent again on a new one.
+ */
+public class SubBlockDataClient
+{
+    public static final byte STATUS_OK        = 0;
+    public static final byte STATUS_NOT_FOUND = 1;
+
+    private final int port;
+
+    private final ConcurrentMap<String, Queue<SocketChannel>> idleConnections = new ConcurrentHashMap<String, Queue<SocketChannel>>();
+
+    public SubBlockDataClient(int port)
+    {
+        this.port = port;
+    }
+
+    /**
+     * Reads a sub block from a node.
+     *
+     * @param buffer where to read the sub block to, a bigger direct buffer is allocated if it is too small
+     * @return the buffer holding the sub block, null if the node does not have it in its data files
+     * @throws IOException if the node can't be reached
+     */
+    public ByteBuffer read(String host, ByteBuffer blockId, ByteBuffer sblockId, boolean archive, ByteBuffer buffer)
+            throws IOException
+    {
+        SocketChannel channel = getIdleConnection(host);
+
+        if (channel != null)
+        {
+            try
+            {
+                return read(channel, host, blockId, sblockId, archive, buffer);
+            }
+            catch (IOException e)
+            {
+                // try again on a new connection
+            }
+        }
+
+        return read(openConnection(host), host, blockId, sblockId, archive, buffer);
+    }
+
+    private ByteBuffer read(SocketChannel channel, String host, ByteBuffer blockId, ByteBuffer sblockId,
+            boolean archive, ByteBuffer buffer) throws IOException
+    {
+        try
+        {
+            ByteBuffer request = ByteBuffer.allocate(5 + blockId.remaining() + sblockId.remaining());
+            request.putShort((short) blockId.remaining()).put(blockId.duplicate());
+            request.putShort((short) sblockId.remaining()).put(sblockId.duplicate());
+            request.put((byte) (archive ? 1 : 0));
+            request.flip();
+
+            while (request.hasRemaining())
+                channel.write(request);
+
+            ByteBuffer header = ByteBuffer.allocate(9);
+            readFully(channel, header);
+
+            byte status = header.get();
+            int length = (int) header.getLong();
+
+            if (status != STATUS_OK)
+            {
+                release(host, channel);
+                return null;
+            }
+
+            if (buffer == null || buffer.capacity() < length)
+                buffer = ByteBuffer.allocateDirect(length);
+
+            buffer.clear();
+            buffer.limit(length);
+            readFully(channel, buffer);
+
+            release(host, channel);
+            return buffer;
+        }
+        catch (IOException e)
+        {
+            FileUtils.closeQuietly(channel);
+            throw e;
+        }
+    }
+
+    public void close()
+    {
+        for (Queue<SocketChannel> connections : idleConnections.values())
+        {
+            SocketChannel channel;
+            while ((channel = connections.poll()) != null)
+                FileUtils.closeQuietly(channel);
+        }
+    }
+
+    private SocketChannel getIdleConnection(String host)
+    {
+        Queue<SocketChannel> connections = idleConnections.get(host);
+
+        return connections == null ? null : connections.poll();
+    }
+
+    private SocketChannel openConnection(String host) throws IOException
+    {
+        SocketChannel channel = SocketChannel.open(new InetSocketAddress(host, port));
+        channel.socket().setTcpNoDelay(true);
+
+        return channel;
+    }
+
+    private void release(String host, SocketChannel channel)
+    {
+        Queue<SocketChannel> connections = idleConnections.get(host);
+
+        if (connections == null)
+        {
+            connections = new ConcurrentLinkedQueue<SocketChannel>();
+            Queue<SocketChannel> previous = idleConnections.putIfAbsent(host, connections);
+
+            if (previous != null)
+                connections = previous;
+        }
+
+        connections.add(channel);
+    }
+
+    private static void readFully(SocketChannel channel, ByteBuffer buffer) throws IOException
+    {
+        while (buffer.hasRemaining())
+        {
+            if (channel.read(buffer) < 0)
+                throw new IOException("Connection closed by the data port");
+        }
+
+        buffer.flip();
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.hadoop.fs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A range of a {@link SubBlock} to read with {@link CassandraFileSystemStore#retrieveSubBlockRanges(java.util.List)}.
+ */
+public abstract class SubBlockRange
+{
+    public final Block    block;
+    public final SubBlock subBlock;
+    public final long     offset;
+    public final int      length;
+
+    public SubBlockRange(Block block, SubBlock subBlock, long offset, int length)
+    {
+        this.block = block;
+        this.subBlock = subBlock;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Called as soon as the range is read, possibly from another thread.
+     * 
+     * @param data the content of the range, only valid during the call
+     * @throws IOException if an error occurs
+     */
+    public abstract void completed(ByteBuffer data) throws IOException;
+
+    @Override
+    public String toString()
+    {
+        return "SubBlockRange[" + subBlock.id + ", " + offset + ", " + length + "]";
+    }
+}
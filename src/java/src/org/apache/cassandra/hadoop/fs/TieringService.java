@@ -0,0 +1,215 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.hadoop.fs;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cassandra.hadoop.trackers.CassandraJobConf;
+import org.apache.cassandra.service.StorageService;
+import org.apache.cassandra.utils.FBUtilities;
+import org.apache.hadoop.fs.Path;
+import org.apache.log4j.Logger;
+
+/**
+ * Moves the blocks of cold files from cfs to cfs-archive in the background, keeping the sblocks CF
+ * small. Moved files stay at their cfs:// path, forwarded to the archive storage they are read from.
+ *
+ * Files are picked by rules given in cfs.tiering.rules, comma separated, each made of a path, the
+ * minimum age of the files in days and the minimum number of days they were not opened for, e.g.
+ * <code>/logs:30:14,/data/raw:90:</code>. A condition left empty always holds. Access times are
+ * only as precise as brisk.access.time.precision. With cfs.tiering.erasure.code set the moved files
+ * are erasure coded as well, see {@link CassandraFileSystem#erasureCode}.
+ *
+ * Only the first live replica of the root inode runs the rules, so that one node does the moves.
+ */
+public class TieringService
+{
+    private static final Logger logger = Logger.getLogger(TieringService.class);
+
+    private static final long day = 24L * 3600 * 1000;
+
+    // Files to move to the archive, none by default.
+    private static final String rules = System.getProperty("cfs.tiering.rules", "");
+
+    // How often the rules are run, in seconds.
+    private static final long tieringInterval = Long.getLong("cfs.tiering.interval", 3600);
+
+    // Whether the moved files are erasure coded rather than replicated in the archive.
+    private static final boolean erasureCode = Boolean.getBoolean("cfs.tiering.erasure.code");
+
+    private static ScheduledExecutorService mover;
+
+    // Created on the first run, once the cfs keyspace can be relied on
+    private static CassandraFileSystem      fs;
+
+    public static synchronized void init()
+    {
+        if (mover != null)
+            return;
+
+        final List<Rule> parsedRules = Rule.parse(rules);
+
+        if (parsedRules.isEmpty())
+            return;
+
+        mover = Executors.newSingleThreadScheduledExecutor();
+
+        mover.scheduleWithFixedDelay(new Runnable() {
+            public void run()
+            {
+                try
+                {
+                    if (!isFirstReplicaOfRoot())
+                        return;
+
+                    if (fs == null)
+                    {
+                        CassandraFileSystem cfs = new CassandraFileSystem();
+                        cfs.initialize(URI.create("cfs:///"), new CassandraJobConf());
+                        fs = cfs;
+                    }
+
+                    moveColdFiles(fs, parsedRules, System.currentTimeMillis(), erasureCode);
+                }
+                catch (Throwable t)
+                {
+                    logger.error("Unable to move cold files to the archive", t);
+                }
+            }
+        }, tieringInterval, tieringInterval, TimeUnit.SECONDS);
+
+        logger.info("Tiering service started with rules " + parsedRules);
+    }
+
+    /**
+     * Forwards to the archive the files of <code>fs</code> matching any of the rules.
+     *
+     * @param erasureCode whether the moved files are erasure coded too
+     * @return the number of files moved
+     */
+    static int moveColdFiles(CassandraFileSystem fs, List<Rule> rules, long now, boolean erasureCode) throws Exception
+    {
+        int moved = 0;
+
+        for (Rule rule : rules)
+        {
+            for (Map.Entry<Path, INode> entry : fs.store.listDeepSubINodes(rule.path).entrySet())
+            {
+                INode inode = entry.getValue();
+
+                if (!inode.isFile() || inode.isForwarded() || !rule.matches(inode, now))
+                    continue;
+
+                if (logger.isDebugEnabled())
+                    logger.debug("Moving " + entry.getKey() + " to the archive");
+
+                if (!fs.forwardToArchive(entry.getKey()))
+                    continue;
+
+                moved++;
+
+                if (erasureCode)
+                    fs.erasureCode(entry.getKey());
+            }
+        }
+
+        if (moved > 0)
+            logger.info("Moved " + moved + " files to the archive");
+
+        return moved;
+    }
+
+    private static boolean isFirstReplicaOfRoot()
+    {
+        List<InetAddress> endpoints = StorageService.instance.getLiveNaturalEndpoints(
+                CassandraFileSystemThriftStore.keySpace, CassandraFileSystemThriftStore.rootId);
+
+        InetAddress first = null;
+        for (InetAddress endpoint : endpoints)
+        {
+            if (first == null || endpoint.getHostAddress().compareTo(first.getHostAddress()) < 0)
+                first = endpoint;
+        }
+
+        return FBUtilities.getLocalAddress().equals(first);
+    }
+
+    /**
+     * Files below a path older than a minimum age and not opened for a minimum time.
+     */
+    static class Rule
+    {
+        final Path path;
+        final long minAge;
+        final long minIdle;
+
+        /**
+         * @param minAge in ms, 0 for any
+         * @param minIdle in ms, 0 for any
+         */
+        Rule(Path path, long minAge, long minIdle)
+        {
+            this.path = path;
+            this.minAge = minAge;
+            this.minIdle = minIdle;
+        }
+
+        boolean matches(INode inode, long now)
+        {
+            return now - inode.mtime >= minAge && now - Math.max(inode.mtime, inode.atime) >= minIdle;
+        }
+
+        static List<Rule> parse(String rules)
+        {
+            List<Rule> parsed = new ArrayList<Rule>();
+
+            for (String rule : rules.split(","))
+            {
+                if (rule.trim().isEmpty())
+                    continue;
+
+                String[] parts = rule.trim().split(":", -1);
+
+                if (parts.length != 3)
+                    throw new IllegalArgumentException("Invalid tiering rule " + rule + ", expected path:age:idle");
+
+                parsed.add(new Rule(new Path(parts[0]), parseDays(parts[1]), parseDays(parts[2])));
+            }
+
+            return parsed;
+        }
+
+        private static long parseDays(String days)
+        {
+            return days.trim().isEmpty() ? 0 : Long.parseLong(days.trim()) * day;
+        }
+
+        @Override
+        public String toString()
+        {
+            return path + ":" + minAge / day + ":" + minIdle / day;
+        }
+    }
+}
@@ -18,17 +18,23 @@
 package org.apache.cassandra.hadoop.trackers;
 
 import java.net.InetAddress;
-import java.util.Arrays;
-import java.util.Comparator;
-import java.util.Set;
+import java.util.*;
 
 import org.apache.cassandra.config.DatabaseDescriptor;
+import org.apache.cassandra.gms.FailureDetector;
+import org.apache.cassandra.gms.Gossiper;
 import org.apache.cassandra.utils.FBUtilities;
 import org.apache.log4j.Logger;
 
 public class CassandraJobConf extends org.apache.hadoop.mapred.JobConf
 {
     private static final Logger logger = Logger.getLogger(CassandraJobConf.class);
+
+    // How long, in ms, a JobTracker location read from the database is used before being read again.
+    private static final long jobTrackerNodeTTL = Long.getLong("brisk.jobtracker.cache.ttl", 60000);
+
+    private static volatile InetAddress jobTrackerNode;
+    private static volatile long        jobTrackerNodeReadAt;
     
     public String get(String name, String defaultValue)
     {  
@@ -50,13 +56,28 @@ public class CassandraJobConf extends org.apache.hadoop.mapred.JobConf
         return super.get(name);
     }
     
+    /**
+     * Hadoop looks the JobTracker up all the time, the location is kept in memory and
+     * refreshed by the tracker watcher instead of costing a QUORUM read on every lookup.
+     * @return the jobtracker address
+     */
+    public static InetAddress getJobTrackerNode()
+    {
+        InetAddress jobTrackerLocation = jobTrackerNode;
+
+        if (jobTrackerLocation != null && System.currentTimeMillis() - jobTrackerNodeReadAt < jobTrackerNodeTTL)
+            return jobTrackerLocation;
+
+        return refreshJobTrackerNode();
+    }
+
 	/**
      * Retrives the JobTracker location from the database.
      * If it is not there fallback into the config file and insert it
      * back to the DB.
      * @return the jobtracker address
      */
-    public static InetAddress getJobTrackerNode() {
+    public static InetAddress refreshJobTrackerNode() {
 	 	try
 		{
 	    	InetAddress jobTrackerLocation = TrackerManager.getCurrentJobtrackerLocation();
@@ -67,6 +88,9 @@ public class CassandraJobConf extends org.apache.hadoop.mapred.JobConf
 	    		jobTrackerLocation = internalgetJobTrackerNode();
 	    		TrackerManager.insertJobtrackerLocation(jobTrackerLocation);
 	    	}
+
+	    	jobTrackerNodeReadAt = System.currentTimeMillis();
+	    	jobTrackerNode = jobTrackerLocation;
 	    	
 	    	return jobTrackerLocation;
 		} 
@@ -76,33 +100,66 @@ public class CassandraJobConf extends org.apache.hadoop.mapred.JobConf
 		}
     }
 
-    //Will pick a seed to use as a job tracker in this local dc
-    //We can't check for live seeds because if this is a ec2 cluster
+    //Will pick a live seed to use as a job tracker in this local dc
+    //If none is live we can't wait for them because if this is a ec2 cluster
     //the seeds might not be up yet :(
     private static InetAddress internalgetJobTrackerNode()
     {
-        //Get this nodes local DC
-        String localDC = DatabaseDescriptor.getEndpointSnitch().getDatacenter(FBUtilities.getLocalAddress());
+        Set<InetAddress> seeds     = DatabaseDescriptor.getSeeds();
+        List<InetAddress> liveSeeds = new ArrayList<InetAddress>();
+
+        for (InetAddress seed : seeds)
+            if (seed.equals(FBUtilities.getLocalAddress()) || FailureDetector.instance.isAlive(seed))
+                liveSeeds.add(seed);
 
-        Set<InetAddress> seeds    = DatabaseDescriptor.getSeeds();
+        InetAddress seed = pickJobTrackerNode(liveSeeds);
 
-        InetAddress[] sortedSeeds = seeds.toArray(new InetAddress[]{});
-        Arrays.sort(sortedSeeds, new Comparator<InetAddress>(){
+        if (seed == null)
+            seed = pickJobTrackerNode(seeds);
+
+        if (seed == null)
+            throw new RuntimeException("No seeds found in this DC: "+getLocalDatacenter());
+
+        logger.info("Chose seed "+seed.getHostAddress()+" as jobtracker");
+        return seed;
+    }
+
+    /**
+     * Picks the live node of this DC with the lowest address. Every live node of the DC
+     * picks the same one as long as they agree on who is alive.
+     * @return the node to take over the JobTracker
+     */
+    public static InetAddress electJobTrackerNode()
+    {
+        Set<InetAddress> liveNodes = new HashSet<InetAddress>(Gossiper.instance.getLiveMembers());
+        liveNodes.add(FBUtilities.getLocalAddress());
+
+        return pickJobTrackerNode(liveNodes);
+    }
+
+    private static InetAddress pickJobTrackerNode(Collection<InetAddress> candidates)
+    {
+        //Get this nodes local DC
+        String localDC = getLocalDatacenter();
+
+        InetAddress[] sortedCandidates = candidates.toArray(new InetAddress[]{});
+        Arrays.sort(sortedCandidates, new Comparator<InetAddress>(){
             public int compare(InetAddress a, InetAddress b)
             {
                 return a.getHostAddress().compareTo(b.getHostAddress());
             }
         }); 
         
+        //Pick a node in the same DC as this node to be the job tracker
+        for (InetAddress candidate : sortedCandidates)
+            if (DatabaseDescriptor.getEndpointSnitch().getDatacenter(candidate).equals(localDC))
+                return candidate;
 
-        //Pick a seed in the same DC as this node to be the job tracker
-        for (InetAddress seed : sortedSeeds)           
-            if (DatabaseDescriptor.getEndpointSnitch().getDatacenter(seed).equals(localDC))
-            {
-                logger.info("Chose seed "+seed.getHostAddress()+" as jobtracker");
-                return seed;
-            } 
-        
-        throw new RuntimeException("No seeds found in this DC: "+localDC);
+        return null;
+    }
+
+    private static String getLocalDatacenter()
+    {
+        return DatabaseDescriptor.getEndpointSnitch().getDatacenter(FBUtilities.getLocalAddress());
     }
 }
@@ -0,0 +1,236 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.hadoop.trackers;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cassandra.concurrent.Stage;
+import org.apache.cassandra.concurrent.StageManager;
+import org.apache.cassandra.db.CompactionManager;
+import org.apache.cassandra.service.StorageProxy;
+import org.apache.cassandra.utils.EstimatedHistogram;
+import org.apache.hadoop.mapred.TaskTracker;
+import org.apache.log4j.Logger;
+
+/**
+ * Changes the map and reduce slots the TaskTracker advertises according to the pressure
+ * the co-located Cassandra is under.
+ *
+ * Every run looks at the pending compactions, the read and mutation stage queues, the p99
+ * read latency and the share of time spent in GC. When one of them is over its limit the
+ * slots are halved, when all of them are under half their limit one slot is given back, up
+ * to the configured mapred.tasktracker.*.tasks.maximum.
+ *
+ * Running tasks are never killed, the JobTracker just stops assigning new ones until the
+ * node calms down.
+ */
+public class TaskTrackerSlotController implements Runnable
+{
+    private static final Logger logger = Logger.getLogger(TaskTrackerSlotController.class);
+
+    public static final boolean isEnabled = Boolean.parseBoolean(System.getProperty("brisk.slots.adaptive", "false"));
+
+    // How often, in seconds, the slots are adjusted.
+    private static final long interval = Long.getLong("brisk.slots.interval", 10);
+
+    // Slots are never taken below this so that jobs keep making progress.
+    private static final int minSlots = Integer.getInteger("brisk.slots.min", 1);
+
+    private static final long maxPendingCompactions = Long.getLong("brisk.slots.max.pending.compactions", 8);
+
+    private static final long maxPendingRequests = Long.getLong("brisk.slots.max.pending.requests", 64);
+
+    // p99 read latency, in ms, Cassandra is expected to hold.
+    private static final long maxReadLatency = Long.getLong("brisk.slots.max.read.latency", 50);
+
+    // Max share of the interval, in percent, spent in GC.
+    private static final long maxGCTime = Long.getLong("brisk.slots.max.gc.time", 10);
+
+    private static final long[] latencyOffsets = new EstimatedHistogram().getBucketOffsets();
+
+    private static ScheduledExecutorService controller;
+
+    private final int maxMapSlots;
+    private final int maxReduceSlots;
+
+    private int mapSlots;
+    private int reduceSlots;
+
+    private long lastGCTime = getGCTime();
+
+    // Read latency histogram at the last run. The recent one is reset by every reader, JMX included.
+    private long[] lastReadLatencies = StorageProxy.instance.getTotalReadLatencyHistogramMicros();
+    private long lastRun = System.currentTimeMillis();
+
+    public static synchronized void init()
+    {
+        if (controller != null || !isEnabled)
+            return;
+
+        CassandraJobConf conf = new CassandraJobConf();
+
+        controller = Executors.newSingleThreadScheduledExecutor();
+        controller.scheduleWithFixedDelay(new TaskTrackerSlotController(
+                conf.getInt("mapred.tasktracker.map.tasks.maximum", 2),
+                conf.getInt("mapred.tasktracker.reduce.tasks.maximum", 2)), interval, interval, TimeUnit.SECONDS);
+
+        logger.info("TaskTracker slot controller started");
+    }
+
+    public TaskTrackerSlotController(int maxMapSlots, int maxReduceSlots)
+    {
+        this.maxMapSlots = mapSlots = maxMapSlots;
+        this.maxReduceSlots = reduceSlots = maxReduceSlots;
+    }
+
+    public void run()
+    {
+        try
+        {
+            int pressure = getPressure();
+
+            mapSlots = nextSlots(mapSlots, maxMapSlots, pressure);
+            reduceSlots = nextSlots(reduceSlots, maxReduceSlots, pressure);
+
+            // The tracker is replaced when the JobTracker moves, the slots are set on every run.
+            TaskTracker taskTracker = TrackerInitializer.getTaskTracker();
+
+            if (taskTracker != null)
+            {
+                setSlots(taskTracker, "maxMapSlots", mapSlots);
+                setSlots(taskTracker, "maxReduceSlots", reduceSlots);
+            }
+        }
+        catch (Throwable t)
+        {
+            logger.error("Unable to adjust the TaskTracker slots", t);
+        }
+    }
+
+    /**
+     * @return 1 if Cassandra is over one of its limits, -1 if it is under half of all of them, 0 otherwise
+     */
+    private int getPressure()
+    {
+        long now = System.currentTimeMillis();
+        long gcTime = getGCTime();
+        long gcShare = 100 * (gcTime - lastGCTime) / Math.max(1, now - lastRun);
+
+        lastGCTime = gcTime;
+        lastRun = now;
+
+        long pendingRequests = StageManager.getStage(Stage.READ).getQueue().size()
+                + StageManager.getStage(Stage.MUTATION).getQueue().size();
+
+        long[] values = { CompactionManager.instance.getPendingTasks(), pendingRequests,
+                getReadLatencyP99() / 1000, gcShare };
+        long[] limits = { maxPendingCompactions, maxPendingRequests, maxReadLatency, maxGCTime };
+
+        boolean idle = true;
+
+        for (int i = 0; i < values.length; i++)
+        {
+            if (values[i] > limits[i])
+            {
+                if (logger.isDebugEnabled())
+                    logger.debug("Cassandra under pressure: " + values[i] + " > " + limits[i]);
+                return 1;
+            }
+
+            idle &= values[i] <= limits[i] / 2;
+        }
+
+        return idle ? -1 : 0;
+    }
+
+    /**
+     * Halves the slots under pressure and gives one back when idle.
+     */
+    static int nextSlots(int slots, int maxSlots, int pressure)
+    {
+        int floor = Math.min(minSlots, maxSlots);
+
+        if (pressure > 0)
+            return Math.max(floor, slots / 2);
+
+        if (pressure < 0)
+            return Math.min(maxSlots, slots + 1);
+
+        return slots;
+    }
+
+    /**
+     * The p99 of the reads served since the last call, in micro seconds.
+     */
+    private long getReadLatencyP99()
+    {
+        long[] totals = StorageProxy.instance.getTotalReadLatencyHistogramMicros();
+        long[] buckets = new long[totals.length];
+
+        for (int i = 0; i < totals.length; i++)
+            buckets[i] = totals[i] - (i < lastReadLatencies.length ? lastReadLatencies[i] : 0);
+
+        lastReadLatencies = totals;
+
+        long total = 0;
+        for (long count : buckets)
+            total += count;
+
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++)
+        {
+            seen += buckets[i];
+
+            if (seen > 0 && seen >= total * 0.99)
+                return latencyOffsets[Math.min(i, latencyOffsets.length - 1)];
+        }
+
+        return 0;
+    }
+
+    private static long getGCTime()
+    {
+        long total = 0;
+
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+            total += Math.max(0, gc.getCollectionTime());
+
+        return total;
+    }
+
+    /**
+     * The TaskTracker reads its slot counts once from the conf, they are what it
+     * advertises on its next heartbeat.
+     */
+    private static void setSlots(TaskTracker taskTracker, String fieldName, int slots) throws Exception
+    {
+        Field field = TaskTracker.class.getDeclaredField(fieldName);
+        field.setAccessible(true);
+
+        if (field.getInt(taskTracker) != slots)
+        {
+            logger.info("Advertising " + slots + " " + fieldName);
+            field.setInt(taskTracker, slots);
+        }
+    }
+}
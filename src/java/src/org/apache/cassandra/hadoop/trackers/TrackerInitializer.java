@@ -26,6 +26,8 @@ import java.util.concurrent.TimeUnit;
 
 import javax.management.ObjectName;
 
+import org.apache.cassandra.gms.*;
+import org.apache.cassandra.service.StorageService;
 import org.apache.cassandra.utils.FBUtilities;
 import org.apache.hadoop.mapred.JobTracker;
 import org.apache.hadoop.mapred.TaskTracker;
@@ -46,10 +48,18 @@ public class TrackerInitializer {
     /** This attribute will be null if we are not the job tracker */
     public static Thread jobTrackerThread;
     public static Thread taskTrackerThread;
-    private static TaskTracker taskTracker;
+    private static volatile TaskTracker taskTracker;
     private static ObjectName taskTrackerMBean;
 
-    private static InetAddress lastKnowJobTracker;
+    private static volatile InetAddress lastKnowJobTracker;
+
+    /** Gossip state a node announces a new JobTracker location with, one left free by Cassandra */
+    public static final ApplicationState JOBTRACKER_STATE = ApplicationState.X1;
+
+    private static ScheduledExecutorService trackersWatcher;
+
+    /** How long, in seconds, the JobTracker node must stay down before another node takes it over */
+    private static final long takeoverDelay = Long.getLong("brisk.jobtracker.takeover.delay", 30);
 
     public static void init() {
         // Wait for gossip
@@ -80,9 +90,31 @@ public class TrackerInitializer {
 
         launchTrackers();
 
-        // Launches cron service to listen to JobTracker changes
-        ScheduledExecutorService trackersWatcher = Executors.newSingleThreadScheduledExecutor();
+        // Launches cron service to listen to JobTracker changes. Announced changes and
+        // JobTracker failures are run by the same thread, the polling is a fallback.
+        trackersWatcher = Executors.newSingleThreadScheduledExecutor();
         trackersWatcher.scheduleWithFixedDelay(new TrackerWatcherTask(), 60, 20, TimeUnit.SECONDS);
+
+        Gossiper.instance.register(new JobTrackerStateSubscriber());
+
+        TaskTrackerSlotController.init();
+    }
+
+    /** @return the running TaskTracker, null while it is (re)started */
+    static TaskTracker getTaskTracker() {
+        return taskTracker;
+    }
+
+    /**
+     * Tells the other trackers through gossip that the JobTracker moved, so that they
+     * re-point their TaskTrackers without waiting for the next poll.
+     * 
+     * @param jobTrackerAddr the new JobTracker, already recorded by {@link TrackerManager}
+     */
+    public static void announceJobTracker(InetAddress jobTrackerAddr) {
+        // The factory has no generic value, a DC value is just a string.
+        Gossiper.instance.addLocalApplicationState(JOBTRACKER_STATE,
+                StorageService.instance.valueFactory.datacenter(jobTrackerAddr.getHostAddress()));
     }
 
     /**
@@ -92,6 +124,8 @@ public class TrackerInitializer {
      */
     private static void launchTrackers() {
         if (amIJobTracker()) {
+            announceJobTracker(lastKnowJobTracker);
+
             jobTrackerThread = getJobTrackerThread();
             jobTrackerThread.start();
 
@@ -121,8 +155,15 @@ public class TrackerInitializer {
 
         @Override
         public void run() {
-            // Are we a JobTracker?
-            InetAddress currentJobTrackerAddr = CassandraJobConf.getJobTrackerNode();
+            // Are we a JobTracker? Also keeps the location cached by CassandraJobConf fresh.
+            InetAddress currentJobTrackerAddr;
+            try {
+                currentJobTrackerAddr = CassandraJobConf.refreshJobTrackerNode();
+            } catch (RuntimeException e) {
+                // A failure would cancel the next runs, try again on schedule.
+                logger.warn("Unable to read the JobTracker location", e);
+                return;
+            }
 
             // Did JobTracker change?
             if (lastKnowJobTracker.equals(currentJobTrackerAddr)) {
@@ -142,6 +183,91 @@ public class TrackerInitializer {
         }
     }
 
+    /**
+     * Takes the JobTracker over when the current one is still down a while after it was convicted
+     * and this node is the one the live nodes of the DC elect. The other nodes learn about it from
+     * the announcement.
+     */
+    private static class JobTrackerElectionTask implements Runnable {
+        private final InetAddress deadJobTracker;
+
+        public JobTrackerElectionTask(InetAddress deadJobTracker) {
+            this.deadJobTracker = deadJobTracker;
+        }
+
+        @Override
+        public void run() {
+            // Someone took over already or the node came back
+            if (!deadJobTracker.equals(lastKnowJobTracker) || FailureDetector.instance.isAlive(deadJobTracker))
+                return;
+
+            InetAddress elected = CassandraJobConf.electJobTrackerNode();
+
+            if (!FBUtilities.getLocalAddress().equals(elected))
+                return;
+
+            try {
+                // Another node may have taken over without this one having heard of it yet
+                InetAddress current = TrackerManager.getCurrentJobtrackerLocation();
+
+                if (current != null && !current.equals(deadJobTracker)) {
+                    new TrackerWatcherTask().run();
+                    return;
+                }
+
+                logger.info("JobTracker " + deadJobTracker + " is down, taking it over");
+
+                TrackerManager.insertJobtrackerLocation(elected);
+            } catch (TrackerManagerException e) {
+                logger.error("Unable to take the JobTracker over", e);
+                return;
+            }
+
+            // Restarts the trackers with this node as JobTracker, which announces it.
+            new TrackerWatcherTask().run();
+        }
+    }
+
+    /**
+     * Reacts within seconds to JobTracker announcements and to the JobTracker node going down.
+     */
+    private static class JobTrackerStateSubscriber implements IEndpointStateChangeSubscriber {
+
+        public void onJoin(InetAddress endpoint, EndpointState epState) {
+            VersionedValue value = epState.getApplicationState(JOBTRACKER_STATE);
+
+            if (value != null)
+                onChange(endpoint, JOBTRACKER_STATE, value);
+        }
+
+        public void onChange(InetAddress endpoint, ApplicationState state, VersionedValue value) {
+            if (state != JOBTRACKER_STATE || value.value.equals(lastKnowJobTracker.getHostAddress()))
+                return;
+
+            if (logger.isDebugEnabled())
+                logger.debug(endpoint + " announced JobTracker " + value.value);
+
+            // The watcher reads the location back from the DB and restarts the trackers.
+            trackersWatcher.execute(new TrackerWatcherTask());
+        }
+
+        public void onAlive(InetAddress endpoint, EndpointState state) {
+        }
+
+        public void onDead(InetAddress endpoint, EndpointState state) {
+            // A single conviction may be a GC pause or a network hiccup, the election checks again later
+            if (endpoint.equals(lastKnowJobTracker))
+                trackersWatcher.schedule(new JobTrackerElectionTask(endpoint), takeoverDelay, TimeUnit.SECONDS);
+        }
+
+        public void onRemove(InetAddress endpoint) {
+            onDead(endpoint, null);
+        }
+
+        public void onRestart(InetAddress endpoint, EndpointState state) {
+        }
+    }
+
     private static void restartTrackers() throws InterruptedException, IOException {
         reset();
         stopJobTracker();
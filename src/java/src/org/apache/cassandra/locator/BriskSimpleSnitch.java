@@ -20,9 +20,9 @@ package org.apache.cassandra.locator;
 
 import java.io.IOException;
 import java.net.InetAddress;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,20 +30,40 @@ import org.slf4j.LoggerFactory;
 import org.apache.cassandra.config.ConfigurationException;
 import org.apache.cassandra.gms.*;
 import org.apache.cassandra.hadoop.trackers.TrackerInitializer;
+import org.apache.cassandra.net.MessagingService;
 import org.apache.cassandra.service.StorageService;
 import org.apache.cassandra.utils.FBUtilities;
 
 /**
  * A snitch that detects if Hadoop trackers are active and put this machine in a separate analytics DC
+ *
+ * Replicas are sorted with this node first, then the nodes of the same DC, then by the latency
+ * measured on the responses they sent back, sub block reads included. As it keeps its own scores
+ * this snitch is meant to be used with dynamic_snitch turned off.
+ *
+ * Replicas of about the same latency are ordered differently from one node to the other, so
+ * that a burst of reads of the same data from many nodes spreads over the replicas.
  */
-public class BriskSimpleSnitch extends AbstractEndpointSnitch
+public class BriskSimpleSnitch extends AbstractEndpointSnitch implements ILatencySubscriber
 {
     protected static Logger logger = LoggerFactory.getLogger(BriskSimpleSnitch.class);
     public static final String BRISK_DC = "Brisk";
     public static final String CASSANDRA_DC = "Cassandra";
+
+    // Weight of the latest sample in the moving average of an endpoint latency.
+    private static final double ALPHA = 0.25;
+
+    // Latencies within this factor of each other are considered the same.
+    private static final double BUCKET_FACTOR = Math.log(1.5);
+
+    // How often, in ms, latencies are forgotten so that a host which was slow for a while can recover.
+    private static final long resetInterval = Long.getLong("brisk.snitch.reset.interval", 600000);
     
     protected String myDC;
 
+    private final ConcurrentMap<InetAddress, Double> scores = new ConcurrentHashMap<InetAddress, Double>();
+    private volatile long lastReset = System.currentTimeMillis();
+
     public BriskSimpleSnitch() throws IOException, ConfigurationException
     {
         if(TrackerInitializer.isTrackerNode)
@@ -93,16 +113,111 @@ public class BriskSimpleSnitch extends AbstractEndpointSnitch
     {
         // Share DC info via gossip.
         Gossiper.instance.addLocalApplicationState(ApplicationState.DC, StorageService.instance.valueFactory.datacenter(myDC));
+
+        // Messaging can't be touched while the snitch is built, it needs the configuration being loaded.
+        MessagingService.instance().register(this);
+    }
+
+    public void receiveTiming(InetAddress endpoint, Double latency)
+    {
+        long now = System.currentTimeMillis();
+
+        if (now - lastReset > resetInterval)
+        {
+            scores.clear();
+            lastReset = now;
+        }
+
+        Double score = scores.get(endpoint);
+        scores.put(endpoint, score == null ? latency : score + ALPHA * (latency - score));
     }
 
     public List<InetAddress> getSortedListByProximity(InetAddress address, Collection<InetAddress> addresses)
     {
-        return new ArrayList<InetAddress>(addresses);
+        List<InetAddress> list = new ArrayList<InetAddress>(addresses);
+        sortByProximity(address, list);
+        return list;
     }
 
-    public void sortByProximity(InetAddress arg0, List<InetAddress> arg1)
-    {      
-        
+    public void sortByProximity(final InetAddress address, List<InetAddress> addresses)
+    {
+        // Scores move as responses come in, each endpoint is ranked once so that the order stays consistent
+        String targetDC = getDatacenter(address);
+        final Map<InetAddress, Long> ranks = new HashMap<InetAddress, Long>();
+
+        for (InetAddress endpoint : addresses)
+            ranks.put(endpoint, getRank(address, targetDC, endpoint));
+
+        Collections.sort(addresses, new Comparator<InetAddress>()
+        {
+            public int compare(InetAddress a1, InetAddress a2)
+            {
+                return compareRanks(address, a1, ranks.get(a1), a2, ranks.get(a2));
+            }
+        });
+    }
+
+    @Override
+    public int compareEndpoints(InetAddress target, InetAddress a1, InetAddress a2)
+    {
+        String targetDC = getDatacenter(target);
+        return compareRanks(target, a1, getRank(target, targetDC, a1), a2, getRank(target, targetDC, a2));
+    }
+
+    private static int compareRanks(InetAddress target, InetAddress a1, long rank1, InetAddress a2, long rank2)
+    {
+        if (a1.equals(a2))
+            return 0;
+
+        int ranks = Long.valueOf(rank1).compareTo(rank2);
+
+        if (ranks != 0)
+            return ranks;
+
+        return Integer.valueOf(spread(target, a1)).compareTo(spread(target, a2));
+    }
+
+    /**
+     * @return the target first, then the endpoints of its DC, then the others, each by latency bucket
+     */
+    private long getRank(InetAddress target, String targetDC, InetAddress endpoint)
+    {
+        if (endpoint.equals(target))
+            return 0;
+
+        long distance = targetDC.equals(getDatacenter(endpoint)) ? 1 : 2;
+
+        return distance << 32 | getBucket(endpoint);
+    }
+
+    private int getBucket(InetAddress endpoint)
+    {
+        return (int) Math.floor(Math.log1p(getScore(endpoint)) / BUCKET_FACTOR);
+    }
+
+    /**
+     * A preference order of the endpoints, different for each target.
+     */
+    private static int spread(InetAddress target, InetAddress endpoint)
+    {
+        int h = target.hashCode() * 31 + endpoint.hashCode();
+
+        // mix the bits so that close addresses are not ordered alike
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+
+        return h;
+    }
+
+    /**
+     * Endpoints not heard from yet score best so that they get tried.
+     */
+    private double getScore(InetAddress endpoint)
+    {
+        Double score = scores.get(endpoint);
+
+        return score == null ? 0.0 : score;
     }
 
     public String getRack(InetAddress arg0)
@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.cassandra.locator;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.cassandra.config.DatabaseDescriptor;
+import org.apache.hadoop.net.DNSToSwitchMapping;
+import org.apache.hadoop.net.NetworkTopology;
+
+/**
+ * Resolves Hadoop network locations from the endpoint snitch, so the JobTracker places
+ * trackers in the same /datacenter/rack tree that CFS reports for its blocks.
+ */
+public class SnitchSwitchMapping implements DNSToSwitchMapping
+{
+    protected static Logger logger = LoggerFactory.getLogger(SnitchSwitchMapping.class);
+
+    public List<String> resolve(List<String> names)
+    {
+        List<String> locations = new ArrayList<String>(names.size());
+
+        for (String name : names)
+        {
+            try
+            {
+                locations.add(getNetworkLocation(InetAddress.getByName(name)));
+            }
+            catch (UnknownHostException e)
+            {
+                logger.warn("Unable to resolve " + name + ", defaulting to " + NetworkTopology.DEFAULT_RACK);
+                locations.add(NetworkTopology.DEFAULT_RACK);
+            }
+        }
+
+        return locations;
+    }
+
+    /**
+     * @return the network location of the endpoint, as /datacenter/rack
+     */
+    public static String getNetworkLocation(InetAddress endpoint)
+    {
+        IEndpointSnitch snitch = DatabaseDescriptor.getEndpointSnitch();
+
+        return "/" + snitch.getDatacenter(endpoint) + "/" + snitch.getRack(endpoint);
+    }
+}
@@ -0,0 +1,53 @@
+package com.datastax.brisk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class CfsRequestSchedulerTest
+{
+    @Test
+    public void testBandwidth() throws Exception
+    {
+        CfsRequestScheduler.Throttle throttle = new CfsRequestScheduler.Throttle(1, 1000);
+
+        // Going 1000 bytes into debt at 1000 bytes/s costs about a second
+        long delay = throttle.reserve(1000);
+        assertTrue(delay > 900 && delay <= 1000);
+
+        // No limit
+        throttle.setBandwidth(0);
+        assertEquals(0, throttle.reserve(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testConcurrency() throws Exception
+    {
+        final CfsRequestScheduler.Throttle throttle = new CfsRequestScheduler.Throttle(1, 0);
+
+        throttle.acquire();
+
+        Thread waiter = new Thread() {
+            public void run()
+            {
+                try
+                {
+                    throttle.acquire();
+                }
+                catch (InterruptedException e)
+                {
+                }
+            }
+        };
+        waiter.start();
+
+        waiter.join(200);
+        assertTrue(waiter.isAlive());
+
+        // Raising the cap lets the waiting request in
+        throttle.setConcurrency(2);
+        waiter.join(5000);
+        assertTrue(!waiter.isAlive());
+    }
+}
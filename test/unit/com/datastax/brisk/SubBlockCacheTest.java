@@ -0,0 +1,41 @@
+package com.datastax.brisk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.nio.ByteBuffer;
+
+import org.apache.cassandra.utils.ByteBufferUtil;
+import org.junit.Test;
+
+public class SubBlockCacheTest
+{
+    @Test
+    public void testEvictions() throws Exception
+    {
+        SubBlockCache cache = new SubBlockCache(10);
+
+        ByteBuffer block1 = ByteBufferUtil.bytes("block1");
+        ByteBuffer block2 = ByteBufferUtil.bytes("block2");
+
+        cache.put(block1, ByteBufferUtil.bytes("a"), ByteBufferUtil.bytes("12345"));
+        cache.put(block1, ByteBufferUtil.bytes("b"), ByteBufferUtil.bytes("12345"));
+        assertEquals("12345", ByteBufferUtil.string(cache.get(block1, ByteBufferUtil.bytes("a"))));
+
+        // Over capacity, the least recently used one goes
+        cache.put(block2, ByteBufferUtil.bytes("a"), ByteBufferUtil.bytes("123"));
+        assertNull(cache.get(block1, ByteBufferUtil.bytes("b")));
+        assertEquals(8, cache.size());
+
+        cache.invalidate(block1);
+        assertNull(cache.get(block1, ByteBufferUtil.bytes("a")));
+        assertEquals("123", ByteBufferUtil.string(cache.get(block2, ByteBufferUtil.bytes("a"))));
+        assertEquals(3, cache.size());
+
+        // Chunks are cut out of the cached value
+        assertEquals("23", ByteBufferUtil.string(cache.get(block2, ByteBufferUtil.bytes("a"), 1, 2)));
+        assertEquals("3", ByteBufferUtil.string(cache.get(block2, ByteBufferUtil.bytes("a"), 2, 2)));
+        assertEquals(0, cache.get(block2, ByteBufferUtil.bytes("a"), 3, 2).remaining());
+        assertNull(cache.get(block1, ByteBufferUtil.bytes("a"), 0, 2));
+    }
+}
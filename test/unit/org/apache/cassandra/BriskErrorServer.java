@@ -273,13 +273,37 @@ public class BriskErrorServer implements Brisk.Iface
     }
 
     public LocalOrRemoteBlock get_cfs_sblock(String callerHostName, ByteBuffer blockId, ByteBuffer sblockId, int offset,
-    		StorageType storageType)
+    		StorageType storageType, int length)
             throws InvalidRequestException, UnavailableException, TimedOutException, NotFoundException, TException
     {
         // TODO Auto-generated method stub
         return null;
     }
 
+    public ByteBuffer get_cfs_sblock_chunk(ByteBuffer blockId, ByteBuffer sblockId, long position, int maxLength,
+            StorageType storageType) throws InvalidRequestException, UnavailableException, TimedOutException,
+            NotFoundException, TException
+    {
+        // TODO Auto-generated method stub
+        return null;
+    }
+
+    public ByteBuffer get_cfs_block_checksum(ByteBuffer blockId, List<ByteBuffer> sblockIds, int bytesPerCrc,
+            StorageType storageType) throws InvalidRequestException, UnavailableException, TimedOutException,
+            NotFoundException, TException
+    {
+        // TODO Auto-generated method stub
+        return null;
+    }
+
+    public long copy_cfs_block(ByteBuffer blockId, List<ByteBuffer> sblockIds, StorageType source,
+            ByteBuffer targetBlockId, StorageType target, ConsistencyLevel consistencyLevel)
+            throws InvalidRequestException, UnavailableException, TimedOutException, NotFoundException, TException
+    {
+        // TODO Auto-generated method stub
+        return 0;
+    }
+
     public String get_jobtracker_address() throws NotFoundException, TException
     {
         // TODO Auto-generated method stub
@@ -293,6 +317,20 @@ public class BriskErrorServer implements Brisk.Iface
 		return null;
 	}
 
+    public List<String> describe_network_locations(List<String> endpoints) throws InvalidRequestException, TException
+    {
+        // TODO Auto-generated method stub
+        return null;
+    }
+
+    public List<List<CfsBlockLocation>> describe_cfs_locations(List<String> paths, StorageType storageType,
+            ConsistencyLevel consistency_level)
+            throws InvalidRequestException, UnavailableException, TimedOutException, TException
+    {
+        // TODO Auto-generated method stub
+        return null;
+    }
+
 
 
 }
@@ -17,35 +17,65 @@
  */
 package org.apache.cassandra.hadoop.fs;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.*;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.Future;
+import java.util.zip.CRC32;
 
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import com.datastax.brisk.BriskInternalServer;
+import com.datastax.brisk.SubBlockDataServer;
+
 import org.apache.cassandra.CleanupHelper;
 import org.apache.cassandra.EmbeddedServer;
 import org.apache.cassandra.Util;
 import org.apache.cassandra.config.ConfigurationException;
 import org.apache.cassandra.config.DatabaseDescriptor;
+import org.apache.cassandra.db.ColumnFamilyStore;
 import org.apache.cassandra.db.Table;
+import org.apache.cassandra.hadoop.CassandraProxyClient;
+import org.apache.cassandra.hadoop.CassandraProxyClient.ConnectionStrategy;
+import org.apache.cassandra.io.sstable.SSTableReader;
+import org.apache.cassandra.locator.SnitchSwitchMapping;
+import org.apache.cassandra.thrift.*;
+import org.apache.cassandra.utils.ByteBufferUtil;
 import org.apache.cassandra.utils.FBUtilities;
+import org.apache.cassandra.utils.UUIDGen;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.BlockLocation;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileChecksum;
 import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.MD5MD5CRC32FileChecksum;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.permission.FsPermission;
+import org.apache.hadoop.io.MD5Hash;
 import org.apache.thrift.transport.TTransportException;
+import org.xerial.snappy.Snappy;
 
 public class CassandraFileSystemTest extends CleanupHelper
 {
+    private static final SlicePredicate allColumns = new SlicePredicate().setSlice_range(new SliceRange(
+            ByteBufferUtil.EMPTY_BYTE_BUFFER, ByteBufferUtil.EMPTY_BYTE_BUFFER, false, Integer.MAX_VALUE));
+
     /**
      * Set embedded cassandra up and spawn it in a new thread.
      *
@@ -131,6 +161,10 @@ public class CassandraFileSystemTest extends CleanupHelper
         assertEquals(1, info.length);
         assertEquals(FBUtilities.getLocalAddress().getHostName(), info[0].getHosts()[0]);
 
+        String name = FBUtilities.getLocalAddress().getHostName() + ":" + DatabaseDescriptor.getRpcPort();
+        assertEquals(name, info[0].getNames()[0]);
+        assertEquals(SnitchSwitchMapping.getNetworkLocation(FBUtilities.getLocalAddress()) + "/" + name, info[0].getTopologyPaths()[0]);
+
         info = fs.getFileBlockLocations(stat, 1, 10);
         assertTrue(info.length == 1);
 
@@ -161,6 +195,982 @@ public class CassandraFileSystemTest extends CleanupHelper
     }
 
 
+    @Test
+    public void testRecursiveDelete() throws Exception
+    {
+        Configuration conf = new Configuration();
+        // Small batches so the deletes get spread over several connections.
+        conf.setInt("brisk.delete.batch.size", 3);
+        conf.setInt("brisk.delete.threads", 3);
+
+        CassandraFileSystem fs = new CassandraFileSystem();
+        fs.initialize(URI.create("cfs://localhost:"+DatabaseDescriptor.getRpcPort()+"/"), conf);
+
+        fs.mkdirs(new Path("/deltest/sub1/sub2"));
+        fs.mkdirs(new Path("/deltestsibling"));
+
+        byte[] data = new byte[1024];
+        for (int i = 0; i < 10; i++)
+        {
+            OutputStream os = fs.create(new Path("/deltest/sub1/file" + i));
+            os.write(data);
+            os.close();
+        }
+
+        OutputStream os = fs.create(new Path("/deltestsibling/file"));
+        os.write(data);
+        os.close();
+
+        INode inode = fs.store.retrieveINode(new Path("/deltest/sub1/file0"));
+        Block block = inode.getBlocks()[0];
+
+        // The sibling shares the path prefix but is not part of the tree
+        assertEquals(12, fs.store.listDeepSubINodes(new Path("/deltest")).size());
+
+        try
+        {
+            fs.delete(new Path("/deltest"), false);
+            Assert.fail("Non recursive delete of a non empty directory must fail");
+        }
+        catch (IOException e)
+        {
+            // expected
+        }
+
+        assertTrue(fs.delete(new Path("/deltest"), true));
+
+        assertEquals(false, fs.exists(new Path("/deltest")));
+        assertEquals(false, fs.exists(new Path("/deltest/sub1/sub2")));
+        assertEquals(false, fs.exists(new Path("/deltest/sub1/file9")));
+        assertEquals(0, fs.store.listDeepSubPaths(new Path("/deltest")).size());
+
+        assertTrue(fs.exists(new Path("/deltestsibling/file")));
+
+        // Blocks are only queued, the reclamation service removes them
+        Brisk.Iface client = getCfsClient();
+        ByteBuffer blockKey = CassandraFileSystemThriftStore.uuidToByteBuffer(block.id);
+
+        assertEquals(1, client.get_count(blockKey, new ColumnParent("reclaim"), allColumns, ConsistencyLevel.ONE));
+
+        assertTrue(BlockReclamationService.reclaimQueuedBlocks() >= 10);
+
+        assertEquals(0, client.get_count(blockKey, new ColumnParent("sblocks"), allColumns, ConsistencyLevel.ONE));
+        assertEquals(0, client.get_count(blockKey, new ColumnParent("reclaim"), allColumns, ConsistencyLevel.ONE));
+    }
+
+    @Test
+    public void testOrphanBlockSweep() throws Exception
+    {
+        CassandraFileSystem fs = new CassandraFileSystem();
+        fs.initialize(URI.create("cfs://localhost:"+DatabaseDescriptor.getRpcPort()+"/"), new Configuration());
+
+        OutputStream os = fs.create(new Path("/sweeptest/file"));
+        os.write(new byte[1024]);
+        os.close();
+
+        Block liveBlock = fs.store.retrieveINode(new Path("/sweeptest/file")).getBlocks()[0];
+
+        // Sub block of a file whose inode was never written
+        UUID orphanId = UUIDGen.makeType1UUIDFromHost(FBUtilities.getLocalAddress());
+        fs.store.storeSubBlock(orphanId, new SubBlock(UUIDGen.makeType1UUIDFromHost(FBUtilities.getLocalAddress()), 0, 1024),
+                ByteBuffer.allocateDirect(1024));
+
+        Brisk.Iface client = getCfsClient();
+        ByteBuffer orphanKey = CassandraFileSystemThriftStore.uuidToByteBuffer(orphanId);
+
+        // Still in its grace period
+        BlockReclamationService.sweepOrphanBlocks(3600 * 1000);
+        assertEquals(1, client.get_count(orphanKey, new ColumnParent("sblocks"), allColumns, ConsistencyLevel.ONE));
+
+        assertTrue(BlockReclamationService.sweepOrphanBlocks(0) >= 1);
+        assertEquals(0, client.get_count(orphanKey, new ColumnParent("sblocks"), allColumns, ConsistencyLevel.ONE));
+
+        assertEquals(1, client.get_count(CassandraFileSystemThriftStore.uuidToByteBuffer(liveBlock.id),
+                new ColumnParent("sblocks"), allColumns, ConsistencyLevel.ONE));
+
+        // Directory unlinked by a recursive delete which died before removing its rows
+        os = fs.create(new Path("/sweepunlinked/file"));
+        os.write(new byte[1024]);
+        os.close();
+
+        Block unlinkedBlock = fs.store.retrieveINode(new Path("/sweepunlinked/file")).getBlocks()[0];
+        ColumnPath entryPath = new ColumnPath("inode").setColumn(ByteBufferUtil.bytes(
+                CassandraFileSystemThriftStore.entryPrefix + "sweepunlinked"));
+        ByteBuffer dirId = client.get(CassandraFileSystemThriftStore.rootId, entryPath, ConsistencyLevel.ONE).column.value;
+        client.remove(CassandraFileSystemThriftStore.rootId, entryPath, System.currentTimeMillis(), ConsistencyLevel.ONE);
+
+        // Only marked by the first sweep, removed by the next one
+        BlockReclamationService.sweepOrphanBlocks(0);
+        assertTrue(client.get_count(dirId, new ColumnParent("inode"), allColumns, ConsistencyLevel.ONE) > 0);
+
+        assertTrue(BlockReclamationService.sweepOrphanBlocks(0) >= 1);
+
+        assertEquals(0, client.get_count(dirId, new ColumnParent("inode"), allColumns, ConsistencyLevel.ONE));
+        assertEquals(0, client.get_count(CassandraFileSystemThriftStore.uuidToByteBuffer(unlinkedBlock.id),
+                new ColumnParent("sblocks"), allColumns, ConsistencyLevel.ONE));
+        assertEquals(1, client.get_count(CassandraFileSystemThriftStore.uuidToByteBuffer(liveBlock.id),
+                new ColumnParent("sblocks"), allColumns, ConsistencyLevel.ONE));
+    }
+
+    @Test
+    public void testBlockCompaction() throws Exception
+    {
+        Configuration conf = new Configuration();
+        conf.setBoolean("brisk.delete.async", false);
+
+        CassandraFileSystem fs = new CassandraFileSystem();
+        fs.initialize(URI.create("cfs://localhost:"+DatabaseDescriptor.getRpcPort()+"/"), conf);
+
+        ColumnFamilyStore store = Table.open("cfs").getColumnFamilyStore("sblocks");
+        byte[] data = new byte[5000];
+        new Random(3).nextBytes(data);
+
+        // One SSTable with the first file, then one with the second file and the tombstones of the first
+        Path first = new Path("/compactiontest/first");
+        Path second = new Path("/compactiontest/second");
+        Set<SSTableReader> before = new HashSet<SSTableReader>(store.getSSTables());
+
+        OutputStream os = fs.create(first);
+        os.write(data);
+        os.close();
+        store.forceBlockingFlush();
+        Set<SSTableReader> ours = new HashSet<SSTableReader>(store.getSSTables());
+        ours.removeAll(before);
+        SSTableReader firstSSTable = ours.iterator().next();
+
+        os = fs.create(second);
+        os.write(data);
+        os.close();
+        fs.delete(first, false);
+        store.forceBlockingFlush();
+        ours.addAll(store.getSSTables());
+        ours.removeAll(before);
+
+        // Dropped as is, the SSTable with the live blocks is left alone
+        int gcBefore = Integer.MAX_VALUE;
+        assertTrue(BlockCompactionService.compact(store, gcBefore) >= 1);
+        assertTrue(!store.getSSTables().contains(firstSSTable));
+        assertArrayEquals(data, readFile(fs, second, data.length));
+
+        fs.delete(second, false);
+        store.forceBlockingFlush();
+        ours.addAll(store.getSSTables());
+        ours.removeAll(before);
+
+        // Then each SSTable goes along with the blocks its tombstones shadowed
+        for (int i = 0; i < 3; i++)
+            BlockCompactionService.compact(store, gcBefore);
+
+        assertTrue(Collections.disjoint(ours, store.getSSTables()));
+    }
+
+    @Test
+    public void testBlockCompactionKeepsRewrittenBlocks() throws Exception
+    {
+        Configuration conf = new Configuration();
+        conf.setBoolean("brisk.delete.async", false);
+
+        CassandraFileSystem fs = new CassandraFileSystem();
+        fs.initialize(URI.create("cfs://localhost:"+DatabaseDescriptor.getRpcPort()+"/"), conf);
+
+        CassandraFileSystem archive = new CassandraFileSystem();
+        archive.initialize(URI.create("cfs-archive://localhost:"+DatabaseDescriptor.getRpcPort()+"/"), conf);
+
+        ColumnFamilyStore store = Table.open("cfs").getColumnFamilyStore("sblocks");
+        byte[] data = new byte[5000];
+        new Random(5).nextBytes(data);
+
+        Path path = new Path("/compactiontest/moved");
+        OutputStream os = fs.create(path);
+        os.write(data);
+        os.close();
+        store.forceBlockingFlush();
+
+        // Moved to the archive, which deletes the block rows, then back into new ones
+        Path archived = new Path("/compactiontest/archived");
+        assertTrue(fs.copy(path, archive, archived, true));
+        store.forceBlockingFlush();
+
+        Thread.sleep(10);
+        Path restored = new Path("/compactiontest/restored");
+        assertTrue(archive.copy(archived, fs, restored, true));
+        store.forceBlockingFlush();
+
+        int gcBefore = Integer.MAX_VALUE;
+        for (int i = 0; i < 3; i++)
+            BlockCompactionService.compact(store, gcBefore);
+
+        assertArrayEquals(data, readFile(fs, restored, data.length));
+    }
+
+    @Test
+    public void testRename() throws Exception
+    {
+        CassandraFileSystem fs = new CassandraFileSystem();
+        fs.initialize(URI.create("cfs://localhost:"+DatabaseDescriptor.getRpcPort()+"/"), new Configuration());
+
+        fs.mkdirs(new Path("/renametest/src/sub"));
+        fs.mkdirs(new Path("/renametest/dst"));
+
+        OutputStream os = fs.create(new Path("/renametest/src/sub/file"));
+        os.write(new byte[] { 1, 2, 3 });
+        os.close();
+
+        assertTrue(fs.rename(new Path("/renametest/src"), new Path("/renametest/moved")));
+        assertEquals(false, fs.exists(new Path("/renametest/src")));
+        assertEquals(false, fs.exists(new Path("/renametest/src/sub/file")));
+        assertTrue(fs.isFile(new Path("/renametest/moved/sub/file")));
+
+        // Into an existing directory
+        assertTrue(fs.rename(new Path("/renametest/moved"), new Path("/renametest/dst")));
+        assertTrue(fs.isFile(new Path("/renametest/dst/moved/sub/file")));
+
+        InputStream is = fs.open(new Path("/renametest/dst/moved/sub/file"));
+        assertEquals(1, is.read());
+        assertEquals(2, is.read());
+        assertEquals(3, is.read());
+        assertEquals(-1, is.read());
+        is.close();
+
+        // Below itself
+        assertEquals(false, fs.rename(new Path("/renametest/dst"), new Path("/renametest/dst/moved/sub")));
+
+        FileStatus[] children = fs.listStatus(new Path("/renametest"));
+        assertEquals(1, children.length);
+        assertEquals("dst", children[0].getPath().getName());
+
+        assertEquals(3, fs.store.listDeepSubPaths(new Path("/renametest/dst")).size());
+    }
+
+    @Test
+    public void testRenameByOtherClient() throws Exception
+    {
+        CassandraFileSystem fs = new CassandraFileSystem();
+        fs.initialize(URI.create("cfs://localhost:"+DatabaseDescriptor.getRpcPort()+"/"), new Configuration());
+
+        CassandraFileSystem other = new CassandraFileSystem();
+        other.initialize(URI.create("cfs://localhost:"+DatabaseDescriptor.getRpcPort()+"/"), new Configuration());
+
+        OutputStream os = fs.create(new Path("/othertest/a/f"));
+        os.write(new byte[100]);
+        os.close();
+
+        // Cached by the other client, then moved away under it
+        assertTrue(other.exists(new Path("/othertest/a/f")));
+        assertTrue(fs.rename(new Path("/othertest/a"), new Path("/othertest/z")));
+
+        assertEquals(false, other.exists(new Path("/othertest/a/f")));
+        assertEquals(false, other.delete(new Path("/othertest/a/f"), false));
+        assertTrue(fs.isFile(new Path("/othertest/z/f")));
+    }
+
+    @Test
+    public void testBulkBlockLocations() throws Exception
+    {
+        CassandraFileSystem fs = new CassandraFileSystem();
+        fs.initialize(URI.create("cfs://localhost:"+DatabaseDescriptor.getRpcPort()+"/"), new Configuration());
+
+        FileStatus[] files = new FileStatus[12];
+
+        for (int i = 0; i < 10; i++)
+        {
+            Path path = new Path("/bulktest/dir" + (i % 2) + "/file" + i);
+
+            OutputStream os = fs.create(path);
+            os.write(new byte[i + 1]);
+            os.close();
+
+            files[i] = fs.getFileStatus(path);
+        }
+
+        // Gone by the time its blocks are looked for
+        OutputStream os = fs.create(new Path("/bulktest/gone"));
+        os.write(new byte[] { 1 });
+        os.close();
+
+        files[10] = fs.getFileStatus(new Path("/bulktest/gone"));
+        fs.delete(new Path("/bulktest/gone"), false);
+
+        files[11] = fs.getFileStatus(new Path("/bulktest/dir0"));
+
+        BlockLocation[][] locations = fs.getFileBlockLocations(files);
+        assertEquals(files.length, locations.length);
+
+        String name = FBUtilities.getLocalAddress().getHostName() + ":" + DatabaseDescriptor.getRpcPort();
+
+        for (int i = 0; i < 10; i++)
+        {
+            assertEquals(1, locations[i].length);
+            assertEquals(0, locations[i][0].getOffset());
+            assertEquals(i + 1, locations[i][0].getLength());
+            assertEquals(name, locations[i][0].getNames()[0]);
+            assertEquals(SnitchSwitchMapping.getNetworkLocation(FBUtilities.getLocalAddress()) + "/" + name,
+                    locations[i][0].getTopologyPaths()[0]);
+        }
+
+        assertEquals(0, locations[10].length);
+        assertEquals(0, locations[11].length);
+
+        // The files of a listing get theirs from a single lookup
+        for (FileStatus listed : fs.listStatus(new Path("/bulktest/dir1")))
+        {
+            BlockLocation[] info = fs.getFileBlockLocations(listed, 0, listed.getLen());
+            assertEquals(1, info.length);
+            assertEquals(listed.getLen(), info[0].getLength());
+            assertEquals(name, info[0].getNames()[0]);
+        }
+    }
+
+    @Test
+    public void testVirtualBlocks() throws Exception
+    {
+        Configuration conf = new Configuration();
+        conf.setLong("fs.local.subblock.size", 1024);
+        conf.setInt("brisk.virtual.block.subblocks", 2);
+
+        CassandraFileSystem fs = new CassandraFileSystem();
+        fs.initialize(URI.create("cfs://localhost:"+DatabaseDescriptor.getRpcPort()+"/"), conf);
+
+        OutputStream os = fs.create(new Path("/virtualtest/file"));
+        os.write(new byte[5000]);
+        os.close();
+
+        FileStatus stat = fs.getFileStatus(new Path("/virtualtest/file"));
+        assertEquals(2048, stat.getBlockSize());
+
+        BlockLocation[] info = fs.getFileBlockLocations(stat, 0, stat.getLen());
+        assertEquals(3, info.length);
+
+        for (int i = 0; i < info.length; i++)
+        {
+            assertEquals(i * 2048, info[i].getOffset());
+            assertEquals(i < 2 ? 2048 : 904, info[i].getLength());
+            assertEquals(FBUtilities.getLocalAddress().getHostName(), info[i].getHosts()[0]);
+        }
+
+        info = fs.getFileBlockLocations(stat, 2100, 100);
+        assertEquals(1, info.length);
+        assertEquals(2048, info[0].getOffset());
+
+        BlockLocation[][] locations = fs.getFileBlockLocations(new FileStatus[] { stat });
+        assertEquals(3, locations[0].length);
+    }
+
+    @Test
+    public void testPositionalRead() throws Exception
+    {
+        Configuration conf = new Configuration();
+        conf.setLong("fs.local.subblock.size", 1024);
+
+        CassandraFileSystem fs = new CassandraFileSystem();
+        fs.initialize(URI.create("cfs://localhost:"+DatabaseDescriptor.getRpcPort()+"/"), conf);
+
+        byte[] data = new byte[5000];
+        for (int i = 0; i < data.length; i++)
+            data[i] = (byte) i;
+
+        OutputStream os = fs.create(new Path("/preadtest/file"));
+        os.write(data);
+        os.close();
+
+        FSDataInputStream is = fs.open(new Path("/preadtest/file"));
+
+        // Within a sub block, then across sub blocks
+        byte[] range = new byte[10];
+        is.readFully(100, range);
+        assertArrayEquals(Arrays.copyOfRange(data, 100, 110), range);
+
+        range = new byte[2000];
+        is.readFully(1000, range);
+        assertArrayEquals(Arrays.copyOfRange(data, 1000, 3000), range);
+
+        // Positional reads leave the stream position alone
+        assertEquals(0, is.getPos());
+        assertEquals(-1, is.read(5000, range, 0, 10));
+        is.close();
+    }
+
+    @Test
+    public void testByteBufferRead() throws Exception
+    {
+        Configuration conf = new Configuration();
+        conf.setLong("fs.local.subblock.size", 1024);
+
+        CassandraFileSystem fs = new CassandraFileSystem();
+        fs.initialize(URI.create("cfs://localhost:"+DatabaseDescriptor.getRpcPort()+"/"), conf);
+
+        byte[] data = new byte[3000];
+        for (int i = 0; i < data.length; i++)
+            data[i] = (byte) (i % 13);
+
+        OutputStream os = fs.create(new Path("/bytebuffertest/file"));
+        os.write(data);
+        os.close();
+
+        FSDataInputStream in = fs.open(new Path("/bytebuffertest/file"));
+        ByteBufferReadable reader = (ByteBufferReadable) in;
+
+        // Into a direct buffer, across sub blocks
+        ByteBuffer buf = ByteBuffer.allocateDirect(data.length + 10);
+        while (reader.read(buf) > 0);
+
+        assertEquals(data.length, buf.position());
+        buf.flip();
+        byte[] read = new byte[data.length];
+        buf.get(read);
+        assertArrayEquals(data, read);
+        assertEquals(-1, reader.read(buf));
+
+        // Without copying
+        in.seek(500);
+        int offset = 500;
+        ByteBuffer slice;
+        while ((slice = reader.readBuffer(700)) != null)
+        {
+            assertTrue(slice.isReadOnly());
+            assertTrue(slice.remaining() <= 700);
+
+            while (slice.hasRemaining())
+                assertEquals(data[offset++], slice.get());
+        }
+        assertEquals(data.length, offset);
+
+        in.close();
+    }
+
+    @Test
+    public void testVectoredRead() throws Exception
+    {
+        Configuration conf = new Configuration();
+        conf.setLong("fs.local.subblock.size", 1024);
+        conf.setInt("brisk.read.merge.gap", 100);
+
+        CassandraFileSystem fs = new CassandraFileSystem();
+        fs.initialize(URI.create("cfs://localhost:"+DatabaseDescriptor.getRpcPort()+"/"), conf);
+
+        byte[] data = new byte[5000];
+        for (int i = 0; i < data.length; i++)
+            data[i] = (byte) (i % 17);
+
+        OutputStream os = fs.create(new Path("/vectoredtest/file"));
+        os.write(data);
+        os.close();
+
+        CassandraFileSystem.CassandraFSDataInputStream in = (CassandraFileSystem.CassandraFSDataInputStream) fs.open(new Path("/vectoredtest/file"));
+
+        // Merged, across sub blocks, up to the end and empty
+        long[][] bounds = { { 40, 30 }, { 10, 20 }, { 1000, 100 }, { 2000, 2100 }, { 4900, 100 }, { 2500, 0 } };
+
+        List<FileRange> ranges = new ArrayList<FileRange>();
+        for (long[] range : bounds)
+            ranges.add(new FileRange(range[0], ByteBuffer.allocateDirect((int) range[1])));
+
+        in.readVectored(ranges);
+
+        for (FileRange range : ranges)
+        {
+            byte[] read = new byte[range.length];
+            range.buffer.duplicate().get(read);
+            assertArrayEquals(range.toString(), Arrays.copyOfRange(data, (int) range.offset, (int) range.offset + range.length), read);
+        }
+
+        try
+        {
+            in.readVectored(Arrays.asList(new FileRange(4990, ByteBuffer.allocate(20))));
+            Assert.fail("Read past the end of the file");
+        }
+        catch (EOFException e)
+        {
+        }
+
+        in.close();
+    }
+
+    @Test
+    public void testSubBlockChunks() throws Exception
+    {
+        Configuration conf = new Configuration();
+        conf.setLong("fs.local.subblock.size", 1024);
+
+        CassandraFileSystem fs = new CassandraFileSystem();
+        fs.initialize(URI.create("cfs://localhost:"+DatabaseDescriptor.getRpcPort()+"/"), conf);
+
+        // Random bytes hardly compress, the sub blocks span several chunks
+        byte[] data = new byte[3000];
+        new Random(42).nextBytes(data);
+
+        OutputStream os = fs.create(new Path("/chunktest/file"));
+        os.write(data);
+        os.close();
+
+        Block block = fs.store.retrieveINode(new Path("/chunktest/file")).getBlocks()[0];
+        Brisk.Iface server = new BriskInternalServer();
+
+        // From the memtable, then from the data files
+        assertChunks(server, block, data);
+
+        for (Future<?> f : Table.open("cfs").flush())
+            f.get();
+
+        assertChunks(server, block, data);
+    }
+
+    private void assertChunks(Brisk.Iface server, Block block, byte[] data) throws Exception
+    {
+        int offset = 0;
+        for (SubBlock subBlock : block.subBlocks)
+        {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            ByteBuffer chunk;
+
+            do
+            {
+                chunk = server.get_cfs_sblock_chunk(CassandraFileSystemThriftStore.uuidToByteBuffer(block.id),
+                        CassandraFileSystemThriftStore.uuidToByteBuffer(subBlock.id), compressed.size(), 100,
+                        StorageType.CFS_REGULAR);
+
+                assertTrue(chunk.remaining() <= 100);
+                compressed.write(ByteBufferUtil.getArray(chunk));
+            }
+            while (chunk.remaining() == 100);
+
+            assertArrayEquals(Arrays.copyOfRange(data, offset, offset + (int) subBlock.length), Snappy.uncompress(compressed.toByteArray()));
+            offset += subBlock.length;
+        }
+        assertEquals(data.length, offset);
+    }
+
+    @Test
+    public void testFileChecksum() throws Exception
+    {
+        Configuration conf = new Configuration();
+        conf.setLong("fs.local.subblock.size", 1000);
+
+        CassandraFileSystem fs = new CassandraFileSystem();
+        fs.initialize(URI.create("cfs://localhost:"+DatabaseDescriptor.getRpcPort()+"/"), conf);
+
+        // CRC chunks of 512 bytes run across the sub blocks of 1000 bytes
+        byte[] data = new byte[7000];
+        new Random(42).nextBytes(data);
+
+        Path path = new Path("/checksumtest/file");
+        OutputStream os = fs.create(path, true, 4096, (short) 1, 3000);
+        os.write(data);
+        os.close();
+
+        assertEquals(3, fs.store.retrieveINode(path).getBlocks().length);
+        assertEquals(getChecksum(data, 3000, 512), fs.getFileChecksum(path));
+
+        // Served from the inode row
+        assertEquals(getChecksum(data, 3000, 512), fs.getFileChecksum(path));
+
+        // An overwritten file gets a new checksum
+        data = new byte[2000];
+        new Random(7).nextBytes(data);
+
+        os = fs.create(path, true, 4096, (short) 1, 3000);
+        os.write(data);
+        os.close();
+
+        assertEquals(getChecksum(data, 3000, 512), fs.getFileChecksum(path));
+
+        try
+        {
+            fs.getFileChecksum(new Path("/checksumtest/missing"));
+            Assert.fail("Expected FileNotFoundException");
+        }
+        catch (FileNotFoundException e)
+        {
+        }
+    }
+
+    /**
+     * The checksum HDFS reports for the same data and block size.
+     */
+    private MD5MD5CRC32FileChecksum getChecksum(byte[] data, int blockSize, int bytesPerCrc) throws Exception
+    {
+        MessageDigest fileDigest = MessageDigest.getInstance("MD5");
+
+        for (int start = 0; start < data.length; start += blockSize)
+        {
+            MessageDigest blockDigest = MessageDigest.getInstance("MD5");
+            int end = Math.min(data.length, start + blockSize);
+
+            for (int i = start; i < end; i += bytesPerCrc)
+            {
+                CRC32 crc = new CRC32();
+                crc.update(data, i, Math.min(bytesPerCrc, end - i));
+                blockDigest.update(ByteBuffer.allocate(4).putInt((int) crc.getValue()).array());
+            }
+
+            fileDigest.update(blockDigest.digest());
+        }
+
+        int crcPerBlock = data.length > blockSize ? (blockSize + bytesPerCrc - 1) / bytesPerCrc : 0;
+
+        return new MD5MD5CRC32FileChecksum(bytesPerCrc, crcPerBlock, new MD5Hash(fileDigest.digest()));
+    }
+
+    @Test
+    public void testServerSideCopy() throws Exception
+    {
+        Configuration conf = new Configuration();
+        conf.setLong("fs.local.subblock.size", 1024);
+
+        CassandraFileSystem fs = new CassandraFileSystem();
+        fs.initialize(URI.create("cfs://localhost:"+DatabaseDescriptor.getRpcPort()+"/"), conf);
+
+        CassandraFileSystem archive = new CassandraFileSystem();
+        archive.initialize(URI.create("cfs-archive://localhost:"+DatabaseDescriptor.getRpcPort()+"/"), conf);
+
+        byte[] data = new byte[5000];
+        new Random(42).nextBytes(data);
+
+        Path src = new Path("/copytest/file");
+        OutputStream os = fs.create(src, true, 4096, (short) 1, 2048);
+        os.write(data);
+        os.close();
+
+        Block[] blocks = fs.store.retrieveINode(src).getBlocks();
+
+        // Every copy to the archive gets its own blocks, deleting one keeps the other readable
+        Path archived = new Path("/copytest/archived");
+        Path other = new Path("/copytest/other");
+        assertTrue(fs.copy(src, archive, archived, false));
+        assertTrue(!fs.copy(src, archive, archived, false));
+        assertTrue(fs.copy(src, archive, other, false));
+        assertArrayEquals(data, readFile(archive, archived, data.length));
+
+        Block[] archivedBlocks = archive.store.retrieveINode(archived).getBlocks();
+        Block[] otherBlocks = archive.store.retrieveINode(other).getBlocks();
+        assertEquals(blocks.length, archivedBlocks.length);
+        for (int i = 0; i < blocks.length; i++)
+        {
+            assertTrue(!blocks[i].id.equals(archivedBlocks[i].id));
+            assertTrue(!otherBlocks[i].id.equals(archivedBlocks[i].id));
+        }
+
+        archive.delete(other, false);
+        assertArrayEquals(data, readFile(archive, archived, data.length));
+
+        // Within cfs the copy gets its own blocks and outlives the source
+        Path copy = new Path("/copytest/copy");
+        assertTrue(fs.copy(src, fs, copy, false));
+        assertTrue(!blocks[0].id.equals(fs.store.retrieveINode(copy).getBlocks()[0].id));
+
+        fs.delete(src, false);
+        assertArrayEquals(data, readFile(fs, copy, data.length));
+
+        // Moving back from the archive
+        Path restored = new Path("/copytest/restored");
+        assertTrue(archive.copy(archived, fs, restored, true));
+        assertNull(archive.store.retrieveINode(archived));
+        assertArrayEquals(data, readFile(fs, restored, data.length));
+        assertEquals(fs.getFileChecksum(copy), fs.getFileChecksum(restored));
+    }
+
+    @Test
+    public void testTiering() throws Exception
+    {
+        Configuration conf = new Configuration();
+        conf.setLong("fs.local.subblock.size", 1024);
+
+        CassandraFileSystem fs = new CassandraFileSystem();
+        fs.initialize(URI.create("cfs://localhost:"+DatabaseDescriptor.getRpcPort()+"/"), conf);
+
+        byte[] data = new byte[5000];
+        new Random(7).nextBytes(data);
+
+        Path cold = new Path("/tiertest/logs/cold");
+        Path read = new Path("/tiertest/logs/read");
+        Path other = new Path("/tiertest/other/file");
+        for (Path path : new Path[] { cold, read, other })
+        {
+            OutputStream os = fs.create(path, true, 4096, (short) 1, 2048);
+            os.write(data);
+            os.close();
+        }
+
+        FileChecksum checksum = fs.getFileChecksum(cold);
+        Block[] blocks = fs.store.retrieveINode(cold).getBlocks();
+        Thread.sleep(10);
+
+        // Opening a file records when
+        long opened = System.currentTimeMillis();
+        readFile(fs, read, data.length);
+        long atime = fs.store.retrieveINode(read).atime;
+        assertTrue(atime >= opened);
+        assertEquals(0, fs.store.retrieveINode(cold).atime);
+
+        // Whatever was not read in the last hour
+        long hour = 3600 * 1000;
+        List<TieringService.Rule> rules = Arrays.asList(new TieringService.Rule(new Path("/tiertest/logs"), 0, hour));
+        assertEquals(0, TieringService.moveColdFiles(fs, rules, atime, false));
+        assertEquals(1, TieringService.moveColdFiles(fs, rules, atime + hour - 1, false));
+        assertEquals(0, TieringService.moveColdFiles(fs, rules, atime + hour - 1, false));
+
+        // The cold file keeps its path and blocks, read from the archive
+        INode inode = fs.store.retrieveINode(cold);
+        assertTrue(inode.isForwarded());
+        assertEquals(blocks[0].id, inode.getBlocks()[0].id);
+        assertTrue(fs.store.retrieveINodeSummary(cold).isForwarded());
+        assertTrue(!fs.store.retrieveINode(read).isForwarded());
+        assertTrue(!fs.store.retrieveINode(other).isForwarded());
+
+        assertArrayEquals(data, readFile(fs, cold, data.length));
+        assertEquals(checksum, fs.getFileChecksum(cold));
+        assertEquals(data.length, fs.getFileStatus(cold).getLen());
+
+        // Still a regular file for renames and deletes
+        Path renamed = new Path("/tiertest/other/cold");
+        assertTrue(fs.rename(cold, renamed));
+        assertArrayEquals(data, readFile(fs, renamed, data.length));
+        assertTrue(fs.delete(renamed, false));
+        assertNull(fs.store.retrieveINode(renamed));
+
+        List<TieringService.Rule> parsed = TieringService.Rule.parse("/logs:30:14, /data/raw:90:");
+        assertEquals(2, parsed.size());
+        assertEquals(new Path("/data/raw"), parsed.get(1).path);
+        assertEquals(90L * 24 * 3600 * 1000, parsed.get(1).minAge);
+        assertEquals(0, parsed.get(1).minIdle);
+    }
+
+    @Test
+    public void testErasureCode() throws Exception
+    {
+        Configuration conf = new Configuration();
+        conf.setLong("fs.local.subblock.size", 1000);
+        conf.setInt("brisk.erasure.data.shards", 3);
+        conf.setInt("brisk.erasure.parity.shards", 2);
+
+        CassandraFileSystem fs = new CassandraFileSystem();
+        fs.initialize(URI.create("cfs://localhost:"+DatabaseDescriptor.getRpcPort()+"/"), conf);
+
+        CassandraFileSystem archive = new CassandraFileSystem();
+        archive.initialize(URI.create("cfs-archive://localhost:"+DatabaseDescriptor.getRpcPort()+"/"), conf);
+
+        // Blocks of 4 sub blocks, the last one short, make a full stripe and a partial one
+        byte[] data = new byte[8000];
+        new Random(11).nextBytes(data);
+
+        Path path = new Path("/ectest/file");
+        OutputStream os = archive.create(path, true, 4096, (short) 1, 3500);
+        os.write(data);
+        os.close();
+
+        assertEquals(getChecksum(data, 3500, 512), archive.getFileChecksum(path));
+
+        // Files of cfs are replicated until they are archived
+        Path regular = new Path("/ectest/regular");
+        os = fs.create(regular, true, 4096, (short) 1, 3500);
+        os.write(data);
+        os.close();
+
+        try
+        {
+            fs.erasureCode(regular);
+            Assert.fail("Expected IOException");
+        }
+        catch (IOException e)
+        {
+        }
+
+        assertTrue(archive.erasureCode(path));
+        assertTrue(archive.erasureCode(path));
+
+        INode inode = archive.store.retrieveINode(path);
+        assertTrue(inode.isErasureCoded());
+        Block block = inode.getBlocks()[0];
+        assertEquals(4, block.subBlocks.length);
+        assertEquals(3, block.dataShards);
+        assertEquals(2, block.parityShards);
+        assertEquals(8, block.shardIds.length);
+        assertArrayEquals(new UUID[] { block.shardIds[0], block.shardIds[1], block.shardIds[2], block.shardIds[5] },
+                block.getDataShardIds());
+
+        // Located where the shards are
+        for (BlockLocation location : archive.getFileBlockLocations(archive.getFileStatus(path), 0, data.length))
+            assertTrue(location.getHosts().length > 0);
+
+        assertArrayEquals(data, readFile(archive, path, data.length));
+
+        // Same data, same checksums, computed from the shards
+        assertEquals(getChecksum(data, 3500, 512), archive.getFileChecksum(path));
+        assertEquals(getChecksum(data, 3500, 256), archive.store.getFileChecksum(path, 256));
+
+        // Any 2 shards of a stripe can be lost
+        Brisk.Iface client = CassandraProxyClient.newProxyConnection("localhost", DatabaseDescriptor.getRpcPort(),
+                true, ConnectionStrategy.STICKY);
+        client.set_keyspace(ErasureCodedBlocks.keySpace);
+
+        ColumnParent shardParent = new ColumnParent(ErasureCodedBlocks.shardCf);
+        ColumnPath shardPath = new ColumnPath(ErasureCodedBlocks.shardCf);
+        for (UUID shardId : new UUID[] { block.shardIds[1], block.shardIds[4], block.shardIds[5] })
+            client.remove(CassandraFileSystemThriftStore.uuidToByteBuffer(shardId), shardPath,
+                    System.currentTimeMillis(), ConsistencyLevel.ONE);
+
+        assertArrayEquals(data, readFile(archive, path, data.length));
+
+        // The lost data shards were written back once rebuilt
+        for (UUID shardId : new UUID[] { block.shardIds[1], block.shardIds[5] })
+            assertEquals(1, client.get_count(CassandraFileSystemThriftStore.uuidToByteBuffer(shardId), shardParent,
+                    allColumns, ConsistencyLevel.ONE));
+
+        archive.delete(path, false);
+
+        for (Block deleted : inode.getBlocks())
+        {
+            for (UUID shardId : deleted.shardIds)
+                assertEquals(0, client.get_count(CassandraFileSystemThriftStore.uuidToByteBuffer(shardId),
+                        shardParent, allColumns, ConsistencyLevel.ONE));
+        }
+    }
+
+    private byte[] readFile(CassandraFileSystem fs, Path path, int length) throws IOException
+    {
+        byte[] data = new byte[length];
+
+        FSDataInputStream is = fs.open(path);
+        is.readFully(0, data);
+        assertEquals(-1, is.read());
+        is.close();
+
+        return data;
+    }
+
+    @Test
+    public void testDataPort() throws Exception
+    {
+        Configuration conf = new Configuration();
+        conf.setLong("fs.local.subblock.size", 1024);
+
+        CassandraFileSystem fs = new CassandraFileSystem();
+        fs.initialize(URI.create("cfs://localhost:"+DatabaseDescriptor.getRpcPort()+"/"), conf);
+
+        byte[] data = new byte[3000];
+        for (int i = 0; i < data.length; i++)
+            data[i] = (byte) (i % 7);
+
+        OutputStream os = fs.create(new Path("/dataporttest/file"));
+        os.write(data);
+        os.close();
+
+        // Only sub blocks in SSTables are served
+        for (Future<?> f : Table.open("cfs").flush())
+            f.get();
+
+        SubBlockDataServer dataServer = new SubBlockDataServer(FBUtilities.getLocalAddress(), 9162);
+        dataServer.start();
+
+        SubBlockDataClient dataClient = new SubBlockDataClient(9162);
+        try
+        {
+            Block block = fs.store.retrieveINode(new Path("/dataporttest/file")).getBlocks()[0];
+            String host = FBUtilities.getLocalAddress().getHostName();
+
+            int offset = 0;
+            for (SubBlock subBlock : block.subBlocks)
+            {
+                ByteBuffer sblock = dataClient.read(host, CassandraFileSystemThriftStore.uuidToByteBuffer(block.id),
+                        CassandraFileSystemThriftStore.uuidToByteBuffer(subBlock.id), false, null);
+
+                byte[] compressed = new byte[sblock.remaining()];
+                sblock.get(compressed);
+
+                assertArrayEquals(Arrays.copyOfRange(data, offset, offset + (int) subBlock.length), Snappy.uncompress(compressed));
+                offset += subBlock.length;
+            }
+            assertEquals(data.length, offset);
+
+            // Unknown sub blocks are left to thrift
+            assertNull(dataClient.read(host, CassandraFileSystemThriftStore.uuidToByteBuffer(block.id),
+                    CassandraFileSystemThriftStore.uuidToByteBuffer(UUID.randomUUID()), false, null));
+        }
+        finally
+        {
+            dataClient.close();
+            dataServer.stopServer();
+        }
+    }
+
+    @Test
+    public void testLegacyLayout() throws Exception
+    {
+        CassandraFileSystem fs = new CassandraFileSystem();
+        fs.initialize(URI.create("cfs://localhost:"+DatabaseDescriptor.getRpcPort()+"/"), new Configuration());
+        fs.mkdirs(new Path("/"));
+
+        CassandraFileSystemThriftStore store = (CassandraFileSystemThriftStore) fs.store;
+        Brisk.Iface client = getCfsClient();
+
+        // Inodes as they were written when keyed by path
+        INode dir = new INode("user", "group", FsPermission.getDefault(), INode.FileType.DIRECTORY, null);
+        SubBlock[] subBlocks = new SubBlock[] { new SubBlock(UUID.randomUUID(), 0, 10) };
+        INode file = new INode("user", "group", FsPermission.getDefault(), INode.FileType.FILE,
+                new Block[] { new Block(UUID.randomUUID(), 0, 10, subBlocks) });
+
+        storeLegacyINode(client, store, "/legacytest", "/", dir);
+        storeLegacyINode(client, store, "/legacytest/sub", "/legacytest", dir);
+        storeLegacyINode(client, store, "/legacytest/sub/file", "/legacytest/sub", file);
+
+        resetLayout(client, store);
+
+        fs = new CassandraFileSystem();
+        fs.initialize(URI.create("cfs://localhost:"+DatabaseDescriptor.getRpcPort()+"/"), new Configuration());
+
+        assertTrue(fs.isFile(new Path("/legacytest/sub/file")));
+        assertEquals(10, fs.getFileStatus(new Path("/legacytest/sub/file")).getLen());
+        assertEquals(1, fs.listStatus(new Path("/legacytest")).length);
+
+        assertTrue(fs.rename(new Path("/legacytest"), new Path("/legacymoved")));
+
+        // A later migration must not link the moved inode back at its old path
+        resetLayout(client, store);
+
+        fs = new CassandraFileSystem();
+        fs.initialize(URI.create("cfs://localhost:"+DatabaseDescriptor.getRpcPort()+"/"), new Configuration());
+
+        assertEquals(false, fs.exists(new Path("/legacytest")));
+        assertTrue(fs.isFile(new Path("/legacymoved/sub/file")));
+    }
+
+    private void storeLegacyINode(Brisk.Iface client, CassandraFileSystemThriftStore store, String path,
+            String parent, INode inode) throws Exception
+    {
+        ByteBuffer key = store.getPathKey(new Path(path));
+        ColumnParent inodeParent = new ColumnParent("inode");
+        long ts = System.currentTimeMillis();
+
+        client.insert(key, inodeParent, newColumn("path", ByteBufferUtil.bytes(path), ts), ConsistencyLevel.ONE);
+        client.insert(key, inodeParent, newColumn("parent_path", ByteBufferUtil.bytes(parent), ts),
+                ConsistencyLevel.ONE);
+        client.insert(key, inodeParent, newColumn("sentinel", ByteBufferUtil.bytes("x"), ts), ConsistencyLevel.ONE);
+        client.insert(key, inodeParent, newColumn("data", inode.serialize(), ts), ConsistencyLevel.ONE);
+    }
+
+    private Column newColumn(String name, ByteBuffer value, long ts)
+    {
+        Column column = new Column(ByteBufferUtil.bytes(name));
+        column.setValue(value);
+        column.setTimestamp(ts);
+        return column;
+    }
+
+    private void resetLayout(Brisk.Iface client, CassandraFileSystemThriftStore store) throws Exception
+    {
+        client.remove(store.getPathKey(new Path("/")), new ColumnPath("inode").setColumn(ByteBufferUtil
+                .bytes("layout")), System.currentTimeMillis(), ConsistencyLevel.ONE);
+    }
+
+    private Brisk.Iface getCfsClient() throws Exception
+    {
+        Brisk.Iface client = CassandraProxyClient.newProxyConnection("localhost", DatabaseDescriptor.getRpcPort(), true,
+                ConnectionStrategy.STICKY);
+        client.set_keyspace("cfs");
+
+        return client;
+    }
+
 	private void fillArray(char[] buf) {
 		for (int j = 0; j < buf.length; j++) {
 			buf[j] = (char) j;
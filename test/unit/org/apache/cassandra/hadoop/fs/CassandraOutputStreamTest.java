@@ -31,8 +31,10 @@ import org.junit.*;
 import org.apache.cassandra.CleanupHelper;
 import org.apache.cassandra.EmbeddedServer;
 import org.apache.cassandra.config.ConfigurationException;
+import org.apache.cassandra.thrift.StorageType;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.BlockLocation;
+import org.apache.hadoop.fs.MD5MD5CRC32FileChecksum;
 import org.apache.hadoop.fs.Path;
 import org.apache.log4j.Logger;
 import org.apache.thrift.transport.TTransportException;
@@ -261,6 +263,8 @@ public class CassandraOutputStreamTest extends CleanupHelper
 		@Override
 		public void initialize(URI uri, Configuration conf) throws IOException {}
 
+		public void close() throws IOException {}
+
 		@Override
 		public String getVersion() throws IOException {
 			return "Dummy Cassandra FileSystem Thrift Store";
@@ -283,6 +287,11 @@ public class CassandraOutputStreamTest extends CleanupHelper
 			return null;
 		}
 
+		@Override
+		public INode retrieveINodeSummary(Path path) throws IOException {
+			return null;
+		}
+
 		@Override
 		public InputStream retrieveBlock(Block block, long byteRangeStart) throws IOException {
 			return null;
@@ -294,26 +303,86 @@ public class CassandraOutputStreamTest extends CleanupHelper
 		@Override
 		public void deleteSubBlocks(INode inode) throws IOException {}
 
+		@Override
+		public void deleteINodeRecursive(Path path) throws IOException {}
+
+		@Override
+		public boolean renameINode(Path src, Path dst) throws IOException {
+			return false;
+		}
+
 		@Override
 		public Set<Path> listSubPaths(Path path) throws IOException {
 			return null;
 		}
 
+		@Override
+		public Map<Path, INode> listSubINodes(Path path) throws IOException {
+			return null;
+		}
+
 		@Override
 		public Set<Path> listDeepSubPaths(Path path) throws IOException {
 			return null;
 		}
 
+		@Override
+		public Map<Path, INode> listDeepSubINodes(Path path) throws IOException {
+			return null;
+		}
+
 		@Override
 		public BlockLocation[] getBlockLocation(List<Block> usedBlocks, long start, long len) throws IOException {
 			return null;
 		}
 
+		@Override
+		public List<BlockLocation[]> getBlockLocations(List<Path> paths) throws IOException {
+			return null;
+		}
+
 		@Override
 		public InputStream retrieveSubBlock(Block block, SubBlock subBlock, long byteRangeStart) throws IOException {
 			// TODO Auto-generated method stub
 			return null;
 		}
 
+		public InputStream retrieveSubBlock(Block block, SubBlock subBlock, long byteRangeStart, int length) throws IOException {
+			return null;
+		}
+
+		public ByteBuffer retrieveSubBlockBuffer(Block block, SubBlock subBlock, long byteRangeStart) throws IOException {
+			return null;
+		}
+
+		public void retrieveSubBlockRanges(List<? extends SubBlockRange> ranges) throws IOException {}
+
+		public MD5MD5CRC32FileChecksum getFileChecksum(Path path, int bytesPerCrc) throws IOException {
+			return null;
+		}
+
+		public INode copyBlocks(INode inode, StorageType storageType, boolean move) throws IOException {
+			return null;
+		}
+
+		public StorageType getStorageType() {
+			return StorageType.CFS_REGULAR;
+		}
+
+		public boolean forwardINode(Path path, INode inode) throws IOException {
+			return false;
+		}
+
+		public void setAccessTime(Path path, long atime) throws IOException {
+		}
+
+		public INode erasureCode(INode inode) throws IOException {
+			return null;
+		}
+
+		public boolean replaceBlocks(Path path, INode inode, INode replacement) throws IOException {
+			return false;
+		}
+
 	}
 }
@@ -19,7 +19,10 @@ package org.apache.cassandra.hadoop.fs;
 
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.UUID;
 
 import junit.framework.Assert;
@@ -69,6 +72,117 @@ public class INodeTest {
 		assertINodeEqual(Sample2.inode, INode.deserialize(in, 0));
 	}
 	
+	@Test
+	public void testSerializationForLargeFileInode() throws Exception {
+		// Create sample data.
+		Sample3.init();
+		
+		ByteBuffer compact = Sample3.inode.serialize();
+		ByteBuffer legacy = serializeLegacy(Sample3.inode);
+		
+		// Serialize and deserialize the sample
+		InputStream in = new ByteArrayInputStream(compact.array(), compact.position(), compact.remaining());
+		
+		// Assert with customized assertion method.
+		assertINodeEqual(Sample3.inode, INode.deserialize(in, 0));
+		
+		// Derived ids and implicit offsets leave little more than the block ids.
+		Assert.assertTrue(compact.remaining() < legacy.remaining() / 10);
+	}
+	
+	@Test
+	public void testSummarySerialization() throws Exception {
+		// Create sample data.
+		Sample2.init();
+		Sample3.init();
+		
+		ByteBuffer summary = Sample3.inode.serializeSummary();
+		INode inode = INode.deserialize(new ByteArrayInputStream(summary.array(), summary.position(), summary.remaining()), 42);
+		
+		Assert.assertFalse(inode.hasBlocks());
+		Assert.assertNull(inode.getBlocks());
+		Assert.assertEquals(Sample3.inode.getLength(), inode.getLength());
+		Assert.assertEquals(2 * 1024 * 1024 * 32, inode.getBlockSize());
+		Assert.assertEquals(64, inode.getBlockCount());
+		Assert.assertEquals(42, inode.mtime);
+		Assert.assertEquals(Sample3.inode.user, inode.user);
+		Assert.assertEquals(Sample3.inode.perms, inode.perms);
+		
+		summary = Sample2.inode.serializeSummary();
+		inode = INode.deserialize(new ByteArrayInputStream(summary.array(), summary.position(), summary.remaining()), 0);
+		assertINodeEqual(Sample2.inode, inode);
+		Assert.assertTrue(inode.hasBlocks());
+	}
+	
+	@Test
+	public void testSerializationOfStripeLayout() throws Exception {
+		Sample1.init();
+		
+		// 2 sub blocks in a 6+3 stripe
+		Block block = Sample1.blocks[0];
+		UUID[] shardIds = new UUID[5];
+		for (int i = 0; i < shardIds.length; i++)
+			shardIds[i] = UUID.randomUUID();
+		Block coded = new Block(block.id, block.offset, block.length, block.subBlocks, 6, 3, shardIds);
+		INode inode = new INode("user", "group", FsPermission.getDefault(), INode.FileType.FILE,
+				new Block[] { coded, Sample1.blocks[1] });
+		
+		ByteBuffer serialized = inode.serialize();
+		INode deserialized = INode.deserialize(new ByteArrayInputStream(serialized.array(), serialized.position(), serialized.remaining()), 0);
+		assertINodeEqual(inode, deserialized);
+		
+		Block block1 = deserialized.getBlocks()[0];
+		Assert.assertTrue(block1.isErasureCoded());
+		Assert.assertEquals(6, block1.dataShards);
+		Assert.assertEquals(3, block1.parityShards);
+		for (int i = 0; i < shardIds.length; i++)
+			Assert.assertEquals(shardIds[i], block1.shardIds[i]);
+		Assert.assertFalse(deserialized.getBlocks()[1].isErasureCoded());
+	}
+	
+	@Test
+	public void testDeserializationOfLegacyFormat() throws Exception {
+		// Create sample data.
+		Sample1.init();
+		Sample2.init();
+		
+		InputStream in = new ByteArrayInputStream(serializeLegacy(Sample1.inode).array());
+		assertINodeEqual(Sample1.inode, INode.deserialize(in, 0));
+		
+		in = new ByteArrayInputStream(serializeLegacy(Sample2.inode).array());
+		assertINodeEqual(Sample2.inode, INode.deserialize(in, 0));
+	}
+	
+	/**
+	 * Serializes an inode the way it was stored before the compact format.
+	 */
+	private ByteBuffer serializeLegacy(INode inode) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(inode.user.getBytes().length);  out.writeBytes(inode.user);
+		out.writeInt(inode.group.getBytes().length); out.writeBytes(inode.group);
+		out.writeShort(inode.perms.toShort());
+		out.writeByte(inode.getFileType().ordinal());
+		if (inode.isFile()) {
+			out.writeInt(inode.getBlocks().length);
+			for (Block block : inode.getBlocks()) {
+				out.writeLong(block.id.getMostSignificantBits());
+				out.writeLong(block.id.getLeastSignificantBits());
+				out.writeLong(block.offset);
+				out.writeLong(block.length);
+				out.writeInt(block.subBlocks.length);
+				for (SubBlock subBlock : block.subBlocks) {
+					out.writeLong(subBlock.id.getMostSignificantBits());
+					out.writeLong(subBlock.id.getLeastSignificantBits());
+					out.writeLong(subBlock.offset);
+					out.writeLong(subBlock.length);
+				}
+			}
+		}
+		out.close();
+		return ByteBuffer.wrap(bytes.toByteArray());
+	}
+	
 	/**
 	 * Verifies equality condition for inodes. 
 	 */
@@ -87,12 +201,12 @@ public class INodeTest {
 		
 		// Iterate through the blocks based inode1
 		for (int i = 0 ; i < inode1.getBlocks().length; i++) {
-			assertBlockEquals(inode1.getBlocks()[0], inode2.getBlocks()[0]);
+			assertBlockEquals(inode1.getBlocks()[i], inode2.getBlocks()[i]);
 		}
 		
 		// Iterate through the blocks based inode1
 		for (int i = 0 ; i < inode2.getBlocks().length; i++) {
-			assertBlockEquals(inode2.getBlocks()[0], inode1.getBlocks()[0]);
+			assertBlockEquals(inode2.getBlocks()[i], inode1.getBlocks()[i]);
 		}
 	}
 	
@@ -106,11 +220,11 @@ public class INodeTest {
 		Assert.assertEquals(block1.subBlocks.length, block2.subBlocks.length);
 		
 		for(int i = 0 ; i < block1.subBlocks.length; i++) {
-			assertSubBlockEquals(block1.subBlocks[0], block2.subBlocks[0]);
+			assertSubBlockEquals(block1.subBlocks[i], block2.subBlocks[i]);
 		}
 		
 		for(int i = 0 ; i < block2.subBlocks.length; i++) {
-			assertSubBlockEquals(block2.subBlocks[0], block1.subBlocks[0]);
+			assertSubBlockEquals(block2.subBlocks[i], block1.subBlocks[i]);
 		}
 	}
 
@@ -154,6 +268,35 @@ public class INodeTest {
 		}
 	}
 	
+	/**
+	 * 1 INode
+	 * 64 Blocks, the last one partial
+	 * 32 SubBlocks per Block, as written by CassandraOutputStream
+	 *
+	 */
+	private static class Sample3 {
+		
+		public static INode inode;
+		
+		public static void init() {
+			long subBlockSize = 2 * 1024 * 1024;
+			Block[] blocks = new Block[64];
+			for (int i = 0; i < blocks.length; i++) {
+				UUID blockId = UUID.randomUUID();
+				int numSubBlocks = i == blocks.length - 1 ? 5 : 32;
+				SubBlock[] subBlocks = new SubBlock[numSubBlocks];
+				for (int j = 0; j < numSubBlocks; j++) {
+					long length = j == numSubBlocks - 1 && i == blocks.length - 1 ? 1000 : subBlockSize;
+					subBlocks[j] = new SubBlock(SubBlock.deriveId(blockId, j), j * subBlockSize, length);
+				}
+				long blockLength = (numSubBlocks - 1) * subBlockSize + subBlocks[numSubBlocks - 1].length;
+				blocks[i] = new Block(blockId, i * 32 * subBlockSize, blockLength, subBlocks);
+			}
+			
+			inode = new INode("user", "group", FsPermission.getDefault(), INode.FileType.FILE, blocks);
+		}
+	}
+	
 	/**
 	 * 1 INode
 	 * 0 Block
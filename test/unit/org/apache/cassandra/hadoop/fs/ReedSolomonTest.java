@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.hadoop.fs;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ReedSolomonTest
+{
+    @Test
+    public void testAnyDataShardsRebuildTheRest()
+    {
+        ReedSolomon codec = new ReedSolomon(6, 3);
+        Random random = new Random(42);
+        int length = 1000;
+
+        byte[][] shards = new byte[9][];
+        for (int i = 0; i < shards.length; i++)
+        {
+            shards[i] = new byte[length];
+            if (i < 6)
+                random.nextBytes(shards[i]);
+        }
+        codec.encode(shards, length);
+
+        // Every way of losing 3 shards
+        for (int a = 0; a < 9; a++)
+        {
+            for (int b = a + 1; b < 9; b++)
+            {
+                for (int c = b + 1; c < 9; c++)
+                {
+                    byte[][] damaged = shards.clone();
+                    damaged[a] = damaged[b] = damaged[c] = null;
+
+                    assertTrue(codec.decode(damaged, length));
+
+                    for (int i = 0; i < shards.length; i++)
+                        assertArrayEquals(shards[i], damaged[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTooManyLostShards()
+    {
+        ReedSolomon codec = new ReedSolomon(3, 2);
+
+        byte[][] shards = new byte[5][];
+        shards[0] = new byte[10];
+        shards[4] = new byte[10];
+
+        assertTrue(!codec.decode(shards, 10));
+        assertTrue(shards[1] == null);
+    }
+}
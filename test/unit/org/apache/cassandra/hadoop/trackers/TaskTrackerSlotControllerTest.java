@@ -0,0 +1,23 @@
+package org.apache.cassandra.hadoop.trackers;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class TaskTrackerSlotControllerTest {
+
+    @Test
+    public void testNextSlots() {
+        // Halved under pressure, never below one slot
+        assertEquals(4, TaskTrackerSlotController.nextSlots(8, 8, 1));
+        assertEquals(1, TaskTrackerSlotController.nextSlots(1, 8, 1));
+
+        // Unchanged in between
+        assertEquals(4, TaskTrackerSlotController.nextSlots(4, 8, 0));
+
+        // Given back one at a time up to the configured maximum
+        assertEquals(5, TaskTrackerSlotController.nextSlots(4, 8, -1));
+        assertEquals(8, TaskTrackerSlotController.nextSlots(8, 8, -1));
+    }
+
+}
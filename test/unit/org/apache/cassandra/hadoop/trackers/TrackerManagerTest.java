@@ -5,6 +5,7 @@ import java.net.InetAddress;
 import junitx.framework.Assert;
 
 import org.apache.cassandra.AbstractBriskBaseTest;
+import org.apache.cassandra.utils.FBUtilities;
 import org.junit.Test;
 
 public class TrackerManagerTest extends AbstractBriskBaseTest {
@@ -21,4 +22,24 @@ public class TrackerManagerTest extends AbstractBriskBaseTest {
         Assert.assertEquals("127.0.1.1", newTracker.getHostAddress());
     }
 
+    @Test
+    public void testCachedTrackerLocation() throws Exception {
+        TrackerManager.insertJobtrackerLocation(InetAddress.getByName("127.0.1.2"));
+        Assert.assertEquals("127.0.1.2", CassandraJobConf.refreshJobTrackerNode().getHostAddress());
+
+        // Lookups don't see the change until the location is refreshed
+        TrackerManager.insertJobtrackerLocation(InetAddress.getByName("127.0.1.3"));
+        Assert.assertEquals("127.0.1.2", CassandraJobConf.getJobTrackerNode().getHostAddress());
+        Assert.assertEquals(InetAddress.getByName("127.0.1.2").getHostName() + ":8012", new CassandraJobConf().get("mapred.job.tracker"));
+
+        Assert.assertEquals("127.0.1.3", CassandraJobConf.refreshJobTrackerNode().getHostAddress());
+        Assert.assertEquals("127.0.1.3", CassandraJobConf.getJobTrackerNode().getHostAddress());
+    }
+
+    @Test
+    public void testElectJobTrackerNode() throws Exception {
+        // Alone in the ring, this node is the only live candidate
+        Assert.assertEquals(FBUtilities.getLocalAddress(), CassandraJobConf.electJobTrackerNode());
+    }
+
 }
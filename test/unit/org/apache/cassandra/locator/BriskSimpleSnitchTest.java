@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.locator;
+
+import static org.junit.Assert.assertEquals;
+
+import java.net.InetAddress;
+import java.util.*;
+
+import org.junit.Test;
+
+public class BriskSimpleSnitchTest
+{
+    @Test
+    public void testSortByProximity() throws Exception
+    {
+        final InetAddress self = InetAddress.getByName("127.0.0.1");
+        final InetAddress near = InetAddress.getByName("127.0.0.2");
+        final InetAddress far = InetAddress.getByName("127.0.0.3");
+        final InetAddress other = InetAddress.getByName("127.0.0.4");
+
+        BriskSimpleSnitch snitch = new BriskSimpleSnitch()
+        {
+            public String getDatacenter(InetAddress endpoint)
+            {
+                return endpoint.equals(other) ? CASSANDRA_DC : BRISK_DC;
+            }
+        };
+
+        snitch.receiveTiming(near, 2.0);
+        snitch.receiveTiming(far, 20.0);
+        snitch.receiveTiming(other, 1.0);
+
+        List<InetAddress> endpoints = new ArrayList<InetAddress>(Arrays.asList(other, far, self, near));
+        snitch.sortByProximity(self, endpoints);
+        assertEquals(Arrays.asList(self, near, far, other), endpoints);
+
+        // The moving average follows the replica which slowed down
+        for (int i = 0; i < 20; i++)
+            snitch.receiveTiming(near, 50.0);
+
+        assertEquals(Arrays.asList(self, far, near, other), snitch.getSortedListByProximity(self, Arrays.asList(
+                near, other, far, self)));
+    }
+
+    @Test
+    public void testSpreadAcrossTargets() throws Exception
+    {
+        InetAddress replica1 = InetAddress.getByName("127.0.0.2");
+        InetAddress replica2 = InetAddress.getByName("127.0.0.3");
+
+        BriskSimpleSnitch snitch = new BriskSimpleSnitch()
+        {
+            public String getDatacenter(InetAddress endpoint)
+            {
+                return BRISK_DC;
+            }
+        };
+
+        snitch.receiveTiming(replica1, 20.0);
+        snitch.receiveTiming(replica2, 22.0);
+
+        // Replicas about as fast are not always tried in the same order
+        Set<InetAddress> firsts = new HashSet<InetAddress>();
+        for (int i = 10; i < 40; i++)
+            firsts.add(snitch.getSortedListByProximity(InetAddress.getByName("127.0.0." + i),
+                    Arrays.asList(replica1, replica2)).get(0));
+
+        assertEquals(new HashSet<InetAddress>(Arrays.asList(replica1, replica2)), firsts);
+    }
+}